@@ -1,8 +1,12 @@
 package todoist.client;
 
 import todoist.command.CommandType;
+import todoist.protocol.CompressionMetrics;
+import todoist.protocol.FrameCodec;
+import todoist.protocol.Handshake;
 
 import java.io.BufferedWriter;
+import java.io.EOFException;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -10,52 +14,57 @@ import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 public class Client {
     private static final int SERVER_PORT = 9999;
     private static final String SERVER_HOST = "localhost";
     private static final int BUFFER_SIZE = 2048;
+    private static final int COMPRESSION_THRESHOLD = 512;
+    private static final String NO_COMPRESSION_ARGUMENT = "--no-compression";
 
     private static final String LOGS_FILE_PATH = "resources/log.txt";
 
     private static final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
 
     public static void main(String[] args) {
+        boolean isCompressionRequested = Arrays.stream(args).noneMatch(NO_COMPRESSION_ARGUMENT::equalsIgnoreCase);
+        CompressionMetrics metrics = new CompressionMetrics();
 
         try (SocketChannel socketChannel = SocketChannel.open();
              Scanner scanner = new Scanner(System.in)) {
 
             socketChannel.connect(new InetSocketAddress(SERVER_HOST, SERVER_PORT));
 
-            System.out.println("Connected to the server.");
+            try (FrameCodec codec = negotiate(socketChannel, isCompressionRequested, metrics)) {
+                System.out.println("Connected to the server" +
+                        (codec.isCompressionEnabled() ? " with compression." : "."));
 
-            while (true) {
-                System.out.print("<- ");
-                String message = scanner.nextLine();
+                while (true) {
+                    System.out.print("<- ");
+                    String message = scanner.nextLine();
 
-                BUFFER.clear();
-                BUFFER.put(message.getBytes());
-                BUFFER.flip();
-                socketChannel.write(BUFFER);
+                    ByteBuffer frame = codec.encode(message);
+                    while (frame.hasRemaining()) {
+                        socketChannel.write(frame);
+                    }
 
-                BUFFER.clear();
-                socketChannel.read(BUFFER);
-                BUFFER.flip();
+                    String reply = readReply(socketChannel, codec);
 
-                byte[] byteArray = new byte[BUFFER.remaining()];
-                BUFFER.get(byteArray);
-                String reply = new String(byteArray, StandardCharsets.UTF_8);
-
-                System.out.println("-> " + reply);
-                if (message.equalsIgnoreCase(CommandType.DISCONNECT.name)) {
-                    break;
+                    System.out.println("-> " + reply);
+                    if (message.equalsIgnoreCase(CommandType.DISCONNECT.name)) {
+                        break;
+                    }
                 }
             }
 
+            if (isCompressionRequested) {
+                System.out.println("Compression: " + metrics);
+            }
+
         } catch (IOException e) {
             System.out.println("There is a problem with the network communication. " +
                     "Try again later or contact administrator by providing the logs in " +
@@ -75,4 +84,36 @@ public class Client {
             }
         }
     }
+
+    private static FrameCodec negotiate(SocketChannel socketChannel, boolean isCompressionRequested,
+                                        CompressionMetrics metrics) throws IOException {
+
+        byte flags = isCompressionRequested ? Handshake.COMPRESSION_FLAG : 0;
+        socketChannel.write(ByteBuffer.wrap(Handshake.encode(Handshake.FRAMED_TEXT, flags)));
+
+        ByteBuffer reply = ByteBuffer.allocate(Handshake.LENGTH);
+        while (reply.hasRemaining()) {
+            if (socketChannel.read(reply) < 0) {
+                throw new EOFException("The server closed the connection during the handshake.");
+            }
+        }
+
+        return new FrameCodec(Handshake.isCompressionEnabled(reply.get(1)), COMPRESSION_THRESHOLD, metrics);
+    }
+
+    private static String readReply(SocketChannel socketChannel, FrameCodec codec) throws IOException {
+        List<String> replies = List.of();
+
+        while (replies.isEmpty()) {
+            BUFFER.clear();
+            if (socketChannel.read(BUFFER) < 0) {
+                throw new EOFException("The server closed the connection.");
+            }
+
+            BUFFER.flip();
+            replies = codec.decode(BUFFER);
+        }
+
+        return String.join(System.lineSeparator(), replies);
+    }
 }
@@ -13,10 +13,14 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+// A task assigned to several users is counted once per assignment, both when assigned and when completed
 public class Collaboration {
     private final String name;
     private final Map<String, Set<Task>> tasks;
     private final Set<String> users;
+    private Set<Task> completedTasks; // The completed tasks, which stay assigned
+    private int tasksCount;
+    private int completedTasksCount;
 
     public Collaboration(String name) {
         validateString(name, "Collaboration name cannot be null, empty or blank");
@@ -24,6 +28,7 @@ public class Collaboration {
         this.name = name;
         this.tasks = new HashMap<>();
         this.users = new HashSet<>();
+        this.completedTasks = new HashSet<>();
     }
 
     public String getName() {
@@ -38,6 +43,70 @@ public class Collaboration {
         return toBeReturned;
     }
 
+    public Collection<Task> getTasks(String username) {
+        return Collections.unmodifiableSet(tasks.getOrDefault(username, Set.of()));
+    }
+
+    public boolean containsTask(Task task) {
+        for (Set<Task> assigned : tasks.values()) {
+            if (assigned.contains(task)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public int getTasksCount() {
+        return tasksCount;
+    }
+
+    public int getCompletedTasksCount() {
+        return completedTasksCount;
+    }
+
+    public void markTaskCompleted(Task task) {
+        validateObject(task, "Task cannot be null");
+
+        int assignments = countAssignments(task);
+        if (assignments > 0 && getCompletedTasks().add(task)) {
+            completedTasksCount += assignments;
+        }
+    }
+
+    public void removeTask(Task task) {
+        validateObject(task, "Task cannot be null");
+
+        int assignments = countAssignments(task);
+        tasks.values().forEach(assigned -> assigned.remove(task));
+        tasks.values().removeIf(Set::isEmpty);
+
+        tasksCount -= assignments;
+        if (getCompletedTasks().remove(task)) {
+            completedTasksCount -= assignments;
+        }
+    }
+
+    private int countAssignments(Task task) {
+        int assignments = 0;
+        for (Set<Task> assigned : tasks.values()) {
+            if (assigned.contains(task)) {
+                assignments++;
+            }
+        }
+
+        return assignments;
+    }
+
+    // The collaborations saved before the completed tasks were kept are loaded without them
+    private Set<Task> getCompletedTasks() {
+        if (completedTasks == null) {
+            completedTasks = new HashSet<>();
+        }
+
+        return completedTasks;
+    }
+
     public Collection<String> getUsers() {
         return Collections.unmodifiableCollection(users);
     }
@@ -69,6 +138,7 @@ public class Collaboration {
                     task.getName(), username));
         }
         tasks.get(username).add(task);
+        tasksCount++;
     }
 
     private void validateString(String str, String message) {
@@ -0,0 +1,89 @@
+package todoist.command;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// A command of the binary protocol, whose fields are already decoded to their types
+public record BinaryCommand(CommandType type, Map<ParameterName, Object> fields) {
+
+    public BinaryCommand {
+        if (type == null) {
+            throw new IllegalArgumentException("Command type cannot be null.");
+        }
+        if (fields == null) {
+            throw new IllegalArgumentException("Fields cannot be null.");
+        }
+
+        fields = Collections.unmodifiableMap(new EnumMap<>(fields));
+    }
+
+    public static BinaryCommandBuilder builder(CommandType type) {
+        return new BinaryCommandBuilder(type);
+    }
+
+    public boolean hasField(ParameterName parameter) {
+        return fields.containsKey(parameter);
+    }
+
+    public String getString(ParameterName parameter) {
+        return (String) fields.get(parameter);
+    }
+
+    public LocalDate getDate(ParameterName parameter) {
+        return (LocalDate) fields.get(parameter);
+    }
+
+    public Integer getInteger(ParameterName parameter) {
+        return (Integer) fields.get(parameter);
+    }
+
+    public boolean getBoolean(ParameterName parameter) {
+        return Boolean.TRUE.equals(fields.get(parameter));
+    }
+
+    public static class BinaryCommandBuilder {
+        private final CommandType type;
+        private final Map<ParameterName, Object> fields;
+
+        private BinaryCommandBuilder(CommandType type) {
+            this.type = type;
+            this.fields = new EnumMap<>(ParameterName.class);
+        }
+
+        public BinaryCommandBuilder setString(ParameterName parameter, String value) {
+            return setField(parameter, value);
+        }
+
+        public BinaryCommandBuilder setDate(ParameterName parameter, LocalDate value) {
+            return setField(parameter, value);
+        }
+
+        public BinaryCommandBuilder setInteger(ParameterName parameter, int value) {
+            return setField(parameter, value);
+        }
+
+        public BinaryCommandBuilder setBoolean(ParameterName parameter, boolean value) {
+            return setField(parameter, value);
+        }
+
+        public BinaryCommand build() {
+            return new BinaryCommand(type, fields);
+        }
+
+        private BinaryCommandBuilder setField(ParameterName parameter, Object value) {
+            if (parameter == null) {
+                throw new IllegalArgumentException("Parameter cannot be null.");
+            }
+
+            if (value == null) {
+                fields.remove(parameter);
+            } else {
+                fields.put(parameter, value);
+            }
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package todoist.command;
+
+import todoist.collaboration.Collaboration;
+import todoist.exception.CollaborationAlreadyExistsException;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.InvalidCommandFormatException;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.exception.TaskAlreadyExistsException;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserAlreadyLoggedException;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.UserNotLoggedException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.Storage;
+import todoist.storage.query.TaskQuery;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Executes the commands of the binary protocol on the storage and the logged users of the text command executor
+public class BinaryCommandExecutor {
+    private static final String INVALID_COMMAND_FORMAT_MESSAGE = "Invalid command format. ";
+    private static final String DISCONNECT_MESSAGE = "Disconnected from server.";
+
+    private final CommandExecutor executor;
+    private final Storage storage;
+
+    public BinaryCommandExecutor(CommandExecutor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Command executor cannot be null.");
+        }
+
+        this.executor = executor;
+        this.storage = executor.getStorage();
+    }
+
+    public BinaryReply execute(int clientId, BinaryCommand command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command cannot be null");
+        }
+
+        if (command.type().isModifying && executor.isReadOnly()) {
+            return BinaryReply.error(ReadOnlyCommandExecutor.READ_ONLY_MESSAGE);
+        }
+
+        synchronized (executor) {
+            return executeCommand(clientId, command);
+        }
+    }
+
+    private BinaryReply executeCommand(int clientId, BinaryCommand command) {
+        try {
+            return switch (command.type()) {
+                case REGISTER -> register(command);
+                case LOGIN -> login(clientId, command);
+                case LOGOUT -> logout(clientId);
+                case ADD_TASK -> addTask(clientId, command);
+                case UPDATE_TASK -> updateTask(clientId, command);
+                case DELETE_TASK -> deleteTask(clientId, command);
+                case GET_TASK -> getTask(clientId, command);
+                case LIST_TASKS -> listTasks(clientId, command);
+                case LIST_DASHBOARD -> BinaryReply.tasks(storage.listDashboard(executor.getCurrentUser(clientId)));
+                case FINISH_TASK -> finishTask(clientId, command);
+                case ADD_COLLABORATION -> addCollaboration(clientId, command);
+                case DELETE_COLLABORATION -> deleteCollaboration(clientId, command);
+                case LIST_COLLABORATIONS -> listCollaborations(clientId);
+                case ADD_USER -> addUserToCollaboration(clientId, command);
+                case ASSIGN_TASK -> assignTask(clientId, command);
+                case LIST_USERS -> listUsers(clientId, command);
+                case STATS -> BinaryReply.statistics(storage.getStatistics(executor.getCurrentUser(clientId)));
+                case DISCONNECT -> disconnect(clientId);
+                case IMPORT, EXPORT, HELP, UNKNOWN -> BinaryReply.error(
+                        "Command \"" + command.type().name + "\" is not supported by the binary protocol.");
+            };
+        } catch (InvalidCommandFormatException e) {
+            return BinaryReply.error(INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage());
+        } catch (UserNotLoggedException | UserAlreadyLoggedException | UserNotFoundException | WrongPasswordException |
+                 UserAlreadyExistsException | TaskNotFoundException | TaskNameAlreadyExistsException |
+                 TaskAlreadyExistsException | CollaborationNotFoundException | CollaborationAlreadyExistsException |
+                 InvalidTimeIntervalException e) {
+            return BinaryReply.error(e.getMessage());
+        }
+    }
+
+    private BinaryReply register(BinaryCommand command)
+            throws InvalidCommandFormatException, UserAlreadyExistsException {
+
+        String username = parseString(command, ParameterName.USERNAME);
+        storage.addUser(username, parseString(command, ParameterName.PASSWORD));
+
+        return BinaryReply.message(String.format("User \"%s\" added successfully!", username));
+    }
+
+    private BinaryReply login(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserAlreadyLoggedException, UserNotFoundException, WrongPasswordException {
+
+        String username = parseString(command, ParameterName.USERNAME);
+        String password = parseString(command, ParameterName.PASSWORD);
+
+        if (executor.getLoggedUser(clientId) != null) {
+            throw new UserAlreadyLoggedException("There is already another logged user. Please log out first.");
+        }
+
+        storage.checkPassword(username, password);
+        executor.logIn(clientId, username);
+
+        return BinaryReply.message(String.format("User \"%s\" logged successfully!", username));
+    }
+
+    private BinaryReply logout(int clientId) throws UserNotLoggedException {
+        String currentUser = executor.getCurrentUser(clientId);
+        executor.logOut(clientId);
+
+        return BinaryReply.message("User \"" + currentUser + "\" successfully logged out.");
+    }
+
+    private BinaryReply addTask(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            InvalidTimeIntervalException, UserNotLoggedException, TaskNameAlreadyExistsException,
+            UserNotFoundException {
+
+        Task task = parseTask(command);
+        storage.addTask(executor.getCurrentUser(clientId), task);
+
+        return BinaryReply.message(String.format("Task \"%s\" successfully added!", task.getName()));
+    }
+
+    private BinaryReply updateTask(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            InvalidTimeIntervalException, UserNotLoggedException, TaskNotFoundException, UserNotFoundException {
+
+        Task task = parseTask(command);
+        storage.updateTask(executor.getCurrentUser(clientId), task);
+
+        return BinaryReply.message(String.format("Task \"%s\" successfully updated!", task.getName()));
+    }
+
+    private BinaryReply deleteTask(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserNotLoggedException, TaskNotFoundException, UserNotFoundException {
+
+        String taskName = parseString(command, ParameterName.NAME);
+        LocalDate date = command.getDate(ParameterName.DATE);
+        String currentUser = executor.getCurrentUser(clientId);
+
+        if (date == null) {
+            storage.deleteTask(currentUser, taskName);
+        } else {
+            storage.deleteTask(currentUser, taskName, date);
+        }
+
+        return BinaryReply.message(String.format("Task \"%s\" deleted successfully!", taskName));
+    }
+
+    private BinaryReply getTask(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserNotLoggedException, TaskNotFoundException, UserNotFoundException {
+
+        String taskName = parseString(command, ParameterName.NAME);
+        LocalDate date = command.getDate(ParameterName.DATE);
+        String currentUser = executor.getCurrentUser(clientId);
+
+        Task task = date == null ? storage.getTask(currentUser, taskName) :
+                storage.getTask(currentUser, taskName, date);
+
+        return BinaryReply.tasks(List.of(task));
+    }
+
+    private BinaryReply listTasks(int clientId, BinaryCommand command) throws UserNotLoggedException,
+            TaskNotFoundException, CollaborationNotFoundException, UserNotFoundException,
+            InvalidTimeIntervalException {
+
+        boolean completed = command.getBoolean(ParameterName.COMPLETED);
+        LocalDate date = command.getDate(ParameterName.DATE);
+        String collaborationName = command.getString(ParameterName.COLLABORATION);
+        String label = command.getString(ParameterName.LABEL);
+        LocalDate dueDateFrom = command.getDate(ParameterName.DUE_DATE_FROM);
+        LocalDate dueDateTo = command.getDate(ParameterName.DUE_DATE_TO);
+
+        String currentUser = executor.getCurrentUser(clientId);
+        Collection<Task> tasks;
+
+        if (label != null || dueDateFrom != null || dueDateTo != null ||
+            (completed ? 1 : 0) + (date != null ? 1 : 0) + (collaborationName != null ? 1 : 0) > 1) {
+
+            tasks = storage.queryTasks(currentUser, TaskQuery.builder()
+                    .setCompleted(completed)
+                    .setDate(date)
+                    .setCollaboration(collaborationName)
+                    .setLabel(label)
+                    .setDueDateFrom(dueDateFrom)
+                    .setDueDateTo(dueDateTo)
+                    .build());
+
+        } else if (completed) {
+            tasks = storage.listCompletedTasks(currentUser);
+
+        } else if (date != null) {
+            tasks = storage.listTasks(currentUser, date);
+
+        } else if (collaborationName != null) {
+            tasks = storage.listTasks(currentUser, collaborationName);
+
+        } else {
+            tasks = storage.listTasks(currentUser);
+        }
+
+        return BinaryReply.tasks(tasks);
+    }
+
+    private BinaryReply finishTask(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserNotLoggedException, TaskNotFoundException, UserNotFoundException {
+
+        String taskName = parseString(command, ParameterName.NAME);
+        LocalDate date = command.getDate(ParameterName.DATE);
+
+        if (date == null) {
+            storage.finishTask(executor.getCurrentUser(clientId), taskName);
+        } else {
+            storage.finishTask(executor.getCurrentUser(clientId), taskName, date);
+        }
+
+        return BinaryReply.message(String.format("Task \"%s\" finished successfully!", taskName));
+    }
+
+    private BinaryReply addCollaboration(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserNotLoggedException, CollaborationAlreadyExistsException, UserNotFoundException {
+
+        String collaborationName = parseString(command, ParameterName.NAME);
+        storage.addCollaboration(executor.getCurrentUser(clientId), collaborationName);
+
+        return BinaryReply.message("Collaboration \"" + collaborationName + "\" added successfully");
+    }
+
+    private BinaryReply deleteCollaboration(int clientId, BinaryCommand command)
+            throws InvalidCommandFormatException, UserNotLoggedException, CollaborationNotFoundException,
+            UserNotFoundException {
+
+        String collaborationName = parseString(command, ParameterName.COLLABORATION);
+        storage.deleteCollaboration(executor.getCurrentUser(clientId), collaborationName);
+
+        return BinaryReply.message("Collaboration \"" + collaborationName + "\" deleted successfully");
+    }
+
+    private BinaryReply listCollaborations(int clientId) throws UserNotLoggedException, UserNotFoundException {
+        return BinaryReply.names(storage.getCollaborations(executor.getCurrentUser(clientId)).stream()
+                .map(Collaboration::getName)
+                .toList());
+    }
+
+    private BinaryReply addUserToCollaboration(int clientId, BinaryCommand command)
+            throws InvalidCommandFormatException, UserNotLoggedException, CollaborationNotFoundException,
+            UserNotFoundException, UserAlreadyExistsException {
+
+        String collaborationName = parseString(command, ParameterName.COLLABORATION);
+        String username = parseString(command, ParameterName.USER);
+
+        storage.addUserToCollaboration(executor.getCurrentUser(clientId), collaborationName, username);
+
+        return BinaryReply.message(String.format("User \"%s\" successfully added in collaboration \"%s\".",
+                username, collaborationName));
+    }
+
+    private BinaryReply assignTask(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserNotLoggedException, CollaborationNotFoundException, UserNotFoundException, TaskNotFoundException,
+            TaskAlreadyExistsException {
+
+        String collaborationName = parseString(command, ParameterName.COLLABORATION);
+        String username = parseString(command, ParameterName.USER);
+        String taskName = parseString(command, ParameterName.TASK);
+        LocalDate date = command.getDate(ParameterName.DATE);
+        String currentUser = executor.getCurrentUser(clientId);
+
+        if (date == null) {
+            storage.assignTask(currentUser, collaborationName, username, taskName);
+        } else {
+            storage.assignTask(currentUser, collaborationName, username, taskName, date);
+        }
+
+        return BinaryReply.message(String.format("Task \"%s\" successfully assigned with user \"%s\".",
+                taskName, username));
+    }
+
+    private BinaryReply listUsers(int clientId, BinaryCommand command) throws InvalidCommandFormatException,
+            UserNotLoggedException, CollaborationNotFoundException, UserNotFoundException {
+
+        String collaborationName = parseString(command, ParameterName.COLLABORATION);
+
+        return BinaryReply.names(storage.listUsersInCollaboration(executor.getCurrentUser(clientId),
+                collaborationName));
+    }
+
+    private BinaryReply disconnect(int clientId) {
+        executor.logOut(clientId);
+        return BinaryReply.message(DISCONNECT_MESSAGE);
+    }
+
+    private Task parseTask(BinaryCommand command) throws InvalidCommandFormatException,
+            InvalidTimeIntervalException {
+
+        Task.TaskBuilder builder = Task.builder(parseString(command, ParameterName.NAME));
+        LocalDate date = command.getDate(ParameterName.DATE);
+
+        if (date != null) {
+            builder.setDate(date);
+        }
+        if (command.hasField(ParameterName.DUE_DATE)) {
+            builder.setDueDate(command.getDate(ParameterName.DUE_DATE));
+        }
+        if (command.hasField(ParameterName.DESCRIPTION)) {
+            builder.setDescription(command.getString(ParameterName.DESCRIPTION));
+        }
+        if (command.hasField(ParameterName.LABEL)) {
+            builder.setLabel(command.getString(ParameterName.LABEL));
+        }
+
+        Integer repeat = command.getInteger(ParameterName.REPEAT);
+        if (repeat != null) {
+            if (date == null) {
+                throw new InvalidCommandFormatException("Recurring tasks must have a date.");
+            }
+
+            try {
+                builder.setRecurrence(new Recurrence(repeat, command.getDate(ParameterName.UNTIL)));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCommandFormatException("Unknown recurrence \"" + repeat + "\".", e);
+            }
+        } else if (command.hasField(ParameterName.UNTIL)) {
+            throw new InvalidCommandFormatException("\"until\" parameter requires \"repeat\" parameter.");
+        }
+
+        return builder.build();
+    }
+
+    private String parseString(BinaryCommand command, ParameterName parameter) throws InvalidCommandFormatException {
+        String value = command.getString(parameter);
+
+        if (value == null || value.isBlank()) {
+            throw new InvalidCommandFormatException("\"" + parameter.name + "\" parameter not found.");
+        }
+
+        return value;
+    }
+}
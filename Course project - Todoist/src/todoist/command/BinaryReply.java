@@ -0,0 +1,35 @@
+package todoist.command;
+
+import todoist.storage.statistics.Statistics;
+import todoist.task.Task;
+
+import java.util.Collection;
+import java.util.List;
+
+// A structured reply of the binary protocol, so the clients do not have to parse the text replies
+public record BinaryReply(ReplyType type,
+                          String message,
+                          List<Task> tasks,
+                          List<String> names,
+                          Statistics statistics) {
+
+    public static BinaryReply message(String message) {
+        return new BinaryReply(ReplyType.MESSAGE, message, null, null, null);
+    }
+
+    public static BinaryReply error(String message) {
+        return new BinaryReply(ReplyType.ERROR, message, null, null, null);
+    }
+
+    public static BinaryReply tasks(Collection<Task> tasks) {
+        return new BinaryReply(ReplyType.TASKS, null, List.copyOf(tasks), null, null);
+    }
+
+    public static BinaryReply names(Collection<String> names) {
+        return new BinaryReply(ReplyType.NAMES, null, null, List.copyOf(names), null);
+    }
+
+    public static BinaryReply statistics(Statistics statistics) {
+        return new BinaryReply(ReplyType.STATISTICS, null, null, null, statistics);
+    }
+}
@@ -13,8 +13,20 @@ import todoist.exception.UserNotFoundException;
 import todoist.exception.UserNotLoggedException;
 import todoist.exception.WrongPasswordException;
 import todoist.storage.Storage;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Recurrence;
 import todoist.task.Task;
-
+import todoist.transfer.TaskExporter;
+import todoist.transfer.TaskFormat;
+import todoist.transfer.TaskImporter;
+import todoist.transfer.TransferResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -27,10 +39,13 @@ public class CommandExecutor {
     private static final int LOGIN_ARGUMENTS_COUNT = 2;
     private static final int ADD_USER_ARGUMENTS_COUNT = 2;
     private static final int ASSIGN_TASK_ARGUMENTS_COUNT = 3;
+    private static final int FINISH_TASK_MAX_ARGUMENTS_COUNT = 2;
     private static final int MIN_ARGUMENTS_COUNT = 1;
 
     private static final String KEY_VALUE_DELIMITER_REGEX = "=";
     private static final String DATE_FORMAT = "dd.MM.yyyy";
+    private static final String DAILY_RECURRENCE = "daily";
+    private static final String WEEKLY_RECURRENCE = "weekly";
     private static final int PARAMETER_TOKENS_COUNT = 2;
 
     private static final String INVALID_ARGS_COUNT_MESSAGE_FORMAT =
@@ -44,6 +59,8 @@ public class CommandExecutor {
                 << logout
                 << add-task --name=<task name> --date=<date*> --due-date=<due-date*> --description=<description>
                 << update-task --name=<task name> --date=<date*> --due-date=<due-date*> --description=<description>
+                   (add-task and update-task also accept --label=<label>)
+                   (and --repeat=<daily|weekly|number of days> --until=<date*> for recurring tasks with a date)
                 << delete-task --name=<task name>
                 << delete-task --name=<task name> --date=<date*>
                 << get-task --name=<task name>
@@ -52,8 +69,12 @@ public class CommandExecutor {
                 << list-tasks --completed=true
                 << list-tasks --date=<date*>
                 << list-tasks --collaboration=<collaboration name>
+                << list-tasks --label=<label>
+                << list-tasks --due-from=<date*> --due-to=<date*>
+                   (the filters of list-tasks can be combined)
                 << list-dashboard
                 << finish-task --name=<name>
+                << finish-task --name=<name> --date=<date*>
                 << add-collaboration --name=<collaboration name>
                 << delete-collaboration --name=<collaboration name>
                 << list-collaborations
@@ -61,11 +82,15 @@ public class CommandExecutor {
                 << assign-task --collaboration=<collaboration name> --user=<username> --task=<name>
                 << assign-task --collaboration=<collaboration name> --user=<username> --task=<name> --date=<date*>
                 << list-users --collaboration=<collaboration name>
+                << import --file=<file name> --format=<json|csv>
+                << export --file=<file name> --format=<json|csv> --completed=true
+                << stats
                 *date format: dd.MM.yyyy
             """; // todo
     private static final String UNKNOWN_COMMAND_MESSAGE = "Unknown command. Please enter valid command!";
     private static final String DISCONNECT_MESSAGE = "Disconnected from server.";
     private static final String RESULTS_SECTION_SEPARATOR = "##################################################";
+    private static final Path TRANSFER_DIRECTORY = Path.of("resources", "transfer");
 
     private final Storage storage;
 
@@ -80,11 +105,42 @@ public class CommandExecutor {
         this.loggedUsers = new HashMap<>();
     }
 
+    // The executor is shared by the socket server and the HTTP gateway threads
+    public synchronized String getLoggedUser(int clientId) {
+        return loggedUsers.get(clientId);
+    }
+
+    // The binary protocol shares the storage and the logged users with the text protocol
+    Storage getStorage() {
+        return storage;
+    }
+
+    boolean isReadOnly() {
+        return false;
+    }
+
+    void logIn(int clientId, String username) {
+        loggedUsers.put(clientId, username);
+    }
+
+    void logOut(int clientId) {
+        loggedUsers.remove(clientId);
+    }
+
+    // The transfers read or write whole files, so they do not hold the executor while the other commands run
     public String execute(int clientId, Command command) {
         if (command == null) {
             throw new IllegalArgumentException("Command cannot be null");
         }
 
+        return switch (command.type()) {
+            case IMPORT -> importTasks(clientId, command.arguments());
+            case EXPORT -> exportTasks(clientId, command.arguments());
+            default -> executeExclusively(clientId, command);
+        };
+    }
+
+    private synchronized String executeExclusively(int clientId, Command command) {
         return switch (command.type()) {
             case REGISTER -> register(command.arguments());
             case LOGIN -> login(clientId, command.arguments());
@@ -102,6 +158,8 @@ public class CommandExecutor {
             case ADD_USER -> addUserToCollaboration(clientId, command.arguments());
             case ASSIGN_TASK -> assignTask(clientId, command.arguments());
             case LIST_USERS -> listUsers(clientId, command.arguments());
+            case IMPORT, EXPORT -> throw new IllegalStateException("Transfers are not executed exclusively.");
+            case STATS -> stats(clientId);
             case DISCONNECT -> disconnect(clientId);
             case HELP -> HELP_MESSAGE;
             case UNKNOWN -> UNKNOWN_COMMAND_MESSAGE;
@@ -228,10 +286,15 @@ public class CommandExecutor {
         LocalDate date = parseDate(ParameterName.DATE, arguments);
         LocalDate dueDate = parseDate(ParameterName.DUE_DATE, arguments);
         String description = parseArgument(ParameterName.DESCRIPTION, arguments);
+        String label = parseArgument(ParameterName.LABEL, arguments);
+        Recurrence recurrence = parseRecurrence(arguments);
 
         if (name == null || name.isBlank()) {
             throw new InvalidCommandFormatException("\"name\" parameter not found.");
         }
+        if (recurrence != null && date == null) {
+            throw new InvalidCommandFormatException("Recurring tasks must have a date.");
+        }
 
         Task.TaskBuilder builder = Task.builder(name);
 
@@ -244,10 +307,42 @@ public class CommandExecutor {
         if (description != null && !description.isBlank()) {
             builder.setDescription(description);
         }
+        if (label != null && !label.isBlank()) {
+            builder.setLabel(label);
+        }
+        if (recurrence != null) {
+            builder.setRecurrence(recurrence);
+        }
 
         return builder.build();
     }
 
+    private Recurrence parseRecurrence(String... arguments) throws InvalidCommandFormatException {
+        String repeat = parseArgument(ParameterName.REPEAT, arguments);
+        LocalDate until = parseDate(ParameterName.UNTIL, arguments);
+
+        if (repeat == null || repeat.isBlank()) {
+            if (until != null) {
+                throw new InvalidCommandFormatException("\"until\" parameter requires \"repeat\" parameter.");
+            }
+
+            return null;
+        }
+
+        if (repeat.equalsIgnoreCase(DAILY_RECURRENCE)) {
+            return Recurrence.daily(until);
+        }
+        if (repeat.equalsIgnoreCase(WEEKLY_RECURRENCE)) {
+            return Recurrence.weekly(until);
+        }
+
+        try {
+            return new Recurrence(Integer.parseInt(repeat), until);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCommandFormatException("Unknown recurrence \"" + repeat + "\".", e);
+        }
+    }
+
     private String deleteTask(int clientId, String... arguments) {
         if (arguments.length < MIN_ARGUMENTS_COUNT) {
             return String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "delete-task",
@@ -325,40 +420,59 @@ public class CommandExecutor {
         boolean completed;
         LocalDate date;
         String collaborationName;
+        String label;
+        LocalDate dueDateFrom;
+        LocalDate dueDateTo;
 
         try {
             completed = Boolean.parseBoolean(parseArgument(ParameterName.COMPLETED, arguments));
             date = parseDate(ParameterName.DATE, arguments);
             collaborationName = parseArgument(ParameterName.COLLABORATION, arguments);
+            label = parseArgument(ParameterName.LABEL, arguments);
+            dueDateFrom = parseDate(ParameterName.DUE_DATE_FROM, arguments);
+            dueDateTo = parseDate(ParameterName.DUE_DATE_TO, arguments);
         } catch (InvalidCommandFormatException e) {
             return INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage();
         }
 
         boolean dateIsSet = date != null;
         boolean collaborationIsSet = collaborationName != null && !collaborationName.isBlank();
+        boolean labelIsSet = label != null && !label.isBlank();
+        boolean dueDateRangeIsSet = dueDateFrom != null || dueDateTo != null;
 
         Collection<Task> tasks;
 
         try {
             String currentUser = getCurrentUser(clientId);
 
-            if (!completed && !dateIsSet && !collaborationIsSet) {
-                tasks = storage.listTasks(currentUser);
+            if (labelIsSet || dueDateRangeIsSet ||
+                (completed ? 1 : 0) + (dateIsSet ? 1 : 0) + (collaborationIsSet ? 1 : 0) > 1) {
+
+                TaskQuery query = TaskQuery.builder()
+                        .setCompleted(completed)
+                        .setDate(date)
+                        .setCollaboration(collaborationIsSet ? collaborationName : null)
+                        .setLabel(labelIsSet ? label : null)
+                        .setDueDateFrom(dueDateFrom)
+                        .setDueDateTo(dueDateTo)
+                        .build();
+
+                tasks = storage.queryTasks(currentUser, query);
 
-            } else if (completed && !dateIsSet && !collaborationIsSet) {
+            } else if (completed) {
                 tasks = storage.listCompletedTasks(currentUser);
 
-            } else if (!completed && dateIsSet && !collaborationIsSet) {
+            } else if (dateIsSet) {
                 tasks = storage.listTasks(currentUser, date);
 
-            } else if (!completed && !dateIsSet && collaborationIsSet) {
+            } else if (collaborationIsSet) {
                 tasks = storage.listTasks(currentUser, collaborationName);
 
             } else {
-                return INVALID_COMMAND_FORMAT_MESSAGE + "There are more than one set properties.";
+                tasks = storage.listTasks(currentUser);
             }
         } catch (UserNotLoggedException | TaskNotFoundException | CollaborationNotFoundException |
-                 UserNotFoundException e) {
+                 UserNotFoundException | InvalidTimeIntervalException e) {
 
             return "Tasks cannot be listed. " + e.getMessage();
         }
@@ -391,14 +505,20 @@ public class CommandExecutor {
     }
 
     private String finishTask(int clientId, String... arguments) {
-        if (arguments.length != MIN_ARGUMENTS_COUNT) {
+        if (arguments.length < MIN_ARGUMENTS_COUNT) {
             return String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "finish-task", MIN_ARGUMENTS_COUNT);
         }
+        if (arguments.length > FINISH_TASK_MAX_ARGUMENTS_COUNT) {
+            return String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "finish-task",
+                    "at most " + FINISH_TASK_MAX_ARGUMENTS_COUNT);
+        }
 
         String name;
+        LocalDate date;
 
         try {
             name = parseArgument(ParameterName.NAME, arguments);
+            date = parseDate(ParameterName.DATE, arguments);
         } catch (InvalidCommandFormatException e) {
             return INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage();
         }
@@ -408,7 +528,12 @@ public class CommandExecutor {
         }
 
         try {
-            storage.finishTask(getCurrentUser(clientId), name);
+            if (date == null) {
+                storage.finishTask(getCurrentUser(clientId), name);
+            } else {
+                storage.finishTask(getCurrentUser(clientId), name, date);
+            }
+
             return String.format("Task \"%s\" finished successfully!", name);
         } catch (UserNotLoggedException | TaskNotFoundException | UserNotFoundException e) {
             return "Task cannot be finished. " + e.getMessage();
@@ -598,6 +723,159 @@ public class CommandExecutor {
         }
     }
 
+    private String importTasks(int clientId, String... arguments) {
+        if (arguments.length < MIN_ARGUMENTS_COUNT) {
+            return String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "import", "at least " + MIN_ARGUMENTS_COUNT);
+        }
+
+        String fileName;
+        TaskFormat format;
+
+        try {
+            fileName = parseTransferFile(arguments);
+            format = parseTransferFormat(arguments);
+        } catch (InvalidCommandFormatException e) {
+            return INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage();
+        }
+
+        String currentUser;
+        Path file;
+        try {
+            currentUser = getTransferUser(clientId);
+            file = resolveTransferFile(currentUser, fileName);
+        } catch (UserNotLoggedException e) {
+            return "Tasks cannot be imported. " + e.getMessage();
+        } catch (InvalidCommandFormatException e) {
+            return INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage();
+        }
+
+        // The reply is sent only when the transfer completes, so it reports only the summary of the batches
+        try (Reader reader = Files.newBufferedReader(file)) {
+            TransferResult result = new TaskImporter(storage).importTasks(currentUser, reader, format,
+                    processed -> { });
+
+            return String.format("Imported %d of %d tasks in %d batches (%d skipped).",
+                    result.transferred(), result.processed(), result.batches(), result.skipped());
+
+        } catch (UserNotFoundException e) {
+            return "Tasks cannot be imported. " + e.getMessage();
+        } catch (IOException e) {
+            return "Tasks cannot be imported. The file cannot be read.";
+        }
+    }
+
+    private String exportTasks(int clientId, String... arguments) {
+        if (arguments.length < MIN_ARGUMENTS_COUNT) {
+            return String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "export", "at least " + MIN_ARGUMENTS_COUNT);
+        }
+
+        String fileName;
+        TaskFormat format;
+        boolean completed;
+
+        try {
+            fileName = parseTransferFile(arguments);
+            format = parseTransferFormat(arguments);
+            completed = Boolean.parseBoolean(parseArgument(ParameterName.COMPLETED, arguments));
+        } catch (InvalidCommandFormatException e) {
+            return INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage();
+        }
+
+        String currentUser;
+        Path file;
+        try {
+            currentUser = getTransferUser(clientId);
+            file = resolveTransferFile(currentUser, fileName);
+        } catch (UserNotLoggedException e) {
+            return "Tasks cannot be exported. " + e.getMessage();
+        } catch (InvalidCommandFormatException e) {
+            return INVALID_COMMAND_FORMAT_MESSAGE + e.getMessage();
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                TransferResult result = new TaskExporter(storage).exportTasks(currentUser, completed, writer, format,
+                        exported -> { });
+
+                return String.format("Exported %d tasks to \"%s\".", result.transferred(), file.getFileName());
+            }
+        } catch (UserNotFoundException e) {
+            return "Tasks cannot be exported. " + e.getMessage();
+        } catch (IOException e) {
+            return "Tasks cannot be exported. The file cannot be written.";
+        }
+    }
+
+    private String stats(int clientId) {
+        try {
+            Statistics statistics = storage.getStatistics(getCurrentUser(clientId));
+
+            StringBuilder response = new StringBuilder(RESULTS_SECTION_SEPARATOR).append(System.lineSeparator())
+                    .append("Active tasks: ").append(statistics.activeTasks()).append(System.lineSeparator())
+                    .append("Overdue tasks: ").append(statistics.overdueTasks()).append(System.lineSeparator())
+                    .append("Completed today: ").append(statistics.completedToday()).append(System.lineSeparator())
+                    .append("Completed this week: ").append(statistics.completedThisWeek())
+                    .append(System.lineSeparator())
+                    .append("Completed in total: ").append(statistics.completedTasks()).append(System.lineSeparator());
+
+            statistics.collaborations().forEach(collaboration -> response.append(String.format(
+                    "Collaboration \"%s\": %d of %d tasks completed (%.0f%%)", collaboration.name(),
+                    collaboration.completedTasks(), collaboration.tasks(), collaboration.completionRate() * 100))
+                    .append(System.lineSeparator()));
+
+            response.append(RESULTS_SECTION_SEPARATOR).append(System.lineSeparator());
+
+            return response.toString();
+
+        } catch (UserNotLoggedException | UserNotFoundException e) {
+            return "Statistics cannot be shown. " + e.getMessage();
+        }
+    }
+
+    private String parseTransferFile(String... arguments) throws InvalidCommandFormatException {
+        String fileName = parseArgument(ParameterName.FILE, arguments);
+
+        if (fileName == null || fileName.isBlank()) {
+            throw new InvalidCommandFormatException("\"file\" parameter not found.");
+        }
+
+        // The files are only accessed inside the transfer directory of the server
+        Path file = TRANSFER_DIRECTORY.resolve(fileName).normalize();
+        if (!file.startsWith(TRANSFER_DIRECTORY) || file.equals(TRANSFER_DIRECTORY)) {
+            throw new InvalidCommandFormatException("Invalid file name \"" + fileName + "\".");
+        }
+
+        return fileName;
+    }
+
+    // Every user has its own transfer directory, so the users can neither read nor replace the files of the others
+    private Path resolveTransferFile(String currentUser, String fileName) throws InvalidCommandFormatException {
+        Path userDirectory = TRANSFER_DIRECTORY.resolve(currentUser).normalize();
+        if (!TRANSFER_DIRECTORY.equals(userDirectory.getParent())) {
+            throw new InvalidCommandFormatException("The user \"" + currentUser + "\" cannot transfer files.");
+        }
+
+        Path file = userDirectory.resolve(fileName).normalize();
+        if (!file.startsWith(userDirectory) || file.equals(userDirectory)) {
+            throw new InvalidCommandFormatException("Invalid file name \"" + fileName + "\".");
+        }
+
+        return file;
+    }
+
+    private TaskFormat parseTransferFormat(String... arguments) throws InvalidCommandFormatException {
+        String formatName = parseArgument(ParameterName.FORMAT, arguments);
+        TaskFormat format = TaskFormat.getFormatByName(formatName);
+
+        if (format == null) {
+            throw new InvalidCommandFormatException("Unknown format \"" + formatName + "\".");
+        }
+
+        return format;
+    }
+
     private String disconnect(int clientId) {
         logout(clientId);
         return DISCONNECT_MESSAGE;
@@ -637,7 +915,12 @@ public class CommandExecutor {
         return date;
     }
 
-    private String getCurrentUser(int clientId) throws UserNotLoggedException {
+    // The transfers run without holding the executor, so the logged user is read while holding it
+    private synchronized String getTransferUser(int clientId) throws UserNotLoggedException {
+        return getCurrentUser(clientId);
+    }
+
+    String getCurrentUser(int clientId) throws UserNotLoggedException {
         if (!loggedUsers.containsKey(clientId)) {
             throw new UserNotLoggedException("There is no logged user.");
         }
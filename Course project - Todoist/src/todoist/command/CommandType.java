@@ -1,32 +1,47 @@
 package todoist.command;
 
 public enum CommandType {
-    REGISTER("register"),
-    LOGIN("login"),
-    LOGOUT("logout"),
-    ADD_TASK("add-task"),
-    UPDATE_TASK("update-task"),
-    DELETE_TASK("delete-task"),
-    GET_TASK("get-task"),
-    LIST_TASKS("list-tasks"),
-    LIST_DASHBOARD("list-dashboard"),
-    FINISH_TASK("finish-task"),
-
-    ADD_COLLABORATION("add-collaboration"),
-    DELETE_COLLABORATION("delete-collaboration"),
-    LIST_COLLABORATIONS("list-collaborations"),
-    ADD_USER("add-user"),
-    ASSIGN_TASK("assign-task"),
-    LIST_USERS("list-users"),
-    HELP("help"),
-    DISCONNECT("disconnect"),
-
-    UNKNOWN("unknown");
+    REGISTER("register", true, 1, 0x01),
+    LOGIN("login", false, 1, 0x02),
+    LOGOUT("logout", false, 1, 0x03),
+    ADD_TASK("add-task", true, 1, 0x04),
+    UPDATE_TASK("update-task", true, 1, 0x05),
+    DELETE_TASK("delete-task", true, 1, 0x06),
+    GET_TASK("get-task", false, 1, 0x07),
+    LIST_TASKS("list-tasks", false, 5, 0x08),
+    LIST_DASHBOARD("list-dashboard", false, 5, 0x09),
+    FINISH_TASK("finish-task", true, 1, 0x0A),
+
+    ADD_COLLABORATION("add-collaboration", true, 1, 0x0B),
+    DELETE_COLLABORATION("delete-collaboration", true, 1, 0x0C),
+    LIST_COLLABORATIONS("list-collaborations", false, 5, 0x0D),
+    ADD_USER("add-user", true, 1, 0x0E),
+    ASSIGN_TASK("assign-task", true, 1, 0x0F),
+    LIST_USERS("list-users", false, 5, 0x10),
+
+    IMPORT("import", true, 10, 0x11),
+    EXPORT("export", false, 10, 0x12),
+    STATS("stats", false, 1, 0x13),
+    HELP("help", false, 1, 0x14),
+    DISCONNECT("disconnect", false, 0, 0x15),
+
+    UNKNOWN("unknown", false, 1, 0x00);
 
     public final String name;
+    public final boolean isModifying;
+    public final int cost; // Tokens of the rate limit consumed by the command
+    public final int opcode; // Identifies the command in the binary protocol, so it must never change
 
-    private CommandType(String name) {
+    private CommandType(String name, boolean isModifying, int cost, int opcode) {
         this.name = name;
+        this.isModifying = isModifying;
+        this.cost = cost;
+        this.opcode = opcode;
+    }
+
+    // The transfers read or write whole files, so the server does not run them on its selector thread
+    public boolean isTransfer() {
+        return this == IMPORT || this == EXPORT;
     }
 
     public static CommandType getTypeByName(String name) {
@@ -39,4 +54,14 @@ public enum CommandType {
 
         return UNKNOWN;
     }
+
+    public static CommandType getTypeByOpcode(int opcode) {
+        for (CommandType currentType : CommandType.values()) {
+            if (currentType.opcode == opcode) {
+                return currentType;
+            }
+        }
+
+        return UNKNOWN;
+    }
 }
@@ -1,20 +1,49 @@
 package todoist.command;
 
 public enum ParameterName {
-    USERNAME("username"),
-    PASSWORD("password"),
-    NAME("name"),
-    DATE("date"),
-    DUE_DATE("due-date"),
-    DESCRIPTION("description"),
-    COMPLETED("completed"),
-    COLLABORATION("collaboration"),
-    USER("user"),
-    TASK("task");
+    USERNAME("username", 0x01),
+    PASSWORD("password", 0x02),
+    NAME("name", 0x03),
+    DATE("date", 0x04),
+    DUE_DATE("due-date", 0x05),
+    DESCRIPTION("description", 0x06),
+    COMPLETED("completed", 0x07),
+    COLLABORATION("collaboration", 0x08),
+    USER("user", 0x09),
+    TASK("task", 0x0A),
+    LABEL("label", 0x0B),
+    DUE_DATE_FROM("due-from", 0x0C),
+    DUE_DATE_TO("due-to", 0x0D),
+    REPEAT("repeat", 0x0E),
+    UNTIL("until", 0x0F),
+    FILE("file", 0x10),
+    FORMAT("format", 0x11);
 
     public final String name;
+    public final int tag; // Identifies the field in the binary protocol, so it must never change
 
-    private ParameterName(String name) {
+    private ParameterName(String name, int tag) {
         this.name = name;
+        this.tag = tag;
+    }
+
+    public static ParameterName getParameterByName(String name) {
+        for (ParameterName parameter : ParameterName.values()) {
+            if (parameter.name.equalsIgnoreCase(name)) {
+                return parameter;
+            }
+        }
+
+        return null;
+    }
+
+    public static ParameterName getParameterByTag(int tag) {
+        for (ParameterName parameter : ParameterName.values()) {
+            if (parameter.tag == tag) {
+                return parameter;
+            }
+        }
+
+        return null;
     }
 }
@@ -0,0 +1,30 @@
+package todoist.command;
+
+import todoist.storage.Storage;
+
+public class ReadOnlyCommandExecutor extends CommandExecutor {
+    static final String READ_ONLY_MESSAGE =
+            "This server is a read-only replica. Please connect to the primary server to change your data.";
+
+    public ReadOnlyCommandExecutor(Storage storage) {
+        super(storage);
+    }
+
+    @Override
+    public String execute(int clientId, Command command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command cannot be null");
+        }
+
+        if (command.type().isModifying) {
+            return READ_ONLY_MESSAGE;
+        }
+
+        return super.execute(clientId, command);
+    }
+
+    @Override
+    boolean isReadOnly() {
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package todoist.command;
+
+public enum ReplyType {
+    MESSAGE(0x00),
+    ERROR(0x01),
+    TASKS(0x02),
+    NAMES(0x03),
+    STATISTICS(0x04);
+
+    public final int code; // Identifies the reply in the binary protocol, so it must never change
+
+    private ReplyType(int code) {
+        this.code = code;
+    }
+
+    public static ReplyType getTypeByCode(int code) {
+        for (ReplyType type : ReplyType.values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package todoist.exception;
+
+public class InvalidTaskFormatException extends Exception {
+    public InvalidTaskFormatException(String message) {
+        super(message);
+    }
+
+    public InvalidTaskFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,333 @@
+package todoist.protocol;
+
+import todoist.command.BinaryCommand;
+import todoist.command.BinaryReply;
+import todoist.command.CommandType;
+import todoist.command.ParameterName;
+import todoist.command.ReplyType;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.storage.statistics.CollaborationStatistics;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Each frame is [varint length][payload]
+// A command payload is [opcode][varint field count] followed by [tag][value] for each field
+// A reply payload is [reply type] followed by the message, the tasks, the names or the statistics
+public class BinaryCodec {
+    private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+    private static final int INCOMPLETE = -1;
+
+    private static final int HAS_DATE = 0x01;
+    private static final int HAS_DUE_DATE = 0x02;
+    private static final int HAS_DESCRIPTION = 0x04;
+    private static final int HAS_LABEL = 0x08;
+    private static final int HAS_RECURRENCE = 0x10;
+    private static final int HAS_RECURRENCE_END = 0x20;
+
+    private final BinaryWriter writer;
+    private ByteBuffer input;
+
+    public BinaryCodec() {
+        this.writer = new BinaryWriter();
+        this.input = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    }
+
+    public ByteBuffer encode(BinaryCommand command) {
+        writer.reset();
+        writer.writeByte(command.type().opcode).writeVarInt(command.fields().size());
+
+        for (Map.Entry<ParameterName, Object> field : command.fields().entrySet()) {
+            writer.writeByte(field.getKey().tag);
+            writeField(field.getKey(), field.getValue());
+        }
+
+        return writer.toFrame();
+    }
+
+    public ByteBuffer encode(BinaryReply reply) {
+        writer.reset();
+        writer.writeByte(reply.type().code);
+
+        switch (reply.type()) {
+            case MESSAGE, ERROR -> writer.writeString(reply.message());
+            case TASKS -> {
+                writer.writeVarInt(reply.tasks().size());
+                reply.tasks().forEach(this::writeTask);
+            }
+            case NAMES -> {
+                writer.writeVarInt(reply.names().size());
+                reply.names().forEach(writer::writeString);
+            }
+            case STATISTICS -> writeStatistics(reply.statistics());
+        }
+
+        return writer.toFrame();
+    }
+
+    // Returns the commands of all complete frames, keeping the rest until more data arrives. The commands come
+    // from the clients before they log in, so any malformed frame is reported as IOException, which closes only
+    // the connection of the client
+    public List<BinaryCommand> decodeCommands(ByteBuffer data) throws IOException {
+        List<BinaryCommand> commands = new ArrayList<>();
+
+        try {
+            for (ByteBuffer frame : decodeFrames(data)) {
+                commands.add(readCommand(new BinaryReader(frame)));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed binary message.", e);
+        }
+
+        return commands;
+    }
+
+    public List<BinaryReply> decodeReplies(ByteBuffer data) throws IOException {
+        List<BinaryReply> replies = new ArrayList<>();
+        for (ByteBuffer frame : decodeFrames(data)) {
+            replies.add(readReply(new BinaryReader(frame)));
+        }
+
+        return replies;
+    }
+
+    private List<ByteBuffer> decodeFrames(ByteBuffer data) throws IOException {
+        ensureInputCapacity(data.remaining());
+        input.put(data);
+        input.flip();
+
+        List<ByteBuffer> frames = new ArrayList<>();
+
+        try {
+            while (input.hasRemaining()) {
+                int start = input.position();
+                int length = readFrameLength();
+
+                if (length == INCOMPLETE || input.remaining() < length) {
+                    input.position(start);
+                    break;
+                }
+
+                byte[] frame = new byte[length];
+                input.get(frame);
+                frames.add(ByteBuffer.wrap(frame));
+            }
+        } finally {
+            input.compact();
+        }
+
+        return frames;
+    }
+
+    private int readFrameLength() throws IOException {
+        int length = 0;
+
+        for (int shift = 0; input.hasRemaining(); shift += 7) {
+            int current = input.get() & 0xFF;
+            length |= (current & 0x7F) << shift;
+
+            if ((current & 0x80) == 0) {
+                if (length < 0 || length > MAX_FRAME_SIZE) {
+                    throw new IOException("Invalid frame length " + length + ".");
+                }
+
+                return length;
+            }
+            if (shift >= Integer.SIZE) {
+                throw new IOException("Malformed frame length.");
+            }
+        }
+
+        return INCOMPLETE;
+    }
+
+    private BinaryCommand readCommand(BinaryReader reader) throws IOException {
+        CommandType type = CommandType.getTypeByOpcode(reader.readByte());
+        int fieldsCount = reader.readCount();
+
+        Map<ParameterName, Object> fields = new EnumMap<>(ParameterName.class);
+        for (int i = 0; i < fieldsCount; i++) {
+            int tag = reader.readByte();
+
+            ParameterName parameter = ParameterName.getParameterByTag(tag);
+            if (parameter == null) {
+                throw new IOException("Unknown field tag " + tag + ".");
+            }
+
+            fields.put(parameter, readField(parameter, reader));
+        }
+
+        return new BinaryCommand(type, fields);
+    }
+
+    private BinaryReply readReply(BinaryReader reader) throws IOException {
+        int code = reader.readByte();
+
+        ReplyType type = ReplyType.getTypeByCode(code);
+        if (type == null) {
+            throw new IOException("Unknown reply type " + code + ".");
+        }
+
+        return switch (type) {
+            case MESSAGE -> BinaryReply.message(reader.readString());
+            case ERROR -> BinaryReply.error(reader.readString());
+            case TASKS -> BinaryReply.tasks(readTasks(reader));
+            case NAMES -> BinaryReply.names(readNames(reader));
+            case STATISTICS -> BinaryReply.statistics(readStatistics(reader));
+        };
+    }
+
+    private void writeField(ParameterName parameter, Object value) {
+        switch (parameter) {
+            case DATE, DUE_DATE, DUE_DATE_FROM, DUE_DATE_TO, UNTIL -> writer.writeDate((LocalDate) value);
+            case COMPLETED -> writer.writeBoolean((Boolean) value);
+            case REPEAT -> writer.writeVarInt((Integer) value);
+            default -> writer.writeString((String) value);
+        }
+    }
+
+    private Object readField(ParameterName parameter, BinaryReader reader) throws IOException {
+        return switch (parameter) {
+            case DATE, DUE_DATE, DUE_DATE_FROM, DUE_DATE_TO, UNTIL -> reader.readDate();
+            case COMPLETED -> reader.readBoolean();
+            case REPEAT -> reader.readVarInt();
+            default -> reader.readString();
+        };
+    }
+
+    private void writeTask(Task task) {
+        Recurrence recurrence = task.getRecurrence();
+
+        int flags = (task.getDate() != null ? HAS_DATE : 0) |
+                (task.getDueDate() != null ? HAS_DUE_DATE : 0) |
+                (task.getDescription() != null ? HAS_DESCRIPTION : 0) |
+                (task.getLabel() != null ? HAS_LABEL : 0) |
+                (recurrence != null ? HAS_RECURRENCE : 0) |
+                (recurrence != null && recurrence.until() != null ? HAS_RECURRENCE_END : 0);
+
+        writer.writeString(task.getName()).writeByte(flags);
+
+        if (task.getDate() != null) {
+            writer.writeDate(task.getDate());
+        }
+        if (task.getDueDate() != null) {
+            writer.writeDate(task.getDueDate());
+        }
+        if (task.getDescription() != null) {
+            writer.writeString(task.getDescription());
+        }
+        if (task.getLabel() != null) {
+            writer.writeString(task.getLabel());
+        }
+        if (recurrence != null) {
+            writer.writeVarInt(recurrence.intervalDays());
+
+            if (recurrence.until() != null) {
+                writer.writeDate(recurrence.until());
+            }
+        }
+    }
+
+    private List<Task> readTasks(BinaryReader reader) throws IOException {
+        int count = reader.readCount();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(readTask(reader));
+        }
+
+        return tasks;
+    }
+
+    private Task readTask(BinaryReader reader) throws IOException {
+        Task.TaskBuilder builder = Task.builder(reader.readString());
+        int flags = reader.readByte();
+
+        try {
+            if ((flags & HAS_DATE) != 0) {
+                builder.setDate(reader.readDate());
+            }
+            if ((flags & HAS_DUE_DATE) != 0) {
+                builder.setDueDate(reader.readDate());
+            }
+            if ((flags & HAS_DESCRIPTION) != 0) {
+                builder.setDescription(reader.readString());
+            }
+            if ((flags & HAS_LABEL) != 0) {
+                builder.setLabel(reader.readString());
+            }
+            if ((flags & HAS_RECURRENCE) != 0) {
+                int intervalDays = reader.readVarInt();
+                LocalDate until = (flags & HAS_RECURRENCE_END) != 0 ? reader.readDate() : null;
+
+                builder.setRecurrence(new Recurrence(intervalDays, until));
+            }
+        } catch (InvalidTimeIntervalException | IllegalArgumentException e) {
+            throw new IOException("Invalid task in the binary message.", e);
+        }
+
+        return builder.build();
+    }
+
+    private List<String> readNames(BinaryReader reader) throws IOException {
+        int count = reader.readCount();
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add(reader.readString());
+        }
+
+        return names;
+    }
+
+    private void writeStatistics(Statistics statistics) {
+        writer.writeVarInt(statistics.activeTasks())
+                .writeVarInt(statistics.overdueTasks())
+                .writeVarInt(statistics.completedToday())
+                .writeVarInt(statistics.completedThisWeek())
+                .writeVarInt(statistics.completedTasks())
+                .writeVarInt(statistics.collaborations().size());
+
+        for (CollaborationStatistics collaboration : statistics.collaborations()) {
+            writer.writeString(collaboration.name())
+                    .writeVarInt(collaboration.tasks())
+                    .writeVarInt(collaboration.completedTasks());
+        }
+    }
+
+    private Statistics readStatistics(BinaryReader reader) throws IOException {
+        int activeTasks = reader.readVarInt();
+        int overdueTasks = reader.readVarInt();
+        int completedToday = reader.readVarInt();
+        int completedThisWeek = reader.readVarInt();
+        int completedTasks = reader.readVarInt();
+        int count = reader.readCount();
+
+        List<CollaborationStatistics> collaborations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            collaborations.add(new CollaborationStatistics(reader.readString(), reader.readVarInt(),
+                    reader.readVarInt()));
+        }
+
+        return new Statistics(activeTasks, overdueTasks, completedToday, completedThisWeek, completedTasks,
+                collaborations);
+    }
+
+    private void ensureInputCapacity(int additional) {
+        if (input.remaining() < additional) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(input.capacity() * 2, input.position() + additional));
+            input.flip();
+            bigger.put(input);
+            input = bigger;
+        }
+    }
+}
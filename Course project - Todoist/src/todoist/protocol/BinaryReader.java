@@ -0,0 +1,90 @@
+package todoist.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+public class BinaryReader {
+    private static final int VARINT_MAX_SHIFT = 63;
+
+    private final ByteBuffer buffer;
+
+    public BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    public int readByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            throw new IOException("Unexpected end of the binary message.");
+        }
+
+        return buffer.get() & 0xFF;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift <= VARINT_MAX_SHIFT; shift += 7) {
+            int current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint in the binary message.");
+    }
+
+    // A varint of ten bytes may set the sign bit, so the negative values are rejected as well
+    public int readVarInt() throws IOException {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Varint value " + value + " is out of range.");
+        }
+
+        return (int) value;
+    }
+
+    // Every counted element takes at least one byte, so a larger count cannot be a part of the message
+    public int readCount() throws IOException {
+        int count = readVarInt();
+        if (count > buffer.remaining()) {
+            throw new IOException("Count " + count + " exceeds the binary message.");
+        }
+
+        return count;
+    }
+
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length > buffer.remaining()) {
+            throw new IOException("String length " + length + " exceeds the binary message.");
+        }
+
+        byte[] value = new byte[length];
+        buffer.get(value);
+
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public LocalDate readDate() throws IOException {
+        long zigzag = readVarLong();
+        long epochDay = (zigzag >>> 1) ^ -(zigzag & 1);
+
+        try {
+            return LocalDate.ofEpochDay(epochDay);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid epoch day " + epochDay + ".", e);
+        }
+    }
+}
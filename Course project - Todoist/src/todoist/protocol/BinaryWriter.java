@@ -0,0 +1,92 @@
+package todoist.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class BinaryWriter {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int VARINT_MAX_SIZE = 10;
+
+    private byte[] bytes;
+    private int size;
+
+    public BinaryWriter() {
+        this.bytes = new byte[INITIAL_CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+
+        return this;
+    }
+
+    public BinaryWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    // Unsigned LEB128, so the small lengths and counts take a single byte
+    public BinaryWriter writeVarLong(long value) {
+        ensureCapacity(VARINT_MAX_SIZE);
+
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+
+        return this;
+    }
+
+    public BinaryWriter writeVarInt(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varint value cannot be negative.");
+        }
+
+        return writeVarLong(value);
+    }
+
+    public BinaryWriter writeString(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(encoded.length);
+
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, size, encoded.length);
+        size += encoded.length;
+
+        return this;
+    }
+
+    // The epoch day is zigzag encoded, so the dates before 1970 stay short as well
+    public BinaryWriter writeDate(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        return writeVarLong((epochDay << 1) ^ (epochDay >> 63));
+    }
+
+    // Returns the written bytes prefixed with their varint length
+    public ByteBuffer toFrame() {
+        BinaryWriter prefix = new BinaryWriter();
+        prefix.writeVarInt(size);
+
+        ByteBuffer frame = ByteBuffer.allocate(prefix.size + size);
+        frame.put(prefix.bytes, 0, prefix.size).put(bytes, 0, size).flip();
+
+        return frame;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
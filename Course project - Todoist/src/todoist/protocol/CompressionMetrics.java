@@ -0,0 +1,64 @@
+package todoist.protocol;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CompressionMetrics {
+    private final AtomicLong compressedFrames = new AtomicLong();
+    private final AtomicLong uncompressedFrames = new AtomicLong();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressionNanos = new AtomicLong();
+    private final AtomicLong decompressionNanos = new AtomicLong();
+
+    public void recordCompression(int original, int compressed, long nanos) {
+        compressedFrames.incrementAndGet();
+        originalBytes.addAndGet(original);
+        compressedBytes.addAndGet(compressed);
+        compressionNanos.addAndGet(nanos);
+    }
+
+    public void recordUncompressed() {
+        uncompressedFrames.incrementAndGet();
+    }
+
+    public void recordDecompression(long nanos) {
+        decompressionNanos.addAndGet(nanos);
+    }
+
+    public long getCompressedFrames() {
+        return compressedFrames.get();
+    }
+
+    public long getUncompressedFrames() {
+        return uncompressedFrames.get();
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes.get();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    public double getCompressionRatio() {
+        long compressed = compressedBytes.get();
+        return compressed == 0 ? 1 : (double) originalBytes.get() / compressed;
+    }
+
+    public long getCompressionNanos() {
+        return compressionNanos.get();
+    }
+
+    public long getDecompressionNanos() {
+        return decompressionNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("compressed frames: %d, uncompressed frames: %d, bytes: %d -> %d (ratio %.2f), " +
+                        "compression time: %d us, decompression time: %d us",
+                getCompressedFrames(), getUncompressedFrames(), getOriginalBytes(), getCompressedBytes(),
+                getCompressionRatio(), getCompressionNanos() / 1000, getDecompressionNanos() / 1000);
+    }
+}
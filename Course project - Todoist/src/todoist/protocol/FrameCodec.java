@@ -0,0 +1,187 @@
+package todoist.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class FrameCodec implements AutoCloseable {
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+    private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    private static final byte COMPRESSED = 0x01;
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+
+    private final boolean isCompressionEnabled;
+    private final int compressionThreshold;
+    private final CompressionMetrics metrics;
+
+    // The deflater and the inflater are reset and reused for every frame of the connection
+    private final Deflater deflater;
+    private final Inflater inflater;
+
+    private ByteBuffer input;
+    private byte[] output;
+
+    public FrameCodec(boolean isCompressionEnabled, int compressionThreshold, CompressionMetrics metrics) {
+        if (compressionThreshold < 0) {
+            throw new IllegalArgumentException("Compression threshold cannot be negative.");
+        }
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null.");
+        }
+
+        this.isCompressionEnabled = isCompressionEnabled;
+        this.compressionThreshold = compressionThreshold;
+        this.metrics = metrics;
+        this.deflater = isCompressionEnabled ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.inflater = isCompressionEnabled ? new Inflater() : null;
+        this.input = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.output = new byte[INITIAL_BUFFER_SIZE];
+    }
+
+    public boolean isCompressionEnabled() {
+        return isCompressionEnabled;
+    }
+
+    public ByteBuffer encode(String message) {
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+
+        if (!isCompressionEnabled || payload.length < compressionThreshold) {
+            metrics.recordUncompressed();
+            return frame(payload);
+        }
+
+        long start = System.nanoTime();
+        int compressedLength = deflate(payload);
+        long nanos = System.nanoTime() - start;
+
+        // A frame which does not get smaller is sent as it is
+        if (compressedLength + Integer.BYTES >= payload.length) {
+            metrics.recordUncompressed();
+            return frame(payload);
+        }
+
+        metrics.recordCompression(payload.length, Integer.BYTES + compressedLength, nanos);
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressedLength);
+        frame.putInt(Integer.BYTES + compressedLength).put(COMPRESSED).putInt(payload.length);
+        frame.put(output, 0, compressedLength).flip();
+
+        return frame;
+    }
+
+    // Returns the messages of all complete frames, keeping the rest until more data arrives
+    public List<String> decode(ByteBuffer data) throws IOException {
+        ensureInputCapacity(data.remaining());
+        input.put(data);
+        input.flip();
+
+        List<String> messages = new ArrayList<>();
+
+        try {
+            while (input.remaining() >= HEADER_SIZE) {
+                int length = input.getInt(input.position());
+                if (length < 0 || length > MAX_FRAME_SIZE) {
+                    throw new IOException("Invalid frame length " + length + ".");
+                }
+                if (input.remaining() < HEADER_SIZE + length) {
+                    break;
+                }
+
+                input.getInt();
+                byte flags = input.get();
+                byte[] payload = new byte[length];
+                input.get(payload);
+
+                messages.add((flags & COMPRESSED) != 0 ? inflate(payload) :
+                        new String(payload, StandardCharsets.UTF_8));
+            }
+        } finally {
+            input.compact();
+        }
+
+        return messages;
+    }
+
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer frame(byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        frame.putInt(payload.length).put((byte) 0).put(payload).flip();
+
+        return frame;
+    }
+
+    private int deflate(byte[] payload) {
+        deflater.reset();
+        deflater.setInput(payload);
+        deflater.finish();
+
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+
+            length += deflater.deflate(output, length, output.length - length);
+        }
+
+        return length;
+    }
+
+    private String inflate(byte[] payload) throws IOException {
+        if (inflater == null) {
+            throw new IOException("Compressed frame received without negotiated compression.");
+        }
+
+        long start = System.nanoTime();
+
+        int originalLength = ByteBuffer.wrap(payload).getInt();
+        if (originalLength < 0 || originalLength > MAX_FRAME_SIZE) {
+            throw new IOException("Invalid original frame length " + originalLength + ".");
+        }
+
+        byte[] original = new byte[originalLength];
+
+        inflater.reset();
+        inflater.setInput(payload, Integer.BYTES, payload.length - Integer.BYTES);
+
+        try {
+            int length = 0;
+            while (length < originalLength && !inflater.finished()) {
+                int inflated = inflater.inflate(original, length, originalLength - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IOException("Truncated compressed frame.");
+                }
+
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid compressed frame.", e);
+        }
+
+        metrics.recordDecompression(System.nanoTime() - start);
+
+        return new String(original, StandardCharsets.UTF_8);
+    }
+
+    private void ensureInputCapacity(int additional) {
+        if (input.remaining() < additional) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(input.capacity() * 2, input.position() + additional));
+            input.flip();
+            bigger.put(input);
+            input = bigger;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package todoist.protocol;
+
+public final class Handshake {
+    // Text commands never start with a control character, so the clients without handshake are still accepted
+    public static final byte FRAMED_TEXT = 0x01;
+    public static final byte BINARY = 0x02;
+    public static final int LENGTH = 2;
+
+    public static final byte COMPRESSION_FLAG = 0x01;
+
+    private Handshake() {
+    }
+
+    public static boolean isHandshake(byte first) {
+        return first == FRAMED_TEXT || first == BINARY;
+    }
+
+    public static byte[] encode(byte protocol, byte flags) {
+        return new byte[] {protocol, flags};
+    }
+
+    public static boolean isCompressionEnabled(byte flags) {
+        return (flags & COMPRESSION_FLAG) != 0;
+    }
+}
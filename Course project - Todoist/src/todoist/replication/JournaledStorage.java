@@ -0,0 +1,254 @@
+package todoist.replication;
+
+import todoist.collaboration.Collaboration;
+import todoist.exception.CollaborationAlreadyExistsException;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.TaskAlreadyExistsException;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.Storage;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class JournaledStorage implements Storage {
+    @FunctionalInterface
+    public interface Checkpoint {
+        void save(long offset) throws IOException;
+    }
+
+    private final Storage storage;
+    private final MutationLog log;
+
+    public JournaledStorage(Storage storage, MutationLog log) {
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null.");
+        }
+        if (log == null) {
+            throw new IllegalArgumentException("Mutation log cannot be null.");
+        }
+
+        this.storage = storage;
+        this.log = log;
+    }
+
+    // Runs the checkpoint with the offset of the last logged mutation, while no mutation can be applied or logged
+    public synchronized void checkpoint(Checkpoint checkpoint) throws IOException {
+        if (checkpoint == null) {
+            throw new IllegalArgumentException("The checkpoint cannot be null.");
+        }
+
+        checkpoint.save(log.getLastOffset());
+    }
+
+    @Override
+    public synchronized void addUser(String username, String password) throws UserAlreadyExistsException {
+        storage.addUser(username, password);
+        append(Mutation.addUser(username, password));
+    }
+
+    @Override
+    public void checkPassword(String username, String password) throws UserNotFoundException, WrongPasswordException {
+        storage.checkPassword(username, password);
+    }
+
+    @Override
+    public synchronized void addTask(String currentUser, Task task)
+            throws TaskNameAlreadyExistsException, UserNotFoundException {
+
+        storage.addTask(currentUser, task);
+        append(Mutation.addTask(currentUser, task));
+    }
+
+    @Override
+    public synchronized void updateTask(String currentUser, Task task)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        storage.updateTask(currentUser, task);
+        append(Mutation.updateTask(currentUser, task));
+    }
+
+    @Override
+    public synchronized Task deleteTask(String currentUser, String taskName)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        Task deleted = storage.deleteTask(currentUser, taskName);
+        append(Mutation.deleteTask(currentUser, taskName, null));
+
+        return deleted;
+    }
+
+    @Override
+    public synchronized Task deleteTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        Task deleted = storage.deleteTask(currentUser, taskName, date);
+        append(Mutation.deleteTask(currentUser, taskName, date));
+
+        return deleted;
+    }
+
+    @Override
+    public Task getTask(String currentUser, String taskName) throws TaskNotFoundException, UserNotFoundException {
+        return storage.getTask(currentUser, taskName);
+    }
+
+    @Override
+    public Task getTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        return storage.getTask(currentUser, taskName, date);
+    }
+
+    @Override
+    public Collection<Task> listTasks(String currentUser) throws UserNotFoundException {
+        return storage.listTasks(currentUser);
+    }
+
+    @Override
+    public Collection<Task> listTasks(String currentUser, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        return storage.listTasks(currentUser, date);
+    }
+
+    @Override
+    public Collection<Task> listTasks(String currentUser, String collaborationName)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        return storage.listTasks(currentUser, collaborationName);
+    }
+
+    @Override
+    public Collection<Task> listCompletedTasks(String currentUser) throws UserNotFoundException {
+        return storage.listCompletedTasks(currentUser);
+    }
+
+    @Override
+    public synchronized Collection<Task> addTasks(String currentUser, Collection<Task> tasks)
+            throws UserNotFoundException {
+
+        Collection<Task> added = storage.addTasks(currentUser, tasks);
+
+        // The whole batch is journaled as a single mutation
+        if (!added.isEmpty()) {
+            append(Mutation.addTasks(currentUser, List.copyOf(added)));
+        }
+
+        return added;
+    }
+
+    @Override
+    public void forEachTask(String currentUser, boolean completed, Consumer<Task> action)
+            throws UserNotFoundException {
+
+        storage.forEachTask(currentUser, completed, action);
+    }
+
+    @Override
+    public Statistics getStatistics(String currentUser) throws UserNotFoundException {
+        return storage.getStatistics(currentUser);
+    }
+
+    @Override
+    public Collection<Task> queryTasks(String currentUser, TaskQuery query)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        return storage.queryTasks(currentUser, query);
+    }
+
+    @Override
+    public Collection<Task> listDashboard(String currentUser) throws TaskNotFoundException, UserNotFoundException {
+        return storage.listDashboard(currentUser);
+    }
+
+    @Override
+    public synchronized void finishTask(String currentUser, String taskName)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        storage.finishTask(currentUser, taskName);
+        append(Mutation.finishTask(currentUser, taskName));
+    }
+
+    @Override
+    public synchronized void finishTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        storage.finishTask(currentUser, taskName, date);
+        append(Mutation.finishTask(currentUser, taskName, date));
+    }
+
+    @Override
+    public synchronized void addCollaboration(String currentUser, String name)
+            throws CollaborationAlreadyExistsException, UserNotFoundException {
+
+        storage.addCollaboration(currentUser, name);
+        append(Mutation.addCollaboration(currentUser, name));
+    }
+
+    @Override
+    public synchronized void deleteCollaboration(String currentUser, String name)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        storage.deleteCollaboration(currentUser, name);
+        append(Mutation.deleteCollaboration(currentUser, name));
+    }
+
+    @Override
+    public Collection<Collaboration> getCollaborations(String currentUser) throws UserNotFoundException {
+        return storage.getCollaborations(currentUser);
+    }
+
+    @Override
+    public synchronized void addUserToCollaboration(String currentUser, String collaborationName, String username)
+            throws CollaborationNotFoundException, UserNotFoundException, UserAlreadyExistsException {
+
+        storage.addUserToCollaboration(currentUser, collaborationName, username);
+        append(Mutation.addUserToCollaboration(currentUser, collaborationName, username));
+    }
+
+    @Override
+    public synchronized void assignTask(String currentUser, String collaborationName, String username,
+                                        String taskName)
+            throws CollaborationNotFoundException, UserNotFoundException, TaskNotFoundException,
+            TaskAlreadyExistsException {
+
+        storage.assignTask(currentUser, collaborationName, username, taskName);
+        append(Mutation.assignTask(currentUser, collaborationName, username, taskName, null));
+    }
+
+    @Override
+    public synchronized void assignTask(String currentUser, String collaborationName, String username,
+                                        String taskName, LocalDate date)
+            throws CollaborationNotFoundException, UserNotFoundException, TaskNotFoundException,
+            TaskAlreadyExistsException {
+
+        storage.assignTask(currentUser, collaborationName, username, taskName, date);
+        append(Mutation.assignTask(currentUser, collaborationName, username, taskName, date));
+    }
+
+    @Override
+    public Collection<String> listUsersInCollaboration(String currentUser, String collaborationName)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        return storage.listUsersInCollaboration(currentUser, collaborationName);
+    }
+
+    private void append(Mutation mutation) {
+        try {
+            log.append(mutation);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The mutation cannot be written to the log.", e);
+        }
+    }
+}
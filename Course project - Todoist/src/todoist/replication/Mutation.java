@@ -0,0 +1,81 @@
+package todoist.replication;
+
+import todoist.storage.segment.UserSegment;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record Mutation(long offset,
+                       long timestamp,
+                       MutationType type,
+                       String user,
+                       String password,
+                       Task task,
+                       String name,
+                       LocalDate date,
+                       String collaboration,
+                       String username,
+                       List<Task> tasks,
+                       UserSegment segment) {
+
+    public static Mutation addUser(String username, String password) {
+        return new Mutation(0, 0, MutationType.ADD_USER, username, password, null, null, null, null, null, null, null);
+    }
+
+    // A user stored before the log was started, written into the log with all of its data
+    public static Mutation loadUser(String username, String password, UserSegment segment) {
+        return new Mutation(0, 0, MutationType.LOAD_USER, username, password, null, null, null, null, null, null,
+                segment);
+    }
+
+    public static Mutation addTask(String user, Task task) {
+        return new Mutation(0, 0, MutationType.ADD_TASK, user, null, task, null, null, null, null, null, null);
+    }
+
+    public static Mutation addTasks(String user, List<Task> tasks) {
+        return new Mutation(0, 0, MutationType.ADD_TASKS, user, null, null, null, null, null, null, tasks, null);
+    }
+
+    public static Mutation updateTask(String user, Task task) {
+        return new Mutation(0, 0, MutationType.UPDATE_TASK, user, null, task, null, null, null, null, null, null);
+    }
+
+    public static Mutation deleteTask(String user, String taskName, LocalDate date) {
+        return new Mutation(0, 0, MutationType.DELETE_TASK, user, null, null, taskName, date, null, null, null, null);
+    }
+
+    public static Mutation finishTask(String user, String taskName) {
+        return finishTask(user, taskName, null);
+    }
+
+    public static Mutation finishTask(String user, String taskName, LocalDate date) {
+        return new Mutation(0, 0, MutationType.FINISH_TASK, user, null, null, taskName, date, null, null, null, null);
+    }
+
+    public static Mutation addCollaboration(String user, String collaborationName) {
+        return new Mutation(0, 0, MutationType.ADD_COLLABORATION, user, null, null, null, null,
+                collaborationName, null, null, null);
+    }
+
+    public static Mutation deleteCollaboration(String user, String collaborationName) {
+        return new Mutation(0, 0, MutationType.DELETE_COLLABORATION, user, null, null, null, null,
+                collaborationName, null, null, null);
+    }
+
+    public static Mutation addUserToCollaboration(String user, String collaborationName, String username) {
+        return new Mutation(0, 0, MutationType.ADD_USER_TO_COLLABORATION, user, null, null, null, null,
+                collaborationName, username, null, null);
+    }
+
+    public static Mutation assignTask(String user, String collaborationName, String username, String taskName,
+                                      LocalDate date) {
+        return new Mutation(0, 0, MutationType.ASSIGN_TASK, user, null, null, taskName, date,
+                collaborationName, username, null, null);
+    }
+
+    public Mutation withOffset(long offset, long timestamp) {
+        return new Mutation(offset, timestamp, type, user, password, task, name, date, collaboration, username,
+                tasks, segment);
+    }
+}
@@ -0,0 +1,92 @@
+package todoist.replication;
+
+import todoist.exception.CollaborationAlreadyExistsException;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.TaskAlreadyExistsException;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.storage.InMemoryStorage;
+import todoist.storage.Storage;
+
+/**
+ * Applies the logged mutations to a storage. The followers apply them to their replicas, and the primary
+ * applies the mutations logged after its last checkpoint, when it is started after a crash.
+ */
+public final class MutationApplier {
+    private MutationApplier() {
+    }
+
+    public static void apply(Storage storage, Mutation mutation) {
+        if (storage == null || mutation == null) {
+            throw new IllegalArgumentException("The storage and the mutation cannot be null.");
+        }
+
+        try {
+            switch (mutation.type()) {
+                case ADD_USER -> storage.addUser(mutation.user(), mutation.password());
+                case LOAD_USER -> loadUser(storage, mutation);
+                case ADD_TASK -> storage.addTask(mutation.user(), mutation.task());
+                case ADD_TASKS -> storage.addTasks(mutation.user(), mutation.tasks());
+                case UPDATE_TASK -> storage.updateTask(mutation.user(), mutation.task());
+                case DELETE_TASK -> deleteTask(storage, mutation);
+                case FINISH_TASK -> finishTask(storage, mutation);
+                case ADD_COLLABORATION -> storage.addCollaboration(mutation.user(), mutation.collaboration());
+                case DELETE_COLLABORATION -> storage.deleteCollaboration(mutation.user(), mutation.collaboration());
+                case ADD_USER_TO_COLLABORATION -> storage.addUserToCollaboration(mutation.user(),
+                        mutation.collaboration(), mutation.username());
+                case ASSIGN_TASK -> assignTask(storage, mutation);
+            }
+        } catch (UserAlreadyExistsException | UserNotFoundException | TaskNameAlreadyExistsException |
+                 TaskNotFoundException | CollaborationAlreadyExistsException | CollaborationNotFoundException |
+                 TaskAlreadyExistsException e) {
+
+            throw new IllegalStateException("Mutation #" + mutation.offset() + " cannot be applied.", e);
+        }
+    }
+
+    // The users stored before the log was started are in the log only for the replicas, which start empty
+    private static void loadUser(Storage storage, Mutation mutation)
+            throws UserAlreadyExistsException, UserNotFoundException {
+
+        if (!(storage instanceof InMemoryStorage memoryStorage)) {
+            throw new IllegalStateException("Mutation #" + mutation.offset() +
+                    " can be applied only to an empty in-memory replica.");
+        }
+
+        memoryStorage.registerUser(mutation.user(), mutation.password());
+        memoryStorage.loadUser(mutation.user(), mutation.segment());
+    }
+
+    private static void deleteTask(Storage storage, Mutation mutation)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        if (mutation.date() == null) {
+            storage.deleteTask(mutation.user(), mutation.name());
+        } else {
+            storage.deleteTask(mutation.user(), mutation.name(), mutation.date());
+        }
+    }
+
+    private static void finishTask(Storage storage, Mutation mutation)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        if (mutation.date() == null) {
+            storage.finishTask(mutation.user(), mutation.name());
+        } else {
+            storage.finishTask(mutation.user(), mutation.name(), mutation.date());
+        }
+    }
+
+    private static void assignTask(Storage storage, Mutation mutation) throws CollaborationNotFoundException,
+            UserNotFoundException, TaskNotFoundException, TaskAlreadyExistsException {
+
+        if (mutation.date() == null) {
+            storage.assignTask(mutation.user(), mutation.collaboration(), mutation.username(), mutation.name());
+        } else {
+            storage.assignTask(mutation.user(), mutation.collaboration(), mutation.username(), mutation.name(),
+                    mutation.date());
+        }
+    }
+}
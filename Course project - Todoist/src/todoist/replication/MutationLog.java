@@ -0,0 +1,191 @@
+package todoist.replication;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import todoist.storage.serializer.LocalDateConverter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class MutationLog implements AutoCloseable {
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateConverter())
+            .create();
+
+    // Every INDEX_INTERVAL-th entry is indexed, so a follower catching up reads the log from near its offset
+    private static final int INDEX_INTERVAL = 1024;
+    private static final int LINE_SEPARATOR_SIZE = System.lineSeparator().length();
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final List<Consumer<Mutation>> listeners;
+    private final NavigableMap<Long, Long> positions; // The file position of the indexed entries by offset
+
+    private long lastOffset;
+    private long size;
+
+    public MutationLog(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The mutation log file cannot be null.");
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        this.file = file;
+        this.positions = new ConcurrentSkipListMap<>();
+        this.lastOffset = indexEntries(file, positions);
+        this.size = Files.exists(file) ? Files.size(file) : 0;
+        this.writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public static String serialize(Mutation mutation) {
+        return GSON.toJson(mutation);
+    }
+
+    public static Mutation deserialize(String line) {
+        return GSON.fromJson(line, Mutation.class);
+    }
+
+    public synchronized Mutation append(Mutation mutation) throws IOException {
+        if (mutation == null) {
+            throw new IllegalArgumentException("The mutation cannot be null.");
+        }
+
+        Mutation entry = mutation.withOffset(lastOffset + 1, System.currentTimeMillis());
+        String line = serialize(entry);
+
+        writer.write(line);
+        writer.newLine();
+        writer.flush();
+
+        if (entry.offset() % INDEX_INTERVAL == 1) {
+            positions.put(entry.offset(), size);
+        }
+        size += line.getBytes(StandardCharsets.UTF_8).length + LINE_SEPARATOR_SIZE;
+        lastOffset = entry.offset();
+        listeners.forEach(listener -> listener.accept(entry));
+
+        return entry;
+    }
+
+    public synchronized long getLastOffset() {
+        return lastOffset;
+    }
+
+    // Returns the offset of the last entry written before the listener was registered
+    public synchronized long subscribe(Consumer<Mutation> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null.");
+        }
+
+        listeners.add(listener);
+        return lastOffset;
+    }
+
+    public void unsubscribe(Consumer<Mutation> listener) {
+        listeners.remove(listener);
+    }
+
+    public void readEntries(long fromOffset, long toOffset, Consumer<Mutation> consumer) throws IOException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("The consumer cannot be null.");
+        }
+
+        // The reading starts from the last indexed entry before the first requested one, not from the start
+        Map.Entry<Long, Long> start = positions.floorEntry(fromOffset + 1);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(start == null ? 0 : start.getValue());
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Mutation mutation = deserialize(line);
+                if (mutation.offset() > toOffset) {
+                    break;
+                }
+                if (mutation.offset() > fromOffset) {
+                    consumer.accept(mutation);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    // Indexes the entries of an existing log and returns the offset of its last entry. Only the indexed and
+    // the last entries are parsed, the others are only scanned for their line ends. A last line without its
+    // line end is an entry torn by a crash during its write, so it is cut off and the next entry starts a new line
+    private static long indexEntries(Path file, Map<Long, Long> positions) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        long lastOffset = 0;
+        String lastLine = null;
+        long lineStart = 0;
+        long position = 0;
+
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long entries = 0;
+
+            int current;
+            while ((current = input.read()) != -1) {
+                position++;
+                if (current != '\n') {
+                    line.write(current);
+                    continue;
+                }
+
+                String text = line.toString(StandardCharsets.UTF_8);
+                if (!text.isBlank()) {
+                    lastLine = text;
+                    if (entries++ % INDEX_INTERVAL == 0) {
+                        lastOffset = deserialize(text).offset();
+                        positions.put(lastOffset, lineStart);
+                        lastLine = null;
+                    }
+                }
+
+                line.reset();
+                lineStart = position;
+            }
+        }
+
+        if (lineStart < position) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(lineStart);
+            }
+        }
+
+        return lastLine == null ? lastOffset : deserialize(lastLine).offset();
+    }
+}
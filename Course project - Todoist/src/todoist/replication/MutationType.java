@@ -0,0 +1,15 @@
+package todoist.replication;
+
+public enum MutationType {
+    ADD_USER,
+    LOAD_USER,
+    ADD_TASK,
+    ADD_TASKS,
+    UPDATE_TASK,
+    DELETE_TASK,
+    FINISH_TASK,
+    ADD_COLLABORATION,
+    DELETE_COLLABORATION,
+    ADD_USER_TO_COLLABORATION,
+    ASSIGN_TASK
+}
@@ -0,0 +1,47 @@
+package todoist.replication;
+
+import todoist.storage.SegmentedStorage;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Brings the segments of the primary up to date with its mutation log when the primary is started. The segments
+ * are saved only at checkpoints, so after a crash the mutations logged after the last checkpoint are applied
+ * again. When the log is started on a storage which already has users, the users are written into the log first,
+ * so the followers, which start empty and replay the log from its start, see them too.
+ */
+public final class PrimaryRecovery {
+    private PrimaryRecovery() {
+    }
+
+    // Returns the number of mutations applied to the storage or written into the log
+    public static int recover(SegmentedStorage storage, MutationLog log) throws IOException {
+        if (storage == null || log == null) {
+            throw new IllegalArgumentException("The storage and the mutation log cannot be null.");
+        }
+
+        AtomicInteger recovered = new AtomicInteger();
+        long checkpoint = storage.getCheckpoint();
+
+        if (log.getLastOffset() == 0) {
+            for (Map.Entry<String, String> credentials : storage.getCredentials().entrySet()) {
+                log.append(Mutation.loadUser(credentials.getKey(), credentials.getValue(),
+                        storage.readSegment(credentials.getKey())));
+                recovered.incrementAndGet();
+            }
+        } else if (checkpoint >= 0) {
+            log.readEntries(checkpoint, log.getLastOffset(), mutation -> {
+                MutationApplier.apply(storage, mutation);
+                recovered.incrementAndGet();
+            });
+        }
+
+        // Segments saved before the checkpoints were introduced have no checkpoint. They were saved on a clean
+        // stop, so they are taken as up to date with the log
+        storage.checkpoint(log.getLastOffset());
+
+        return recovered.get();
+    }
+}
@@ -0,0 +1,185 @@
+package todoist.replication;
+
+import todoist.collaboration.Collaboration;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.InMemoryStorage;
+import todoist.storage.Storage;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ReplicaStorage implements Storage {
+    private static final String READ_ONLY_MESSAGE = "The replica storage is read-only.";
+
+    private final InMemoryStorage storage;
+
+    public ReplicaStorage() {
+        this.storage = new InMemoryStorage();
+    }
+
+    public synchronized void apply(Mutation mutation) {
+        if (mutation == null) {
+            throw new IllegalArgumentException("The mutation cannot be null.");
+        }
+
+        MutationApplier.apply(storage, mutation);
+    }
+
+    @Override
+    public void addUser(String username, String password) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public synchronized void checkPassword(String username, String password)
+            throws UserNotFoundException, WrongPasswordException {
+
+        storage.checkPassword(username, password);
+    }
+
+    @Override
+    public void addTask(String currentUser, Task task) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public void updateTask(String currentUser, Task task) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public Task deleteTask(String currentUser, String taskName) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public Task deleteTask(String currentUser, String taskName, LocalDate date) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public synchronized Task getTask(String currentUser, String taskName)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        return storage.getTask(currentUser, taskName);
+    }
+
+    @Override
+    public synchronized Task getTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        return storage.getTask(currentUser, taskName, date);
+    }
+
+    // The collections are copied, because the replicated mutations change them after the lock is released
+    @Override
+    public synchronized Collection<Task> listTasks(String currentUser) throws UserNotFoundException {
+        return List.copyOf(storage.listTasks(currentUser));
+    }
+
+    @Override
+    public synchronized Collection<Task> listTasks(String currentUser, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        return List.copyOf(storage.listTasks(currentUser, date));
+    }
+
+    @Override
+    public synchronized Collection<Task> listTasks(String currentUser, String collaborationName)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        return List.copyOf(storage.listTasks(currentUser, collaborationName));
+    }
+
+    @Override
+    public synchronized Collection<Task> listCompletedTasks(String currentUser) throws UserNotFoundException {
+        return List.copyOf(storage.listCompletedTasks(currentUser));
+    }
+
+    @Override
+    public Collection<Task> addTasks(String currentUser, Collection<Task> tasks) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public synchronized void forEachTask(String currentUser, boolean completed, Consumer<Task> action)
+            throws UserNotFoundException {
+
+        storage.forEachTask(currentUser, completed, action);
+    }
+
+    @Override
+    public synchronized Statistics getStatistics(String currentUser) throws UserNotFoundException {
+        return storage.getStatistics(currentUser);
+    }
+
+    @Override
+    public synchronized Collection<Task> queryTasks(String currentUser, TaskQuery query)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        return List.copyOf(storage.queryTasks(currentUser, query));
+    }
+
+    @Override
+    public synchronized Collection<Task> listDashboard(String currentUser)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        return List.copyOf(storage.listDashboard(currentUser));
+    }
+
+    @Override
+    public void finishTask(String currentUser, String taskName) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public void finishTask(String currentUser, String taskName, LocalDate date) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public void addCollaboration(String currentUser, String name) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public void deleteCollaboration(String currentUser, String name) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public synchronized Collection<Collaboration> getCollaborations(String currentUser) throws UserNotFoundException {
+        return List.copyOf(storage.getCollaborations(currentUser));
+    }
+
+    @Override
+    public void addUserToCollaboration(String currentUser, String collaborationName, String username) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public void assignTask(String currentUser, String collaborationName, String username, String taskName) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public void assignTask(String currentUser, String collaborationName, String username, String taskName,
+                           LocalDate date) {
+        throw new UnsupportedOperationException(READ_ONLY_MESSAGE);
+    }
+
+    @Override
+    public synchronized Collection<String> listUsersInCollaboration(String currentUser, String collaborationName)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        return List.copyOf(storage.listUsersInCollaboration(currentUser, collaborationName));
+    }
+}
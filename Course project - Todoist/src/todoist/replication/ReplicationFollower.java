@@ -0,0 +1,132 @@
+package todoist.replication;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReplicationFollower extends Thread {
+    private static final String HOST = "localhost";
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final int primaryPort;
+    private final ReplicaStorage storage;
+
+    private final AtomicBoolean isFollowerWorking;
+    private final AtomicLong lastAppliedOffset;
+    private final AtomicLong replicationLagMillis;
+
+    private volatile SocketChannel primaryChannel;
+    private volatile String failure;
+
+    public ReplicationFollower(int primaryPort, ReplicaStorage storage) {
+        if (storage == null) {
+            throw new IllegalArgumentException("Replica storage cannot be null.");
+        }
+
+        this.primaryPort = primaryPort;
+        this.storage = storage;
+        this.isFollowerWorking = new AtomicBoolean();
+        this.lastAppliedOffset = new AtomicLong();
+        this.replicationLagMillis = new AtomicLong();
+    }
+
+    public long getLastAppliedOffset() {
+        return lastAppliedOffset.get();
+    }
+
+    // The reason replication stopped, or null while the replica follows the primary
+    public String getFailure() {
+        return failure;
+    }
+
+    // The time between writing the last applied mutation to the primary log and applying it on the replica
+    public Duration getReplicationLag() {
+        return Duration.ofMillis(replicationLagMillis.get());
+    }
+
+    public void startFollower() {
+        isFollowerWorking.set(true);
+
+        while (isFollowerWorking.get()) {
+            try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(HOST, primaryPort))) {
+                primaryChannel = channel;
+                follow(channel);
+            } catch (IOException e) {
+                if (!isFollowerWorking.get()) {
+                    break;
+                }
+
+                System.out.println("The connection to the primary server is lost. Reconnecting...");
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    public void stopFollower() {
+        isFollowerWorking.set(false);
+
+        try {
+            if (primaryChannel != null) {
+                primaryChannel.close();
+            }
+        } catch (IOException e) {
+            System.out.println("The connection to the primary server could not be closed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        startFollower();
+    }
+
+    private void follow(SocketChannel channel) throws IOException {
+        var reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+        var writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+
+        // The primary streams all mutations after the last applied offset
+        writer.write(String.valueOf(lastAppliedOffset.get()));
+        writer.newLine();
+        writer.flush();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue; // A heartbeat of the idle primary
+            }
+
+            Mutation mutation = MutationLog.deserialize(line);
+            if (mutation.offset() <= lastAppliedOffset.get()) {
+                continue;
+            }
+
+            try {
+                storage.apply(mutation);
+            } catch (IllegalStateException e) {
+                // Skipping the mutation would make the replica diverge from the primary for good, so the replica
+                // stops at the last consistent offset and keeps serving it
+                failure = e.getCause() == null ? e.getMessage() : e.getMessage() + " " + e.getCause().getMessage();
+                isFollowerWorking.set(false);
+
+                System.out.println("Replication stopped: " + failure);
+                return;
+            }
+
+            lastAppliedOffset.set(mutation.offset());
+            replicationLagMillis.set(Math.max(0, System.currentTimeMillis() - mutation.timestamp()));
+        }
+
+        throw new IOException("The primary server closed the connection.");
+    }
+}
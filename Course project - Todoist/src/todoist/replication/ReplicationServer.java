@@ -0,0 +1,149 @@
+package todoist.replication;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class ReplicationServer extends Thread {
+    private static final String HOST = "localhost";
+
+    // The live mutations are queued under the lock of the log, so a follower which falls this far behind is
+    // disconnected instead of holding them. It catches up from the log file when it reconnects
+    private static final int FOLLOWER_QUEUE_CAPACITY = 4096;
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 1000;
+
+    private final int port;
+    private final MutationLog log;
+    private final AtomicBoolean isServerWorking;
+    private final ExecutorService followersExecutor;
+
+    private ServerSocketChannel serverSocketChannel;
+
+    public ReplicationServer(int port, MutationLog log) {
+        if (log == null) {
+            throw new IllegalArgumentException("Mutation log cannot be null.");
+        }
+
+        this.port = port;
+        this.log = log;
+        this.isServerWorking = new AtomicBoolean();
+        this.followersExecutor = Executors.newCachedThreadPool();
+    }
+
+    public void startServer() {
+        try (ServerSocketChannel channel = ServerSocketChannel.open()) {
+            serverSocketChannel = channel;
+            serverSocketChannel.bind(new InetSocketAddress(HOST, port));
+            isServerWorking.set(true);
+
+            while (isServerWorking.get()) {
+                SocketChannel followerChannel = serverSocketChannel.accept();
+                System.out.println("Follower " + followerChannel.getRemoteAddress() + " connected.");
+
+                followersExecutor.execute(() -> streamMutations(followerChannel));
+            }
+        } catch (IOException e) {
+            if (isServerWorking.get()) {
+                throw new UncheckedIOException("A problem occurred while accepting followers", e);
+            }
+        } finally {
+            followersExecutor.shutdownNow();
+        }
+    }
+
+    public void stopServer() {
+        isServerWorking.set(false);
+
+        try {
+            if (serverSocketChannel != null) {
+                serverSocketChannel.close();
+            }
+        } catch (IOException e) {
+            System.out.println("The replication server could not be closed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        startServer();
+    }
+
+    private void streamMutations(SocketChannel followerChannel) {
+        BlockingQueue<Mutation> liveMutations = new LinkedBlockingQueue<>(FOLLOWER_QUEUE_CAPACITY);
+        AtomicBoolean isOverflowed = new AtomicBoolean();
+        Consumer<Mutation> listener = mutation -> {
+            if (!liveMutations.offer(mutation)) {
+                isOverflowed.set(true);
+            }
+        };
+
+        try (followerChannel;
+             var reader = new BufferedReader(Channels.newReader(followerChannel, StandardCharsets.UTF_8));
+             var writer = new BufferedWriter(Channels.newWriter(followerChannel, StandardCharsets.UTF_8))) {
+
+            String offsetLine = reader.readLine();
+            if (offsetLine == null) {
+                return;
+            }
+
+            long appliedOffset = Long.parseLong(offsetLine.strip());
+
+            // Catch up from the log file, the mutations after the snapshot offset arrive through the listener
+            long snapshotOffset = log.subscribe(listener);
+            log.readEntries(appliedOffset, snapshotOffset, mutation -> send(writer, mutation));
+            writer.flush();
+
+            long sentOffset = Math.max(appliedOffset, snapshotOffset);
+            while (isServerWorking.get() && !isOverflowed.get()) {
+                Mutation mutation = liveMutations.poll(HEARTBEAT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (mutation == null) {
+                    // An empty line while the primary is idle finds a follower which disconnected meanwhile
+                    writer.newLine();
+                    writer.flush();
+                    continue;
+                }
+                if (mutation.offset() > sentOffset) {
+                    send(writer, mutation);
+                    sentOffset = mutation.offset();
+                }
+                if (liveMutations.isEmpty()) {
+                    writer.flush();
+                }
+            }
+
+            if (isOverflowed.get()) {
+                System.out.println("Follower disconnected: it fell more than " + FOLLOWER_QUEUE_CAPACITY +
+                        " mutations behind.");
+            }
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            System.out.println("Follower disconnected: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            log.unsubscribe(listener);
+        }
+    }
+
+    private void send(BufferedWriter writer, Mutation mutation) {
+        try {
+            writer.write(MutationLog.serialize(mutation));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
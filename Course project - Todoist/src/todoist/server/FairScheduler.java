@@ -0,0 +1,88 @@
+package todoist.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class FairScheduler<K, V> {
+    private final int maxQueueSize;
+
+    private final Map<K, Deque<V>> queues;
+    private final Deque<K> rotation; // The keys with queued values in round-robin order
+    private final Set<K> pausedKeys; // The keys whose values are kept, but not returned until they are resumed
+
+    public FairScheduler(int maxQueueSize) {
+        if (maxQueueSize <= 0) {
+            throw new IllegalArgumentException("Max queue size must be positive.");
+        }
+
+        this.maxQueueSize = maxQueueSize;
+        this.queues = new HashMap<>();
+        this.rotation = new ArrayDeque<>();
+        this.pausedKeys = new HashSet<>();
+    }
+
+    public boolean enqueue(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null.");
+        }
+
+        Deque<V> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (queue.size() == maxQueueSize) {
+            return false;
+        }
+
+        if (queue.isEmpty() && !pausedKeys.contains(key)) {
+            rotation.addLast(key);
+        }
+
+        queue.addLast(value);
+        return true;
+    }
+
+    public boolean hasNext() {
+        return !rotation.isEmpty();
+    }
+
+    public Map.Entry<K, V> next() {
+        K key = rotation.pollFirst();
+        if (key == null) {
+            return null;
+        }
+
+        Deque<V> queue = queues.get(key);
+        V value = queue.pollFirst();
+
+        // Each key gets one value per round, so a key with a long queue cannot starve the others
+        if (queue.isEmpty()) {
+            queues.remove(key);
+        } else {
+            rotation.addLast(key);
+        }
+
+        return Map.entry(key, value);
+    }
+
+    public void pause(K key) {
+        if (pausedKeys.add(key)) {
+            rotation.remove(key);
+        }
+    }
+
+    public void resume(K key) {
+        if (pausedKeys.remove(key) && queues.containsKey(key)) {
+            rotation.addLast(key);
+        }
+    }
+
+    public void remove(K key) {
+        pausedKeys.remove(key);
+
+        if (queues.remove(key) != null) {
+            rotation.remove(key);
+        }
+    }
+}
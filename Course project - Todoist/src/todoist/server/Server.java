@@ -1,9 +1,19 @@
 package todoist.server;
 
+import todoist.command.BinaryCommand;
+import todoist.command.BinaryCommandExecutor;
+import todoist.command.BinaryReply;
 import todoist.command.Command;
 import todoist.command.CommandCreator;
 import todoist.command.CommandExecutor;
-
+import todoist.command.CommandType;
+import todoist.protocol.BinaryCodec;
+import todoist.protocol.CompressionMetrics;
+import todoist.protocol.FrameCodec;
+import todoist.protocol.Handshake;
+import todoist.server.limit.RateLimiter;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
@@ -11,32 +21,82 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 public class Server extends Thread {
     private static final int BUFFER_SIZE = 2048;
     private static final String HOST = "localhost";
+    private static final Pattern COMMAND_DELIMITER = Pattern.compile("\\R");
+
+    private static final byte NEW_LINE = '\n';
+    private static final int MAX_COMMAND_LENGTH = 64 * 1024;
+    private static final String COMMAND_TOO_LONG_MESSAGE = "The command is too long.";
+
+    private static final int MAX_QUEUED_COMMANDS = 32;
+    private static final String RATE_LIMIT_MESSAGE = "Too many requests. Please try again later.";
+    private static final String QUEUE_FULL_MESSAGE = "Too many queued commands. Please wait for the responses.";
+    private static final int COMPRESSION_THRESHOLD = 512;
+    private static final int MAX_CONCURRENT_TRANSFERS = 2;
+    private static final int MAX_PENDING_OUTPUT = 1024 * 1024;
 
     private final CommandExecutor executor;
+    private final BinaryCommandExecutor binaryExecutor;
+    private final RateLimiter rateLimiter;
+    private final FairScheduler<SocketChannel, QueuedCommand> scheduler;
 
     private final int port;
     private final AtomicBoolean isServerWorking;
 
     private ByteBuffer buffer;
     private Selector selector;
+    private ExecutorService transferExecutor;
+
+    // The replies of the transfers which completed on the transfer threads, written by the selector thread
+    private final Queue<TransferReply> transferReplies;
 
     private final Map<SocketChannel, Integer> clientId;
+    private final Map<SocketChannel, ByteBuffer> pendingHandshakes; // The handshake bytes received so far
+    private final Map<SocketChannel, FrameCodec> frameCodecs; // The connections which negotiated framed messages
+    private final Map<SocketChannel, BinaryCodec> binaryCodecs; // The connections which negotiated binary commands
+    private final Map<SocketChannel, ByteArrayOutputStream> partialCommands; // The rest of a full read
+    private final Map<SocketChannel, PendingOutput> pendingOutputs; // The replies which the clients did not read yet
+    private final CompressionMetrics compressionMetrics;
 
     public Server(int port, CommandExecutor executor) {
+        this(port, executor, new RateLimiter());
+    }
+
+    public Server(int port, CommandExecutor executor, RateLimiter rateLimiter) {
         this.executor = executor;
+        this.binaryExecutor = new BinaryCommandExecutor(executor);
+        this.rateLimiter = rateLimiter;
+        this.scheduler = new FairScheduler<>(MAX_QUEUED_COMMANDS);
         this.port = port;
         this.clientId = new HashMap<>();
+        this.pendingHandshakes = new HashMap<>();
+        this.frameCodecs = new HashMap<>();
+        this.binaryCodecs = new HashMap<>();
+        this.partialCommands = new HashMap<>();
+        this.pendingOutputs = new HashMap<>();
+        this.compressionMetrics = new CompressionMetrics();
+        this.transferReplies = new ConcurrentLinkedQueue<>();
         this.isServerWorking = new AtomicBoolean();
     }
 
+    public CompressionMetrics getCompressionMetrics() {
+        return compressionMetrics;
+    }
+
     public void startServer() {
         try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()) {
             selector = Selector.open();
@@ -46,12 +106,15 @@ public class Server extends Thread {
             serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
 
             buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            transferExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_TRANSFERS);
             isServerWorking.set(true);
 
             int clientIdCounter = 0;
 
             while (isServerWorking.get()) {
                 int readyChannels = selector.select();
+                writeTransferReplies();
+
                 if (readyChannels == 0) {
                     continue;
                 }
@@ -69,26 +132,35 @@ public class Server extends Thread {
 
                         System.out.println("Client #" + clientIdCounter + " connected.");
                         clientId.put(clientSocketChannel, clientIdCounter++);
+                        pendingHandshakes.put(clientSocketChannel, ByteBuffer.allocate(Handshake.LENGTH));
 
-                    } else if (key.isReadable()) {
+                    } else {
                         SocketChannel clientSocketChannel = (SocketChannel) key.channel();
-                        String clientInput = getClientInput(clientSocketChannel);
 
-                        if (clientInput == null) {
-                            continue;
+                        // A connection which sends malformed frames is closed without stopping the server
+                        try {
+                            if (key.isWritable()) {
+                                writePendingOutput(clientSocketChannel);
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                readClientInput(clientSocketChannel);
+                            }
+                        } catch (IOException e) {
+                            disconnect(clientSocketChannel, e);
                         }
-
-                        Command command = CommandCreator.newCommand(clientInput);
-                        String output = executor.execute(clientId.get(clientSocketChannel), command);
-
-                        writeClientOutput(clientSocketChannel, output);
                     }
 
                     keyIterator.remove();
                 }
+
+                executeQueuedCommands();
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (transferExecutor != null) {
+                transferExecutor.shutdownNow();
+            }
         }
     }
 
@@ -100,33 +172,333 @@ public class Server extends Thread {
         }
     }
 
-    private String getClientInput(SocketChannel clientSocketChannel) throws IOException {
+    private void readClientInput(SocketChannel clientSocketChannel) throws IOException {
         buffer.clear();
 
         int readBytes = clientSocketChannel.read(buffer);
         if (readBytes < 0) {
-            clientSocketChannel.close();
-            return null;
+            disconnect(clientSocketChannel);
+            return;
         }
 
         buffer.flip();
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+
+        ByteBuffer handshake = pendingHandshakes.get(clientSocketChannel);
+        if (handshake != null && !readHandshake(clientSocketChannel, handshake)) {
+            return;
+        }
 
-        byte[] inputBytes = new byte[buffer.remaining()];
-        buffer.get(inputBytes);
+        BinaryCodec binaryCodec = binaryCodecs.get(clientSocketChannel);
+        if (binaryCodec != null) {
+            for (BinaryCommand command : binaryCodec.decodeCommands(buffer)) {
+                enqueue(clientSocketChannel, new QueuedCommand(null, command));
+            }
+            return;
+        }
+
+        FrameCodec codec = frameCodecs.get(clientSocketChannel);
+        if (codec == null) {
+            enqueueTextInput(clientSocketChannel);
+            return;
+        }
+
+        for (String message : codec.decode(buffer)) {
+            enqueueCommands(clientSocketChannel, message);
+        }
+    }
+
+    // The handshake bytes may arrive in separate reads, so they are collected until all of them are received.
+    // Returns false when no input is left after them
+    private boolean readHandshake(SocketChannel clientSocketChannel, ByteBuffer handshake) throws IOException {
+        if (handshake.position() == 0 && !Handshake.isHandshake(buffer.get(buffer.position()))) {
+            pendingHandshakes.remove(clientSocketChannel);
+            return true;
+        }
+
+        while (handshake.hasRemaining() && buffer.hasRemaining()) {
+            handshake.put(buffer.get());
+        }
+        if (handshake.hasRemaining()) {
+            return false;
+        }
 
-        return new String(inputBytes);
+        pendingHandshakes.remove(clientSocketChannel);
+        acceptHandshake(clientSocketChannel, handshake.get(0), handshake.get(1));
+
+        return buffer.hasRemaining();
+    }
+
+    // The client asks for framed messages and its optional capabilities, and the server replies with the accepted ones
+    private void acceptHandshake(SocketChannel clientSocketChannel, byte protocol, byte flags) throws IOException {
+
+        // The binary commands and replies are compact enough, so they are never compressed
+        if (protocol == Handshake.BINARY) {
+            binaryCodecs.put(clientSocketChannel, new BinaryCodec());
+            write(clientSocketChannel, ByteBuffer.wrap(Handshake.encode(Handshake.BINARY, (byte) 0)));
+            return;
+        }
+
+        FrameCodec codec = new FrameCodec(Handshake.isCompressionEnabled(flags), COMPRESSION_THRESHOLD,
+                compressionMetrics);
+        frameCodecs.put(clientSocketChannel, codec);
+
+        byte acceptedFlags = codec.isCompressionEnabled() ? Handshake.COMPRESSION_FLAG : 0;
+        write(clientSocketChannel, ByteBuffer.wrap(Handshake.encode(Handshake.FRAMED_TEXT, acceptedFlags)));
+    }
+
+    // The plain text clients, like the original one, send a command without a new line, so a read which ends
+    // without a new line completes the command. Only a read which filled the whole buffer may be followed by
+    // the rest of its command, so the bytes after its last new line wait for the next read.
+    // A new line byte is never a part of a multibyte character, so the characters are not split either
+    private void enqueueTextInput(SocketChannel clientSocketChannel) throws IOException {
+        ByteArrayOutputStream partialCommand =
+                partialCommands.computeIfAbsent(clientSocketChannel, channel -> new ByteArrayOutputStream());
+
+        if (buffer.limit() < buffer.capacity()) {
+            partialCommand.write(buffer.array(), buffer.position(), buffer.remaining());
+            String commands = partialCommand.toString(StandardCharsets.UTF_8);
+            partialCommand.reset();
+
+            enqueueCommands(clientSocketChannel, commands);
+            return;
+        }
+
+        int lastNewLine = buffer.limit() - 1;
+        while (lastNewLine >= buffer.position() && buffer.get(lastNewLine) != NEW_LINE) {
+            lastNewLine--;
+        }
+
+        if (lastNewLine < buffer.position()) {
+            partialCommand.write(buffer.array(), buffer.position(), buffer.remaining());
+
+            if (partialCommand.size() > MAX_COMMAND_LENGTH) {
+                partialCommand.reset();
+                writeError(clientSocketChannel, COMMAND_TOO_LONG_MESSAGE);
+            }
+            return;
+        }
+
+        partialCommand.write(buffer.array(), buffer.position(), lastNewLine + 1 - buffer.position());
+        String commands = partialCommand.toString(StandardCharsets.UTF_8);
+
+        partialCommand.reset();
+        partialCommand.write(buffer.array(), lastNewLine + 1, buffer.limit() - lastNewLine - 1);
+
+        enqueueCommands(clientSocketChannel, commands);
+    }
+
+    // A single read may contain several commands, separated by new lines
+    private void enqueueCommands(SocketChannel clientSocketChannel, String clientInput) throws IOException {
+        for (String line : COMMAND_DELIMITER.split(clientInput)) {
+            if (!line.isBlank()) {
+                enqueue(clientSocketChannel, new QueuedCommand(CommandCreator.newCommand(line), null));
+            }
+        }
+    }
+
+    private void enqueue(SocketChannel clientSocketChannel, QueuedCommand command) throws IOException {
+        if (!scheduler.enqueue(clientSocketChannel, command)) {
+            writeError(clientSocketChannel, QUEUE_FULL_MESSAGE);
+        }
+    }
+
+    // The queued commands are executed one per connection in a round, so a flooding client cannot starve the others
+    private void executeQueuedCommands() throws IOException {
+        while (scheduler.hasNext()) {
+            Map.Entry<SocketChannel, QueuedCommand> next = scheduler.next();
+            SocketChannel clientSocketChannel = next.getKey();
+            QueuedCommand command = next.getValue();
+
+            if (!clientSocketChannel.isOpen()) {
+                continue;
+            }
+
+            int id = clientId.get(clientSocketChannel);
+
+            // A client which reset its connection fails only its own write
+            try {
+                if (!rateLimiter.tryAcquire(id, executor.getLoggedUser(id), command.type())) {
+                    writeError(clientSocketChannel, RATE_LIMIT_MESSAGE);
+                } else if (command.binaryCommand() != null) {
+                    BinaryReply reply = binaryExecutor.execute(id, command.binaryCommand());
+                    write(clientSocketChannel, binaryCodecs.get(clientSocketChannel).encode(reply));
+                } else if (command.type().isTransfer()) {
+                    startTransfer(clientSocketChannel, id, command.command());
+                } else {
+                    writeClientOutput(clientSocketChannel, executor.execute(id, command.command()));
+                }
+            } catch (IOException e) {
+                disconnect(clientSocketChannel, e);
+            }
+        }
+    }
+
+    // The client reads the replies in the order of its commands, so its next commands wait for the transfer
+    private void startTransfer(SocketChannel clientSocketChannel, int id, Command command) {
+        scheduler.pause(clientSocketChannel);
+
+        transferExecutor.execute(() -> {
+            String reply;
+            try {
+                reply = executor.execute(id, command);
+            } catch (RuntimeException e) {
+                reply = "The transfer failed. " + e.getMessage();
+            }
+
+            transferReplies.add(new TransferReply(clientSocketChannel, reply));
+            selector.wakeup();
+        });
+    }
+
+    private void writeTransferReplies() throws IOException {
+        TransferReply transferReply;
+        while ((transferReply = transferReplies.poll()) != null) {
+            SocketChannel clientSocketChannel = transferReply.clientSocketChannel();
+            if (!clientSocketChannel.isOpen()) {
+                continue;
+            }
+
+            scheduler.resume(clientSocketChannel);
+            try {
+                writeClientOutput(clientSocketChannel, transferReply.reply());
+            } catch (IOException e) {
+                disconnect(clientSocketChannel, e);
+            }
+        }
+
+        executeQueuedCommands();
+    }
+
+    private void disconnect(SocketChannel clientSocketChannel, IOException cause) throws IOException {
+        System.out.println("Client #" + clientId.get(clientSocketChannel) + " disconnected: " + cause.getMessage());
+        disconnect(clientSocketChannel);
+    }
+
+    private void disconnect(SocketChannel clientSocketChannel) throws IOException {
+        Integer id = clientId.remove(clientSocketChannel);
+        if (id != null) {
+            rateLimiter.removeClient(id);
+        }
+
+        scheduler.remove(clientSocketChannel);
+        pendingHandshakes.remove(clientSocketChannel);
+        binaryCodecs.remove(clientSocketChannel);
+        partialCommands.remove(clientSocketChannel);
+        pendingOutputs.remove(clientSocketChannel);
+
+        FrameCodec codec = frameCodecs.remove(clientSocketChannel);
+        if (codec != null) {
+            codec.close();
+        }
+
+        clientSocketChannel.close();
     }
 
     private void writeClientOutput(SocketChannel clientSocketChannel, String output) throws IOException {
-        buffer.clear();
-        buffer.put(output.getBytes());
-        buffer.flip();
+        FrameCodec codec = frameCodecs.get(clientSocketChannel);
+        if (codec != null) {
+            write(clientSocketChannel, codec.encode(output));
+            return;
+        }
+
+        // The replies, like the listed tasks, may be larger than the read buffer, so they get their own buffer
+        write(clientSocketChannel, ByteBuffer.wrap(output.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void writeError(SocketChannel clientSocketChannel, String message) throws IOException {
+        BinaryCodec binaryCodec = binaryCodecs.get(clientSocketChannel);
+        if (binaryCodec != null) {
+            write(clientSocketChannel, binaryCodec.encode(BinaryReply.error(message)));
+        } else {
+            writeClientOutput(clientSocketChannel, message);
+        }
+    }
+
+    // The channels are non-blocking, so the rest of a reply which the client does not read yet is queued and
+    // written when the channel becomes writable. A client which lets too many replies pend is disconnected
+    private void write(SocketChannel clientSocketChannel, ByteBuffer data) throws IOException {
+        PendingOutput pendingOutput = pendingOutputs.get(clientSocketChannel);
+
+        if (pendingOutput == null) {
+            clientSocketChannel.write(data);
+            if (!data.hasRemaining()) {
+                return;
+            }
+
+            pendingOutput = new PendingOutput();
+            pendingOutputs.put(clientSocketChannel, pendingOutput);
+            clientSocketChannel.keyFor(selector).interestOpsOr(SelectionKey.OP_WRITE);
+        }
+
+        pendingOutput.add(data);
+        if (pendingOutput.size() > MAX_PENDING_OUTPUT) {
+            throw new IOException("The client does not read its replies.");
+        }
+    }
+
+    private void writePendingOutput(SocketChannel clientSocketChannel) throws IOException {
+        PendingOutput pendingOutput = pendingOutputs.get(clientSocketChannel);
+
+        if (pendingOutput != null) {
+            while (!pendingOutput.isEmpty()) {
+                ByteBuffer next = pendingOutput.peek();
+                clientSocketChannel.write(next);
 
-        clientSocketChannel.write(buffer);
+                if (next.hasRemaining()) {
+                    return;
+                }
+                pendingOutput.remove();
+            }
+
+            pendingOutputs.remove(clientSocketChannel);
+        }
+
+        clientSocketChannel.keyFor(selector).interestOpsAnd(~SelectionKey.OP_WRITE);
     }
 
     @Override
     public void run() {
         startServer();
     }
+
+    private record TransferReply(SocketChannel clientSocketChannel, String reply) {
+    }
+
+    // The queued replies of a client and their total size
+    private static final class PendingOutput {
+        private final Queue<ByteBuffer> buffers = new ArrayDeque<>();
+        private long size;
+
+        void add(ByteBuffer buffer) {
+            buffers.add(buffer);
+            size += buffer.limit();
+        }
+
+        boolean isEmpty() {
+            return buffers.isEmpty();
+        }
+
+        ByteBuffer peek() {
+            return buffers.peek();
+        }
+
+        void remove() {
+            size -= buffers.remove().limit();
+        }
+
+        long size() {
+            return size;
+        }
+    }
+
+    // A queued command of either the text or the binary protocol
+    private record QueuedCommand(Command command, BinaryCommand binaryCommand) {
+
+        CommandType type() {
+            return command != null ? command.type() : binaryCommand.type();
+        }
+    }
 }
@@ -1,38 +1,155 @@
 package todoist.server;
 
 import todoist.command.CommandExecutor;
-import todoist.storage.Storage;
-import todoist.storage.serializer.StorageSerializer;
+import todoist.command.ReadOnlyCommandExecutor;
+import todoist.replication.JournaledStorage;
+import todoist.replication.MutationLog;
+import todoist.replication.PrimaryRecovery;
+import todoist.replication.ReplicaStorage;
+import todoist.replication.ReplicationFollower;
+import todoist.replication.ReplicationServer;
+import todoist.server.http.HttpGateway;
+import todoist.server.limit.RateLimiter;
+import todoist.storage.SegmentedStorage;
+import todoist.storage.serializer.BackupImporter;
+import todoist.storage.segment.SegmentStore;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class ServerManager {
     private static final int SERVER_PORT = 9999;
+    private static final int REPLICATION_PORT = 9998;
+    private static final int DEFAULT_FOLLOWER_PORT = 9997;
+    private static final int HTTP_PORT = 8080;
+
     private static final String STOP_COMMAND = "stop";
+    private static final String STATUS_COMMAND = "status";
+    private static final String FOLLOWER_MODE = "follower";
+
+    private static final String STORAGE_DIRECTORY = "resources/storage";
+    private static final String BACKUP_FILE = "resources/backup.json";
+    private static final String MUTATION_LOG_FILE = "resources/storage/mutations.log";
+    private static final Duration USER_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration EVICTION_PERIOD = Duration.ofMinutes(1);
 
     public static void main(String... args) {
-        try {
-            StorageSerializer serializer = new StorageSerializer();
-            Storage storage = serializer.readDataFromFile();
-            CommandExecutor executor = new CommandExecutor(storage);
+        if (args.length > 0 && args[0].equalsIgnoreCase(FOLLOWER_MODE)) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FOLLOWER_PORT;
+            runFollower(port);
+        } else {
+            runPrimary();
+        }
+    }
+
+    private static void runPrimary() {
+        ScheduledExecutorService evictionScheduler = Executors.newSingleThreadScheduledExecutor();
+
+        SegmentStore segmentStore = new SegmentStore(Path.of(STORAGE_DIRECTORY));
+        importBackup(segmentStore);
+
+        // The segments are saved only at checkpoints, so they are not saved on close, but recovered from the log
+        try (MutationLog mutationLog = new MutationLog(Path.of(MUTATION_LOG_FILE))) {
+            SegmentedStorage storage = new SegmentedStorage(segmentStore, USER_IDLE_TIMEOUT);
+            int recovered = PrimaryRecovery.recover(storage, mutationLog);
+            if (recovered > 0) {
+                System.out.println("Recovered " + recovered + " mutations from the mutation log");
+            }
 
-            Server server = new Server(SERVER_PORT, executor);
+            JournaledStorage journaledStorage = new JournaledStorage(storage, mutationLog);
+            CommandExecutor executor = new CommandExecutor(journaledStorage);
+
+            // The socket server and the HTTP gateway share the buckets, so a user has one limit on both of them
+            RateLimiter rateLimiter = new RateLimiter();
+
+            Server server = new Server(SERVER_PORT, executor, rateLimiter);
             server.start();
 
+            ReplicationServer replicationServer = new ReplicationServer(REPLICATION_PORT, mutationLog);
+            replicationServer.start();
+
+            HttpGateway httpGateway = new HttpGateway(HTTP_PORT, executor, rateLimiter);
+            httpGateway.startServer();
+
+            evictionScheduler.scheduleWithFixedDelay(() -> evictIdleUsers(journaledStorage, storage, rateLimiter),
+                    EVICTION_PERIOD.toMillis(), EVICTION_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+
             while (true) {
                 Scanner sc = new Scanner(System.in);
                 String input = sc.nextLine();
 
-                if (input.equals(STOP_COMMAND)) {
+                if (input.equals(STATUS_COMMAND)) {
+                    System.out.println("Last mutation offset: " + mutationLog.getLastOffset());
+                    System.out.println("Compression: " + server.getCompressionMetrics());
+                } else if (input.equals(STOP_COMMAND)) {
+                    replicationServer.stopServer();
+                    httpGateway.stopServer();
                     server.stopServer();
-                    serializer.saveDataToFile(storage);
+                    journaledStorage.checkpoint(storage::checkpoint);
                     break;
                 }
             }
         } catch (IOException e) {
             throw new UncheckedIOException("A problem occurred while reading and writing to file", e);
+        } finally {
+            evictionScheduler.shutdownNow();
+        }
+    }
+
+    private static void runFollower(int port) {
+        ReplicaStorage storage = new ReplicaStorage();
+
+        ReplicationFollower follower = new ReplicationFollower(REPLICATION_PORT, storage);
+        follower.start();
+
+        Server server = new Server(port, new ReadOnlyCommandExecutor(storage));
+        server.start();
+
+        while (true) {
+            Scanner sc = new Scanner(System.in);
+            String input = sc.nextLine();
+
+            if (input.equals(STATUS_COMMAND)) {
+                System.out.println("Last applied offset: " + follower.getLastAppliedOffset() +
+                        ", replication lag: " + follower.getReplicationLag().toMillis() + " ms");
+                if (follower.getFailure() != null) {
+                    System.out.println("Replication stopped: " + follower.getFailure());
+                }
+                System.out.println("Compression: " + server.getCompressionMetrics());
+            } else if (input.equals(STOP_COMMAND)) {
+                follower.stopFollower();
+                server.stopServer();
+                break;
+            }
+        }
+    }
+
+    // The data saved by the servers before the per-user segments is moved into the segments on the first start
+    private static void importBackup(SegmentStore segmentStore) {
+        try {
+            int imported = new BackupImporter(Path.of(BACKUP_FILE), segmentStore).importBackup();
+            if (imported >= 0) {
+                System.out.println("Imported " + imported + " users from " + BACKUP_FILE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("A problem occurred while importing the backup file", e);
+        }
+    }
+
+    private static void evictIdleUsers(JournaledStorage journaledStorage, SegmentedStorage storage,
+                                       RateLimiter rateLimiter) {
+        rateLimiter.evictFullBuckets();
+
+        try {
+            journaledStorage.checkpoint(storage::evictIdleUsers);
+        } catch (IOException e) {
+            System.out.println("A problem occurred while saving the data of the idle users: " + e.getMessage());
         }
     }
 }
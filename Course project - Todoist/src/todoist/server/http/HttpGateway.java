@@ -0,0 +1,260 @@
+package todoist.server.http;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import todoist.command.BinaryCommand;
+import todoist.command.BinaryCommandExecutor;
+import todoist.command.BinaryReply;
+import todoist.command.CommandExecutor;
+import todoist.command.CommandType;
+import todoist.command.ParameterName;
+import todoist.command.ReplyType;
+import todoist.exception.InvalidCommandFormatException;
+import todoist.server.limit.RateLimiter;
+import todoist.task.Task;
+import todoist.transfer.JsonTaskFormat;
+import todoist.transfer.TaskFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Serves the commands over HTTP/JSON for the web clients, on the same command executor as the socket server
+public class HttpGateway {
+    private static final String HOST = "localhost";
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int UNAUTHORIZED = 401;
+    private static final int NOT_FOUND = 404;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long CHUNKED = 0;
+
+    private static final String BASIC_AUTHORIZATION = "Basic ";
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private static final Gson GSON = new Gson();
+
+    private final int port;
+    private final BinaryCommandExecutor executor;
+    private final HttpRequestMapper mapper;
+    private final TaskFormat taskFormat;
+    private final RateLimiter rateLimiter;
+
+    // The HTTP requests use negative client ids, so they never share a session with a socket client
+    private final AtomicInteger nextClientId;
+
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+
+    public HttpGateway(int port, CommandExecutor executor) {
+        this(port, executor, new RateLimiter());
+    }
+
+    public HttpGateway(int port, CommandExecutor executor, RateLimiter rateLimiter) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Command executor cannot be null.");
+        }
+        if (rateLimiter == null) {
+            throw new IllegalArgumentException("Rate limiter cannot be null.");
+        }
+
+        this.port = port;
+        this.executor = new BinaryCommandExecutor(executor);
+        this.mapper = new HttpRequestMapper();
+        this.taskFormat = new JsonTaskFormat();
+        this.rateLimiter = rateLimiter;
+        this.nextClientId = new AtomicInteger(-1);
+    }
+
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(HOST, port), 0);
+        server.createContext("/", this::handle);
+
+        // The connections are kept alive by the HTTP server, and each request runs on a pooled thread
+        requestExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(requestExecutor);
+        server.start();
+    }
+
+    public void stopServer() {
+        server.stop(STOP_DELAY_SECONDS);
+        requestExecutor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                sendJson(exchange, PAYLOAD_TOO_LARGE, Map.of("error", "The request body is too large."));
+                return;
+            }
+
+            BinaryCommand command;
+            try {
+                command = mapper.map(exchange.getRequestMethod(), exchange.getRequestURI(), body);
+            } catch (InvalidCommandFormatException e) {
+                sendJson(exchange, BAD_REQUEST, Map.of("error", "Invalid command format. " + e.getMessage()));
+                return;
+            }
+
+            if (command == null) {
+                sendJson(exchange, NOT_FOUND, Map.of("error", "Unknown route."));
+                return;
+            }
+
+            if (command.type() == CommandType.REGISTER) {
+                if (!rateLimiter.tryAcquire(exchange.getRemoteAddress().getAddress(), command.type())) {
+                    sendTooManyRequests(exchange);
+                    return;
+                }
+
+                sendReply(exchange, executor.execute(nextClientId.getAndDecrement(), command));
+                return;
+            }
+
+            execute(exchange, command);
+        }
+    }
+
+    // Every request is executed in its own session, logged with the basic authorization credentials
+    private void execute(HttpExchange exchange, BinaryCommand command) throws IOException {
+        String[] credentials = parseCredentials(exchange.getRequestHeaders().getFirst("Authorization"));
+        if (credentials == null) {
+            exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"todoist\"");
+            sendJson(exchange, UNAUTHORIZED, Map.of("error", "Basic authorization is required."));
+            return;
+        }
+
+        // The credentials are checked only within the limit of the address, so they cannot be guessed at full speed
+        if (!rateLimiter.tryAcquire(exchange.getRemoteAddress().getAddress(), CommandType.LOGIN)) {
+            sendTooManyRequests(exchange);
+            return;
+        }
+
+        int clientId = nextClientId.getAndDecrement();
+
+        BinaryReply login = executor.execute(clientId, BinaryCommand.builder(CommandType.LOGIN)
+                .setString(ParameterName.USERNAME, credentials[0])
+                .setString(ParameterName.PASSWORD, credentials[1])
+                .build());
+
+        if (login.type() == ReplyType.ERROR) {
+            sendJson(exchange, UNAUTHORIZED, Map.of("error", login.message()));
+            return;
+        }
+
+        // The requests have no lasting connection, so only the bucket of the logged user limits them
+        BinaryReply reply = null;
+        try {
+            if (rateLimiter.tryAcquire(clientId, credentials[0], command.type())) {
+                reply = executor.execute(clientId, command);
+            }
+        } finally {
+            rateLimiter.removeClient(clientId);
+            executor.execute(clientId, BinaryCommand.builder(CommandType.DISCONNECT).build());
+        }
+
+        if (reply == null) {
+            sendTooManyRequests(exchange);
+            return;
+        }
+
+        sendReply(exchange, reply);
+    }
+
+    private void sendTooManyRequests(HttpExchange exchange) throws IOException {
+        sendJson(exchange, TOO_MANY_REQUESTS, Map.of("error", "Too many requests. Please try again later."));
+    }
+
+    private void sendReply(HttpExchange exchange, BinaryReply reply) throws IOException {
+        switch (reply.type()) {
+            case MESSAGE -> sendJson(exchange, OK, Map.of("message", reply.message()));
+            case ERROR -> sendJson(exchange, BAD_REQUEST, Map.of("error", reply.message()));
+            case TASKS -> sendTasks(exchange, reply);
+            case NAMES -> sendJson(exchange, OK, reply.names());
+            case STATISTICS -> sendJson(exchange, OK, reply.statistics());
+        }
+    }
+
+    // The task listings are streamed with chunked encoding instead of building the whole response first
+    private void sendTasks(HttpExchange exchange, BinaryReply reply) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(OK, CHUNKED);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+                StandardCharsets.UTF_8))) {
+
+            writer.write('[');
+
+            boolean isFirst = true;
+            for (Task task : reply.tasks()) {
+                if (!isFirst) {
+                    writer.write(',');
+                }
+
+                writer.write(taskFormat.format(task));
+                isFirst = false;
+            }
+
+            writer.write(']');
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object response) throws IOException {
+        byte[] bytes = GSON.toJson(response).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    // Returns null when the body is too large; the whole body is read, so the connection can be kept alive
+    private String readBody(InputStream input) throws IOException {
+        byte[] body = input.readNBytes(MAX_BODY_SIZE + 1);
+        if (body.length > MAX_BODY_SIZE) {
+            input.transferTo(OutputStream.nullOutputStream());
+            return null;
+        }
+
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private String[] parseCredentials(String authorization) {
+        if (authorization == null || !authorization.startsWith(BASIC_AUTHORIZATION)) {
+            return null;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC_AUTHORIZATION.length())),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        String[] credentials = decoded.split(":", 2);
+        return credentials.length == 2 ? credentials : null;
+    }
+}
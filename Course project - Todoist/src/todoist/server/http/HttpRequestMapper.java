@@ -0,0 +1,219 @@
+package todoist.server.http;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import todoist.command.BinaryCommand;
+import todoist.command.CommandType;
+import todoist.command.ParameterName;
+import todoist.exception.InvalidCommandFormatException;
+import todoist.task.Recurrence;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps the REST routes of the gateway to the typed commands of the binary protocol
+public class HttpRequestMapper {
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+
+    private static final String USERS = "users";
+    private static final String TASKS = "tasks";
+    private static final String FINISH = "finish";
+    private static final String DASHBOARD = "dashboard";
+    private static final String COLLABORATIONS = "collaborations";
+    private static final String STATS = "stats";
+
+    private static final String DAILY_RECURRENCE = "daily";
+    private static final String WEEKLY_RECURRENCE = "weekly";
+
+    // Returns null when there is no route for the method and the path
+    public BinaryCommand map(String method, URI uri, String body) throws InvalidCommandFormatException {
+        List<String> segments = parsePath(uri.getRawPath());
+        Map<ParameterName, Object> fields = new EnumMap<>(ParameterName.class);
+
+        CommandType type = route(method, segments, fields);
+        if (type == null) {
+            return null;
+        }
+
+        parseQuery(uri.getRawQuery(), fields);
+        parseBody(body, fields);
+
+        return new BinaryCommand(type, fields);
+    }
+
+    private CommandType route(String method, List<String> segments, Map<ParameterName, Object> fields) {
+        if (segments.isEmpty()) {
+            return null;
+        }
+
+        int size = segments.size();
+
+        return switch (segments.get(0)) {
+            case USERS -> size == 1 && method.equals(POST) ? CommandType.REGISTER : null;
+            case TASKS -> routeTasks(method, segments, fields);
+            case DASHBOARD -> size == 1 && method.equals(GET) ? CommandType.LIST_DASHBOARD : null;
+            case COLLABORATIONS -> routeCollaborations(method, segments, fields);
+            case STATS -> size == 1 && method.equals(GET) ? CommandType.STATS : null;
+            default -> null;
+        };
+    }
+
+    // /tasks, /tasks/{name} and /tasks/{name}/finish
+    private CommandType routeTasks(String method, List<String> segments, Map<ParameterName, Object> fields) {
+        if (segments.size() == 1) {
+            return switch (method) {
+                case GET -> CommandType.LIST_TASKS;
+                case POST -> CommandType.ADD_TASK;
+                default -> null;
+            };
+        }
+
+        fields.put(ParameterName.NAME, segments.get(1));
+
+        if (segments.size() == 2) {
+            return switch (method) {
+                case GET -> CommandType.GET_TASK;
+                case PUT -> CommandType.UPDATE_TASK;
+                case DELETE -> CommandType.DELETE_TASK;
+                default -> null;
+            };
+        }
+
+        boolean isFinish = segments.size() == 3 && segments.get(2).equals(FINISH) && method.equals(POST);
+        return isFinish ? CommandType.FINISH_TASK : null;
+    }
+
+    // /collaborations, /collaborations/{name}, /collaborations/{name}/users and /collaborations/{name}/tasks
+    private CommandType routeCollaborations(String method, List<String> segments,
+                                            Map<ParameterName, Object> fields) {
+        if (segments.size() == 1) {
+            return switch (method) {
+                case GET -> CommandType.LIST_COLLABORATIONS;
+                case POST -> CommandType.ADD_COLLABORATION;
+                default -> null;
+            };
+        }
+
+        fields.put(ParameterName.COLLABORATION, segments.get(1));
+
+        if (segments.size() == 2) {
+            return method.equals(DELETE) ? CommandType.DELETE_COLLABORATION : null;
+        }
+        if (segments.size() != 3) {
+            return null;
+        }
+
+        return switch (segments.get(2)) {
+            case USERS -> switch (method) {
+                case GET -> CommandType.LIST_USERS;
+                case POST -> CommandType.ADD_USER;
+                default -> null;
+            };
+            case TASKS -> method.equals(POST) ? CommandType.ASSIGN_TASK : null;
+            default -> null;
+        };
+    }
+
+    private List<String> parsePath(String rawPath) {
+        List<String> segments = new ArrayList<>();
+
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+
+        return segments;
+    }
+
+    private void parseQuery(String rawQuery, Map<ParameterName, Object> fields) throws InvalidCommandFormatException {
+        if (rawQuery == null || rawQuery.isBlank()) {
+            return;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            String[] tokens = pair.split("=", 2);
+            if (tokens.length != 2) {
+                throw new InvalidCommandFormatException("Query parameters expected in \"key=value\" format.");
+            }
+
+            putField(URLDecoder.decode(tokens[0], StandardCharsets.UTF_8),
+                    URLDecoder.decode(tokens[1], StandardCharsets.UTF_8), fields);
+        }
+    }
+
+    private void parseBody(String body, Map<ParameterName, Object> fields) throws InvalidCommandFormatException {
+        if (body == null || body.isBlank()) {
+            return;
+        }
+
+        JsonObject object;
+        try {
+            object = JsonParser.parseString(body).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new InvalidCommandFormatException("The request body is not a valid JSON object.", e);
+        }
+
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            if (!entry.getValue().isJsonPrimitive()) {
+                throw new InvalidCommandFormatException("Parameter \"" + entry.getKey() + "\" must be a value.");
+            }
+
+            putField(entry.getKey(), entry.getValue().getAsString(), fields);
+        }
+    }
+
+    private void putField(String name, String value, Map<ParameterName, Object> fields)
+            throws InvalidCommandFormatException {
+
+        ParameterName parameter = ParameterName.getParameterByName(name);
+        if (parameter == null) {
+            throw new InvalidCommandFormatException("Unknown parameter \"" + name + "\".");
+        }
+
+        // The path parameters cannot be overridden by the query or the body
+        if (!fields.containsKey(parameter)) {
+            fields.put(parameter, parseValue(parameter, value));
+        }
+    }
+
+    private Object parseValue(ParameterName parameter, String value) throws InvalidCommandFormatException {
+        try {
+            return switch (parameter) {
+                case DATE, DUE_DATE, DUE_DATE_FROM, DUE_DATE_TO, UNTIL -> LocalDate.parse(value);
+                case COMPLETED -> Boolean.parseBoolean(value);
+                case REPEAT -> parseRepeat(value);
+                default -> value;
+            };
+        } catch (DateTimeParseException e) {
+            throw new InvalidCommandFormatException("Unknown date format for \"" + parameter.name + "\".", e);
+        }
+    }
+
+    private int parseRepeat(String value) throws InvalidCommandFormatException {
+        if (value.equalsIgnoreCase(DAILY_RECURRENCE)) {
+            return Recurrence.daily(null).intervalDays();
+        }
+        if (value.equalsIgnoreCase(WEEKLY_RECURRENCE)) {
+            return Recurrence.weekly(null).intervalDays();
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCommandFormatException("Unknown recurrence \"" + value + "\".", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package todoist.server.limit;
+
+public record RateLimit(long capacity, double refillPerSecond) {
+
+    public RateLimit {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive.");
+        }
+    }
+}
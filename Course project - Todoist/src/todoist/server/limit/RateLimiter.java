@@ -0,0 +1,98 @@
+package todoist.server.limit;
+
+import todoist.command.CommandType;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// Shared by the socket server and the HTTP gateway threads, so a user has one bucket on both of them
+public class RateLimiter {
+    private static final RateLimit DEFAULT_CONNECTION_LIMIT = new RateLimit(20, 10);
+    private static final RateLimit DEFAULT_USER_LIMIT = new RateLimit(40, 20);
+
+    private final RateLimit connectionLimit;
+    private final RateLimit userLimit;
+    private final LongSupplier clock;
+
+    private final Map<Integer, TokenBucket> connectionBuckets;
+    private final Map<String, TokenBucket> userBuckets;
+    private final Map<InetAddress, TokenBucket> addressBuckets;
+
+    public RateLimiter() {
+        this(DEFAULT_CONNECTION_LIMIT, DEFAULT_USER_LIMIT);
+    }
+
+    public RateLimiter(RateLimit connectionLimit, RateLimit userLimit) {
+        this(connectionLimit, userLimit, System::nanoTime);
+    }
+
+    public RateLimiter(RateLimit connectionLimit, RateLimit userLimit, LongSupplier clock) {
+        if (connectionLimit == null || userLimit == null) {
+            throw new IllegalArgumentException("Rate limits cannot be null.");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+
+        this.connectionLimit = connectionLimit;
+        this.userLimit = userLimit;
+        this.clock = clock;
+        this.connectionBuckets = new HashMap<>();
+        this.userBuckets = new HashMap<>();
+        this.addressBuckets = new HashMap<>();
+    }
+
+    public synchronized boolean tryAcquire(int clientId, String user, CommandType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Command type cannot be null.");
+        }
+
+        TokenBucket connectionBucket =
+                connectionBuckets.computeIfAbsent(clientId, id -> new TokenBucket(connectionLimit, clock));
+
+        // A user logged from several connections shares one bucket, so it cannot bypass the limit
+        TokenBucket userBucket = user == null ? null :
+                userBuckets.computeIfAbsent(user, name -> new TokenBucket(userLimit, clock));
+
+        if (!connectionBucket.hasTokens(type.cost) || (userBucket != null && !userBucket.hasTokens(type.cost))) {
+            return false;
+        }
+
+        connectionBucket.tryConsume(type.cost);
+        if (userBucket != null) {
+            userBucket.tryConsume(type.cost);
+        }
+
+        return true;
+    }
+
+    // The HTTP requests have no lasting connection and are not yet logged before their credentials are checked, so the
+    // login and register attempts are limited by the address they come from
+    public synchronized boolean tryAcquire(InetAddress address, CommandType type) {
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null.");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Command type cannot be null.");
+        }
+
+        return addressBuckets.computeIfAbsent(address, key -> new TokenBucket(connectionLimit, clock))
+                .tryConsume(type.cost);
+    }
+
+    public synchronized void removeClient(int clientId) {
+        connectionBuckets.remove(clientId);
+    }
+
+    // A full bucket limits the same way as a new one, so the buckets of the idle users and addresses are removed
+    // without losing anything. Returns the number of removed buckets
+    public synchronized int evictFullBuckets() {
+        int bucketsCount = userBuckets.size() + addressBuckets.size();
+        userBuckets.values().removeIf(TokenBucket::isFull);
+        addressBuckets.values().removeIf(TokenBucket::isFull);
+
+        return bucketsCount - userBuckets.size() - addressBuckets.size();
+    }
+}
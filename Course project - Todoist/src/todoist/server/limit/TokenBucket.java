@@ -0,0 +1,61 @@
+package todoist.server.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class TokenBucket {
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long capacity;
+    private final double refillPerNano;
+    private final LongSupplier clock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(RateLimit limit, LongSupplier clock) {
+        if (limit == null) {
+            throw new IllegalArgumentException("Rate limit cannot be null.");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+
+        this.capacity = limit.capacity();
+        this.refillPerNano = limit.refillPerSecond() / NANOS_IN_SECOND;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    public boolean hasTokens(int cost) {
+        refill();
+        return tokens >= cost;
+    }
+
+    public boolean tryConsume(int cost) {
+        if (!hasTokens(cost)) {
+            return false;
+        }
+
+        tokens -= cost;
+        return true;
+    }
+
+    public double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    public boolean isFull() {
+        return getAvailableTokens() >= capacity;
+    }
+
+    // The bucket is refilled lazily on access, so idle buckets cost nothing
+    private void refill() {
+        long now = clock.getAsLong();
+
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
@@ -9,8 +9,16 @@ import todoist.exception.TaskNotFoundException;
 import todoist.exception.UserAlreadyExistsException;
 import todoist.exception.UserNotFoundException;
 import todoist.exception.WrongPasswordException;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.segment.UserSegment;
+import todoist.storage.statistics.CollaborationStatistics;
+import todoist.storage.statistics.Statistics;
+import todoist.storage.statistics.UserStatistics;
+import todoist.task.RecurringTask;
 import todoist.task.Task;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -19,24 +27,51 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class InMemoryStorage implements Storage {
     private static final String VALIDATION_EXCEPTION_MESSAGE = "Parameter \"%s\" cannot be %s.";
     private final Map<String, String> users;
     private final Map<String, Map<String, Task>> inbox;
+    private final Map<String, Map<String, RecurringTask>> recurringTasks;
     private final Map<String, Map<LocalDate, Map<String, Task>>> tasksByDate;
     private final Map<String, Set<Task>> completedTasks;
     private final Map<String, Map<String, Collaboration>> createdCollaborations;
     private final Map<String, Map<String, Collaboration>> assignedCollaborations;
+    private final Map<String, Set<String>> collaborationOwners; // Owners of the collaborations the user is added to
+    private final Map<String, Map<String, Set<Task>>> tasksByLabel; // Indexes of the tasks which are not completed
+    private final Map<String, NavigableMap<LocalDate, Set<Task>>> tasksByDueDate;
+    private final Map<String, Map<Task, Set<String>>> taskCollaborations; // Collaborations the task is assigned in
+    private final Map<String, UserStatistics> statistics;
+    private final Clock clock;
 
     public InMemoryStorage() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public InMemoryStorage(Clock clock) {
+        validateObject(clock, "clock");
+
+        this.clock = clock;
         users = new HashMap<>();
         inbox = new HashMap<>();
+        recurringTasks = new HashMap<>();
         tasksByDate = new HashMap<>();
         completedTasks = new HashMap<>();
         createdCollaborations = new HashMap<>();
         assignedCollaborations = new HashMap<>();
+        collaborationOwners = new HashMap<>();
+        tasksByLabel = new HashMap<>();
+        tasksByDueDate = new HashMap<>();
+        taskCollaborations = new HashMap<>();
+        statistics = new HashMap<>();
     }
 
     @Override
@@ -51,10 +86,118 @@ public class InMemoryStorage implements Storage {
         users.put(username, password);
 
         inbox.putIfAbsent(username, new HashMap<>());
+        recurringTasks.putIfAbsent(username, new HashMap<>());
         tasksByDate.putIfAbsent(username, new HashMap<>());
         completedTasks.putIfAbsent(username, new HashSet<>());
         createdCollaborations.putIfAbsent(username, new HashMap<>());
         assignedCollaborations.putIfAbsent(username, new HashMap<>());
+        collaborationOwners.putIfAbsent(username, new HashSet<>());
+        tasksByLabel.putIfAbsent(username, new HashMap<>());
+        tasksByDueDate.putIfAbsent(username, new TreeMap<>());
+        taskCollaborations.putIfAbsent(username, new HashMap<>());
+        statistics.putIfAbsent(username, new UserStatistics());
+    }
+
+    public void registerUser(String username, String password) throws UserAlreadyExistsException {
+        validateString(username, "username");
+        validateString(password, "password");
+
+        if (users.containsKey(username)) {
+            throw new UserAlreadyExistsException("User with username \"" + username + "\" already exists.");
+        }
+
+        users.put(username, password);
+    }
+
+    public Map<String, String> getCredentials() {
+        return Collections.unmodifiableMap(users);
+    }
+
+    public boolean isUserLoaded(String username) {
+        return inbox.containsKey(username);
+    }
+
+    public Collection<String> getLoadedUsers() {
+        return Collections.unmodifiableSet(inbox.keySet());
+    }
+
+    public Collection<String> getCollaborationOwners(String username) {
+        if (!isUserLoaded(username)) {
+            return Collections.emptySet();
+        }
+
+        return Collections.unmodifiableSet(collaborationOwners.get(username));
+    }
+
+    public void loadUser(String username, UserSegment segment) throws UserNotFoundException {
+        validateObject(segment, "segment");
+        checkIfUserExists(username);
+
+        inbox.put(username, Objects.requireNonNullElseGet(segment.inbox(), HashMap::new));
+        recurringTasks.put(username, Objects.requireNonNullElseGet(segment.recurringTasks(), HashMap::new));
+        tasksByDate.put(username, Objects.requireNonNullElseGet(segment.tasksByDate(), HashMap::new));
+        completedTasks.put(username, Objects.requireNonNullElseGet(segment.completedTasks(), HashSet::new));
+        createdCollaborations.put(username,
+                Objects.requireNonNullElseGet(segment.createdCollaborations(), HashMap::new));
+        assignedCollaborations.put(username, new HashMap<>());
+        collaborationOwners.put(username, new HashSet<>());
+        tasksByLabel.put(username, new HashMap<>());
+        tasksByDueDate.put(username, new TreeMap<>());
+        taskCollaborations.put(username, new HashMap<>());
+        statistics.put(username, new UserStatistics(segment.completedTasksByDay()));
+
+        inbox.get(username).values().forEach(task -> indexTask(username, task));
+        tasksByDate.get(username).values().forEach(tasks -> tasks.values().forEach(task -> indexTask(username, task)));
+        recurringTasks.get(username).values().forEach(series -> statistics.get(username).seriesAdded());
+
+        // Attach the collaborations of the already loaded owners the user is added to
+        if (segment.collaborationOwners() != null) {
+            for (String owner : segment.collaborationOwners()) {
+                attachCollaborations(owner, username);
+            }
+        }
+
+        // Attach the collaborations of the loaded user to its already loaded participants
+        for (Collaboration collaboration : createdCollaborations.get(username).values()) {
+            collaboration.getTasks().forEach(task -> taskCollaborations.get(username)
+                    .computeIfAbsent(task, t -> new HashSet<>())
+                    .add(collaboration.getName()));
+
+            for (String participant : collaboration.getUsers()) {
+                if (isUserLoaded(participant) && !participant.equals(username)) {
+                    assignedCollaborations.get(participant).put(collaboration.getName(), collaboration);
+                    collaborationOwners.get(participant).add(username);
+                }
+            }
+        }
+    }
+
+    public UserSegment snapshotUser(String username) {
+        if (!isUserLoaded(username)) {
+            throw new IllegalStateException("The data of user \"" + username + "\" is not loaded.");
+        }
+
+        return new UserSegment(inbox.get(username), tasksByDate.get(username), completedTasks.get(username),
+                createdCollaborations.get(username), collaborationOwners.get(username),
+                statistics.get(username).getCompletedTasksByDay(), recurringTasks.get(username));
+    }
+
+    public UserSegment unloadUser(String username) {
+        UserSegment segment = snapshotUser(username);
+
+        inbox.remove(username);
+        recurringTasks.remove(username);
+        tasksByDate.remove(username);
+        completedTasks.remove(username);
+        createdCollaborations.remove(username);
+        assignedCollaborations.remove(username);
+        collaborationOwners.remove(username);
+        tasksByLabel.remove(username);
+        tasksByDueDate.remove(username);
+        taskCollaborations.remove(username);
+        statistics.remove(username);
+
+        return segment;
     }
 
     @Override
@@ -75,6 +218,16 @@ public class InMemoryStorage implements Storage {
         validateObject(task, "task");
         checkIfUserExists(currentUser);
 
+        if (task.getRecurrence() != null) {
+            addRecurringTask(currentUser, task);
+            return;
+        }
+
+        if (task.getDate() != null && findOccurrence(currentUser, task.getName(), task.getDate()) != null) {
+            throw new TaskNameAlreadyExistsException("Task with name \"" + task.getName() +
+                    "\" already occurs on " + task.getDate().toString() + ".");
+        }
+
         if (task.getDate() == null) {
 
             if (inbox.get(currentUser).containsKey(task.getName())) {
@@ -93,6 +246,8 @@ public class InMemoryStorage implements Storage {
 
             tasksByDate.get(currentUser).get(task.getDate()).put(task.getName(), task);
         }
+
+        indexTask(currentUser, task);
     }
 
     @Override
@@ -100,13 +255,28 @@ public class InMemoryStorage implements Storage {
         validateObject(newTask, "newTask");
         checkIfUserExists(currentUser);
 
+        if (newTask.getRecurrence() != null) {
+            updateRecurringTask(currentUser, newTask);
+            return;
+        }
+
+        // The edited occurrence is stored as a separate task and excluded from its series
+        RecurringTask series = recurringTasks.get(currentUser).get(newTask.getName());
+        if (newTask.getDate() != null && series != null && series.occursOn(newTask.getDate())) {
+            series.addException(newTask.getDate());
+            tasksByDate.get(currentUser).computeIfAbsent(newTask.getDate(), date -> new HashMap<>())
+                    .put(newTask.getName(), newTask);
+            indexTask(currentUser, newTask);
+            return;
+        }
+
         if (newTask.getDate() == null) {
             if (!inbox.containsKey(currentUser) || !inbox.get(currentUser).containsKey(newTask.getName())) {
                 throw new TaskNotFoundException("Task with name \"" + newTask.getName() +
                         "\" does not exist in inbox folder");
             }
 
-            inbox.get(currentUser).put(newTask.getName(), newTask);
+            unindexTask(currentUser, inbox.get(currentUser).put(newTask.getName(), newTask));
         } else {
             if (!tasksByDate.containsKey(currentUser) ||
                 !tasksByDate.get(currentUser).containsKey(newTask.getDate()) ||
@@ -116,30 +286,63 @@ public class InMemoryStorage implements Storage {
                         newTask.getDate().toString() + " does not exist in inbox folder");
             }
 
-            tasksByDate.get(currentUser).get(newTask.getDate()).put(newTask.getName(), newTask);
+            Map<String, Task> tasks = tasksByDate.get(currentUser).get(newTask.getDate());
+            unindexTask(currentUser, tasks.put(newTask.getName(), newTask));
         }
+
+        indexTask(currentUser, newTask);
     }
 
     @Override
     public Task deleteTask(String currentUser, String taskName) throws TaskNotFoundException, UserNotFoundException {
+        Task deleted = removeTask(currentUser, taskName);
+        detachFromCollaborations(currentUser, deleted, false);
+
+        return deleted;
+    }
+
+    @Override
+    public Task deleteTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        Task deleted = removeTask(currentUser, taskName, date);
+        detachFromCollaborations(currentUser, deleted, false);
+
+        return deleted;
+    }
+
+    private Task removeTask(String currentUser, String taskName) throws TaskNotFoundException, UserNotFoundException {
         validateString(taskName, "taskName");
         checkIfUserExists(currentUser);
 
+        if (!inbox.get(currentUser).containsKey(taskName) && recurringTasks.get(currentUser).containsKey(taskName)) {
+            statistics.get(currentUser).seriesRemoved();
+            return recurringTasks.get(currentUser).remove(taskName).getTask();
+        }
+
         if (!inbox.get(currentUser).containsKey(taskName)) {
             throw new TaskNotFoundException("Task with name \"" + taskName + "\" does not exist.");
         }
 
-        return inbox.get(currentUser).remove(taskName);
+        Task removed = inbox.get(currentUser).remove(taskName);
+        unindexTask(currentUser, removed);
+
+        return removed;
     }
 
-    @Override
-    public Task deleteTask(String currentUser, String taskName, LocalDate date)
+    private Task removeTask(String currentUser, String taskName, LocalDate date)
             throws TaskNotFoundException, UserNotFoundException {
 
         validateString(taskName, "taskName");
         validateObject(date, "date");
         checkIfUserExists(currentUser);
 
+        Task occurrence = findOccurrence(currentUser, taskName, date);
+        if (occurrence != null) {
+            recurringTasks.get(currentUser).get(taskName).addException(date);
+            return occurrence;
+        }
+
         if (!tasksByDate.get(currentUser).containsKey(date) ||
             !tasksByDate.get(currentUser).get(date).containsKey(taskName)) {
 
@@ -147,7 +350,28 @@ public class InMemoryStorage implements Storage {
                     date + "does not exist.");
         }
 
-        return tasksByDate.get(currentUser).get(date).remove(taskName);
+        Task removed = tasksByDate.get(currentUser).get(date).remove(taskName);
+        unindexTask(currentUser, removed);
+
+        return removed;
+    }
+
+    // The finished tasks stay assigned in the collaborations as completed, and the deleted ones are unassigned
+    private void detachFromCollaborations(String currentUser, Task task, boolean isFinished) {
+        Set<String> collaborationNames = taskCollaborations.get(currentUser).remove(task);
+        if (collaborationNames == null) {
+            return;
+        }
+
+        for (String collaborationName : collaborationNames) {
+            Collaboration collaboration = createdCollaborations.get(currentUser).get(collaborationName);
+
+            if (isFinished) {
+                collaboration.markTaskCompleted(task);
+            } else {
+                collaboration.removeTask(task);
+            }
+        }
     }
 
     @Override
@@ -156,6 +380,7 @@ public class InMemoryStorage implements Storage {
         checkIfUserExists(currentUser);
 
         if (!inbox.get(currentUser).containsKey(taskName)) {
+            checkIfNotRecurring(currentUser, taskName);
             throw new TaskNotFoundException("Task with name \"" + taskName + "\" does not exist.");
         }
 
@@ -170,6 +395,11 @@ public class InMemoryStorage implements Storage {
         validateObject(date, "date");
         checkIfUserExists(currentUser);
 
+        Task occurrence = findOccurrence(currentUser, taskName, date);
+        if (occurrence != null) {
+            return occurrence;
+        }
+
         if (!tasksByDate.get(currentUser).containsKey(date) ||
             !tasksByDate.get(currentUser).get(date).containsKey(taskName)) {
 
@@ -194,6 +424,8 @@ public class InMemoryStorage implements Storage {
             toBeReturned.addAll(inbox.get(currentUser).values());
         }
 
+        recurringTasks.get(currentUser).values().forEach(series -> toBeReturned.add(series.getTask()));
+
         return toBeReturned;
     }
 
@@ -201,7 +433,64 @@ public class InMemoryStorage implements Storage {
     public Collection<Task> listCompletedTasks(String currentUser) throws UserNotFoundException {
         checkIfUserExists(currentUser);
 
-        return Collections.unmodifiableSet(completedTasks.get(currentUser));
+        // The callers read the tasks after the lock of the storage is released, so they get a copy
+        return new ArrayList<>(completedTasks.get(currentUser));
+    }
+
+    @Override
+    public Collection<Task> addTasks(String currentUser, Collection<Task> tasks) throws UserNotFoundException {
+        validateObject(tasks, "tasks");
+        checkIfUserExists(currentUser);
+
+        List<Task> added = new ArrayList<>();
+
+        for (Task task : tasks) {
+            try {
+                addTask(currentUser, task);
+                added.add(task);
+            } catch (TaskNameAlreadyExistsException e) {
+                // The conflicting tasks are skipped, so the rest of the batch is still added
+            }
+        }
+
+        return added;
+    }
+
+    @Override
+    public void forEachTask(String currentUser, boolean completed, Consumer<Task> action)
+            throws UserNotFoundException {
+
+        validateObject(action, "action");
+        checkIfUserExists(currentUser);
+
+        if (completed) {
+            completedTasks.get(currentUser).forEach(action);
+            return;
+        }
+
+        inbox.get(currentUser).values().forEach(action);
+        tasksByDate.get(currentUser).values().forEach(tasks -> tasks.values().forEach(action));
+        recurringTasks.get(currentUser).values().forEach(series -> action.accept(series.getTask()));
+    }
+
+    @Override
+    public Statistics getStatistics(String currentUser) throws UserNotFoundException {
+        checkIfUserExists(currentUser);
+
+        UserStatistics userStatistics = statistics.get(currentUser);
+        LocalDate today = LocalDate.now(clock);
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+
+        List<CollaborationStatistics> collaborations = new ArrayList<>();
+        Stream.concat(createdCollaborations.get(currentUser).values().stream(),
+                        assignedCollaborations.get(currentUser).values().stream())
+                .map(collaboration -> new CollaborationStatistics(collaboration.getName(),
+                        collaboration.getTasksCount(), collaboration.getCompletedTasksCount()))
+                .forEach(collaborations::add);
+
+        return new Statistics(userStatistics.getActiveTasks(), userStatistics.getOverdueTasks(today),
+                userStatistics.getCompletedTasks(today), userStatistics.getCompletedTasks(weekStart, today),
+                completedTasks.get(currentUser).size(), collaborations);
     }
 
     @Override
@@ -211,11 +500,23 @@ public class InMemoryStorage implements Storage {
         validateObject(date, "date");
         checkIfUserExists(currentUser);
 
-        if (!tasksByDate.get(currentUser).containsKey(date)) {
+        List<Task> occurrences = recurringTasks.get(currentUser).values().stream()
+                .filter(series -> series.occursOn(date))
+                .map(series -> series.getOccurrence(date))
+                .toList();
+
+        if (!tasksByDate.get(currentUser).containsKey(date) && occurrences.isEmpty()) {
             throw new TaskNotFoundException("Tasks with execution date " + date + " not found for the logged user");
         }
 
-        return Collections.unmodifiableCollection(tasksByDate.get(currentUser).get(date).values());
+        if (occurrences.isEmpty()) {
+            return new ArrayList<>(tasksByDate.get(currentUser).get(date).values());
+        }
+
+        List<Task> toBeReturned = new ArrayList<>(occurrences);
+        toBeReturned.addAll(tasksByDate.get(currentUser).getOrDefault(date, Map.of()).values());
+
+        return toBeReturned;
     }
 
     @Override
@@ -225,22 +526,76 @@ public class InMemoryStorage implements Storage {
         validateString(collaborationName, "collaborationName");
         checkIfUserExists(currentUser);
 
-        if (createdCollaborations.get(currentUser).containsKey(collaborationName)) {
-            return createdCollaborations.get(currentUser).get(collaborationName).getTasks();
+        return findCollaboration(currentUser, collaborationName).getTasks();
+    }
+
+    @Override
+    public Collection<Task> queryTasks(String currentUser, TaskQuery query)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        validateObject(query, "query");
+        checkIfUserExists(currentUser);
+
+        // The tasks of a collaboration are stored and indexed with the other tasks of its owner, so the collaboration
+        // is one more candidate set, intersected with the indexes of the owner
+        String user = currentUser;
+        List<Candidates> candidates = new ArrayList<>();
+        List<Predicate<Task>> filters = new ArrayList<>();
+
+        if (query.getCollaboration() != null) {
+            Collaboration collaboration = findCollaboration(currentUser, query.getCollaboration());
+            user = findCollaborationOwner(currentUser, collaboration);
+
+            candidates.add(new Candidates(collaboration.getTasksCount(),
+                    () -> collaboration.getTasks().stream().distinct()));
+            filters.add(collaboration::containsTask);
         }
 
-        if (assignedCollaborations.get(currentUser).containsKey(collaborationName)) {
-            return assignedCollaborations.get(currentUser).get(collaborationName).getTasks();
+        if (query.isCompleted()) {
+            Set<Task> completed = completedTasks.get(user);
+
+            candidates.add(new Candidates(completed.size(), completed::stream));
+            filters.add(completed::contains);
+        } else {
+            // Only the tasks which are not completed are indexed by date, label and due date
+            String owner = user;
+            addIndexCandidates(owner, query, candidates);
+            filters.add(task -> isActive(owner, task));
         }
 
-        throw new CollaborationNotFoundException("Collaboration with name \"" + collaborationName +
-                "\" not found for the logged user.");
+        List<Predicate<Task>> queryFilters = new ArrayList<>();
+
+        if (query.getDate() != null) {
+            queryFilters.add(task -> query.getDate().equals(task.getDate()));
+        }
+        if (query.getLabel() != null) {
+            queryFilters.add(task -> query.getLabel().equals(task.getLabel()));
+        }
+        if (query.hasDueDateRange()) {
+            queryFilters.add(task -> query.matchesDueDate(task.getDueDate()));
+        }
+
+        Candidates mostSelective = candidates.stream()
+                .min((first, second) -> Long.compare(first.size(), second.size()))
+                .orElseThrow();
+
+        Predicate<Task> queryFilter = queryFilters.stream().reduce(task -> true, Predicate::and);
+        Predicate<Task> filter = filters.stream().reduce(queryFilter, Predicate::and);
+
+        Stream<Task> tasks = mostSelective.tasks().get().filter(filter);
+
+        // The occurrences of the recurring tasks are not indexed, so they are generated for the queried dates only
+        if (!query.isCompleted() && query.getCollaboration() == null) {
+            tasks = Stream.concat(tasks, queryOccurrences(currentUser, query).filter(queryFilter));
+        }
+
+        return tasks.toList();
     }
 
     @Override
     public Collection<Task> listDashboard(String currentUser) throws TaskNotFoundException, UserNotFoundException {
         checkIfUserExists(currentUser);
-        return listTasks(currentUser, LocalDate.now());
+        return listTasks(currentUser, LocalDate.now(clock));
     }
 
     @Override
@@ -248,7 +603,31 @@ public class InMemoryStorage implements Storage {
         validateString(taskName, "taskName");
         checkIfUserExists(currentUser);
 
-        completedTasks.get(currentUser).add(deleteTask(currentUser, taskName));
+        // Only an occurrence of a recurring task can be finished, never its whole series
+        if (!inbox.get(currentUser).containsKey(taskName)) {
+            checkIfNotRecurring(currentUser, taskName);
+        }
+
+        Task finished = removeTask(currentUser, taskName);
+        detachFromCollaborations(currentUser, finished, true);
+
+        completedTasks.get(currentUser).add(finished);
+        statistics.get(currentUser).taskCompleted(LocalDate.now(clock));
+    }
+
+    @Override
+    public void finishTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        validateString(taskName, "taskName");
+        validateObject(date, "date");
+        checkIfUserExists(currentUser);
+
+        Task finished = removeTask(currentUser, taskName, date);
+        detachFromCollaborations(currentUser, finished, true);
+
+        completedTasks.get(currentUser).add(finished);
+        statistics.get(currentUser).taskCompleted(LocalDate.now(clock));
     }
 
     @Override
@@ -278,19 +657,27 @@ public class InMemoryStorage implements Storage {
                     "\" not found for the logged user.");
         }
 
-        for (String user : createdCollaborations.get(currentUser).get(collaborationName).getUsers()) {
-            assignedCollaborations.get(user).remove(collaborationName);
-        }
+        Collection<String> participants = createdCollaborations.get(currentUser).get(collaborationName).getUsers();
 
         for (Task currentTask : createdCollaborations.get(currentUser).get(collaborationName).getTasks()) {
+            taskCollaborations.get(currentUser).remove(currentTask);
+
             if (currentTask.getDate() == null) {
-                inbox.get(currentUser).remove(currentTask.getName());
+                unindexTask(currentUser, inbox.get(currentUser).remove(currentTask.getName()));
             } else {
-                tasksByDate.get(currentUser).get(currentTask.getDate()).remove(currentTask.getName());
+                unindexTask(currentUser,
+                        tasksByDate.get(currentUser).get(currentTask.getDate()).remove(currentTask.getName()));
             }
         }
 
         createdCollaborations.get(currentUser).remove(collaborationName);
+
+        for (String user : participants) {
+            if (isUserLoaded(user)) {
+                assignedCollaborations.get(user).remove(collaborationName);
+                refreshCollaborationOwner(currentUser, user);
+            }
+        }
     }
 
     @Override
@@ -331,6 +718,7 @@ public class InMemoryStorage implements Storage {
 
         collaboration.addUser(username);
         assignedCollaborations.get(username).put(collaborationName, collaboration);
+        collaborationOwners.get(username).add(currentUser);
     }
 
     @Override
@@ -358,6 +746,10 @@ public class InMemoryStorage implements Storage {
         createdCollaborations.get(currentUser)
                 .get(collaborationName)
                 .assignTask(username, inbox.get(currentUser).get(taskName));
+
+        taskCollaborations.get(currentUser)
+                .computeIfAbsent(inbox.get(currentUser).get(taskName), t -> new HashSet<>())
+                .add(collaborationName);
     }
 
     @Override
@@ -386,6 +778,10 @@ public class InMemoryStorage implements Storage {
         createdCollaborations.get(currentUser)
                 .get(collaborationName)
                 .assignTask(username, tasksByDate.get(currentUser).get(date).get(task));
+
+        taskCollaborations.get(currentUser)
+                .computeIfAbsent(tasksByDate.get(currentUser).get(date).get(task), t -> new HashSet<>())
+                .add(collaborationName);
     }
 
     @Override
@@ -397,18 +793,206 @@ public class InMemoryStorage implements Storage {
 
         if (createdCollaborations.get(currentUser).containsKey(collaborationName)) {
             Collection<String> users = createdCollaborations.get(currentUser).get(collaborationName).getUsers();
-            return Collections.unmodifiableCollection(users);
+            return new ArrayList<>(users);
         }
 
         if (assignedCollaborations.get(currentUser).containsKey(collaborationName)) {
             Collection<String> users = assignedCollaborations.get(currentUser).get(collaborationName).getUsers();
-            return Collections.unmodifiableCollection(users);
+            return new ArrayList<>(users);
         }
 
         throw new CollaborationNotFoundException("Collaboration with name \"" + collaborationName +
                 "\" not found for the logged user.");
     }
 
+    private void addIndexCandidates(String user, TaskQuery query, List<Candidates> candidates) {
+        if (query.getDate() != null) {
+            Map<String, Task> tasks = tasksByDate.get(user).getOrDefault(query.getDate(), Collections.emptyMap());
+            candidates.add(new Candidates(tasks.size(), () -> tasks.values().stream()));
+        }
+
+        if (query.getLabel() != null) {
+            Set<Task> tasks = tasksByLabel.get(user).getOrDefault(query.getLabel(), Collections.emptySet());
+            candidates.add(new Candidates(tasks.size(), tasks::stream));
+        }
+
+        if (query.hasDueDateRange()) {
+            NavigableMap<LocalDate, Set<Task>> tasks = tasksByDueDate.get(user);
+            if (query.getDueDateFrom() != null) {
+                tasks = tasks.tailMap(query.getDueDateFrom(), true);
+            }
+            if (query.getDueDateTo() != null) {
+                tasks = tasks.headMap(query.getDueDateTo(), true);
+            }
+
+            NavigableMap<LocalDate, Set<Task>> tasksInRange = tasks;
+            long size = tasksInRange.values().stream().mapToLong(Set::size).sum();
+            candidates.add(new Candidates(size, () -> tasksInRange.values().stream().flatMap(Set::stream)));
+        }
+
+        if (candidates.isEmpty()) {
+            long size = inbox.get(user).size() +
+                    tasksByDate.get(user).values().stream().mapToLong(Map::size).sum();
+            candidates.add(new Candidates(size, () -> Stream.concat(inbox.get(user).values().stream(),
+                    tasksByDate.get(user).values().stream().flatMap(tasks -> tasks.values().stream()))));
+        }
+    }
+
+    private boolean isActive(String user, Task task) {
+        if (task.getDate() == null) {
+            return task.equals(inbox.get(user).get(task.getName()));
+        }
+
+        return tasksByDate.get(user).containsKey(task.getDate()) &&
+               task.equals(tasksByDate.get(user).get(task.getDate()).get(task.getName()));
+    }
+
+    private void addRecurringTask(String user, Task task) throws TaskNameAlreadyExistsException {
+        if (task.getDate() == null) {
+            throw new IllegalArgumentException("Recurring task \"" + task.getName() + "\" must have a date.");
+        }
+        if (recurringTasks.get(user).containsKey(task.getName())) {
+            throw new TaskNameAlreadyExistsException("Recurring task with name \"" + task.getName() +
+                    "\" already exists.");
+        }
+
+        // A stored dated task with the same name would be duplicated by the occurrence generated for its date
+        RecurringTask series = new RecurringTask(task);
+        for (Map.Entry<LocalDate, Map<String, Task>> tasks : tasksByDate.get(user).entrySet()) {
+            if (tasks.getValue().containsKey(task.getName()) && series.occursOn(tasks.getKey())) {
+                throw new TaskNameAlreadyExistsException("Task with name \"" + task.getName() +
+                        "\" already exists on " + tasks.getKey().toString() + ", when the recurring task occurs.");
+            }
+        }
+
+        recurringTasks.get(user).put(task.getName(), series);
+        statistics.get(user).seriesAdded();
+    }
+
+    private void updateRecurringTask(String user, Task task) throws TaskNotFoundException {
+        if (task.getDate() == null) {
+            throw new IllegalArgumentException("Recurring task \"" + task.getName() + "\" must have a date.");
+        }
+        if (!recurringTasks.get(user).containsKey(task.getName())) {
+            throw new TaskNotFoundException("Recurring task with name \"" + task.getName() + "\" does not exist.");
+        }
+
+        recurringTasks.get(user).put(task.getName(), recurringTasks.get(user).get(task.getName()).withTask(task));
+    }
+
+    // The occurrences of a recurring task share its name, so they are found only by their date
+    private void checkIfNotRecurring(String user, String taskName) throws TaskNotFoundException {
+        if (recurringTasks.get(user).containsKey(taskName)) {
+            throw new TaskNotFoundException("Task with name \"" + taskName +
+                    "\" is recurring, so the date of its occurrence is required.");
+        }
+    }
+
+    private Task findOccurrence(String user, String taskName, LocalDate date) {
+        RecurringTask series = recurringTasks.get(user).get(taskName);
+
+        return series != null && series.occursOn(date) ? series.getOccurrence(date) : null;
+    }
+
+    private Stream<Task> queryOccurrences(String user, TaskQuery query) {
+        Collection<RecurringTask> series = recurringTasks.get(user).values();
+
+        if (query.getDate() != null) {
+            return series.stream()
+                    .filter(current -> current.occursOn(query.getDate()))
+                    .map(current -> current.getOccurrence(query.getDate()));
+        }
+        if (query.hasDueDateRange()) {
+            return series.stream()
+                    .flatMap(current -> current.getOccurrencesDueBetween(query.getDueDateFrom(), query.getDueDateTo()));
+        }
+
+        return series.stream().map(RecurringTask::getTask);
+    }
+
+    private void indexTask(String user, Task task) {
+        statistics.get(user).taskAdded(task);
+
+        if (task.getLabel() != null) {
+            tasksByLabel.get(user).computeIfAbsent(task.getLabel(), label -> new HashSet<>()).add(task);
+        }
+        if (task.getDueDate() != null) {
+            tasksByDueDate.get(user).computeIfAbsent(task.getDueDate(), dueDate -> new HashSet<>()).add(task);
+        }
+    }
+
+    private void unindexTask(String user, Task task) {
+        if (task == null) {
+            return;
+        }
+
+        statistics.get(user).taskRemoved(task);
+
+        Set<Task> labeled = tasksByLabel.get(user).get(task.getLabel());
+        if (labeled != null && labeled.remove(task) && labeled.isEmpty()) {
+            tasksByLabel.get(user).remove(task.getLabel());
+        }
+
+        Set<Task> due = task.getDueDate() == null ? null : tasksByDueDate.get(user).get(task.getDueDate());
+        if (due != null && due.remove(task) && due.isEmpty()) {
+            tasksByDueDate.get(user).remove(task.getDueDate());
+        }
+    }
+
+    private Collaboration findCollaboration(String user, String collaborationName)
+            throws CollaborationNotFoundException {
+
+        if (createdCollaborations.get(user).containsKey(collaborationName)) {
+            return createdCollaborations.get(user).get(collaborationName);
+        }
+
+        if (assignedCollaborations.get(user).containsKey(collaborationName)) {
+            return assignedCollaborations.get(user).get(collaborationName);
+        }
+
+        throw new CollaborationNotFoundException("Collaboration with name \"" + collaborationName +
+                "\" not found for the logged user.");
+    }
+
+    private void attachCollaborations(String owner, String username) {
+        if (!isUserLoaded(owner)) {
+            return;
+        }
+
+        for (Collaboration collaboration : createdCollaborations.get(owner).values()) {
+            if (collaboration.getUsers().contains(username)) {
+                assignedCollaborations.get(username).put(collaboration.getName(), collaboration);
+                collaborationOwners.get(username).add(owner);
+            }
+        }
+    }
+
+    private void refreshCollaborationOwner(String owner, String username) {
+        boolean isStillParticipant = createdCollaborations.get(owner).values()
+                .stream()
+                .anyMatch(collaboration -> collaboration.getUsers().contains(username));
+
+        if (!isStillParticipant) {
+            collaborationOwners.get(username).remove(owner);
+        }
+    }
+
+    private String findCollaborationOwner(String user, Collaboration collaboration) {
+        if (createdCollaborations.get(user).get(collaboration.getName()) == collaboration) {
+            return user;
+        }
+
+        return collaborationOwners.get(user).stream()
+                .filter(owner -> isUserLoaded(owner) &&
+                                 createdCollaborations.get(owner).get(collaboration.getName()) == collaboration)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("The owner of collaboration \"" +
+                        collaboration.getName() + "\" is not loaded."));
+    }
+
+    private record Candidates(long size, Supplier<Stream<Task>> tasks) {
+    }
+
     private void validateObject(Object object, String variableName) {
         if (object == null) {
             throw new IllegalArgumentException(String.format(VALIDATION_EXCEPTION_MESSAGE, variableName, "null"));
@@ -0,0 +1,427 @@
+package todoist.storage;
+
+import todoist.collaboration.Collaboration;
+import todoist.exception.CollaborationAlreadyExistsException;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.TaskAlreadyExistsException;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.segment.SegmentStore;
+import todoist.storage.segment.UserSegment;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class SegmentedStorage implements Storage, AutoCloseable {
+    private final InMemoryStorage storage;
+    private final SegmentStore segmentStore;
+    private final Duration idleTimeout;
+
+    private final Map<String, Instant> lastAccess;
+    private final Set<String> changedUsers;
+    private final Set<String> loadingUsers;
+    private boolean isIndexChanged;
+    private long checkpoint;
+
+    public SegmentedStorage(SegmentStore segmentStore, Duration idleTimeout) throws IOException {
+        if (segmentStore == null) {
+            throw new IllegalArgumentException("Segment store cannot be null.");
+        }
+        if (idleTimeout == null || idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("Idle timeout cannot be null or negative.");
+        }
+
+        this.storage = new InMemoryStorage();
+        this.segmentStore = segmentStore;
+        this.idleTimeout = idleTimeout;
+        this.lastAccess = new HashMap<>();
+        this.changedUsers = new HashSet<>();
+        this.loadingUsers = new HashSet<>();
+        this.checkpoint = segmentStore.readCheckpoint();
+
+        for (Map.Entry<String, String> credentials : segmentStore.readIndex().entrySet()) {
+            try {
+                storage.registerUser(credentials.getKey(), credentials.getValue());
+            } catch (UserAlreadyExistsException e) {
+                throw new IllegalStateException("The user index contains duplicated users.", e);
+            }
+        }
+    }
+
+    public synchronized boolean isUserLoaded(String username) {
+        return storage.isUserLoaded(username);
+    }
+
+    // The offset of the last logged mutation contained in the saved segments, or -1 if it is not known
+    public synchronized long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public synchronized Map<String, String> getCredentials() {
+        return Map.copyOf(storage.getCredentials());
+    }
+
+    // The saved segment of the user, or the current data of a loaded user
+    public synchronized UserSegment readSegment(String username) throws IOException {
+        if (storage.isUserLoaded(username)) {
+            return storage.snapshotUser(username);
+        }
+
+        return segmentStore.readSegment(username);
+    }
+
+    /**
+     * Saves all changed users together with the offset of the last logged mutation they contain. No mutation may be
+     * applied during the checkpoint, so the saved segments contain exactly the mutations up to the offset, and the
+     * mutations after it are applied again after a crash.
+     */
+    public synchronized void checkpoint(long offset) throws IOException {
+        saveIndex();
+
+        for (String user : new ArrayList<>(changedUsers)) {
+            if (storage.isUserLoaded(user)) {
+                saveSegment(user);
+            }
+        }
+
+        segmentStore.writeCheckpoint(offset);
+        checkpoint = offset;
+    }
+
+    // All changed users are saved in a checkpoint before the idle users are unloaded, so the segments on disk
+    // always contain the same mutations
+    public synchronized void evictIdleUsers(long offset) throws IOException {
+        Instant idleThreshold = Instant.now().minus(idleTimeout);
+
+        Set<String> idleUsers = new HashSet<>();
+        for (String user : storage.getLoadedUsers()) {
+            if (!lastAccess.getOrDefault(user, Instant.MIN).isAfter(idleThreshold)) {
+                idleUsers.add(user);
+            }
+        }
+
+        // The owner of a collaboration stays loaded while any of its participants stays loaded
+        boolean isChanged = true;
+        while (isChanged) {
+            isChanged = false;
+
+            for (String user : storage.getLoadedUsers()) {
+                if (!idleUsers.contains(user)) {
+                    isChanged |= idleUsers.removeAll(storage.getCollaborationOwners(user));
+                }
+            }
+        }
+
+        checkpoint(offset);
+
+        for (String user : idleUsers) {
+            storage.unloadUser(user);
+            lastAccess.remove(user);
+        }
+    }
+
+    // Saves the changed users without a checkpoint, for a storage without a mutation log
+    @Override
+    public synchronized void close() throws IOException {
+        saveIndex();
+
+        for (String user : new ArrayList<>(storage.getLoadedUsers())) {
+            saveSegment(user);
+        }
+    }
+
+    @Override
+    public synchronized void addUser(String username, String password) throws UserAlreadyExistsException {
+        storage.addUser(username, password);
+
+        isIndexChanged = true;
+        lastAccess.put(username, Instant.now());
+        changedUsers.add(username);
+    }
+
+    @Override
+    public synchronized void checkPassword(String username, String password)
+            throws UserNotFoundException, WrongPasswordException {
+
+        storage.checkPassword(username, password);
+        access(username);
+    }
+
+    @Override
+    public synchronized void addTask(String currentUser, Task task)
+            throws TaskNameAlreadyExistsException, UserNotFoundException {
+
+        access(currentUser);
+        storage.addTask(currentUser, task);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized void updateTask(String currentUser, Task task)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        storage.updateTask(currentUser, task);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized Task deleteTask(String currentUser, String taskName)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        Task deleted = storage.deleteTask(currentUser, taskName);
+        changedUsers.add(currentUser);
+
+        return deleted;
+    }
+
+    @Override
+    public synchronized Task deleteTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        Task deleted = storage.deleteTask(currentUser, taskName, date);
+        changedUsers.add(currentUser);
+
+        return deleted;
+    }
+
+    @Override
+    public synchronized Task getTask(String currentUser, String taskName)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.getTask(currentUser, taskName);
+    }
+
+    @Override
+    public synchronized Task getTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.getTask(currentUser, taskName, date);
+    }
+
+    @Override
+    public synchronized Collection<Task> listTasks(String currentUser) throws UserNotFoundException {
+        access(currentUser);
+        return storage.listTasks(currentUser);
+    }
+
+    @Override
+    public synchronized Collection<Task> listTasks(String currentUser, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.listTasks(currentUser, date);
+    }
+
+    @Override
+    public synchronized Collection<Task> listTasks(String currentUser, String collaborationName)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.listTasks(currentUser, collaborationName);
+    }
+
+    @Override
+    public synchronized Collection<Task> listCompletedTasks(String currentUser) throws UserNotFoundException {
+        access(currentUser);
+        return storage.listCompletedTasks(currentUser);
+    }
+
+    @Override
+    public synchronized Collection<Task> addTasks(String currentUser, Collection<Task> tasks)
+            throws UserNotFoundException {
+
+        access(currentUser);
+        Collection<Task> added = storage.addTasks(currentUser, tasks);
+        changedUsers.add(currentUser);
+
+        return added;
+    }
+
+    @Override
+    public synchronized void forEachTask(String currentUser, boolean completed, Consumer<Task> action)
+            throws UserNotFoundException {
+
+        access(currentUser);
+        storage.forEachTask(currentUser, completed, action);
+    }
+
+    @Override
+    public synchronized Statistics getStatistics(String currentUser) throws UserNotFoundException {
+        access(currentUser);
+        return storage.getStatistics(currentUser);
+    }
+
+    @Override
+    public synchronized Collection<Task> queryTasks(String currentUser, TaskQuery query)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.queryTasks(currentUser, query);
+    }
+
+    @Override
+    public synchronized Collection<Task> listDashboard(String currentUser)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.listDashboard(currentUser);
+    }
+
+    @Override
+    public synchronized void finishTask(String currentUser, String taskName)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        storage.finishTask(currentUser, taskName);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized void finishTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        storage.finishTask(currentUser, taskName, date);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized void addCollaboration(String currentUser, String name)
+            throws CollaborationAlreadyExistsException, UserNotFoundException {
+
+        access(currentUser);
+        storage.addCollaboration(currentUser, name);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized void deleteCollaboration(String currentUser, String name)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        List<String> participants = List.copyOf(storage.listUsersInCollaboration(currentUser, name));
+
+        storage.deleteCollaboration(currentUser, name);
+        changedUsers.add(currentUser);
+        changedUsers.addAll(participants);
+    }
+
+    @Override
+    public synchronized Collection<Collaboration> getCollaborations(String currentUser) throws UserNotFoundException {
+        access(currentUser);
+        return storage.getCollaborations(currentUser);
+    }
+
+    @Override
+    public synchronized void addUserToCollaboration(String currentUser, String collaborationName, String username)
+            throws CollaborationNotFoundException, UserNotFoundException, UserAlreadyExistsException {
+
+        access(currentUser);
+        load(username);
+
+        storage.addUserToCollaboration(currentUser, collaborationName, username);
+        changedUsers.add(currentUser);
+        changedUsers.add(username);
+    }
+
+    @Override
+    public synchronized void assignTask(String currentUser, String collaborationName, String username,
+                                        String taskName)
+            throws CollaborationNotFoundException, UserNotFoundException, TaskNotFoundException,
+            TaskAlreadyExistsException {
+
+        access(currentUser);
+        storage.assignTask(currentUser, collaborationName, username, taskName);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized void assignTask(String currentUser, String collaborationName, String username,
+                                        String taskName, LocalDate date)
+            throws CollaborationNotFoundException, UserNotFoundException, TaskNotFoundException,
+            TaskAlreadyExistsException {
+
+        access(currentUser);
+        storage.assignTask(currentUser, collaborationName, username, taskName, date);
+        changedUsers.add(currentUser);
+    }
+
+    @Override
+    public synchronized Collection<String> listUsersInCollaboration(String currentUser, String collaborationName)
+            throws CollaborationNotFoundException, UserNotFoundException {
+
+        access(currentUser);
+        return storage.listUsersInCollaboration(currentUser, collaborationName);
+    }
+
+    private void access(String username) {
+        load(username);
+
+        if (storage.isUserLoaded(username)) {
+            lastAccess.put(username, Instant.now());
+        }
+    }
+
+    private void load(String username) {
+        if (username == null || !storage.getCredentials().containsKey(username) ||
+            storage.isUserLoaded(username) || loadingUsers.contains(username)) {
+            return;
+        }
+
+        loadingUsers.add(username);
+
+        try {
+            UserSegment segment = segmentStore.readSegment(username);
+
+            // The owners are loaded first, so the user sees the collaborations it is added to
+            if (segment.collaborationOwners() != null) {
+                segment.collaborationOwners().forEach(this::load);
+            }
+
+            storage.loadUser(username, segment);
+            lastAccess.put(username, Instant.now());
+        } catch (IOException e) {
+            throw new UncheckedIOException("The data of user \"" + username + "\" cannot be loaded.", e);
+        } catch (UserNotFoundException e) {
+            throw new IllegalStateException("User \"" + username + "\" is missing from the index.", e);
+        } finally {
+            loadingUsers.remove(username);
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        if (isIndexChanged) {
+            segmentStore.writeIndex(storage.getCredentials());
+            isIndexChanged = false;
+        }
+    }
+
+    private void saveSegment(String username) throws IOException {
+        if (changedUsers.contains(username)) {
+            segmentStore.writeSegment(username, storage.snapshotUser(username));
+            changedUsers.remove(username);
+        }
+    }
+}
@@ -9,10 +9,13 @@ import todoist.exception.TaskNotFoundException;
 import todoist.exception.UserAlreadyExistsException;
 import todoist.exception.UserNotFoundException;
 import todoist.exception.WrongPasswordException;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.statistics.Statistics;
 import todoist.task.Task;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface Storage {
 
@@ -43,10 +46,22 @@ public interface Storage {
 
     Collection<Task> listCompletedTasks(String currentUser) throws UserNotFoundException;
 
+    Collection<Task> addTasks(String currentUser, Collection<Task> tasks) throws UserNotFoundException;
+
+    void forEachTask(String currentUser, boolean completed, Consumer<Task> action) throws UserNotFoundException;
+
+    Statistics getStatistics(String currentUser) throws UserNotFoundException;
+
+    Collection<Task> queryTasks(String currentUser, TaskQuery query)
+            throws CollaborationNotFoundException, UserNotFoundException;
+
     Collection<Task> listDashboard(String currentUser) throws TaskNotFoundException, UserNotFoundException;
 
     void finishTask(String currentUser, String taskName) throws TaskNotFoundException, UserNotFoundException;
 
+    void finishTask(String currentUser, String taskName, LocalDate date)
+            throws TaskNotFoundException, UserNotFoundException;
+
     void addCollaboration(String currentUser, String name)
             throws CollaborationAlreadyExistsException, UserNotFoundException;
 
@@ -0,0 +1,119 @@
+package todoist.storage.query;
+
+import todoist.exception.InvalidTimeIntervalException;
+
+import java.time.LocalDate;
+
+public class TaskQuery {
+    private final boolean completed;
+    private final LocalDate date;
+    private final String collaboration;
+    private final String label;
+    private final LocalDate dueDateFrom;
+    private final LocalDate dueDateTo;
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getCollaboration() {
+        return collaboration;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public LocalDate getDueDateFrom() {
+        return dueDateFrom;
+    }
+
+    public LocalDate getDueDateTo() {
+        return dueDateTo;
+    }
+
+    public boolean hasDueDateRange() {
+        return dueDateFrom != null || dueDateTo != null;
+    }
+
+    public boolean matchesDueDate(LocalDate dueDate) {
+        if (!hasDueDateRange()) {
+            return true;
+        }
+
+        return dueDate != null &&
+               (dueDateFrom == null || !dueDate.isBefore(dueDateFrom)) &&
+               (dueDateTo == null || !dueDate.isAfter(dueDateTo));
+    }
+
+    public static TaskQueryBuilder builder() {
+        return new TaskQueryBuilder();
+    }
+
+    private TaskQuery(TaskQueryBuilder builder) {
+        this.completed = builder.completed;
+        this.date = builder.date;
+        this.collaboration = builder.collaboration;
+        this.label = builder.label;
+        this.dueDateFrom = builder.dueDateFrom;
+        this.dueDateTo = builder.dueDateTo;
+    }
+
+    public static class TaskQueryBuilder {
+        private boolean completed;
+        private LocalDate date;
+        private String collaboration;
+        private String label;
+        private LocalDate dueDateFrom;
+        private LocalDate dueDateTo;
+
+        private TaskQueryBuilder() {
+        }
+
+        public TaskQueryBuilder setCompleted(boolean completed) {
+            this.completed = completed;
+            return this;
+        }
+
+        public TaskQueryBuilder setDate(LocalDate date) {
+            this.date = date;
+            return this;
+        }
+
+        public TaskQueryBuilder setCollaboration(String collaboration) {
+            this.collaboration = collaboration;
+            return this;
+        }
+
+        public TaskQueryBuilder setLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        public TaskQueryBuilder setDueDateFrom(LocalDate dueDateFrom) throws InvalidTimeIntervalException {
+            if (dueDateFrom != null && dueDateTo != null && dueDateTo.isBefore(dueDateFrom)) {
+                throw new InvalidTimeIntervalException("The start of the due date range cannot be after its end.");
+            }
+
+            this.dueDateFrom = dueDateFrom;
+            return this;
+        }
+
+        public TaskQueryBuilder setDueDateTo(LocalDate dueDateTo) throws InvalidTimeIntervalException {
+            if (dueDateTo != null && dueDateFrom != null && dueDateTo.isBefore(dueDateFrom)) {
+                throw new InvalidTimeIntervalException("The end of the due date range cannot be before its start.");
+            }
+
+            this.dueDateTo = dueDateTo;
+            return this;
+        }
+
+        public TaskQuery build() {
+            return new TaskQuery(this);
+        }
+    }
+}
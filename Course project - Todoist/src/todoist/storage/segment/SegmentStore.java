@@ -0,0 +1,126 @@
+package todoist.storage.segment;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import todoist.storage.serializer.LocalDateConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class SegmentStore {
+    private static final String INDEX_FILE_NAME = "index.json";
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+    private static final String SEGMENTS_DIRECTORY_NAME = "users";
+    private static final String SEGMENT_FILE_EXTENSION = ".json";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private static final Type CREDENTIALS_TYPE = new TypeToken<Map<String, String>>() { }.getType();
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateConverter())
+            .create();
+
+    private final Path indexFile;
+    private final Path checkpointFile;
+    private final Path segmentsDirectory;
+
+    public SegmentStore(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("The storage directory cannot be null.");
+        }
+
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+        this.checkpointFile = directory.resolve(CHECKPOINT_FILE_NAME);
+        this.segmentsDirectory = directory.resolve(SEGMENTS_DIRECTORY_NAME);
+    }
+
+    public boolean hasIndex() {
+        return Files.exists(indexFile);
+    }
+
+    public Map<String, String> readIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return new HashMap<>();
+        }
+
+        try (var bufferedReader = Files.newBufferedReader(indexFile)) {
+            Map<String, String> credentials = GSON.fromJson(bufferedReader, CREDENTIALS_TYPE);
+            return Objects.requireNonNullElseGet(credentials, HashMap::new);
+        }
+    }
+
+    public void writeIndex(Map<String, String> credentials) throws IOException {
+        if (credentials == null) {
+            throw new IllegalArgumentException("The credentials cannot be null.");
+        }
+
+        writeAtomically(indexFile, GSON.toJson(credentials, CREDENTIALS_TYPE));
+    }
+
+    // The offset of the last logged mutation contained in the saved segments, or -1 if it is not known
+    public long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return -1;
+        }
+
+        return Long.parseLong(Files.readString(checkpointFile).strip());
+    }
+
+    public void writeCheckpoint(long offset) throws IOException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("The checkpoint offset cannot be negative.");
+        }
+
+        writeAtomically(checkpointFile, String.valueOf(offset));
+    }
+
+    public UserSegment readSegment(String username) throws IOException {
+        Path segmentFile = getSegmentFile(username);
+        if (!Files.exists(segmentFile)) {
+            return UserSegment.empty();
+        }
+
+        try (var bufferedReader = Files.newBufferedReader(segmentFile)) {
+            UserSegment segment = GSON.fromJson(bufferedReader, UserSegment.class);
+            return Objects.requireNonNullElseGet(segment, UserSegment::empty);
+        }
+    }
+
+    public void writeSegment(String username, UserSegment segment) throws IOException {
+        if (segment == null) {
+            throw new IllegalArgumentException("The segment cannot be null.");
+        }
+
+        writeAtomically(getSegmentFile(username), GSON.toJson(segment));
+    }
+
+    private Path getSegmentFile(String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("The username cannot be null, empty or blank.");
+        }
+
+        return segmentsDirectory.resolve(URLEncoder.encode(username, StandardCharsets.UTF_8) +
+                SEGMENT_FILE_EXTENSION);
+    }
+
+    private void writeAtomically(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_FILE_EXTENSION);
+        try (var bufferedWriter = Files.newBufferedWriter(temporaryFile)) {
+            bufferedWriter.write(content);
+            bufferedWriter.flush();
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,25 @@
+package todoist.storage.segment;
+
+import todoist.collaboration.Collaboration;
+import todoist.task.RecurringTask;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public record UserSegment(Map<String, Task> inbox,
+                          Map<LocalDate, Map<String, Task>> tasksByDate,
+                          Set<Task> completedTasks,
+                          Map<String, Collaboration> createdCollaborations,
+                          Set<String> collaborationOwners,
+                          Map<LocalDate, Integer> completedTasksByDay,
+                          Map<String, RecurringTask> recurringTasks) {
+
+    public static UserSegment empty() {
+        return new UserSegment(new HashMap<>(), new HashMap<>(), new HashSet<>(), new HashMap<>(), new HashSet<>(),
+                new HashMap<>(), new HashMap<>());
+    }
+}
@@ -0,0 +1,146 @@
+package todoist.storage.serializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import todoist.collaboration.Collaboration;
+import todoist.exception.TaskAlreadyExistsException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.storage.segment.SegmentStore;
+import todoist.storage.segment.UserSegment;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Imports the single backup.json file, written by the servers before the per-user segments, into a segment store.
+ * The import runs once: it is skipped when the store already has an index, and the imported backup is renamed,
+ * so it is never read again.
+ */
+public class BackupImporter {
+    private static final String IMPORTED_FILE_EXTENSION = ".imported";
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateConverter())
+            .create();
+
+    // The fields of the former InMemoryStorage, as they are written in the backup
+    private record Backup(Map<String, String> users,
+                          Map<String, Map<String, Task>> inbox,
+                          Map<String, Map<LocalDate, Map<String, Task>>> tasksByDate,
+                          Map<String, Set<Task>> completedTasks,
+                          Map<String, Map<String, Collaboration>> createdCollaborations) {
+    }
+
+    private final Path backupFile;
+    private final SegmentStore segmentStore;
+
+    public BackupImporter(Path backupFile, SegmentStore segmentStore) {
+        if (backupFile == null || segmentStore == null) {
+            throw new IllegalArgumentException("The backup file and the segment store cannot be null.");
+        }
+
+        this.backupFile = backupFile;
+        this.segmentStore = segmentStore;
+    }
+
+    /**
+     * @return the number of imported users, or -1 if there is nothing to import
+     */
+    public int importBackup() throws IOException {
+        if (!Files.exists(backupFile) || segmentStore.hasIndex()) {
+            return -1;
+        }
+
+        Backup backup;
+        try (var bufferedReader = Files.newBufferedReader(backupFile)) {
+            backup = GSON.fromJson(bufferedReader, Backup.class);
+        }
+
+        Map<String, String> users = backup == null || backup.users() == null ? Map.of() : backup.users();
+        Map<String, Set<String>> collaborationOwners = new HashMap<>();
+
+        for (String user : users.keySet()) {
+            Map<String, Collaboration> collaborations = rebuildCollaborations(user, backup);
+
+            for (Collaboration collaboration : collaborations.values()) {
+                for (String participant : collaboration.getUsers()) {
+                    if (!participant.equals(user)) {
+                        collaborationOwners.computeIfAbsent(participant, p -> new HashSet<>()).add(user);
+                    }
+                }
+            }
+
+            segmentStore.writeSegment(user, new UserSegment(
+                    new HashMap<>(valueOrEmpty(backup.inbox(), user)),
+                    new HashMap<>(valueOrEmpty(backup.tasksByDate(), user)),
+                    new HashSet<>(Objects.requireNonNullElse(getValue(backup.completedTasks(), user), Set.of())),
+                    collaborations, new HashSet<>(), new HashMap<>(), new HashMap<>()));
+        }
+
+        // The owners are known only after all collaborations are read, so the participants are written again
+        for (Map.Entry<String, Set<String>> owners : collaborationOwners.entrySet()) {
+            if (users.containsKey(owners.getKey())) {
+                UserSegment segment = segmentStore.readSegment(owners.getKey());
+                segment.collaborationOwners().addAll(owners.getValue());
+                segmentStore.writeSegment(owners.getKey(), segment);
+            }
+        }
+
+        // The index is written last, so an interrupted import is started again on the next run
+        segmentStore.writeIndex(new HashMap<>(users));
+        Files.move(backupFile, backupFile.resolveSibling(backupFile.getFileName() + IMPORTED_FILE_EXTENSION),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        return users.size();
+    }
+
+    // The task counters of the collaborations are not in the backup, so they are counted again by reassigning
+    private Map<String, Collaboration> rebuildCollaborations(String owner, Backup backup) throws IOException {
+        Map<String, Collaboration> rebuilt = new HashMap<>();
+        Set<Task> completed = Objects.requireNonNullElse(getValue(backup.completedTasks(), owner), Set.of());
+
+        for (Collaboration collaboration : valueOrEmpty(backup.createdCollaborations(), owner).values()) {
+            Collaboration copy = new Collaboration(collaboration.getName());
+
+            try {
+                for (String user : collaboration.getUsers()) {
+                    copy.addUser(user);
+                }
+                for (String user : collaboration.getUsers()) {
+                    for (Task task : collaboration.getTasks(user)) {
+                        copy.assignTask(user, task);
+                    }
+                }
+            } catch (UserAlreadyExistsException | UserNotFoundException | TaskAlreadyExistsException e) {
+                throw new IOException("The collaboration \"" + collaboration.getName() + "\" of user \"" + owner +
+                        "\" in the backup is not valid.", e);
+            }
+
+            collaboration.getTasks().stream()
+                    .distinct()
+                    .filter(completed::contains)
+                    .forEach(copy::markTaskCompleted);
+
+            rebuilt.put(copy.getName(), copy);
+        }
+
+        return rebuilt;
+    }
+
+    private static <V> V getValue(Map<String, V> values, String user) {
+        return values == null ? null : values.get(user);
+    }
+
+    private static <K, V> Map<K, V> valueOrEmpty(Map<String, Map<K, V>> values, String user) {
+        return Objects.requireNonNullElse(getValue(values, user), Map.of());
+    }
+}
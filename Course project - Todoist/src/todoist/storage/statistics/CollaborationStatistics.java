@@ -0,0 +1,8 @@
+package todoist.storage.statistics;
+
+public record CollaborationStatistics(String name, int tasks, int completedTasks) {
+
+    public double completionRate() {
+        return tasks == 0 ? 0 : (double) completedTasks / tasks;
+    }
+}
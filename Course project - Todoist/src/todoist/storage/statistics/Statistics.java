@@ -0,0 +1,11 @@
+package todoist.storage.statistics;
+
+import java.util.List;
+
+public record Statistics(int activeTasks,
+                         int overdueTasks,
+                         int completedToday,
+                         int completedThisWeek,
+                         int completedTasks,
+                         List<CollaborationStatistics> collaborations) {
+}
@@ -0,0 +1,107 @@
+package todoist.storage.statistics;
+
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class UserStatistics {
+    private final Map<LocalDate, Integer> completedTasksByDay;
+    private final NavigableMap<LocalDate, Integer> activeTasksByDueDate;
+
+    private int activeTasks;
+    private int overdueTasks; // The active tasks due before overdueBefore
+    private LocalDate overdueBefore;
+
+    public UserStatistics() {
+        this(null);
+    }
+
+    public UserStatistics(Map<LocalDate, Integer> completedTasksByDay) {
+        this.completedTasksByDay = completedTasksByDay == null ? new HashMap<>() : new HashMap<>(completedTasksByDay);
+        this.activeTasksByDueDate = new TreeMap<>();
+        this.overdueBefore = LocalDate.MIN;
+    }
+
+    public void taskAdded(Task task) {
+        activeTasks++;
+
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate != null) {
+            activeTasksByDueDate.merge(dueDate, 1, Integer::sum);
+
+            if (dueDate.isBefore(overdueBefore)) {
+                overdueTasks++;
+            }
+        }
+    }
+
+    public void taskRemoved(Task task) {
+        activeTasks--;
+
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate != null) {
+            activeTasksByDueDate.computeIfPresent(dueDate, (date, count) -> count == 1 ? null : count - 1);
+
+            if (dueDate.isBefore(overdueBefore)) {
+                overdueTasks--;
+            }
+        }
+    }
+
+    // A recurring task is one active task while its series exists. Its occurrences are generated only when
+    // they are listed, so they are never counted as overdue
+    public void seriesAdded() {
+        activeTasks++;
+    }
+
+    public void seriesRemoved() {
+        activeTasks--;
+    }
+
+    public void taskCompleted(LocalDate day) {
+        completedTasksByDay.merge(day, 1, Integer::sum);
+    }
+
+    public int getActiveTasks() {
+        return activeTasks;
+    }
+
+    public int getCompletedTasks(LocalDate day) {
+        return completedTasksByDay.getOrDefault(day, 0);
+    }
+
+    public int getCompletedTasks(LocalDate from, LocalDate to) {
+        int completed = 0;
+
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            completed += getCompletedTasks(day);
+        }
+
+        return completed;
+    }
+
+    public int getOverdueTasks(LocalDate today) {
+        // Only the due dates passed since the last call are added, so the count is maintained incrementally
+        if (today.isBefore(overdueBefore)) {
+            overdueTasks = sum(activeTasksByDueDate.headMap(today, false));
+        } else {
+            overdueTasks += sum(activeTasksByDueDate.subMap(overdueBefore, true, today, false));
+        }
+
+        overdueBefore = today;
+        return overdueTasks;
+    }
+
+    public Map<LocalDate, Integer> getCompletedTasksByDay() {
+        return Collections.unmodifiableMap(completedTasksByDay);
+    }
+
+    private int sum(Map<LocalDate, Integer> counts) {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
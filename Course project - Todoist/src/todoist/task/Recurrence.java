@@ -0,0 +1,54 @@
+package todoist.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public record Recurrence(int intervalDays, LocalDate until) {
+    private static final int DAYS_IN_WEEK = 7;
+
+    public Recurrence {
+        if (intervalDays <= 0) {
+            throw new IllegalArgumentException("The interval of the recurrence must be positive.");
+        }
+    }
+
+    public static Recurrence daily(LocalDate until) {
+        return new Recurrence(1, until);
+    }
+
+    public static Recurrence weekly(LocalDate until) {
+        return new Recurrence(DAYS_IN_WEEK, until);
+    }
+
+    public boolean occursOn(LocalDate start, LocalDate day) {
+        if (day.isBefore(start) || (until != null && day.isAfter(until))) {
+            return false;
+        }
+
+        return ChronoUnit.DAYS.between(start, day) % intervalDays == 0;
+    }
+
+    // Returns the first occurrence on or after the given day, or null if there is no such occurrence
+    public LocalDate nextOccurrence(LocalDate start, LocalDate day) {
+        LocalDate next = start;
+
+        if (day.isAfter(start)) {
+            long daysAfterStart = ChronoUnit.DAYS.between(start, day);
+            long intervals = (daysAfterStart + intervalDays - 1) / intervalDays;
+            next = start.plusDays(intervals * intervalDays);
+        }
+
+        return until != null && next.isAfter(until) ? null : next;
+    }
+
+    @Override
+    public String toString() {
+        String interval = switch (intervalDays) {
+            case 1 -> "daily";
+            case DAYS_IN_WEEK -> "weekly";
+            default -> "every " + intervalDays + " days";
+        };
+
+        return until == null ? interval : interval + " until " + until;
+    }
+}
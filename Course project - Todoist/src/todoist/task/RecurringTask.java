@@ -0,0 +1,77 @@
+package todoist.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class RecurringTask {
+    private final Task task; // The date of the task is the first occurrence
+    private final Set<LocalDate> exceptions; // Occurrences which are completed, edited or deleted separately
+
+    public RecurringTask(Task task) {
+        this(task, Set.of());
+    }
+
+    private RecurringTask(Task task, Set<LocalDate> exceptions) {
+        if (task == null || task.getRecurrence() == null || task.getDate() == null) {
+            throw new IllegalArgumentException("The recurring task must have a recurrence and a date.");
+        }
+
+        this.task = task;
+        this.exceptions = new HashSet<>(exceptions);
+    }
+
+    public RecurringTask withTask(Task task) {
+        return new RecurringTask(task, exceptions);
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public boolean occursOn(LocalDate day) {
+        return !exceptions.contains(day) && task.getRecurrence().occursOn(task.getDate(), day);
+    }
+
+    public Task getOccurrence(LocalDate day) {
+        return task.getOccurrence(day);
+    }
+
+    public void addException(LocalDate day) {
+        exceptions.add(day);
+    }
+
+    // The occurrences are generated on demand, so the series costs the same memory regardless of its length
+    public Stream<Task> getOccurrences(LocalDate from, LocalDate to) {
+        Recurrence recurrence = task.getRecurrence();
+        LocalDate first = recurrence.nextOccurrence(task.getDate(), from);
+
+        if (first == null || first.isAfter(to)) {
+            return Stream.empty();
+        }
+
+        return Stream.iterate(first, day -> !day.isAfter(to) && recurrence.occursOn(task.getDate(), day),
+                        day -> day.plusDays(recurrence.intervalDays()))
+                .filter(day -> !exceptions.contains(day))
+                .map(task::getOccurrence);
+    }
+
+    public Stream<Task> getOccurrencesDueBetween(LocalDate dueFrom, LocalDate dueTo) {
+        if (task.getDueDate() == null) {
+            return Stream.empty();
+        }
+
+        long dueOffset = ChronoUnit.DAYS.between(task.getDate(), task.getDueDate());
+        LocalDate from = dueFrom == null ? task.getDate() : dueFrom.minusDays(dueOffset);
+        LocalDate to = dueTo == null ? task.getRecurrence().until() : dueTo.minusDays(dueOffset);
+
+        // A range without an end is not expanded for a series without an end
+        if (to == null) {
+            return Stream.empty();
+        }
+
+        return getOccurrences(from, to);
+    }
+}
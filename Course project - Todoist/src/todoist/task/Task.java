@@ -3,6 +3,7 @@ package todoist.task;
 import todoist.exception.InvalidTimeIntervalException;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 public class Task {
@@ -11,6 +12,7 @@ public class Task {
     private final LocalDate dueDate;
     private final String description;
     private final String label;
+    private final Recurrence recurrence;
 
     public String getName() {
         return name;
@@ -32,6 +34,22 @@ public class Task {
         return label;
     }
 
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public Task getOccurrence(LocalDate occurrenceDate) {
+        TaskBuilder builder = new TaskBuilder(name);
+
+        builder.date = occurrenceDate;
+        builder.dueDate = dueDate == null ? null :
+                occurrenceDate.plusDays(ChronoUnit.DAYS.between(date, dueDate));
+        builder.description = description;
+        builder.label = label;
+
+        return builder.build();
+    }
+
     public static TaskBuilder builder(String name) {
         return new TaskBuilder(name);
     }
@@ -42,6 +60,7 @@ public class Task {
         this.dueDate = builder.dueDate;
         this.description = builder.description;
         this.label = builder.label;
+        this.recurrence = builder.recurrence;
     }
 
     public static class TaskBuilder {
@@ -51,6 +70,7 @@ public class Task {
         private LocalDate dueDate;
         private String description;
         private String label;
+        private Recurrence recurrence;
 
         private TaskBuilder(String name) {
             this.name = name;
@@ -84,6 +104,16 @@ public class Task {
             return this;
         }
 
+        public TaskBuilder setRecurrence(Recurrence recurrence) throws InvalidTimeIntervalException {
+            if (date != null && recurrence != null && recurrence.until() != null &&
+                recurrence.until().isBefore(date)) {
+                throw new InvalidTimeIntervalException("The end of the recurrence cannot be before the date.");
+            }
+
+            this.recurrence = recurrence;
+            return this;
+        }
+
         public Task build() {
             return new Task(this);
         }
@@ -91,12 +121,14 @@ public class Task {
 
     @Override
     public String toString() {
-        return String.format("""
+        String task = String.format("""
                 # %s
                     date: %s
                     due-date: %s
                     description: %s
                 """, name, date, dueDate, description);
+
+        return recurrence == null ? task : task + "    repeat: " + recurrence + "\n";
     }
 
     @Override
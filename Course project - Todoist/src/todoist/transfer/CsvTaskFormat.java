@@ -0,0 +1,162 @@
+package todoist.transfer;
+
+import todoist.exception.InvalidTaskFormatException;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvTaskFormat implements TaskFormat {
+    static final String NAME = "csv";
+
+    private static final String HEADER = "name,date,due-date,description,label,interval,until";
+    private static final int COLUMNS_COUNT = 7;
+
+    // The files exported before the recurrences were added have no recurrence columns
+    private static final String HEADER_WITHOUT_RECURRENCE = "name,date,due-date,description,label";
+    private static final int COLUMNS_WITHOUT_RECURRENCE_COUNT = 5;
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String header() {
+        return HEADER;
+    }
+
+    @Override
+    public boolean isHeader(String line) {
+        return line.equals(HEADER) || line.equals(HEADER_WITHOUT_RECURRENCE);
+    }
+
+    @Override
+    public String format(Task task) {
+        Recurrence recurrence = task.getRecurrence();
+
+        return String.join(String.valueOf(DELIMITER),
+                quote(task.getName()),
+                task.getDate() == null ? "" : DATE_FORMATTER.format(task.getDate()),
+                task.getDueDate() == null ? "" : DATE_FORMATTER.format(task.getDueDate()),
+                quote(task.getDescription()),
+                quote(task.getLabel()),
+                recurrence == null ? "" : String.valueOf(recurrence.intervalDays()),
+                recurrence == null || recurrence.until() == null ? "" : DATE_FORMATTER.format(recurrence.until()));
+    }
+
+    // A quoted column may contain line separators, so a record is complete only when all its quotes are closed
+    @Override
+    public boolean isComplete(String record) {
+        return record.chars().filter(character -> character == QUOTE).count() % 2 == 0;
+    }
+
+    @Override
+    public Task parse(String record) throws InvalidTaskFormatException {
+        List<String> columns = split(record);
+        if (columns.size() != COLUMNS_COUNT && columns.size() != COLUMNS_WITHOUT_RECURRENCE_COUNT) {
+            throw new InvalidTaskFormatException("The task is expected to have " + COLUMNS_COUNT + " columns.");
+        }
+
+        String name = columns.get(0);
+        if (name.isBlank()) {
+            throw new InvalidTaskFormatException("The task name is missing.");
+        }
+
+        try {
+            Task.TaskBuilder builder = Task.builder(name);
+
+            if (!columns.get(1).isBlank()) {
+                builder.setDate(LocalDate.parse(columns.get(1).strip(), DATE_FORMATTER));
+            }
+            if (!columns.get(2).isBlank()) {
+                builder.setDueDate(LocalDate.parse(columns.get(2).strip(), DATE_FORMATTER));
+            }
+            if (!columns.get(3).isEmpty()) {
+                builder.setDescription(columns.get(3));
+            }
+            if (!columns.get(4).isEmpty()) {
+                builder.setLabel(columns.get(4));
+            }
+            if (columns.size() == COLUMNS_COUNT && !columns.get(5).isBlank()) {
+                builder.setRecurrence(parseRecurrence(columns.get(5), columns.get(6), columns.get(1)));
+            }
+
+            return builder.build();
+        } catch (DateTimeParseException e) {
+            throw new InvalidTaskFormatException("Unknown date format for the date provided.", e);
+        } catch (InvalidTimeIntervalException | IllegalArgumentException e) {
+            throw new InvalidTaskFormatException(e.getMessage(), e);
+        }
+    }
+
+    private Recurrence parseRecurrence(String interval, String until, String date)
+            throws InvalidTaskFormatException {
+
+        if (date.isBlank()) {
+            throw new InvalidTaskFormatException("Recurring tasks must have a date.");
+        }
+
+        try {
+            return new Recurrence(Integer.parseInt(interval.strip()),
+                    until.isBlank() ? null : LocalDate.parse(until.strip(), DATE_FORMATTER));
+        } catch (NumberFormatException e) {
+            throw new InvalidTaskFormatException("The interval of the recurrence must be a number of days.", e);
+        }
+    }
+
+    private String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(DELIMITER) < 0 && value.indexOf(QUOTE) < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return QUOTE + value.replace(String.valueOf(QUOTE), String.valueOf(QUOTE) + QUOTE) + QUOTE;
+    }
+
+    private List<String> split(String record) throws InvalidTaskFormatException {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < record.length(); i++) {
+            char current = record.charAt(i);
+
+            if (isQuoted) {
+                if (current == QUOTE && i + 1 < record.length() && record.charAt(i + 1) == QUOTE) {
+                    column.append(QUOTE);
+                    i++;
+                } else if (current == QUOTE) {
+                    isQuoted = false;
+                } else {
+                    column.append(current);
+                }
+            } else if (current == QUOTE) {
+                isQuoted = true;
+            } else if (current == DELIMITER) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(current);
+            }
+        }
+
+        if (isQuoted) {
+            throw new InvalidTaskFormatException("Unterminated quoted column.");
+        }
+
+        columns.add(column.toString());
+        return columns;
+    }
+}
@@ -0,0 +1,79 @@
+package todoist.transfer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import todoist.exception.InvalidTaskFormatException;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.storage.serializer.LocalDateConverter;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+
+public class JsonTaskFormat implements TaskFormat {
+    static final String NAME = "json";
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateConverter())
+            .create();
+
+    private record TaskRecord(String name, LocalDate date, LocalDate dueDate, String description, String label,
+                              Recurrence recurrence) {
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String header() {
+        return null;
+    }
+
+    @Override
+    public String format(Task task) {
+        return GSON.toJson(new TaskRecord(task.getName(), task.getDate(), task.getDueDate(), task.getDescription(),
+                task.getLabel(), task.getRecurrence()));
+    }
+
+    @Override
+    public Task parse(String line) throws InvalidTaskFormatException {
+        TaskRecord record;
+
+        try {
+            record = GSON.fromJson(line, TaskRecord.class);
+        } catch (RuntimeException e) {
+            // Gson reports the malformed JSON and the values of unexpected types with unchecked exceptions
+            throw new InvalidTaskFormatException("The task is not a valid JSON object.", e);
+        }
+
+        if (record == null || record.name() == null || record.name().isBlank()) {
+            throw new InvalidTaskFormatException("The task name is missing.");
+        }
+
+        try {
+            Task.TaskBuilder builder = Task.builder(record.name());
+
+            if (record.date() != null) {
+                builder.setDate(record.date());
+            }
+            if (record.dueDate() != null) {
+                builder.setDueDate(record.dueDate());
+            }
+            if (record.recurrence() != null) {
+                if (record.date() == null) {
+                    throw new InvalidTaskFormatException("Recurring tasks must have a date.");
+                }
+
+                builder.setRecurrence(record.recurrence());
+            }
+
+            return builder.setDescription(record.description())
+                    .setLabel(record.label())
+                    .build();
+        } catch (InvalidTimeIntervalException e) {
+            throw new InvalidTaskFormatException(e.getMessage(), e);
+        }
+    }
+}
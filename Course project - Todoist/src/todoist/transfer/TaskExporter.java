@@ -0,0 +1,69 @@
+package todoist.transfer;
+
+import todoist.exception.UserNotFoundException;
+import todoist.storage.Storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.LongConsumer;
+
+public class TaskExporter {
+    private static final int PROGRESS_STEP = 500;
+
+    private final Storage storage;
+
+    public TaskExporter(Storage storage) {
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null.");
+        }
+
+        this.storage = storage;
+    }
+
+    public TransferResult exportTasks(String currentUser, boolean completed, Writer writer, TaskFormat format,
+                                      LongConsumer progress) throws IOException, UserNotFoundException {
+
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer cannot be null.");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null.");
+        }
+        if (progress == null) {
+            throw new IllegalArgumentException("Progress listener cannot be null.");
+        }
+
+        BufferedWriter bufferedWriter = new BufferedWriter(writer);
+        long[] exported = {0};
+
+        if (format.header() != null) {
+            bufferedWriter.write(format.header());
+            bufferedWriter.newLine();
+        }
+
+        // The tasks are written one by one while iterating the storage, without collecting them first
+        try {
+            storage.forEachTask(currentUser, completed, task -> {
+                try {
+                    bufferedWriter.write(format.format(task));
+                    bufferedWriter.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                if (++exported[0] % PROGRESS_STEP == 0) {
+                    progress.accept(exported[0]);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        bufferedWriter.flush();
+        progress.accept(exported[0]);
+
+        return new TransferResult(exported[0], exported[0], 0, 1);
+    }
+}
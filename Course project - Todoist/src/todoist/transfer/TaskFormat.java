@@ -0,0 +1,35 @@
+package todoist.transfer;
+
+import todoist.exception.InvalidTaskFormatException;
+import todoist.task.Task;
+
+public interface TaskFormat {
+
+    String name();
+
+    String header();
+
+    default boolean isHeader(String line) {
+        return line.equals(header());
+    }
+
+    String format(Task task);
+
+    Task parse(String record) throws InvalidTaskFormatException;
+
+    // Returns whether the record read so far is whole, or continues on the next line
+    default boolean isComplete(String record) {
+        return true;
+    }
+
+    static TaskFormat getFormatByName(String name) {
+        if (name == null || name.isBlank() || name.equalsIgnoreCase(JsonTaskFormat.NAME)) {
+            return new JsonTaskFormat();
+        }
+        if (name.equalsIgnoreCase(CsvTaskFormat.NAME)) {
+            return new CsvTaskFormat();
+        }
+
+        return null;
+    }
+}
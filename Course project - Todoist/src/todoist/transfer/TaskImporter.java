@@ -0,0 +1,108 @@
+package todoist.transfer;
+
+import todoist.exception.InvalidTaskFormatException;
+import todoist.exception.UserNotFoundException;
+import todoist.storage.Storage;
+import todoist.task.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+public class TaskImporter {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final Storage storage;
+    private final int batchSize;
+
+    public TaskImporter(Storage storage) {
+        this(storage, DEFAULT_BATCH_SIZE);
+    }
+
+    public TaskImporter(Storage storage, int batchSize) {
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null.");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+
+        this.storage = storage;
+        this.batchSize = batchSize;
+    }
+
+    public TransferResult importTasks(String currentUser, Reader reader, TaskFormat format, LongConsumer progress)
+            throws IOException, UserNotFoundException {
+
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null.");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null.");
+        }
+        if (progress == null) {
+            throw new IllegalArgumentException("Progress listener cannot be null.");
+        }
+
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        List<Task> batch = new ArrayList<>(batchSize);
+
+        long processed = 0;
+        long imported = 0;
+        int batches = 0;
+        boolean isFirstLine = true;
+
+        // Only one batch is kept in memory, so the size of the imported file is not limited by the heap
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            boolean isHeader = isFirstLine && format.isHeader(line);
+            isFirstLine = false;
+
+            if (isHeader || line.isBlank()) {
+                continue;
+            }
+
+            String record = readRecord(bufferedReader, line, format);
+            processed++;
+
+            try {
+                batch.add(format.parse(record));
+            } catch (InvalidTaskFormatException e) {
+                // The invalid records are skipped and reported in the result
+            }
+
+            if (batch.size() == batchSize) {
+                imported += storage.addTasks(currentUser, batch).size();
+                batches++;
+                batch.clear();
+                progress.accept(processed);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            imported += storage.addTasks(currentUser, batch).size();
+            batches++;
+            progress.accept(processed);
+        }
+
+        return new TransferResult(processed, imported, processed - imported, batches);
+    }
+
+    // A record which is not complete continues on the next lines, until the end of the file
+    private String readRecord(BufferedReader reader, String firstLine, TaskFormat format) throws IOException {
+        if (format.isComplete(firstLine)) {
+            return firstLine;
+        }
+
+        StringBuilder record = new StringBuilder(firstLine);
+        String line;
+        while (!format.isComplete(record.toString()) && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+        }
+
+        return record.toString();
+    }
+}
@@ -0,0 +1,4 @@
+package todoist.transfer;
+
+public record TransferResult(long processed, long transferred, long skipped, int batches) {
+}
@@ -0,0 +1,118 @@
+package todoist.command;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import todoist.storage.InMemoryStorage;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BinaryCommandExecutorTest {
+    private static final int CLIENT_ID = 1;
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 20);
+
+    private CommandExecutor textExecutor;
+    private BinaryCommandExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        textExecutor = new CommandExecutor(new InMemoryStorage());
+        executor = new BinaryCommandExecutor(textExecutor);
+    }
+
+    @Test
+    void testLoginIsSharedWithTextProtocol() {
+        login();
+
+        assertEquals("user", textExecutor.getLoggedUser(CLIENT_ID),
+                "The user logged with the binary protocol must be logged for the text protocol as well");
+    }
+
+    @Test
+    void testAddAndListTasks() {
+        login();
+
+        BinaryReply added = executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.ADD_TASK)
+                .setString(ParameterName.NAME, "task")
+                .setDate(ParameterName.DATE, DATE)
+                .setString(ParameterName.LABEL, "work")
+                .build());
+        BinaryReply listed = executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.LIST_TASKS)
+                .setString(ParameterName.LABEL, "work")
+                .build());
+
+        assertEquals(ReplyType.MESSAGE, added.type(), "The task must be added");
+        assertEquals(ReplyType.TASKS, listed.type(), "The tasks must be returned as structured records");
+        assertEquals(List.of("task"), listed.tasks().stream().map(Task::getName).toList(),
+                "Unexpected listed tasks");
+        assertEquals(DATE, listed.tasks().get(0).getDate(), "The date of the task must be kept");
+    }
+
+    @Test
+    void testRecurringTaskWithoutDate() {
+        login();
+
+        BinaryReply reply = executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.ADD_TASK)
+                .setString(ParameterName.NAME, "task")
+                .setInteger(ParameterName.REPEAT, 7)
+                .build());
+
+        assertEquals(BinaryReply.error("Invalid command format. Recurring tasks must have a date."), reply,
+                "Recurring tasks without date must be rejected");
+    }
+
+    @Test
+    void testCommandWithoutLoggedUser() {
+        BinaryReply reply = executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.LIST_TASKS).build());
+
+        assertEquals(BinaryReply.error("There is no logged user."), reply,
+                "The commands must require a logged user");
+    }
+
+    @Test
+    void testMissingRequiredField() {
+        BinaryReply reply = executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.REGISTER)
+                .setString(ParameterName.USERNAME, "user")
+                .build());
+
+        assertEquals(BinaryReply.error("Invalid command format. \"password\" parameter not found."), reply,
+                "The missing required fields must be reported");
+    }
+
+    @Test
+    void testStatistics() {
+        login();
+
+        BinaryReply reply = executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.STATS).build());
+
+        assertEquals(ReplyType.STATISTICS, reply.type(), "The statistics must be returned as a structured record");
+        assertEquals(0, reply.statistics().activeTasks(), "Unexpected active tasks");
+    }
+
+    @Test
+    void testModifyingCommandOnReadOnlyReplica() {
+        BinaryCommandExecutor readOnlyExecutor =
+                new BinaryCommandExecutor(new ReadOnlyCommandExecutor(new InMemoryStorage()));
+
+        BinaryReply reply = readOnlyExecutor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.REGISTER)
+                .setString(ParameterName.USERNAME, "user")
+                .setString(ParameterName.PASSWORD, "password")
+                .build());
+
+        assertEquals(ReplyType.ERROR, reply.type(), "The replica must reject the modifying commands");
+    }
+
+    private void login() {
+        executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.REGISTER)
+                .setString(ParameterName.USERNAME, "user")
+                .setString(ParameterName.PASSWORD, "password")
+                .build());
+        executor.execute(CLIENT_ID, BinaryCommand.builder(CommandType.LOGIN)
+                .setString(ParameterName.USERNAME, "user")
+                .setString(ParameterName.PASSWORD, "password")
+                .build());
+    }
+}
@@ -16,14 +16,21 @@ import todoist.exception.UserAlreadyExistsException;
 import todoist.exception.UserNotFoundException;
 import todoist.exception.WrongPasswordException;
 import todoist.storage.Storage;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.statistics.CollaborationStatistics;
+import todoist.storage.statistics.Statistics;
 import todoist.task.Task;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -786,17 +793,105 @@ public class CommandExecutorTest {
     }
 
     @Test
-    void testListTasksWhenMoreThanOnePropertyIsSet() throws UserNotFoundException, WrongPasswordException {
+    void testListTasksWhenMoreThanOnePropertyIsSet()
+            throws UserNotFoundException, WrongPasswordException, CollaborationNotFoundException {
+
+        Task task = Task.builder("task").build();
+        String expected = RESULTS_SECTION_SEPARATOR +
+                System.lineSeparator() +
+                task +
+                RESULTS_SECTION_SEPARATOR +
+                System.lineSeparator();
+
+        when(storageMock.queryTasks(eq("username"), any(TaskQuery.class))).thenReturn(List.of(task));
+
         Command loginCommand = CommandCreator.newCommand("login --username=username --password=password");
         Command listTasksCommand = CommandCreator.newCommand("list-tasks --completed=true --date=12.02.2023");
 
         executor.execute(0, loginCommand);
         String response = executor.execute(0, listTasksCommand);
 
-        assertEquals(INVALID_COMMAND_FORMAT_MESSAGE + "There are more than one set properties.", response,
+        assertEquals(expected, response,
                 "Unexpected response returned when listTasks() is called with more than one property");
 
         verify(storageMock).checkPassword("username", "password");
+        verify(storageMock).queryTasks(eq("username"), argThat(query -> query.isCompleted() &&
+                LocalDate.parse("2023-02-12").equals(query.getDate()) && query.getCollaboration() == null));
+    }
+
+    @Test
+    void testListTasksWithLabelAndDueDateRange()
+            throws UserNotFoundException, WrongPasswordException, CollaborationNotFoundException {
+
+        Command loginCommand = CommandCreator.newCommand("login --username=username --password=password");
+        Command listTasksCommand = CommandCreator.newCommand("list-tasks --label=university " +
+                "--due-from=10.02.2023 --due-to=20.02.2023");
+
+        executor.execute(0, loginCommand);
+        String response = executor.execute(0, listTasksCommand);
+
+        assertEquals("No tasks found!", response,
+                "Unexpected response returned when listTasks() is called and no tasks match the filters");
+
+        verify(storageMock).queryTasks(eq("username"), argThat(query -> "university".equals(query.getLabel()) &&
+                LocalDate.parse("2023-02-10").equals(query.getDueDateFrom()) &&
+                LocalDate.parse("2023-02-20").equals(query.getDueDateTo())));
+    }
+
+    @Test
+    void testListTasksWithInvalidDueDateRange() throws UserNotFoundException, WrongPasswordException {
+        Command loginCommand = CommandCreator.newCommand("login --username=username --password=password");
+        Command listTasksCommand = CommandCreator.newCommand("list-tasks --due-from=20.02.2023 --due-to=10.02.2023");
+
+        executor.execute(0, loginCommand);
+        String response = executor.execute(0, listTasksCommand);
+
+        assertEquals("Tasks cannot be listed. The end of the due date range cannot be before its start.", response,
+                "Unexpected response returned when listTasks() is called with invalid due date range");
+
+        verify(storageMock).checkPassword("username", "password");
+    }
+
+    @Test
+    void testImportFileOutsideTransferDirectory() {
+        Command importCommand = CommandCreator.newCommand("import --file=../storage/index.json --format=json");
+
+        String response = executor.execute(0, importCommand);
+
+        assertEquals(INVALID_COMMAND_FORMAT_MESSAGE + "Invalid file name \"../storage/index.json\".", response,
+                "Unexpected response returned when import is called with a file outside the transfer directory");
+    }
+
+    @Test
+    void testImportFileExportedByAnotherUser() throws IOException {
+        Path ownerDirectory = Path.of("resources", "transfer", "owner");
+        executor.execute(0, CommandCreator.newCommand("login --username=owner --password=password"));
+        executor.execute(1, CommandCreator.newCommand("login --username=other --password=password"));
+
+        try {
+            String exported = executor.execute(0, CommandCreator.newCommand("export --file=shared.csv --format=csv"));
+            String imported = executor.execute(1, CommandCreator.newCommand("import --file=shared.csv --format=csv"));
+
+            assertEquals("Exported 0 tasks to \"shared.csv\".", exported,
+                    "Only the summary must be returned when export is called");
+            assertTrue(Files.exists(ownerDirectory.resolve("shared.csv")),
+                    "The file must be exported to the transfer directory of the user");
+            assertEquals("Tasks cannot be imported. The file cannot be read.", imported,
+                    "The file exported by another user must not be imported");
+        } finally {
+            Files.deleteIfExists(ownerDirectory.resolve("shared.csv"));
+            Files.deleteIfExists(ownerDirectory);
+        }
+    }
+
+    @Test
+    void testExportWithUnknownFormat() {
+        Command exportCommand = CommandCreator.newCommand("export --file=tasks.xml --format=xml");
+
+        String response = executor.execute(0, exportCommand);
+
+        assertEquals(INVALID_COMMAND_FORMAT_MESSAGE + "Unknown format \"xml\".", response,
+                "Unexpected response returned when export is called with unknown format");
     }
 
     @Test
@@ -960,10 +1055,10 @@ public class CommandExecutorTest {
 
     @Test
     void testFinishTaskMoreArguments() {
-        Command cmd = CommandCreator.newCommand("finish-task --arg1=val1 --arg2=val2");
+        Command cmd = CommandCreator.newCommand("finish-task --arg1=val1 --arg2=val2 --arg3=val3");
         String response = executor.execute(0, cmd);
 
-        assertEquals(String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "finish-task", 1), response,
+        assertEquals(String.format(INVALID_ARGS_COUNT_MESSAGE_FORMAT, "finish-task", "at most 2"), response,
                 "Unexpected response returned when finishTask() is called with more arguments");
     }
 
@@ -1713,4 +1808,69 @@ public class CommandExecutorTest {
         assertEquals("Disconnected from server.", response, "Unexpected response returned when " +
                 "disconnecting from server");
     }
+
+    @Test
+    void testStatsUserIsNotLogged() {
+        Command cmd = CommandCreator.newCommand("stats");
+        String response = executor.execute(0, cmd);
+
+        assertEquals("Statistics cannot be shown. There is no logged user.", response,
+                "Unexpected response returned when stats is called and there is no logged user");
+    }
+
+    @Test
+    void testStats() throws UserNotFoundException, WrongPasswordException {
+        Statistics statistics = new Statistics(3, 1, 2, 5, 10,
+                List.of(new CollaborationStatistics("collaboration", 4, 1)));
+        String expected = RESULTS_SECTION_SEPARATOR + System.lineSeparator() +
+                "Active tasks: 3" + System.lineSeparator() +
+                "Overdue tasks: 1" + System.lineSeparator() +
+                "Completed today: 2" + System.lineSeparator() +
+                "Completed this week: 5" + System.lineSeparator() +
+                "Completed in total: 10" + System.lineSeparator() +
+                "Collaboration \"collaboration\": 1 of 4 tasks completed (25%)" + System.lineSeparator() +
+                RESULTS_SECTION_SEPARATOR + System.lineSeparator();
+
+        when(storageMock.getStatistics("username")).thenReturn(statistics);
+
+        executor.execute(0, LOGIN_COMMAND);
+        String response = executor.execute(0, CommandCreator.newCommand("stats"));
+
+        assertEquals(expected, response, "Unexpected response returned when stats is called");
+
+        verify(storageMock).checkPassword("username", "password");
+        verify(storageMock).getStatistics("username");
+    }
+
+    @Test
+    void testAddRecurringTaskWithoutDate() {
+        Command cmd = CommandCreator.newCommand("add-task --name=task --repeat=daily");
+        String response = executor.execute(0, cmd);
+
+        assertEquals(INVALID_COMMAND_FORMAT_MESSAGE + "Recurring tasks must have a date.", response,
+                "Unexpected response returned when addTask() is called for recurring task without date");
+    }
+
+    @Test
+    void testAddRecurringTaskWithUnknownRecurrence() {
+        Command cmd = CommandCreator.newCommand("add-task --name=task --date=20.01.2023 --repeat=monthly");
+        String response = executor.execute(0, cmd);
+
+        assertEquals(INVALID_COMMAND_FORMAT_MESSAGE + "Unknown recurrence \"monthly\".", response,
+                "Unexpected response returned when addTask() is called with unknown recurrence");
+    }
+
+    @Test
+    void testFinishTaskOccurrence() throws UserNotFoundException, WrongPasswordException, TaskNotFoundException {
+        Command cmd = CommandCreator.newCommand("finish-task --name=task --date=20.01.2023");
+
+        executor.execute(0, LOGIN_COMMAND);
+        String response = executor.execute(0, cmd);
+
+        assertEquals("Task \"task\" finished successfully!", response,
+                "Unexpected response returned when finishTask() is called with date");
+
+        verify(storageMock).checkPassword("username", "password");
+        verify(storageMock).finishTask("username", "task", LocalDate.of(2023, 1, 20));
+    }
 }
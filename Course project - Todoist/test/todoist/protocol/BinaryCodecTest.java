@@ -0,0 +1,149 @@
+package todoist.protocol;
+
+import org.junit.jupiter.api.Test;
+import todoist.command.BinaryCommand;
+import todoist.command.BinaryReply;
+import todoist.command.CommandType;
+import todoist.command.ParameterName;
+import todoist.command.ReplyType;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.storage.statistics.CollaborationStatistics;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryCodecTest {
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 20);
+
+    private final BinaryCodec codec = new BinaryCodec();
+
+    @Test
+    void testEncodeDecodeCommand() throws IOException {
+        BinaryCommand command = BinaryCommand.builder(CommandType.ADD_TASK)
+                .setString(ParameterName.NAME, "task")
+                .setDate(ParameterName.DATE, DATE)
+                .setDate(ParameterName.UNTIL, LocalDate.of(1960, 5, 1))
+                .setInteger(ParameterName.REPEAT, 7)
+                .setBoolean(ParameterName.COMPLETED, true)
+                .build();
+
+        assertEquals(List.of(command), codec.decodeCommands(codec.encode(command)),
+                "The decoded command must be equal to the encoded one");
+    }
+
+    @Test
+    void testEncodeCommandIsCompact() {
+        BinaryCommand command = BinaryCommand.builder(CommandType.GET_TASK)
+                .setString(ParameterName.NAME, "task")
+                .setDate(ParameterName.DATE, DATE)
+                .build();
+
+        // length, opcode, fields count, name tag, name length, name, date tag and 3 bytes epoch day
+        assertEquals(1 + 1 + 1 + 1 + 1 + "task".length() + 1 + 3, codec.encode(command).remaining(),
+                "The command must be encoded with varint lengths and epoch-day dates");
+    }
+
+    @Test
+    void testDecodeUnknownOpcode() throws IOException {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[] {2, 0x7F, 0});
+
+        assertEquals(CommandType.UNKNOWN, codec.decodeCommands(frame).get(0).type(),
+                "The unknown opcodes must be decoded as unknown commands");
+    }
+
+    @Test
+    void testDecodeUnknownFieldTag() {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[] {4, (byte) CommandType.LOGIN.opcode, 1, 0x7F, 0});
+
+        assertThrows(IOException.class, () -> codec.decodeCommands(frame),
+                "Expected IOException to be thrown when the field tag is unknown");
+    }
+
+    @Test
+    void testDecodeTruncatedFrame() {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[] {3, (byte) CommandType.LOGIN.opcode, 1, 1});
+
+        assertThrows(IOException.class, () -> codec.decodeCommands(frame),
+                "Expected IOException to be thrown when the fields exceed the frame");
+    }
+
+    @Test
+    void testDecodeNegativeStringLength() {
+        // A ten-byte varint which sets the sign bit of the string length
+        ByteBuffer frame = ByteBuffer.wrap(new byte[] {0x0D, (byte) CommandType.REGISTER.opcode, 1,
+                (byte) ParameterName.USERNAME.tag, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01});
+
+        assertThrows(IOException.class, () -> codec.decodeCommands(frame),
+                "Expected IOException to be thrown when the string length is negative");
+    }
+
+    @Test
+    void testDecodeCountExceedingFrame() {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[] {6, (byte) ReplyType.NAMES.code, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, 0x07});
+
+        assertThrows(IOException.class, () -> codec.decodeReplies(frame),
+                "Expected IOException to be thrown when the count exceeds the frame");
+    }
+
+    @Test
+    void testDecodePartialFrames() throws IOException {
+        BinaryCommand first = BinaryCommand.builder(CommandType.ADD_TASK)
+                .setString(ParameterName.NAME, "x".repeat(300))
+                .build();
+        BinaryCommand second = BinaryCommand.builder(CommandType.STATS).build();
+
+        ByteBuffer firstFrame = codec.encode(first);
+        ByteBuffer secondFrame = codec.encode(second);
+        ByteBuffer data = ByteBuffer.allocate(firstFrame.remaining() + secondFrame.remaining());
+        data.put(firstFrame).put(secondFrame).flip();
+
+        assertTrue(codec.decodeCommands(data.duplicate().limit(1)).isEmpty(),
+                "A frame with incomplete length must not be decoded");
+        assertEquals(List.of(first, second), codec.decodeCommands(data.position(1)),
+                "The frames must be decoded once all of their bytes are received");
+    }
+
+    @Test
+    void testEncodeDecodeTasksReply() throws IOException, InvalidTimeIntervalException {
+        List<Task> tasks = List.of(
+                Task.builder("inbox").build(),
+                Task.builder("task").setDate(DATE).setDueDate(DATE.plusDays(2)).setDescription("description")
+                        .setLabel("work").setRecurrence(Recurrence.weekly(DATE.plusMonths(1))).build());
+
+        BinaryReply reply = codec.decodeReplies(codec.encode(BinaryReply.tasks(tasks))).get(0);
+
+        assertEquals(ReplyType.TASKS, reply.type(), "Unexpected reply type");
+        assertEquals(tasks, reply.tasks(), "The decoded tasks must be equal to the encoded ones");
+        assertEquals(Recurrence.weekly(DATE.plusMonths(1)), reply.tasks().get(1).getRecurrence(),
+                "The recurrence of the task must be decoded");
+        assertEquals("work", reply.tasks().get(1).getLabel(), "The label of the task must be decoded");
+    }
+
+    @Test
+    void testEncodeDecodeStatisticsReply() throws IOException {
+        Statistics statistics = new Statistics(3, 1, 2, 5, 300,
+                List.of(new CollaborationStatistics("project", 4, 1)));
+
+        assertEquals(BinaryReply.statistics(statistics),
+                codec.decodeReplies(codec.encode(BinaryReply.statistics(statistics))).get(0),
+                "The decoded statistics must be equal to the encoded ones");
+    }
+
+    @Test
+    void testEncodeDecodeErrorReply() throws IOException {
+        assertEquals(BinaryReply.error("There is no logged user."),
+                codec.decodeReplies(codec.encode(BinaryReply.error("There is no logged user."))).get(0),
+                "The decoded error must be equal to the encoded one");
+    }
+}
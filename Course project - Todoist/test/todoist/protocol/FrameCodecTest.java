@@ -0,0 +1,107 @@
+package todoist.protocol;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrameCodecTest {
+    private static final int THRESHOLD = 512;
+    private static final String LARGE_MESSAGE = "[ name: task, date: 20.01.2023 ]\n".repeat(200);
+
+    @Test
+    void testEncodeDecodeLargeMessageIsCompressed() throws IOException {
+        CompressionMetrics metrics = new CompressionMetrics();
+
+        try (FrameCodec codec = new FrameCodec(true, THRESHOLD, metrics)) {
+            ByteBuffer frame = codec.encode(LARGE_MESSAGE);
+
+            assertTrue(frame.remaining() < LARGE_MESSAGE.length(), "The large message must be compressed");
+            assertEquals(List.of(LARGE_MESSAGE), codec.decode(frame),
+                    "The decoded message must be equal to the original one");
+            assertEquals(1, metrics.getCompressedFrames(), "The compressed frame must be recorded");
+        }
+    }
+
+    @Test
+    void testEncodeSmallMessageIsNotCompressed() throws IOException {
+        CompressionMetrics metrics = new CompressionMetrics();
+
+        try (FrameCodec codec = new FrameCodec(true, THRESHOLD, metrics)) {
+            ByteBuffer frame = codec.encode("list-tasks");
+
+            assertEquals(Integer.BYTES + 1 + "list-tasks".length(), frame.remaining(),
+                    "Messages below the threshold must not be compressed");
+            assertEquals(List.of("list-tasks"), codec.decode(frame),
+                    "The decoded message must be equal to the original one");
+            assertEquals(1, metrics.getUncompressedFrames(), "The uncompressed frame must be recorded");
+        }
+    }
+
+    @Test
+    void testEncodeWithoutNegotiatedCompression() throws IOException {
+        try (FrameCodec codec = new FrameCodec(false, THRESHOLD, new CompressionMetrics())) {
+            ByteBuffer frame = codec.encode(LARGE_MESSAGE);
+
+            assertEquals(Integer.BYTES + 1 + LARGE_MESSAGE.length(), frame.remaining(),
+                    "Messages must not be compressed when compression is not negotiated");
+            assertEquals(List.of(LARGE_MESSAGE), codec.decode(frame),
+                    "The decoded message must be equal to the original one");
+        }
+    }
+
+    @Test
+    void testDecodePartialFrames() throws IOException {
+        try (FrameCodec sender = new FrameCodec(true, THRESHOLD, new CompressionMetrics());
+             FrameCodec receiver = new FrameCodec(true, THRESHOLD, new CompressionMetrics())) {
+
+            ByteBuffer first = sender.encode(LARGE_MESSAGE);
+            ByteBuffer second = sender.encode("stats");
+
+            ByteBuffer data = ByteBuffer.allocate(first.remaining() + second.remaining());
+            data.put(first).put(second).flip();
+
+            int split = data.limit() / 2;
+            ByteBuffer head = data.duplicate().limit(split);
+            ByteBuffer tail = data.duplicate().position(split);
+
+            assertTrue(receiver.decode(head).isEmpty(), "An incomplete frame must not be decoded");
+            assertEquals(List.of(LARGE_MESSAGE, "stats"), receiver.decode(tail),
+                    "The frames must be decoded once all of their bytes are received");
+        }
+    }
+
+    @Test
+    void testCompressionRatio() {
+        CompressionMetrics metrics = new CompressionMetrics();
+
+        try (FrameCodec codec = new FrameCodec(true, THRESHOLD, metrics)) {
+            codec.encode(LARGE_MESSAGE);
+        }
+
+        assertTrue(metrics.getCompressionRatio() > 1, "The repetitive message must have compression ratio above 1");
+    }
+
+    @Test
+    void testDecodeInvalidFrameLength() {
+        try (FrameCodec codec = new FrameCodec(true, THRESHOLD, new CompressionMetrics())) {
+            ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + 1).putInt(-1).put((byte) 0).flip();
+
+            assertThrows(IOException.class, () -> codec.decode(frame),
+                    "Expected IOException to be thrown when the frame length is invalid");
+        }
+    }
+
+    @Test
+    void testHandshakeNegotiatesCompression() {
+        byte[] handshake = Handshake.encode(Handshake.FRAMED_TEXT, Handshake.COMPRESSION_FLAG);
+
+        assertTrue(Handshake.isHandshake(handshake[0]), "The first byte must identify the handshake");
+        assertTrue(Handshake.isCompressionEnabled(handshake[1]), "The compression flag must be set");
+    }
+}
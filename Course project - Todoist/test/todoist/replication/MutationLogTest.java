@@ -0,0 +1,141 @@
+package todoist.replication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MutationLogTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testAppendNullMutation() throws IOException {
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(null),
+                    "Expected IllegalArgumentException to be thrown when the mutation is null");
+        }
+    }
+
+    @Test
+    void testAppendAssignsConsecutiveOffsets() throws IOException {
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            assertEquals(1, log.append(Mutation.addUser("user", "password")).offset(),
+                    "The first mutation must have offset 1");
+            assertEquals(2, log.append(Mutation.addCollaboration("user", "project")).offset(),
+                    "The offsets must be consecutive");
+            assertEquals(2, log.getLastOffset(), "Unexpected last offset returned");
+        }
+    }
+
+    @Test
+    void testLastOffsetIsRestoredAfterReopening() throws IOException {
+        Path file = directory.resolve("mutations.log");
+
+        try (MutationLog log = new MutationLog(file)) {
+            log.append(Mutation.addUser("user", "password"));
+            log.append(Mutation.addCollaboration("user", "project"));
+        }
+
+        try (MutationLog log = new MutationLog(file)) {
+            assertEquals(2, log.getLastOffset(), "The last offset must be restored from the log file");
+            assertEquals(3, log.append(Mutation.finishTask("user", "task")).offset(),
+                    "The offsets must continue after the restored offset");
+        }
+    }
+
+    @Test
+    void testTornLastEntryIsTruncatedAfterReopening() throws IOException {
+        Path file = directory.resolve("mutations.log");
+
+        try (MutationLog log = new MutationLog(file)) {
+            log.append(Mutation.addUser("user", "password"));
+            log.append(Mutation.addCollaboration("user", "project"));
+        }
+        Files.writeString(file, "{\"offset\":3,\"type\":\"FIN", StandardOpenOption.APPEND);
+
+        try (MutationLog log = new MutationLog(file)) {
+            assertEquals(2, log.getLastOffset(), "The torn entry must not be restored");
+            assertEquals(3, log.append(Mutation.finishTask("user", "task")).offset(),
+                    "The offsets must continue after the last complete entry");
+
+            List<Mutation> mutations = new ArrayList<>();
+            log.readEntries(0, 3, mutations::add);
+
+            assertEquals(List.of(1L, 2L, 3L), mutations.stream().map(Mutation::offset).toList(),
+                    "The new entry must not be appended to the torn one");
+        }
+    }
+
+    @Test
+    void testReadEntriesFromOffset() throws IOException, InvalidTimeIntervalException {
+        Task task = Task.builder("task").setDate(LocalDate.of(2023, 1, 20)).build();
+
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            log.append(Mutation.addUser("user", "password"));
+            log.append(Mutation.addTask("user", task));
+            log.append(Mutation.deleteTask("user", "task", task.getDate()));
+
+            List<Mutation> mutations = new ArrayList<>();
+            log.readEntries(1, 2, mutations::add);
+
+            assertEquals(1, mutations.size(), "Only the entries in the offset range must be read");
+            assertEquals(MutationType.ADD_TASK, mutations.get(0).type(), "Unexpected mutation type read");
+            assertEquals(task.getDate(), mutations.get(0).task().getDate(), "The task must be deserialized");
+        }
+    }
+
+    @Test
+    void testReadEntriesFromIndexedPositionAfterReopening() throws IOException {
+        Path file = directory.resolve("mutations.log");
+
+        try (MutationLog log = new MutationLog(file)) {
+            for (int i = 0; i < 3000; i++) {
+                log.append(Mutation.addCollaboration("user", "project-\u00e9-" + i));
+            }
+
+            List<Mutation> mutations = new ArrayList<>();
+            log.readEntries(2047, 2050, mutations::add);
+
+            assertEquals(List.of(2048L, 2049L, 2050L), mutations.stream().map(Mutation::offset).toList(),
+                    "The entries after an indexed position must be read from the appended log");
+        }
+
+        try (MutationLog log = new MutationLog(file)) {
+            List<Mutation> mutations = new ArrayList<>();
+            log.readEntries(2500, 3000, mutations::add);
+
+            assertEquals(500, mutations.size(), "All entries in the offset range must be read");
+            assertEquals(2501, mutations.get(0).offset(), "The entries must be read from the first requested one");
+            assertEquals("project-\u00e9-2500", mutations.get(0).collaboration(),
+                    "The indexed positions must count the encoded bytes of the entries");
+            assertEquals(3000, log.getLastOffset(), "The last offset must be restored from the log file");
+        }
+    }
+
+    @Test
+    void testSubscribeReceivesNewMutations() throws IOException {
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            log.append(Mutation.addUser("user", "password"));
+
+            List<Mutation> mutations = new ArrayList<>();
+            long snapshotOffset = log.subscribe(mutations::add);
+            log.append(Mutation.addCollaboration("user", "project"));
+
+            assertEquals(1, snapshotOffset, "The snapshot offset must be the last offset before subscribing");
+            assertEquals(1, mutations.size(), "The listener must receive only the new mutations");
+            assertEquals(2, mutations.get(0).offset(), "Unexpected offset of the received mutation");
+        }
+    }
+}
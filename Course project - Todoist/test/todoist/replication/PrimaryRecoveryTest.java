@@ -0,0 +1,97 @@
+package todoist.replication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.storage.SegmentedStorage;
+import todoist.storage.segment.SegmentStore;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PrimaryRecoveryTest {
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testMutationsAfterCheckpointAreRecoveredAfterCrash() throws IOException, UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException {
+
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            SegmentedStorage storage = newStorage();
+            PrimaryRecovery.recover(storage, log);
+
+            JournaledStorage journaledStorage = new JournaledStorage(storage, log);
+            journaledStorage.addUser("user", "password");
+            journaledStorage.addTask("user", Task.builder("first").build());
+            journaledStorage.checkpoint(storage::checkpoint);
+
+            journaledStorage.addTask("user", Task.builder("second").build());
+            // The storage is not saved, as after a crash
+        }
+
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            SegmentedStorage storage = newStorage();
+
+            assertEquals(1, PrimaryRecovery.recover(storage, log),
+                    "Only the mutation after the checkpoint must be applied again");
+            assertEquals(2, storage.listTasks("user").size(), "The task added after the checkpoint must be recovered");
+            assertEquals(3, storage.getCheckpoint(), "The recovered storage must be saved in a new checkpoint");
+        }
+    }
+
+    @Test
+    void testNothingIsRecoveredAfterCleanStop() throws IOException, UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException {
+
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            SegmentedStorage storage = newStorage();
+            PrimaryRecovery.recover(storage, log);
+
+            JournaledStorage journaledStorage = new JournaledStorage(storage, log);
+            journaledStorage.addUser("user", "password");
+            journaledStorage.addTask("user", Task.builder("task").build());
+            journaledStorage.checkpoint(storage::checkpoint);
+        }
+
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            SegmentedStorage storage = newStorage();
+
+            assertEquals(0, PrimaryRecovery.recover(storage, log), "No mutation must be applied twice");
+            assertEquals(1, storage.listTasks("user").size(), "The saved task must be loaded once");
+        }
+    }
+
+    @Test
+    void testExistingUsersAreWrittenIntoNewLog() throws IOException, UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException {
+
+        try (SegmentedStorage storage = newStorage()) {
+            storage.addUser("user", "password");
+            storage.addTask("user", Task.builder("task").build());
+        }
+
+        try (MutationLog log = new MutationLog(directory.resolve("mutations.log"))) {
+            assertEquals(1, PrimaryRecovery.recover(newStorage(), log),
+                    "The existing user must be written into the empty log");
+
+            ReplicaStorage replica = new ReplicaStorage();
+            log.readEntries(0, log.getLastOffset(), replica::apply);
+
+            assertEquals(1, replica.listTasks("user").size(),
+                    "A replica replaying the log must see the data stored before the log");
+        }
+    }
+
+    private SegmentedStorage newStorage() throws IOException {
+        return new SegmentedStorage(new SegmentStore(directory.resolve("storage")), IDLE_TIMEOUT);
+    }
+}
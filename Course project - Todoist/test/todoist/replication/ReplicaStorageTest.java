@@ -0,0 +1,99 @@
+package todoist.replication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.segment.UserSegment;
+import todoist.task.Task;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReplicaStorageTest {
+    private ReplicaStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new ReplicaStorage();
+    }
+
+    @Test
+    void testApplyNullMutation() {
+        assertThrows(IllegalArgumentException.class, () -> storage.apply(null),
+                "Expected IllegalArgumentException to be thrown when the mutation is null");
+    }
+
+    @Test
+    void testApplyAddUser() {
+        storage.apply(Mutation.addUser("user", "password").withOffset(1, 0));
+
+        assertDoesNotThrow(() -> storage.checkPassword("user", "password"),
+                "The replicated user must be able to log in");
+    }
+
+    @Test
+    void testApplyTaskMutations() throws TaskNotFoundException, UserNotFoundException {
+        storage.apply(Mutation.addUser("user", "password").withOffset(1, 0));
+        storage.apply(Mutation.addTask("user", Task.builder("first").build()).withOffset(2, 0));
+        storage.apply(Mutation.addTask("user", Task.builder("second").build()).withOffset(3, 0));
+        storage.apply(Mutation.finishTask("user", "first").withOffset(4, 0));
+
+        Collection<Task> tasks = storage.listTasks("user");
+
+        assertEquals(1, tasks.size(), "The finished task must be removed from the replicated inbox");
+        assertEquals("second", tasks.iterator().next().getName(), "Unexpected task replicated");
+        assertEquals(1, storage.listCompletedTasks("user").size(), "The finished task must be replicated");
+    }
+
+    @Test
+    void testApplyCollaborationMutations() throws CollaborationNotFoundException, UserNotFoundException {
+        storage.apply(Mutation.addUser("owner", "password").withOffset(1, 0));
+        storage.apply(Mutation.addUser("participant", "password").withOffset(2, 0));
+        storage.apply(Mutation.addCollaboration("owner", "project").withOffset(3, 0));
+        storage.apply(Mutation.addUserToCollaboration("owner", "project", "participant").withOffset(4, 0));
+        storage.apply(Mutation.addTask("owner", Task.builder("task").build()).withOffset(5, 0));
+        storage.apply(Mutation.assignTask("owner", "project", "participant", "task", null).withOffset(6, 0));
+
+        assertEquals(1, storage.listTasks("participant", "project").size(),
+                "The assigned task must be visible in the replicated collaboration");
+    }
+
+    @Test
+    void testApplyLoadUser() throws UserNotFoundException {
+        UserSegment segment = UserSegment.empty();
+        segment.inbox().put("task", Task.builder("task").build());
+
+        storage.apply(Mutation.loadUser("user", "password", segment).withOffset(1, 0));
+
+        assertDoesNotThrow(() -> storage.checkPassword("user", "password"),
+                "The loaded user must be able to log in");
+        assertEquals(1, storage.listTasks("user").size(), "The tasks of the loaded user must be replicated");
+    }
+
+    @Test
+    void testApplyInvalidMutation() {
+        assertThrows(IllegalStateException.class,
+                () -> storage.apply(Mutation.addTask("unknown", Task.builder("task").build()).withOffset(1, 0)),
+                "Expected IllegalStateException to be thrown when the mutation cannot be applied");
+    }
+
+    @Test
+    void testModifyingOperationsAreNotSupported() {
+        assertThrows(UnsupportedOperationException.class, () -> storage.addUser("user", "password"),
+                "Expected UnsupportedOperationException to be thrown when the replica is modified");
+    }
+
+    @Test
+    void testWrongPassword() {
+        storage.apply(Mutation.addUser("user", "password").withOffset(1, 0));
+
+        assertThrows(WrongPasswordException.class, () -> storage.checkPassword("user", "wrong"),
+                "Expected WrongPasswordException to be thrown when the password is wrong");
+    }
+}
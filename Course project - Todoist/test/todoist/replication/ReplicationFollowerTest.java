@@ -0,0 +1,56 @@
+package todoist.replication;
+
+import org.junit.jupiter.api.Test;
+import todoist.task.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class ReplicationFollowerTest {
+    private static final long JOIN_TIMEOUT_MILLIS = 5000;
+
+    @Test
+    void testReplicationStopsWhenMutationCannotBeApplied() throws IOException, InterruptedException {
+        try (ServerSocketChannel primary = ServerSocketChannel.open()) {
+            primary.bind(new InetSocketAddress("localhost", 0));
+            int port = ((InetSocketAddress) primary.getLocalAddress()).getPort();
+
+            ReplicaStorage storage = new ReplicaStorage();
+            ReplicationFollower follower = new ReplicationFollower(port, storage);
+            follower.start();
+
+            try (SocketChannel channel = primary.accept();
+                 var reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+                 var writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+
+                assertEquals("0", reader.readLine(), "The follower must request the mutations after offset 0");
+
+                writer.write(MutationLog.serialize(Mutation.addUser("user", "password").withOffset(1, 0)));
+                writer.newLine();
+                writer.write(MutationLog.serialize(
+                        Mutation.addTask("unknown", Task.builder("task").build()).withOffset(2, 0)));
+                writer.newLine();
+                writer.write(MutationLog.serialize(Mutation.addUser("other", "password").withOffset(3, 0)));
+                writer.newLine();
+                writer.flush();
+
+                follower.join(JOIN_TIMEOUT_MILLIS);
+            }
+
+            assertFalse(follower.isAlive(), "The follower must stop after a mutation cannot be applied");
+            assertNotNull(follower.getFailure(), "The reason replication stopped must be kept");
+            assertEquals(1, follower.getLastAppliedOffset(),
+                    "The offset of the mutation which cannot be applied must not be marked as applied");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package todoist.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class FairSchedulerTest {
+
+    @Test
+    void testValuesAreReturnedInRoundRobinOrder() {
+        FairScheduler<String, String> scheduler = new FairScheduler<>(10);
+        scheduler.enqueue("flooding", "f1");
+        scheduler.enqueue("flooding", "f2");
+        scheduler.enqueue("flooding", "f3");
+        scheduler.enqueue("normal", "n1");
+
+        List<String> order = new ArrayList<>();
+        while (scheduler.hasNext()) {
+            order.add(scheduler.next().getValue());
+        }
+
+        assertEquals(List.of("f1", "n1", "f2", "f3"), order, "The keys must be served in round-robin order");
+    }
+
+    @Test
+    void testEnqueueWhenQueueIsFull() {
+        FairScheduler<String, String> scheduler = new FairScheduler<>(1);
+        scheduler.enqueue("key", "first");
+
+        assertFalse(scheduler.enqueue("key", "second"), "The value must be rejected when the queue is full");
+    }
+
+    @Test
+    void testRemoveKey() {
+        FairScheduler<String, String> scheduler = new FairScheduler<>(10);
+        scheduler.enqueue("removed", "r1");
+        scheduler.enqueue("other", "o1");
+        scheduler.remove("removed");
+
+        assertEquals("o1", scheduler.next().getValue(), "The values of the removed key must not be returned");
+        assertFalse(scheduler.hasNext(), "The scheduler must be empty");
+    }
+
+    @Test
+    void testPausedKeyIsSkippedUntilResumed() {
+        FairScheduler<String, String> scheduler = new FairScheduler<>(10);
+        scheduler.enqueue("paused", "p1");
+        scheduler.enqueue("other", "o1");
+        scheduler.pause("paused");
+        scheduler.enqueue("paused", "p2");
+
+        assertEquals("o1", scheduler.next().getValue(), "The values of the paused key must not be returned");
+        assertFalse(scheduler.hasNext(), "The paused key must wait to be resumed");
+
+        scheduler.resume("paused");
+
+        assertEquals("p1", scheduler.next().getValue(), "The values of the resumed key must be returned in order");
+        assertEquals("p2", scheduler.next().getValue(), "The values enqueued while paused must be kept");
+    }
+}
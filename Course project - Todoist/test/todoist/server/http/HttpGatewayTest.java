@@ -0,0 +1,140 @@
+package todoist.server.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import todoist.command.CommandExecutor;
+import todoist.server.limit.RateLimit;
+import todoist.server.limit.RateLimiter;
+import todoist.storage.InMemoryStorage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpGatewayTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gateway = new HttpGateway(0, new CommandExecutor(new InMemoryStorage()));
+        gateway.startServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.stopServer();
+    }
+
+    @Test
+    void testAddAndListTasks() throws IOException, InterruptedException {
+        send("POST", "/users", "{\"username\": \"user\", \"password\": \"password\"}", null);
+
+        HttpResponse<String> added = send("POST", "/tasks", "{\"name\": \"task\", \"label\": \"work\"}", "password");
+        HttpResponse<String> listed = send("GET", "/tasks?label=work", null, "password");
+
+        assertEquals(200, added.statusCode(), "The task must be added");
+        assertEquals(200, listed.statusCode(), "The tasks must be listed");
+        assertTrue(listed.body().startsWith("[{\"name\":\"task\""), "Unexpected listed tasks: " + listed.body());
+    }
+
+    @Test
+    void testRequestWithoutAuthorization() throws IOException, InterruptedException {
+        HttpResponse<String> response = send("GET", "/tasks", null, null);
+
+        assertEquals(401, response.statusCode(), "The requests without credentials must be unauthorized");
+    }
+
+    @Test
+    void testRequestWithWrongPassword() throws IOException, InterruptedException {
+        send("POST", "/users", "{\"username\": \"user\", \"password\": \"password\"}", null);
+
+        HttpResponse<String> response = send("GET", "/stats", null, "wrong");
+
+        assertEquals(401, response.statusCode(), "The requests with wrong password must be unauthorized");
+    }
+
+    @Test
+    void testFailedCommand() throws IOException, InterruptedException {
+        send("POST", "/users", "{\"username\": \"user\", \"password\": \"password\"}", null);
+
+        HttpResponse<String> response = send("DELETE", "/tasks/missing", null, "password");
+
+        assertEquals(400, response.statusCode(), "The failed commands must be reported as bad requests");
+        assertTrue(response.body().contains("\"error\""), "The error must be returned as JSON");
+    }
+
+    @Test
+    void testUnknownRoute() throws IOException, InterruptedException {
+        assertEquals(404, send("GET", "/unknown", null, null).statusCode(), "Unknown routes must not be found");
+    }
+
+    @Test
+    void testRequestsAreRateLimitedPerUser() throws IOException, InterruptedException {
+        gateway.stopServer();
+        gateway = new HttpGateway(0, new CommandExecutor(new InMemoryStorage()),
+                new RateLimiter(new RateLimit(10, 1), new RateLimit(2, 0.001)));
+        gateway.startServer();
+
+        send("POST", "/users", "{\"username\": \"user\", \"password\": \"password\"}", null);
+        send("GET", "/stats", null, "password");
+        send("GET", "/stats", null, "password");
+
+        assertEquals(429, send("GET", "/stats", null, "password").statusCode(),
+                "The requests over the limit of the user must be rejected");
+    }
+
+    @Test
+    void testLoginAttemptsAreRateLimitedPerAddress() throws IOException, InterruptedException {
+        gateway.stopServer();
+        gateway = new HttpGateway(0, new CommandExecutor(new InMemoryStorage()),
+                new RateLimiter(new RateLimit(3, 0.001), new RateLimit(10, 1)));
+        gateway.startServer();
+
+        send("POST", "/users", "{\"username\": \"user\", \"password\": \"password\"}", null);
+        send("GET", "/stats", null, "wrong");
+        send("GET", "/stats", null, "wrong");
+
+        assertEquals(429, send("GET", "/stats", null, "password").statusCode(),
+                "The login attempts over the limit of the address must be rejected");
+    }
+
+    @Test
+    void testRegistrationsAreRateLimitedPerAddress() throws IOException, InterruptedException {
+        gateway.stopServer();
+        gateway = new HttpGateway(0, new CommandExecutor(new InMemoryStorage()),
+                new RateLimiter(new RateLimit(2, 0.001), new RateLimit(10, 1)));
+        gateway.startServer();
+
+        send("POST", "/users", "{\"username\": \"first\", \"password\": \"password\"}", null);
+        send("POST", "/users", "{\"username\": \"second\", \"password\": \"password\"}", null);
+
+        assertEquals(429, send("POST", "/users", "{\"username\": \"third\", \"password\": \"password\"}", null)
+                .statusCode(), "The registrations over the limit of the address must be rejected");
+    }
+
+    private HttpResponse<String> send(String method, String path, String body, String password)
+            throws IOException, InterruptedException {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + gateway.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() :
+                        HttpRequest.BodyPublishers.ofString(body));
+
+        if (password != null) {
+            String credentials = Base64.getEncoder().encodeToString(("user:" + password)
+                    .getBytes(StandardCharsets.UTF_8));
+            request.header("Authorization", "Basic " + credentials);
+        }
+
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
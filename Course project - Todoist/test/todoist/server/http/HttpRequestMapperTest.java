@@ -0,0 +1,97 @@
+package todoist.server.http;
+
+import org.junit.jupiter.api.Test;
+import todoist.command.BinaryCommand;
+import todoist.command.CommandType;
+import todoist.command.ParameterName;
+import todoist.exception.InvalidCommandFormatException;
+
+import java.net.URI;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HttpRequestMapperTest {
+    private final HttpRequestMapper mapper = new HttpRequestMapper();
+
+    @Test
+    void testMapAddTask() throws InvalidCommandFormatException {
+        BinaryCommand command = mapper.map("POST", URI.create("/tasks"),
+                "{\"name\": \"task\", \"date\": \"2023-01-20\", \"repeat\": \"weekly\"}");
+
+        assertEquals(BinaryCommand.builder(CommandType.ADD_TASK)
+                .setString(ParameterName.NAME, "task")
+                .setDate(ParameterName.DATE, LocalDate.of(2023, 1, 20))
+                .setInteger(ParameterName.REPEAT, 7)
+                .build(), command, "The body fields must be decoded to their types");
+    }
+
+    @Test
+    void testMapGetTaskWithEncodedName() throws InvalidCommandFormatException {
+        BinaryCommand command = mapper.map("GET", URI.create("/tasks/my%20task?date=2023-01-20"), "");
+
+        assertEquals(CommandType.GET_TASK, command.type(), "Unexpected command type");
+        assertEquals("my task", command.getString(ParameterName.NAME), "The path parameter must be decoded");
+        assertEquals(LocalDate.of(2023, 1, 20), command.getDate(ParameterName.DATE),
+                "The query parameter must be decoded");
+    }
+
+    @Test
+    void testMapListTasksWithFilters() throws InvalidCommandFormatException {
+        BinaryCommand command = mapper.map("GET",
+                URI.create("/tasks?completed=true&label=work&due-from=2023-01-01"), null);
+
+        assertEquals(CommandType.LIST_TASKS, command.type(), "Unexpected command type");
+        assertEquals(true, command.getBoolean(ParameterName.COMPLETED), "Unexpected completed filter");
+        assertEquals("work", command.getString(ParameterName.LABEL), "Unexpected label filter");
+        assertEquals(LocalDate.of(2023, 1, 1), command.getDate(ParameterName.DUE_DATE_FROM),
+                "Unexpected due date filter");
+    }
+
+    @Test
+    void testMapAssignTask() throws InvalidCommandFormatException {
+        BinaryCommand command = mapper.map("POST", URI.create("/collaborations/project/tasks"),
+                "{\"user\": \"participant\", \"task\": \"task\"}");
+
+        assertEquals(CommandType.ASSIGN_TASK, command.type(), "Unexpected command type");
+        assertEquals("project", command.getString(ParameterName.COLLABORATION),
+                "The collaboration must be taken from the path");
+    }
+
+    @Test
+    void testMapPathParameterIsNotOverridden() throws InvalidCommandFormatException {
+        BinaryCommand command = mapper.map("PUT", URI.create("/tasks/task"), "{\"name\": \"other\"}");
+
+        assertEquals("task", command.getString(ParameterName.NAME),
+                "The body must not override the path parameters");
+    }
+
+    @Test
+    void testMapUnknownRoute() throws InvalidCommandFormatException {
+        assertNull(mapper.map("DELETE", URI.create("/stats"), null), "Unknown routes must not be mapped");
+        assertNull(mapper.map("GET", URI.create("/unknown"), null), "Unknown routes must not be mapped");
+    }
+
+    @Test
+    void testMapUnknownParameter() {
+        assertThrows(InvalidCommandFormatException.class,
+                () -> mapper.map("POST", URI.create("/tasks"), "{\"priority\": 1}"),
+                "Expected InvalidCommandFormatException to be thrown when the parameter is unknown");
+    }
+
+    @Test
+    void testMapInvalidDate() {
+        assertThrows(InvalidCommandFormatException.class,
+                () -> mapper.map("GET", URI.create("/tasks?date=20.01.2023"), null),
+                "Expected InvalidCommandFormatException to be thrown when the date is not in ISO format");
+    }
+
+    @Test
+    void testMapInvalidBody() {
+        assertThrows(InvalidCommandFormatException.class,
+                () -> mapper.map("POST", URI.create("/tasks"), "[1, 2]"),
+                "Expected InvalidCommandFormatException to be thrown when the body is not a JSON object");
+    }
+}
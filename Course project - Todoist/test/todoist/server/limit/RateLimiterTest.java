@@ -0,0 +1,79 @@
+package todoist.server.limit;
+
+import org.junit.jupiter.api.Test;
+import todoist.command.CommandType;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimit(10, 1), new RateLimit(15, 1), () -> 0L);
+
+    @Test
+    void testExpensiveCommandsConsumeMoreTokens() {
+        assertTrue(rateLimiter.tryAcquire(0, null, CommandType.LIST_TASKS), "The first listing must be allowed");
+        assertTrue(rateLimiter.tryAcquire(0, null, CommandType.LIST_TASKS), "The second listing must be allowed");
+        assertFalse(rateLimiter.tryAcquire(0, null, CommandType.LIST_TASKS),
+                "The listing must be rejected when the connection bucket is empty");
+    }
+
+    @Test
+    void testConnectionsHaveSeparateBuckets() {
+        rateLimiter.tryAcquire(0, null, CommandType.EXPORT);
+
+        assertFalse(rateLimiter.tryAcquire(0, null, CommandType.ADD_TASK),
+                "The command must be rejected when the connection bucket is empty");
+        assertTrue(rateLimiter.tryAcquire(1, null, CommandType.ADD_TASK),
+                "Another connection must not be affected by the exhausted bucket");
+    }
+
+    @Test
+    void testUserBucketIsSharedBetweenConnections() {
+        rateLimiter.tryAcquire(0, "user", CommandType.EXPORT);
+
+        assertFalse(rateLimiter.tryAcquire(1, "user", CommandType.EXPORT),
+                "The user must not bypass its limit by using several connections");
+        assertTrue(rateLimiter.tryAcquire(1, "user", CommandType.LIST_TASKS),
+                "The user must be allowed to use its remaining tokens");
+    }
+
+    @Test
+    void testRejectedCommandDoesNotConsumeTokens() {
+        rateLimiter.tryAcquire(0, "user", CommandType.EXPORT);
+        rateLimiter.tryAcquire(1, "user", CommandType.EXPORT);
+
+        assertTrue(rateLimiter.tryAcquire(1, null, CommandType.EXPORT),
+                "The connection bucket must not be consumed when the user bucket rejects the command");
+    }
+
+    @Test
+    void testOnlyFullUserBucketsAreEvicted() {
+        long[] now = {0};
+        RateLimiter limiter = new RateLimiter(new RateLimit(10, 1), new RateLimit(15, 1), () -> now[0]);
+        limiter.tryAcquire(0, "idle", CommandType.ADD_TASK);
+        now[0] = 2_000_000_000L;
+        limiter.tryAcquire(1, "active", CommandType.EXPORT);
+
+        assertEquals(1, limiter.evictFullBuckets(), "Only the refilled bucket of the idle user must be evicted");
+        assertFalse(limiter.tryAcquire(2, "active", CommandType.EXPORT),
+                "The bucket of the active user must be kept");
+    }
+
+    @Test
+    void testAddressesHaveSeparateBuckets() throws UnknownHostException {
+        InetAddress first = InetAddress.getLoopbackAddress();
+        InetAddress second = InetAddress.getByAddress(new byte[] {10, 0, 0, 1});
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire(first, CommandType.LOGIN);
+        }
+
+        assertFalse(rateLimiter.tryAcquire(first, CommandType.LOGIN),
+                "The login attempt must be rejected when the address bucket is empty");
+        assertTrue(rateLimiter.tryAcquire(second, CommandType.LOGIN),
+                "Another address must not be affected by the exhausted bucket");
+    }
+}
@@ -0,0 +1,49 @@
+package todoist.server.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testCreateRateLimitWithInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(0, 1),
+                "Expected IllegalArgumentException to be thrown when the capacity is not positive");
+    }
+
+    @Test
+    void testBucketIsFullInitially() {
+        TokenBucket bucket = new TokenBucket(new RateLimit(5, 1), clock::get);
+
+        assertTrue(bucket.tryConsume(5), "The bucket must be full when created");
+        assertFalse(bucket.tryConsume(1), "The bucket must be empty after consuming all tokens");
+    }
+
+    @Test
+    void testBucketIsRefilledOverTime() {
+        TokenBucket bucket = new TokenBucket(new RateLimit(5, 2), clock::get);
+        bucket.tryConsume(5);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(2, bucket.getAvailableTokens(), 1e-9, "Unexpected tokens after refill");
+        assertTrue(bucket.tryConsume(2), "The refilled tokens must be consumable");
+    }
+
+    @Test
+    void testBucketIsNotRefilledAboveCapacity() {
+        TokenBucket bucket = new TokenBucket(new RateLimit(5, 2), clock::get);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(5, bucket.getAvailableTokens(), 1e-9, "The tokens must not exceed the capacity");
+    }
+}
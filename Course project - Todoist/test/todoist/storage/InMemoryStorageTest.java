@@ -12,10 +12,19 @@ import todoist.exception.TaskNotFoundException;
 import todoist.exception.UserAlreadyExistsException;
 import todoist.exception.UserNotFoundException;
 import todoist.exception.WrongPasswordException;
+import todoist.storage.query.TaskQuery;
+import todoist.storage.statistics.CollaborationStatistics;
+import todoist.storage.statistics.Statistics;
+import todoist.task.Recurrence;
 import todoist.task.Task;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -576,6 +585,23 @@ public class InMemoryStorageTest {
         assertTrue(actual.contains(task2), "Expected task not returned");
     }
 
+    @Test
+    void testListTasksWithDateIsNotChangedByLaterTasks()
+            throws UserAlreadyExistsException, UserNotFoundException, TaskNameAlreadyExistsException,
+            TaskNotFoundException, InvalidTimeIntervalException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").setDate(LocalDate.now()).build());
+
+        Collection<Task> listed = storage.listTasks("username", LocalDate.now());
+        Collection<Task> completed = storage.listCompletedTasks("username");
+        storage.addTask("username", Task.builder("task2").setDate(LocalDate.now()).build());
+        storage.finishTask("username", "task1", LocalDate.now());
+
+        assertEquals(1, listed.size(), "The listed tasks must be a copy, which the later tasks do not change");
+        assertTrue(completed.isEmpty(), "The completed tasks must be a copy, which the later tasks do not change");
+    }
+
     @Test
     void testListTasksFromCollaborationNullCollaborationName() {
         assertThrows(IllegalArgumentException.class, () -> storage.listTasks("username", (String) null),
@@ -1068,4 +1094,464 @@ public class InMemoryStorageTest {
         assertTrue(response.contains("user1"), "Expected user not returned");
         assertTrue(response.contains("user2"), "Expected user not returned");
     }
+
+    @Test
+    void testQueryTasksNullQuery() throws UserAlreadyExistsException {
+        storage.addUser("username", "password");
+
+        assertThrows(IllegalArgumentException.class, () -> storage.queryTasks("username", null),
+                "Expected IllegalArgumentException to be thrown when the query is null");
+    }
+
+    @Test
+    void testQueryTasksUserNotFound() {
+        assertThrows(UserNotFoundException.class, () -> storage.queryTasks("username", TaskQuery.builder().build()),
+                "Expected UserNotFoundException to be thrown when the user does not exist");
+    }
+
+    @Test
+    void testQueryTasksByLabelAndDueDateRange() throws UserAlreadyExistsException, InvalidTimeIntervalException,
+            TaskNameAlreadyExistsException, UserNotFoundException, CollaborationNotFoundException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").setLabel("university")
+                .setDueDate(LocalDate.of(2023, 2, 10)).build());
+        storage.addTask("username", Task.builder("task2").setLabel("university")
+                .setDueDate(LocalDate.of(2023, 3, 10)).build());
+        storage.addTask("username", Task.builder("task3").setLabel("home")
+                .setDueDate(LocalDate.of(2023, 2, 12)).build());
+        storage.addTask("username", Task.builder("task4").setLabel("university").build());
+
+        TaskQuery query = TaskQuery.builder()
+                .setLabel("university")
+                .setDueDateFrom(LocalDate.of(2023, 2, 1))
+                .setDueDateTo(LocalDate.of(2023, 2, 28))
+                .build();
+
+        Collection<Task> response = storage.queryTasks("username", query);
+
+        assertEquals(List.of("task1"), response.stream().map(Task::getName).toList(),
+                "Only the tasks matching all filters must be returned");
+    }
+
+    @Test
+    void testQueryTasksByDateAndLabel() throws UserAlreadyExistsException, InvalidTimeIntervalException,
+            TaskNameAlreadyExistsException, UserNotFoundException, CollaborationNotFoundException {
+
+        LocalDate date = LocalDate.of(2023, 2, 10);
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").setDate(date).setLabel("home").build());
+        storage.addTask("username", Task.builder("task2").setDate(date).build());
+        storage.addTask("username", Task.builder("task3").setLabel("home").build());
+
+        TaskQuery query = TaskQuery.builder().setDate(date).setLabel("home").build();
+
+        assertEquals(List.of("task1"), storage.queryTasks("username", query).stream().map(Task::getName).toList(),
+                "Only the tasks with the given date and label must be returned");
+    }
+
+    @Test
+    void testQueryTasksCompletedWithLabel() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, CollaborationNotFoundException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").setLabel("home").build());
+        storage.addTask("username", Task.builder("task2").setLabel("home").build());
+        storage.addTask("username", Task.builder("task3").build());
+        storage.finishTask("username", "task1");
+        storage.finishTask("username", "task3");
+
+        TaskQuery completedQuery = TaskQuery.builder().setCompleted(true).setLabel("home").build();
+        TaskQuery activeQuery = TaskQuery.builder().setLabel("home").build();
+
+        assertEquals(List.of("task1"), storage.queryTasks("username", completedQuery).stream()
+                .map(Task::getName)
+                .toList(), "Only the completed tasks with the label must be returned");
+        assertEquals(List.of("task2"), storage.queryTasks("username", activeQuery).stream()
+                .map(Task::getName)
+                .toList(), "The completed tasks must not be returned when completed is not set");
+    }
+
+    @Test
+    void testQueryTasksUpdatedLabel() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, CollaborationNotFoundException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task").setLabel("home").build());
+        storage.updateTask("username", Task.builder("task").setLabel("work").build());
+
+        assertTrue(storage.queryTasks("username", TaskQuery.builder().setLabel("home").build()).isEmpty(),
+                "The task must not be found by its old label");
+        assertEquals(1, storage.queryTasks("username", TaskQuery.builder().setLabel("work").build()).size(),
+                "The task must be found by its new label");
+    }
+
+    @Test
+    void testQueryTasksCollaborationAndLabel() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, CollaborationNotFoundException,
+            CollaborationAlreadyExistsException, TaskAlreadyExistsException {
+
+        storage.addUser("username", "password");
+        storage.addUser("user1", "password");
+        storage.addCollaboration("username", "collaboration");
+        storage.addUserToCollaboration("username", "collaboration", "user1");
+        storage.addTask("username", Task.builder("task1").setLabel("work").build());
+        storage.addTask("username", Task.builder("task2").build());
+        storage.addTask("username", Task.builder("task3").setLabel("work").build());
+        storage.assignTask("username", "collaboration", "user1", "task1");
+        storage.assignTask("username", "collaboration", "user1", "task2");
+
+        TaskQuery query = TaskQuery.builder().setCollaboration("collaboration").setLabel("work").build();
+
+        assertEquals(Set.of("task1"), Set.copyOf(storage.queryTasks("user1", query).stream()
+                .map(Task::getName)
+                .toList()), "Only the collaboration tasks with the label must be returned");
+    }
+
+    @Test
+    void testQueryTasksCollaborationIntersectsIndexesOfOwner() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException,
+            CollaborationNotFoundException, CollaborationAlreadyExistsException, TaskAlreadyExistsException,
+            InvalidTimeIntervalException {
+
+        LocalDate first = LocalDate.of(2023, 1, 20);
+        LocalDate second = LocalDate.of(2023, 1, 21);
+
+        storage.addUser("username", "password");
+        storage.addUser("user1", "password");
+        storage.addCollaboration("username", "collaboration");
+        storage.addUserToCollaboration("username", "collaboration", "user1");
+        storage.addTask("username", Task.builder("task1").setDate(first).build());
+        storage.addTask("username", Task.builder("task2").setDate(first).build());
+        storage.addTask("username", Task.builder("task3").setDate(second).build());
+        storage.addTask("username", Task.builder("task4").setDate(second).build());
+        storage.assignTask("username", "collaboration", "user1", "task1", first);
+        storage.assignTask("username", "collaboration", "user1", "task2", first);
+        storage.assignTask("username", "collaboration", "user1", "task3", second);
+        storage.finishTask("username", "task2", first);
+
+        TaskQuery byDate = TaskQuery.builder().setCollaboration("collaboration").setDate(second).build();
+        TaskQuery active = TaskQuery.builder().setCollaboration("collaboration").build();
+        TaskQuery completed = TaskQuery.builder().setCollaboration("collaboration").setCompleted(true).build();
+
+        assertEquals(List.of("task3"), storage.queryTasks("user1", byDate).stream().map(Task::getName).toList(),
+                "Only the collaboration tasks on the date must be returned");
+        assertEquals(Set.of("task1", "task3"), Set.copyOf(storage.queryTasks("user1", active).stream()
+                .map(Task::getName)
+                .toList()), "Only the collaboration tasks which are not completed must be returned");
+        assertEquals(List.of("task2"), storage.queryTasks("user1", completed).stream().map(Task::getName).toList(),
+                "Only the completed collaboration tasks must be returned");
+    }
+
+    @Test
+    void testQueryTasksCollaborationNotFound() throws UserAlreadyExistsException {
+        storage.addUser("username", "password");
+
+        TaskQuery query = TaskQuery.builder().setCollaboration("collaboration").setCompleted(true).build();
+
+        assertThrows(CollaborationNotFoundException.class, () -> storage.queryTasks("username", query),
+                "Expected CollaborationNotFoundException to be thrown when the collaboration does not exist");
+    }
+
+    @Test
+    void testAddTasksSkipsExistingTasks() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").build());
+
+        Collection<Task> added = storage.addTasks("username",
+                List.of(Task.builder("task1").build(), Task.builder("task2").build()));
+
+        assertEquals(List.of("task2"), added.stream().map(Task::getName).toList(),
+                "Only the tasks with new names must be added");
+        assertEquals(2, storage.listTasks("username").size(), "Unexpected count of tasks after adding a batch");
+    }
+
+    @Test
+    void testForEachTaskCompleted() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").build());
+        storage.addTask("username", Task.builder("task2").setDate(LocalDate.of(2023, 1, 20)).build());
+        storage.addTask("username", Task.builder("task3").build());
+        storage.finishTask("username", "task3");
+
+        List<String> active = new ArrayList<>();
+        List<String> completed = new ArrayList<>();
+        storage.forEachTask("username", false, task -> active.add(task.getName()));
+        storage.forEachTask("username", true, task -> completed.add(task.getName()));
+
+        assertEquals(Set.of("task1", "task2"), Set.copyOf(active), "Unexpected tasks iterated");
+        assertEquals(List.of("task3"), completed, "Unexpected completed tasks iterated");
+    }
+
+    @Test
+    void testGetStatistics() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate today = LocalDate.of(2023, 1, 20);
+        storage = new InMemoryStorage(Clock.fixed(today.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task1").setDueDate(today.minusDays(1)).build());
+        storage.addTask("username", Task.builder("task2").setDueDate(today.plusDays(1)).build());
+        storage.addTask("username", Task.builder("task3").build());
+        storage.finishTask("username", "task3");
+
+        Statistics statistics = storage.getStatistics("username");
+
+        assertEquals(2, statistics.activeTasks(), "Unexpected count of active tasks");
+        assertEquals(1, statistics.overdueTasks(), "Unexpected count of overdue tasks");
+        assertEquals(1, statistics.completedToday(), "Unexpected count of tasks completed today");
+        assertEquals(1, statistics.completedThisWeek(), "Unexpected count of tasks completed this week");
+    }
+
+    @Test
+    void testGetStatisticsCollaborationCompletionRate() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException,
+            CollaborationAlreadyExistsException, CollaborationNotFoundException, TaskAlreadyExistsException {
+
+        storage.addUser("username", "password");
+        storage.addUser("user1", "password");
+        storage.addCollaboration("username", "collaboration");
+        storage.addUserToCollaboration("username", "collaboration", "user1");
+        storage.addTask("username", Task.builder("task1").build());
+        storage.addTask("username", Task.builder("task2").build());
+        storage.assignTask("username", "collaboration", "user1", "task1");
+        storage.assignTask("username", "collaboration", "user1", "task2");
+        storage.finishTask("username", "task1");
+
+        assertEquals(List.of(new CollaborationStatistics("collaboration", 2, 1)),
+                storage.getStatistics("user1").collaborations(),
+                "The completion rate of the collaboration must be visible to its participants");
+    }
+
+    @Test
+    void testGetStatisticsCollaborationAfterDeletingAssignedTask() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException,
+            CollaborationAlreadyExistsException, CollaborationNotFoundException, TaskAlreadyExistsException {
+
+        storage.addUser("username", "password");
+        storage.addUser("user1", "password");
+        storage.addCollaboration("username", "collaboration");
+        storage.addUserToCollaboration("username", "collaboration", "user1");
+        storage.addTask("username", Task.builder("task1").build());
+        storage.addTask("username", Task.builder("task2").build());
+        storage.assignTask("username", "collaboration", "user1", "task1");
+        storage.assignTask("username", "collaboration", "user1", "task2");
+        storage.deleteTask("username", "task1");
+
+        assertEquals(List.of(new CollaborationStatistics("collaboration", 1, 0)),
+                storage.getStatistics("username").collaborations(),
+                "The deleted task must not be counted in the collaboration");
+        assertEquals(1, storage.getCollaborations("username").iterator().next().getTasks().size(),
+                "The deleted task must not stay assigned in the collaboration");
+    }
+
+    @Test
+    void testGetStatisticsCollaborationCountsCompletedTaskPerAssignment() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException,
+            CollaborationAlreadyExistsException, CollaborationNotFoundException, TaskAlreadyExistsException {
+
+        storage.addUser("username", "password");
+        storage.addUser("user1", "password");
+        storage.addUser("user2", "password");
+        storage.addCollaboration("username", "collaboration");
+        storage.addUserToCollaboration("username", "collaboration", "user1");
+        storage.addUserToCollaboration("username", "collaboration", "user2");
+        storage.addTask("username", Task.builder("shared").build());
+        storage.addTask("username", Task.builder("single").build());
+        storage.assignTask("username", "collaboration", "user1", "shared");
+        storage.assignTask("username", "collaboration", "user2", "shared");
+        storage.assignTask("username", "collaboration", "user1", "single");
+        storage.finishTask("username", "shared");
+
+        assertEquals(List.of(new CollaborationStatistics("collaboration", 3, 2)),
+                storage.getStatistics("username").collaborations(),
+                "The task assigned to two users must be counted once per assignment");
+    }
+
+    @Test
+    void testListDashboardUsesClock() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate today = LocalDate.of(2023, 1, 20);
+        storage = new InMemoryStorage(Clock.fixed(today.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task").setDate(today).build());
+
+        assertEquals(1, storage.listDashboard("username").size(), "The dashboard must list the tasks of the clock's day");
+    }
+
+    @Test
+    void testGetStatisticsAfterDeletingOverdueTask() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException,
+            InvalidTimeIntervalException {
+
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("task").setDueDate(LocalDate.of(2000, 1, 1)).build());
+        storage.getStatistics("username");
+        storage.deleteTask("username", "task");
+
+        assertEquals(0, storage.getStatistics("username").overdueTasks(),
+                "The deleted task must not be counted as overdue");
+    }
+
+    @Test
+    void testListTasksForDateGeneratesOccurrences() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException,
+            InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        Collection<Task> tasks = storage.listTasks("username", start.plusYears(5));
+
+        assertEquals(1, tasks.size(), "The occurrence of the recurring task must be generated for the date");
+        assertEquals(start.plusYears(5), tasks.iterator().next().getDate(),
+                "The occurrence must have the queried date");
+    }
+
+    @Test
+    void testAddRecurringTaskOccurringOnExistingTask() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start.plusDays(3)).build());
+
+        assertThrows(TaskNameAlreadyExistsException.class, () -> storage.addTask("username",
+                        Task.builder("daily").setDate(start).setRecurrence(Recurrence.daily(null)).build()),
+                "Expected TaskNameAlreadyExistsException to be thrown when the recurring task occurs on the date " +
+                        "of an existing task with the same name");
+    }
+
+    @Test
+    void testFinishTaskOccurrence() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        storage.finishTask("username", "daily", start.plusDays(1));
+
+        assertThrows(TaskNotFoundException.class, () -> storage.listTasks("username", start.plusDays(1)),
+                "The finished occurrence must not be generated again");
+        assertEquals(List.of(start.plusDays(1)), storage.listCompletedTasks("username").stream()
+                .map(Task::getDate)
+                .toList(), "The finished occurrence must be stored as completed");
+        assertEquals(1, storage.listTasks("username", start.plusDays(2)).size(),
+                "The other occurrences must not be affected");
+    }
+
+    @Test
+    void testUpdateTaskOccurrence() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        storage.updateTask("username", Task.builder("daily").setDate(start.plusDays(3))
+                .setDescription("edited").build());
+
+        assertEquals("edited", storage.getTask("username", "daily", start.plusDays(3)).getDescription(),
+                "The edited occurrence must be returned");
+        assertEquals(1, storage.listTasks("username", start.plusDays(3)).size(),
+                "The edited occurrence must replace the generated one");
+        assertNull(storage.getTask("username", "daily", start.plusDays(4)).getDescription(),
+                "The other occurrences must not be edited");
+    }
+
+    @Test
+    void testDeleteRecurringTask() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        storage.deleteTask("username", "daily", start.plusDays(1));
+        assertThrows(TaskNotFoundException.class, () -> storage.getTask("username", "daily", start.plusDays(1)),
+                "The deleted occurrence must not be generated");
+
+        storage.deleteTask("username", "daily");
+        assertTrue(storage.listTasks("username").isEmpty(), "The deleted series must not be listed");
+    }
+
+    @Test
+    void testFinishRecurringTaskWithoutDateThrowsException() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        assertThrows(TaskNotFoundException.class, () -> storage.finishTask("username", "daily"),
+                "The finish of a recurring task must require the date of its occurrence");
+        assertEquals(1, storage.listTasks("username").size(), "The series must not be removed");
+        assertTrue(storage.listCompletedTasks("username").isEmpty(), "The series must not be completed");
+    }
+
+    @Test
+    void testGetRecurringTaskWithoutDateThrowsException() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
+                () -> storage.getTask("username", "daily"),
+                "The get of a recurring task must require the date of its occurrence");
+        assertTrue(exception.getMessage().contains("recurring"), "The message must ask for the date");
+    }
+
+    @Test
+    void testGetStatisticsCountsRecurringTasks() throws UserAlreadyExistsException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException, InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 20);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("daily").setDate(start)
+                .setRecurrence(Recurrence.daily(null)).build());
+        storage.addTask("username", Task.builder("task").build());
+
+        assertEquals(2, storage.getStatistics("username").activeTasks(),
+                "The series must be counted as one active task");
+
+        storage.deleteTask("username", "daily");
+        assertEquals(1, storage.getStatistics("username").activeTasks(),
+                "The deleted series must not be counted");
+    }
+
+    @Test
+    void testQueryTasksDueDateRangeGeneratesOccurrences() throws UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, CollaborationNotFoundException,
+            InvalidTimeIntervalException {
+
+        LocalDate start = LocalDate.of(2023, 1, 2);
+        storage.addUser("username", "password");
+        storage.addTask("username", Task.builder("weekly").setDate(start).setDueDate(start)
+                .setLabel("work").setRecurrence(Recurrence.weekly(null)).build());
+
+        TaskQuery query = TaskQuery.builder().setLabel("work")
+                .setDueDateFrom(start.plusDays(1)).setDueDateTo(start.plusWeeks(3)).build();
+
+        assertEquals(List.of(start.plusWeeks(1), start.plusWeeks(2), start.plusWeeks(3)),
+                storage.queryTasks("username", query).stream()
+                        .map(Task::getDueDate)
+                        .toList(), "The occurrences due in the range must be generated");
+    }
 }
@@ -0,0 +1,236 @@
+package todoist.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import todoist.collaboration.Collaboration;
+import todoist.exception.CollaborationAlreadyExistsException;
+import todoist.exception.CollaborationNotFoundException;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.exception.TaskAlreadyExistsException;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.segment.SegmentStore;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedStorageTest {
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 20);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testUsersAreNotLoadedOnStartup() throws IOException, UserAlreadyExistsException {
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            assertFalse(storage.isUserLoaded("user"), "The user data must not be loaded before first access");
+        }
+    }
+
+    @Test
+    void testUserIsLoadedOnLogin() throws IOException, UserAlreadyExistsException, UserNotFoundException,
+            WrongPasswordException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.checkPassword("user", "password");
+            assertTrue(storage.isUserLoaded("user"), "The user data must be loaded after login");
+        }
+    }
+
+    @Test
+    void testCheckPasswordAfterRestartWrongPassword() throws IOException, UserAlreadyExistsException {
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            assertThrows(WrongPasswordException.class, () -> storage.checkPassword("user", "wrong"),
+                    "Expected WrongPasswordException to be thrown when the password does not match the index");
+        }
+    }
+
+    @Test
+    void testEvictIdleUsers() throws IOException, UserAlreadyExistsException {
+        try (SegmentedStorage storage = newStorage(Duration.ZERO)) {
+            storage.addUser("user", "password");
+            storage.evictIdleUsers(0);
+
+            assertFalse(storage.isUserLoaded("user"), "The idle user must be evicted");
+        }
+    }
+
+    @Test
+    void testEvictIdleUsersActiveUserStaysLoaded() throws IOException, UserAlreadyExistsException {
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+            storage.evictIdleUsers(0);
+
+            assertTrue(storage.isUserLoaded("user"), "The active user must not be evicted");
+        }
+    }
+
+    @Test
+    void testTasksAreReloadedAfterEviction() throws IOException, UserAlreadyExistsException,
+            InvalidTimeIntervalException, TaskNameAlreadyExistsException, UserNotFoundException,
+            TaskNotFoundException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ZERO)) {
+            storage.addUser("user", "password");
+            storage.addTask("user", Task.builder("inbox task").build());
+            storage.addTask("user", Task.builder("dated task").setDate(DATE).setDescription("description").build());
+            storage.addTask("user", Task.builder("finished task").build());
+            storage.finishTask("user", "finished task");
+
+            storage.evictIdleUsers(0);
+
+            assertEquals("inbox task", storage.getTask("user", "inbox task").getName(),
+                    "The inbox task must be loaded from the user segment");
+            assertEquals("description", storage.getTask("user", "dated task", DATE).getDescription(),
+                    "The dated task must be loaded from the user segment");
+            assertEquals(1, storage.listCompletedTasks("user").size(),
+                    "The completed tasks must be loaded from the user segment");
+        }
+    }
+
+    @Test
+    void testTasksArePersistedAfterRestart() throws IOException, UserAlreadyExistsException,
+            InvalidTimeIntervalException, TaskNameAlreadyExistsException, UserNotFoundException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+            storage.addTask("user", Task.builder("task").setDate(DATE).build());
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            Collection<Task> tasks = storage.listTasks("user");
+
+            assertEquals(1, tasks.size(), "The tasks must be persisted after restart");
+            assertEquals(DATE, tasks.iterator().next().getDate(), "The task date must be persisted after restart");
+        }
+    }
+
+    @Test
+    void testCollaborationsAreReloadedAfterEviction() throws IOException, UserAlreadyExistsException,
+            CollaborationAlreadyExistsException, UserNotFoundException, CollaborationNotFoundException,
+            TaskNameAlreadyExistsException, TaskNotFoundException, TaskAlreadyExistsException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ZERO)) {
+            storage.addUser("owner", "password");
+            storage.addUser("participant", "password");
+            storage.addCollaboration("owner", "project");
+            storage.addUserToCollaboration("owner", "project", "participant");
+            storage.addTask("owner", Task.builder("task").build());
+            storage.assignTask("owner", "project", "participant", "task");
+
+            storage.evictIdleUsers(0);
+
+            Collection<Collaboration> collaborations = storage.getCollaborations("participant");
+
+            assertTrue(storage.isUserLoaded("owner"),
+                    "The owner of the collaboration must be loaded together with the participant");
+            assertEquals(1, collaborations.size(), "The collaboration of the participant must be reloaded");
+            assertEquals(List.of("task"), storage.listTasks("participant", "project").stream()
+                    .map(Task::getName)
+                    .toList(), "The tasks of the collaboration must be reloaded");
+        }
+    }
+
+    @Test
+    void testOwnerStaysLoadedWhileParticipantIsActive() throws IOException, UserAlreadyExistsException,
+            CollaborationAlreadyExistsException, UserNotFoundException, CollaborationNotFoundException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("owner", "password");
+            storage.addUser("participant", "password");
+            storage.addCollaboration("owner", "project");
+            storage.addUserToCollaboration("owner", "project", "participant");
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.getCollaborations("participant");
+            storage.evictIdleUsers(0);
+
+            assertTrue(storage.isUserLoaded("owner"),
+                    "The owner must stay loaded while a participant in its collaboration is loaded");
+        }
+    }
+
+    @Test
+    void testDeletedCollaborationIsNotReloaded() throws IOException, UserAlreadyExistsException,
+            CollaborationAlreadyExistsException, UserNotFoundException, CollaborationNotFoundException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ZERO)) {
+            storage.addUser("owner", "password");
+            storage.addUser("participant", "password");
+            storage.addCollaboration("owner", "project");
+            storage.addUserToCollaboration("owner", "project", "participant");
+            storage.deleteCollaboration("owner", "project");
+
+            storage.evictIdleUsers(0);
+
+            assertTrue(storage.getCollaborations("participant").isEmpty(),
+                    "The deleted collaboration must not be reloaded for the participant");
+        }
+    }
+
+    @Test
+    void testCompletedTasksStatisticsArePersistedAfterRestart() throws IOException, UserAlreadyExistsException,
+            TaskNameAlreadyExistsException, UserNotFoundException, TaskNotFoundException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+            storage.addTask("user", Task.builder("task").build());
+            storage.finishTask("user", "task");
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            assertEquals(1, storage.getStatistics("user").completedToday(),
+                    "The completed tasks per day must be persisted after restart");
+        }
+    }
+
+    @Test
+    void testRecurringTasksArePersistedAfterRestart() throws IOException, UserAlreadyExistsException,
+            InvalidTimeIntervalException, TaskNameAlreadyExistsException, UserNotFoundException,
+            TaskNotFoundException {
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            storage.addUser("user", "password");
+            storage.addTask("user", Task.builder("task").setDate(DATE).setRecurrence(Recurrence.weekly(null)).build());
+            storage.deleteTask("user", "task", DATE.plusWeeks(1));
+        }
+
+        try (SegmentedStorage storage = newStorage(Duration.ofMinutes(1))) {
+            assertEquals(1, storage.listTasks("user", DATE.plusWeeks(2)).size(),
+                    "The recurring task must be persisted after restart");
+            assertThrows(TaskNotFoundException.class, () -> storage.listTasks("user", DATE.plusWeeks(1)),
+                    "The exceptions of the recurring task must be persisted after restart");
+        }
+    }
+
+    private SegmentedStorage newStorage(Duration idleTimeout) throws IOException {
+        return new SegmentedStorage(new SegmentStore(directory), idleTimeout);
+    }
+}
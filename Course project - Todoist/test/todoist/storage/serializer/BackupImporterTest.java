@@ -0,0 +1,91 @@
+package todoist.storage.serializer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import todoist.exception.UserNotFoundException;
+import todoist.exception.WrongPasswordException;
+import todoist.storage.SegmentedStorage;
+import todoist.storage.segment.SegmentStore;
+import todoist.storage.statistics.CollaborationStatistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BackupImporterTest {
+    private static final String BACKUP = """
+            {
+              "users": {"owner": "password", "participant": "secret"},
+              "inbox": {"owner": {"first": {"name": "first", "description": "inbox task"}}, "participant": {}},
+              "tasksByDate": {"owner": {"2023-01-20": {"second": {"name": "second", "date": "2023-01-20"}}}},
+              "completedTasks": {"owner": [{"name": "done"}], "participant": []},
+              "createdCollaborations": {
+                "owner": {
+                  "project": {
+                    "name": "project",
+                    "tasks": {"participant": [{"name": "first"}, {"name": "done"}]},
+                    "users": ["participant"]
+                  }
+                }
+              },
+              "assignedCollaborations": {"participant": {"project": {"name": "project", "users": ["participant"]}}}
+            }
+            """;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testBackupIsImportedIntoSegments() throws IOException, UserNotFoundException, WrongPasswordException {
+        Path backupFile = directory.resolve("backup.json");
+        Files.writeString(backupFile, BACKUP);
+        SegmentStore segmentStore = new SegmentStore(directory.resolve("storage"));
+
+        assertEquals(2, new BackupImporter(backupFile, segmentStore).importBackup(),
+                "All users of the backup must be imported");
+
+        try (SegmentedStorage storage = new SegmentedStorage(segmentStore, Duration.ofMinutes(1))) {
+            assertDoesNotThrow(() -> storage.checkPassword("participant", "secret"),
+                    "The credentials must be imported");
+            assertEquals(2, storage.listTasks("owner").size(), "The inbox and the dated tasks must be imported");
+            assertEquals(1, storage.listCompletedTasks("owner").size(), "The completed tasks must be imported");
+            assertEquals(1, storage.getCollaborations("participant").size(),
+                    "The participant must see the collaborations of the owner");
+            assertEquals(List.of(new CollaborationStatistics("project", 2, 1)),
+                    storage.getStatistics("owner").collaborations(),
+                    "The task counters of the collaborations must be counted again");
+        }
+    }
+
+    @Test
+    void testBackupIsImportedOnlyOnce() throws IOException {
+        Path backupFile = directory.resolve("backup.json");
+        Files.writeString(backupFile, BACKUP);
+        SegmentStore segmentStore = new SegmentStore(directory.resolve("storage"));
+
+        new BackupImporter(backupFile, segmentStore).importBackup();
+
+        assertFalse(Files.exists(backupFile), "The imported backup must be renamed");
+        assertTrue(Files.exists(directory.resolve("backup.json.imported")), "The imported backup must be kept");
+
+        Files.writeString(backupFile, BACKUP);
+        assertEquals(-1, new BackupImporter(backupFile, segmentStore).importBackup(),
+                "The backup must not be imported into a store which already has an index");
+    }
+
+    @Test
+    void testMissingBackupIsNotImported() throws IOException {
+        SegmentStore segmentStore = new SegmentStore(directory.resolve("storage"));
+
+        assertEquals(-1, new BackupImporter(directory.resolve("backup.json"), segmentStore).importBackup(),
+                "Nothing must be imported without a backup");
+        assertFalse(segmentStore.hasIndex(), "No index must be written without a backup");
+    }
+}
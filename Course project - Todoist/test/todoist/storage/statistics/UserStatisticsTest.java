@@ -0,0 +1,58 @@
+package todoist.storage.statistics;
+
+import org.junit.jupiter.api.Test;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.task.Task;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserStatisticsTest {
+    private static final LocalDate TODAY = LocalDate.of(2023, 1, 20);
+
+    @Test
+    void testOverdueTasksAreCountedIncrementally() throws InvalidTimeIntervalException {
+        UserStatistics statistics = new UserStatistics();
+        statistics.taskAdded(Task.builder("task1").setDueDate(TODAY.minusDays(1)).build());
+        statistics.taskAdded(Task.builder("task2").setDueDate(TODAY.plusDays(1)).build());
+
+        assertEquals(1, statistics.getOverdueTasks(TODAY), "Only the task due before today must be overdue");
+        assertEquals(2, statistics.getOverdueTasks(TODAY.plusDays(2)), "Both tasks must be overdue later");
+    }
+
+    @Test
+    void testRemovedOverdueTaskIsNotCounted() throws InvalidTimeIntervalException {
+        Task task = Task.builder("task").setDueDate(TODAY.minusDays(1)).build();
+
+        UserStatistics statistics = new UserStatistics();
+        statistics.taskAdded(task);
+        statistics.getOverdueTasks(TODAY);
+        statistics.taskRemoved(task);
+
+        assertEquals(0, statistics.getOverdueTasks(TODAY), "The removed task must not be overdue");
+        assertEquals(0, statistics.getActiveTasks(), "The removed task must not be active");
+    }
+
+    @Test
+    void testOverdueTasksWhenDateMovesBackwards() throws InvalidTimeIntervalException {
+        UserStatistics statistics = new UserStatistics();
+        statistics.taskAdded(Task.builder("task").setDueDate(TODAY).build());
+        statistics.getOverdueTasks(TODAY.plusDays(1));
+
+        assertEquals(0, statistics.getOverdueTasks(TODAY), "The task must not be overdue on its due date");
+    }
+
+    @Test
+    void testCompletedTasksInRange() {
+        UserStatistics statistics = new UserStatistics(Map.of(TODAY.minusDays(7), 5));
+        statistics.taskCompleted(TODAY);
+        statistics.taskCompleted(TODAY.minusDays(1));
+        statistics.taskCompleted(TODAY.minusDays(1));
+
+        assertEquals(1, statistics.getCompletedTasks(TODAY), "Unexpected count of tasks completed today");
+        assertEquals(3, statistics.getCompletedTasks(TODAY.minusDays(6), TODAY),
+                "Unexpected count of tasks completed in the range");
+    }
+}
@@ -0,0 +1,88 @@
+package todoist.task;
+
+import org.junit.jupiter.api.Test;
+import todoist.exception.InvalidTimeIntervalException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RecurringTaskTest {
+    private static final LocalDate START = LocalDate.of(2023, 1, 20);
+
+    @Test
+    void testCreateRecurrenceWithInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new Recurrence(0, null),
+                "Expected IllegalArgumentException to be thrown when the interval is not positive");
+    }
+
+    @Test
+    void testRecurrenceEndBeforeDate() {
+        assertThrows(InvalidTimeIntervalException.class,
+                () -> Task.builder("task").setDate(START).setRecurrence(Recurrence.daily(START.minusDays(1))),
+                "Expected InvalidTimeIntervalException to be thrown when the recurrence ends before the date");
+    }
+
+    @Test
+    void testNextOccurrence() {
+        Recurrence recurrence = new Recurrence(3, START.plusDays(10));
+
+        assertEquals(START, recurrence.nextOccurrence(START, START.minusDays(5)), "Unexpected first occurrence");
+        assertEquals(START.plusDays(6), recurrence.nextOccurrence(START, START.plusDays(4)),
+                "Unexpected next occurrence");
+        assertNull(recurrence.nextOccurrence(START, START.plusDays(10)),
+                "There must be no occurrence after the end of the recurrence");
+    }
+
+    @Test
+    void testOccursOn() throws InvalidTimeIntervalException {
+        RecurringTask series = new RecurringTask(Task.builder("task").setDate(START)
+                .setRecurrence(Recurrence.weekly(null)).build());
+
+        assertTrue(series.occursOn(START.plusWeeks(100)), "The weekly task must occur every week");
+        assertFalse(series.occursOn(START.plusDays(8)), "The weekly task must not occur between the weeks");
+        assertFalse(series.occursOn(START.minusWeeks(1)), "The task must not occur before its date");
+    }
+
+    @Test
+    void testOccurrenceIsExcludedAfterException() throws InvalidTimeIntervalException {
+        RecurringTask series = new RecurringTask(Task.builder("task").setDate(START)
+                .setRecurrence(Recurrence.daily(null)).build());
+        series.addException(START.plusDays(1));
+
+        assertFalse(series.occursOn(START.plusDays(1)), "The excluded occurrence must not be generated");
+        assertEquals(List.of(START, START.plusDays(2)), series.getOccurrences(START, START.plusDays(2))
+                .map(Task::getDate)
+                .toList(), "The excluded occurrence must be skipped in the range");
+    }
+
+    @Test
+    void testOccurrenceKeepsDueDateOffset() throws InvalidTimeIntervalException {
+        RecurringTask series = new RecurringTask(Task.builder("task").setDate(START).setDueDate(START.plusDays(2))
+                .setRecurrence(Recurrence.weekly(null)).build());
+
+        Task occurrence = series.getOccurrence(START.plusWeeks(1));
+
+        assertEquals(START.plusWeeks(1).plusDays(2), occurrence.getDueDate(),
+                "The due date of the occurrence must keep its offset from the date");
+        assertNull(occurrence.getRecurrence(), "The occurrence must not be recurring");
+    }
+
+    @Test
+    void testOccurrencesDueBetween() throws InvalidTimeIntervalException {
+        RecurringTask series = new RecurringTask(Task.builder("task").setDate(START).setDueDate(START.plusDays(1))
+                .setRecurrence(Recurrence.daily(null)).build());
+
+        assertEquals(List.of(START.plusDays(1), START.plusDays(2)),
+                series.getOccurrencesDueBetween(START.plusDays(2), START.plusDays(3))
+                        .map(Task::getDate)
+                        .toList(), "Unexpected occurrences due in the range");
+        assertEquals(0, series.getOccurrencesDueBetween(START, null).count(),
+                "A range without an end must not be expanded for a series without an end");
+    }
+}
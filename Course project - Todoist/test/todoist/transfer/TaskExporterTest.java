@@ -0,0 +1,100 @@
+package todoist.transfer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import todoist.exception.InvalidTimeIntervalException;
+import todoist.exception.TaskNameAlreadyExistsException;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.storage.InMemoryStorage;
+import todoist.task.Recurrence;
+import todoist.task.Task;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskExporterTest {
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void setUp() throws UserAlreadyExistsException, InvalidTimeIntervalException, TaskNameAlreadyExistsException,
+            UserNotFoundException, TaskNotFoundException {
+
+        storage = new InMemoryStorage();
+        storage.addUser("user", "password");
+        storage.addTask("user", Task.builder("inbox task").setDescription("with, comma").build());
+        storage.addTask("user", Task.builder("dated task").setDate(LocalDate.of(2023, 1, 20))
+                .setLabel("work").build());
+        storage.addTask("user", Task.builder("finished task").build());
+        storage.finishTask("user", "finished task");
+    }
+
+    @Test
+    void testExportCsvTasks() throws IOException, UserNotFoundException {
+        StringWriter writer = new StringWriter();
+
+        TransferResult result = new TaskExporter(storage).exportTasks("user", false, writer, new CsvTaskFormat(),
+                exported -> { });
+
+        String[] lines = writer.toString().split(System.lineSeparator());
+
+        assertEquals(2, result.transferred(), "Unexpected count of exported tasks");
+        assertEquals("name,date,due-date,description,label,interval,until", lines[0],
+                "The header must be exported first");
+        assertEquals(Set.of("inbox task,,,\"with, comma\",,,", "dated task,20.01.2023,,,work,,"),
+                Set.of(lines[1], lines[2]), "Unexpected exported tasks");
+    }
+
+    @Test
+    void testExportCompletedTasks() throws IOException, UserNotFoundException {
+        StringWriter writer = new StringWriter();
+
+        TransferResult result = new TaskExporter(storage).exportTasks("user", true, writer, new JsonTaskFormat(),
+                exported -> { });
+
+        assertEquals(1, result.transferred(), "Only the completed tasks must be exported");
+        assertTrue(writer.toString().contains("finished task"), "The completed task must be exported");
+    }
+
+    @Test
+    void testExportedTasksCanBeImported() throws IOException, UserNotFoundException, UserAlreadyExistsException {
+        StringWriter writer = new StringWriter();
+        new TaskExporter(storage).exportTasks("user", false, writer, new JsonTaskFormat(), exported -> { });
+
+        storage.addUser("other", "password");
+        TransferResult result = new TaskImporter(storage).importTasks("other", new StringReader(writer.toString()),
+                new JsonTaskFormat(), processed -> { });
+
+        assertEquals(2, result.transferred(), "All exported tasks must be imported");
+        assertEquals(Set.copyOf(storage.listTasks("user")), Set.copyOf(storage.listTasks("other")),
+                "The imported tasks must be equal to the exported ones");
+    }
+
+    @Test
+    void testExportedCsvTasksCanBeImported() throws IOException, UserNotFoundException, UserAlreadyExistsException,
+            InvalidTimeIntervalException, TaskNameAlreadyExistsException {
+
+        storage.addTask("user", Task.builder("multiline task").setDescription("first line\nsecond, \"quoted\" line")
+                .build());
+        storage.addTask("user", Task.builder("recurring task").setDate(LocalDate.of(2023, 1, 20))
+                .setRecurrence(Recurrence.weekly(LocalDate.of(2023, 3, 1))).build());
+
+        StringWriter writer = new StringWriter();
+        new TaskExporter(storage).exportTasks("user", false, writer, new CsvTaskFormat(), exported -> { });
+
+        storage.addUser("other", "password");
+        TransferResult result = new TaskImporter(storage).importTasks("other", new StringReader(writer.toString()),
+                new CsvTaskFormat(), processed -> { });
+
+        assertEquals(4, result.transferred(), "All exported tasks must be imported");
+        assertEquals(Set.copyOf(storage.listTasks("user")), Set.copyOf(storage.listTasks("other")),
+                "The imported tasks must be equal to the exported ones");
+    }
+}
@@ -0,0 +1,129 @@
+package todoist.transfer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import todoist.exception.TaskNotFoundException;
+import todoist.exception.UserAlreadyExistsException;
+import todoist.exception.UserNotFoundException;
+import todoist.storage.InMemoryStorage;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskImporterTest {
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void setUp() throws UserAlreadyExistsException {
+        storage = new InMemoryStorage();
+        storage.addUser("user", "password");
+    }
+
+    @Test
+    void testCreateImporterWithInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskImporter(storage, 0),
+                "Expected IllegalArgumentException to be thrown when the batch size is not positive");
+    }
+
+    @Test
+    void testImportJsonTasks() throws IOException, UserNotFoundException, TaskNotFoundException {
+        String input = """
+                {"name":"first","date":"2023-01-20","label":"work"}
+                {"name":"second","description":"description"}
+                """;
+
+        TransferResult result = new TaskImporter(storage).importTasks("user", new StringReader(input),
+                new JsonTaskFormat(), processed -> { });
+
+        assertEquals(2, result.transferred(), "Unexpected count of imported tasks");
+        assertEquals("work", storage.getTask("user", "first", LocalDate.of(2023, 1, 20)).getLabel(),
+                "The label of the imported task must be preserved");
+        assertEquals("description", storage.getTask("user", "second").getDescription(),
+                "The description of the imported task must be preserved");
+    }
+
+    @Test
+    void testImportCsvTasksSkipsHeaderAndInvalidLines() throws IOException, UserNotFoundException {
+        String input = """
+                name,date,due-date,description,label
+                first,20.01.2023,,"description, with comma",
+                ,20.01.2023,,,
+                second,invalid,,,
+                third,,,,home
+                """;
+
+        TransferResult result = new TaskImporter(storage).importTasks("user", new StringReader(input),
+                new CsvTaskFormat(), processed -> { });
+
+        assertEquals(4, result.processed(), "The header must not be counted as a processed line");
+        assertEquals(2, result.transferred(), "Unexpected count of imported tasks");
+        assertEquals(2, result.skipped(), "The invalid lines must be skipped");
+    }
+
+    @Test
+    void testImportCsvTasksWithQuotedLineSeparators() throws IOException, UserNotFoundException,
+            TaskNotFoundException {
+
+        String input = """
+                name,date,due-date,description,label,interval,until
+                first,,,"first line
+
+                third line",
+                second,20.01.2023,,,,7,01.03.2023
+                """;
+
+        TransferResult result = new TaskImporter(storage).importTasks("user", new StringReader(input),
+                new CsvTaskFormat(), processed -> { });
+
+        assertEquals(2, result.transferred(), "The quoted line separators must not split the tasks");
+        assertEquals("first line\n\nthird line", storage.getTask("user", "first").getDescription(),
+                "The line separators of the description must be preserved");
+        assertTrue(storage.listTasks("user").stream().anyMatch(task -> task.getRecurrence() != null
+                        && task.getRecurrence().intervalDays() == 7),
+                "The recurrence of the imported task must be preserved");
+    }
+
+    @Test
+    void testImportSkipsExistingTasks() throws IOException, UserNotFoundException {
+        String input = """
+                {"name":"task"}
+                {"name":"task"}
+                """;
+
+        TransferResult result = new TaskImporter(storage).importTasks("user", new StringReader(input),
+                new JsonTaskFormat(), processed -> { });
+
+        assertEquals(1, result.transferred(), "The task with already existing name must not be imported");
+        assertEquals(1, result.skipped(), "The task with already existing name must be skipped");
+    }
+
+    @Test
+    void testImportInBatches() throws IOException, UserNotFoundException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            input.append("{\"name\":\"task").append(i).append("\"}").append(System.lineSeparator());
+        }
+
+        List<Long> progress = new ArrayList<>();
+        TransferResult result = new TaskImporter(storage, 3).importTasks("user", new StringReader(input.toString()),
+                new JsonTaskFormat(), progress::add);
+
+        assertEquals(3, result.batches(), "The tasks must be imported in batches of the given size");
+        assertEquals(List.of(3L, 6L, 7L), progress, "The progress must be reported after each batch");
+        assertEquals(7, storage.listTasks("user").size(), "All tasks must be imported");
+    }
+
+    @Test
+    void testImportForMissingUser() {
+        assertThrows(UserNotFoundException.class, () -> new TaskImporter(storage).importTasks("missing",
+                        new StringReader("{\"name\":\"task\"}"), new JsonTaskFormat(), processed -> { }),
+                "Expected UserNotFoundException to be thrown when the user does not exist");
+    }
+}
@@ -0,0 +1,124 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scored reviews per second of one shared analyzer with 1 to 32 reading threads,
+ * and with 31 reading threads while another thread keeps appending reviews.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentScoringBenchmark {
+    private static final String[] WORDS = {"the", "movie", "film", "good", "bad", "boring", "great", "and", "is",
+        "acting", "plot", "terrible", "excellent", "it's", "a", "story", "characters", "funny", "slow", "not"};
+    private static final String STOPWORDS = String.join(System.lineSeparator(), "the", "and", "is", "a", "not");
+    private static final int REVIEWS = 1024;
+    private static final int WORDS_PER_REVIEW = 30;
+
+    private String[] reviews;
+    private MovieReviewSentimentAnalyzer analyzer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        StringBuilder corpus = new StringBuilder();
+        reviews = new String[REVIEWS];
+        for (int i = 0; i < REVIEWS; i++) {
+            StringBuilder review = new StringBuilder();
+            for (int j = 0; j < WORDS_PER_REVIEW; j++) {
+                review.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+
+            reviews[i] = review.toString();
+            corpus.append(random.nextInt(5)).append(' ').append(reviews[i]).append(System.lineSeparator());
+        }
+
+        analyzer = new MovieReviewSentimentAnalyzer(new StringReader(STOPWORDS), new StringReader(corpus.toString()),
+                Writer.nullWriter());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        analyzer.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double score1() {
+        return score();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public double score2() {
+        return score();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double score4() {
+        return score();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public double score8() {
+        return score();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public double score16() {
+        return score();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public double score32() {
+        return score();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(31)
+    public double mixedScore() {
+        return score();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedAppend() {
+        return analyzer.appendReview(reviews[ThreadLocalRandom.current().nextInt(REVIEWS)],
+                ThreadLocalRandom.current().nextInt(5));
+    }
+
+    private double score() {
+        return analyzer.getReviewSentiment(reviews[ThreadLocalRandom.current().nextInt(REVIEWS)]);
+    }
+}
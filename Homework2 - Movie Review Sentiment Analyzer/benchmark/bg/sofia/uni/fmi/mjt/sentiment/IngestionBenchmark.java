@@ -0,0 +1,94 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import bg.sofia.uni.fmi.mjt.sentiment.sketch.SketchConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures appendReview with the immediate commits while three threads keep scoring reviews, with an analyzer
+ * trained on 100k synthetic reviews. Every commit publishes a snapshot, so the appends per second show the cost
+ * of the publication on a large vocabulary, and the scores per second show how much it disturbs the readers.
+ * The approximate analyzer publishes its count-min tables in the same way.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+    private static final int TRAINING_REVIEWS = 100_000;
+    private static final int WORDS_PER_REVIEW = 20;
+    private static final int REVIEWS = 1024;
+
+    @Param({"false", "true"})
+    public boolean approximate;
+
+    private String[] reviews;
+    private MovieReviewSentimentAnalyzer analyzer;
+
+    @Setup
+    public void setup() {
+        SyntheticCorpus corpus = new SyntheticCorpus(0);
+
+        AnalyzerOptions.Builder options = AnalyzerOptions.builder();
+        if (approximate) {
+            options.setApproximation(SketchConfig.DEFAULT);
+        }
+
+        analyzer = new MovieReviewSentimentAnalyzer(new StringReader(SyntheticCorpus.STOPWORDS),
+                new StringReader(corpus.corpus(TRAINING_REVIEWS, WORDS_PER_REVIEW)), Writer.nullWriter(),
+                options.build());
+
+        reviews = new String[REVIEWS];
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews[i] = corpus.review(WORDS_PER_REVIEW);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        analyzer.close();
+    }
+
+    @Benchmark
+    public boolean append() {
+        return analyzer.appendReview(nextReview(), ThreadLocalRandom.current().nextInt(5));
+    }
+
+    @Benchmark
+    @Group("ingest")
+    @GroupThreads(1)
+    public boolean ingestAppend() {
+        return append();
+    }
+
+    @Benchmark
+    @Group("ingest")
+    @GroupThreads(3)
+    public double ingestScore() {
+        return analyzer.getReviewSentiment(nextReview());
+    }
+
+    private String nextReview() {
+        return reviews[ThreadLocalRandom.current().nextInt(REVIEWS)];
+    }
+}
@@ -0,0 +1,77 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures getReviewSentiment and appendReview on short and long reviews, with an analyzer trained on 100k
+ * synthetic reviews. Every appended review publishes a new snapshot of the dictionary, so appendReview also
+ * measures the cost of the snapshot. Run with {@code -prof gc} for the allocated bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+    private static final int TRAINING_REVIEWS = 100_000;
+    private static final int TRAINING_WORDS_PER_REVIEW = 20;
+    private static final int REVIEWS = 1024;
+
+    @Param({"5", "200"})
+    public int reviewWords;
+
+    private String[] reviews;
+    private int next;
+
+    private MovieReviewSentimentAnalyzer analyzer;
+
+    @Setup
+    public void setup() {
+        SyntheticCorpus corpus = new SyntheticCorpus(0);
+
+        analyzer = new MovieReviewSentimentAnalyzer(new StringReader(SyntheticCorpus.STOPWORDS),
+                new StringReader(corpus.corpus(TRAINING_REVIEWS, TRAINING_WORDS_PER_REVIEW)), Writer.nullWriter());
+
+        reviews = new String[REVIEWS];
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews[i] = corpus.review(reviewWords);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        analyzer.close();
+    }
+
+    @Benchmark
+    public double getReviewSentiment() {
+        return analyzer.getReviewSentiment(nextReview());
+    }
+
+    @Benchmark
+    public boolean appendReview() {
+        return analyzer.appendReview(nextReview(), next % 5);
+    }
+
+    private String nextReview() {
+        next = (next + 1) & (REVIEWS - 1);
+        return reviews[next];
+    }
+}
@@ -0,0 +1,78 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates reviews with a Zipf distribution of the words, like a natural language corpus: a few words, among them
+ * the stopwords, are very frequent, and most of the vocabulary is rare. The sentiment of a review is correlated
+ * with the ids of its words, so the words get different scores.
+ */
+final class SyntheticCorpus {
+    static final String STOPWORDS = String.join(System.lineSeparator(), "the", "and", "is", "a", "of", "to", "it");
+
+    private static final String[] COMMON_WORDS = {"the", "and", "is", "a", "of", "to", "it", "movie", "film", "good",
+        "bad", "great", "boring", "acting", "plot", "story", "funny", "slow", "excellent", "terrible"};
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final int SENTIMENTS = 5;
+    private static final int RADIX = 36;
+
+    private final String[] vocabulary;
+    private final double[] cumulative;
+    private final Random random;
+
+    SyntheticCorpus(long seed) {
+        this.vocabulary = new String[VOCABULARY_SIZE];
+        this.cumulative = new double[VOCABULARY_SIZE];
+        this.random = new Random(seed);
+
+        double sum = 0.0;
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = i < COMMON_WORDS.length ? COMMON_WORDS[i] : "w" + Integer.toString(i, RADIX);
+            sum += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = sum;
+        }
+    }
+
+    String review(int words) {
+        StringBuilder review = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            review.append(i == 0 ? "" : i % 9 == 0 ? ", " : " ").append(vocabulary[nextWord()]);
+        }
+
+        return review.append('.').toString();
+    }
+
+    // A line of the training corpus: the sentiment, followed by the review
+    String line(int words) {
+        return random.nextInt(SENTIMENTS) + " " + review(words);
+    }
+
+    String corpus(int reviews, int wordsPerReview) {
+        StringBuilder corpus = new StringBuilder();
+        for (int i = 0; i < reviews; i++) {
+            corpus.append(line(wordsPerReview)).append(System.lineSeparator());
+        }
+
+        return corpus.toString();
+    }
+
+    void write(Path path, int reviews, int wordsPerReview) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < reviews; i++) {
+                writer.write(line(wordsPerReview));
+                writer.newLine();
+            }
+        }
+    }
+
+    private int nextWord() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[VOCABULARY_SIZE - 1]);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,109 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.SentimentDictionary;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures the scored reviews per second with the regex tokenization, which the analyzer used before,
+ * and with the char-scanning tokenizer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenizerBenchmark {
+    private static final String DELIMITER_REGEX = "[^\\w']+";
+    private static final String[] WORDS = {"the", "movie", "film", "good", "bad", "boring", "great", "and", "is",
+        "acting", "plot", "terrible", "excellent", "it's", "a", "Story", "characters", "funny", "slow", "not"};
+    private static final Set<String> STOPWORDS = Set.of("the", "and", "is", "a", "not");
+    private static final int REVIEWS = 1024;
+    private static final int WORDS_PER_REVIEW = 30;
+
+    private String[] reviews;
+    private int next;
+
+    private MovieReviewSentimentAnalyzer analyzer;
+    private SentimentDictionary dictionary;
+    private WordSet stopwords;
+    private Tokenizer tokenizer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        StringBuilder corpus = new StringBuilder();
+        reviews = new String[REVIEWS];
+        for (int i = 0; i < REVIEWS; i++) {
+            StringBuilder review = new StringBuilder();
+            for (int j = 0; j < WORDS_PER_REVIEW; j++) {
+                review.append(WORDS[random.nextInt(WORDS.length)]).append(j % 7 == 0 ? ", " : " ");
+            }
+
+            reviews[i] = review.toString();
+            corpus.append(random.nextInt(5)).append(' ').append(reviews[i]).append(System.lineSeparator());
+        }
+
+        analyzer = new MovieReviewSentimentAnalyzer(new StringReader(String.join(System.lineSeparator(), STOPWORDS)),
+                new StringReader(corpus.toString()), new StringWriter());
+
+        dictionary = new SentimentDictionary();
+        stopwords = new WordSet(STOPWORDS);
+        tokenizer = new Tokenizer();
+        for (String line : corpus.toString().split(System.lineSeparator())) {
+            tokenizer.reset(line);
+            dictionary.addReview(tokenizer.nextInt(), tokenizer, stopwords);
+        }
+    }
+
+    @Benchmark
+    public double regexTokenizer() {
+        List<String> words = Arrays.stream(nextReview().split(DELIMITER_REGEX))
+                .filter(str -> str.length() >= 2)
+                .map(String::toLowerCase)
+                .filter(Predicate.not(STOPWORDS::contains))
+                .toList();
+
+        int wordsCount = 0;
+        double sum = 0.0;
+        for (String word : words) {
+            if (dictionary.contains(word)) {
+                ++wordsCount;
+                sum += dictionary.getScore(word);
+            }
+        }
+
+        return wordsCount == 0 ? -1.0 : sum / wordsCount;
+    }
+
+    @Benchmark
+    public double charTokenizer() {
+        return analyzer.getReviewSentiment(nextReview());
+    }
+
+    private String nextReview() {
+        next = (next + 1) & (REVIEWS - 1);
+        return reviews[next];
+    }
+}
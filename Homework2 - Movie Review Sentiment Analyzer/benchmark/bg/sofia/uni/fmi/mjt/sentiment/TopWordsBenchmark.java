@@ -0,0 +1,67 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the three top-n queries for 10 and 1000 words, with an analyzer trained on 100k synthetic reviews.
+ * Run with {@code -prof gc} for the allocated bytes per query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopWordsBenchmark {
+    private static final int TRAINING_REVIEWS = 100_000;
+    private static final int TRAINING_WORDS_PER_REVIEW = 20;
+
+    @Param({"10", "1000"})
+    public int n;
+
+    private MovieReviewSentimentAnalyzer analyzer;
+
+    @Setup
+    public void setup() {
+        analyzer = new MovieReviewSentimentAnalyzer(new StringReader(SyntheticCorpus.STOPWORDS),
+                new StringReader(new SyntheticCorpus(0).corpus(TRAINING_REVIEWS, TRAINING_WORDS_PER_REVIEW)),
+                Writer.nullWriter());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        analyzer.close();
+    }
+
+    @Benchmark
+    public List<String> getMostFrequentWords() {
+        return analyzer.getMostFrequentWords(n);
+    }
+
+    @Benchmark
+    public List<String> getMostPositiveWords() {
+        return analyzer.getMostPositiveWords(n);
+    }
+
+    @Benchmark
+    public List<String> getMostNegativeWords() {
+        return analyzer.getMostNegativeWords(n);
+    }
+}
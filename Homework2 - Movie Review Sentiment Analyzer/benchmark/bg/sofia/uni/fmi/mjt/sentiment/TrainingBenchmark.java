@@ -0,0 +1,81 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to train the analyzer by its constructors on synthetic corpora of 10k, 1M and 10M reviews,
+ * read through a reader and memory-mapped from the file. Every training is a single shot, because the larger
+ * corpora take seconds. Run with {@code -prof gc} for the allocated bytes per training (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class TrainingBenchmark {
+    private static final int WORDS_PER_REVIEW = 20;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int reviews;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Path directory;
+    private Path stopwordsPath;
+    private Path reviewsPath;
+    private AnalyzerOptions options;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("sentiment-benchmark");
+        stopwordsPath = Files.writeString(directory.resolve("stopwords.txt"), SyntheticCorpus.STOPWORDS);
+        reviewsPath = directory.resolve("reviews.txt");
+        new SyntheticCorpus(0).write(reviewsPath, reviews, WORDS_PER_REVIEW);
+
+        options = AnalyzerOptions.builder().setTrainingThreads(threads).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(reviewsPath);
+        Files.deleteIfExists(stopwordsPath);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int trainFromReader() throws IOException {
+        try (MovieReviewSentimentAnalyzer analyzer = new MovieReviewSentimentAnalyzer(
+                Files.newBufferedReader(stopwordsPath), Files.newBufferedReader(reviewsPath), Writer.nullWriter(),
+                options)) {
+            return analyzer.getSentimentDictionarySize();
+        }
+    }
+
+    @Benchmark
+    public int trainFromMappedFile() throws IOException {
+        try (MovieReviewSentimentAnalyzer analyzer = new MovieReviewSentimentAnalyzer(stopwordsPath, reviewsPath,
+                Writer.nullWriter(), options)) {
+            return analyzer.getSentimentDictionarySize();
+        }
+    }
+}
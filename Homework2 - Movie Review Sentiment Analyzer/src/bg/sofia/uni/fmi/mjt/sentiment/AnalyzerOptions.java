@@ -0,0 +1,98 @@
+package bg.sofia.uni.fmi.mjt.sentiment;
+
+import bg.sofia.uni.fmi.mjt.sentiment.log.GroupCommitPolicy;
+import bg.sofia.uni.fmi.mjt.sentiment.sketch.SketchConfig;
+
+public class AnalyzerOptions {
+    public static final AnalyzerOptions DEFAULT = builder().build();
+
+    private final int trainingThreads;
+    private final GroupCommitPolicy commitPolicy;
+    private final int bigramBuckets;
+    private final SketchConfig approximation;
+
+    private AnalyzerOptions(Builder builder) {
+        this.trainingThreads = builder.trainingThreads;
+        this.commitPolicy = builder.commitPolicy;
+        this.bigramBuckets = builder.bigramBuckets;
+        this.approximation = builder.approximation;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getTrainingThreads() {
+        return trainingThreads;
+    }
+
+    public GroupCommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    // Zero when the bigrams are not used for the scoring
+    public int getBigramBuckets() {
+        return bigramBuckets;
+    }
+
+    // Null when the words are counted exactly
+    public SketchConfig getApproximation() {
+        return approximation;
+    }
+
+    public boolean isApproximate() {
+        return approximation != null;
+    }
+
+    public static class Builder {
+        private int trainingThreads = 1;
+        private GroupCommitPolicy commitPolicy = GroupCommitPolicy.IMMEDIATE;
+        private int bigramBuckets = 0;
+        private SketchConfig approximation = null;
+
+        private Builder() {
+        }
+
+        public Builder setTrainingThreads(int trainingThreads) {
+            if (trainingThreads < 1) {
+                throw new IllegalArgumentException("The number of training threads must be positive");
+            }
+
+            this.trainingThreads = trainingThreads;
+            return this;
+        }
+
+        public Builder setCommitPolicy(GroupCommitPolicy commitPolicy) {
+            if (commitPolicy == null) {
+                throw new IllegalArgumentException("The commit policy cannot be null");
+            }
+
+            this.commitPolicy = commitPolicy;
+            return this;
+        }
+
+        // The bigrams of the consecutive words are counted in a table of this many buckets, whatever the corpus size
+        public Builder setBigramBuckets(int bigramBuckets) {
+            if (bigramBuckets < 0 || bigramBuckets == 1 || Integer.bitCount(bigramBuckets) > 1) {
+                throw new IllegalArgumentException("The number of bigram buckets must be zero or a power of two");
+            }
+
+            this.bigramBuckets = bigramBuckets;
+            return this;
+        }
+
+        // The words are counted in sketches of a fixed size instead of exactly, and the training is sequential
+        public Builder setApproximation(SketchConfig approximation) {
+            this.approximation = approximation;
+            return this;
+        }
+
+        public AnalyzerOptions build() {
+            if (approximation != null && bigramBuckets > 0) {
+                throw new IllegalArgumentException("The bigrams are not supported by the approximate counts");
+            }
+
+            return new AnalyzerOptions(this);
+        }
+    }
+}
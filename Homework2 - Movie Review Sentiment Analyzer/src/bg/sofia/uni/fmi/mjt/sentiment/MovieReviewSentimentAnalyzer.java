@@ -1,81 +1,223 @@
 package bg.sofia.uni.fmi.mjt.sentiment;
 
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.ModelFile;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.ReviewCounter;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.SentimentDictionary;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.SentimentModel;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordStatistics;
 import bg.sofia.uni.fmi.mjt.sentiment.exception.SentimentTypeNotFoundException;
-import bg.sofia.uni.fmi.mjt.sentiment.review.Review;
+import bg.sofia.uni.fmi.mjt.sentiment.log.AppendedReview;
+import bg.sofia.uni.fmi.mjt.sentiment.log.GroupCommitPolicy;
+import bg.sofia.uni.fmi.mjt.sentiment.log.ReviewAppendLog;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+import bg.sofia.uni.fmi.mjt.sentiment.scoring.BatchScorer;
+import bg.sofia.uni.fmi.mjt.sentiment.sketch.CountMinDictionary;
+import bg.sofia.uni.fmi.mjt.sentiment.training.MappedCorpus;
+import bg.sofia.uni.fmi.mjt.sentiment.training.ParallelTrainer;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
-    private final Map<String, Double> wordsScore;
-    private final Map<String, Integer> wordsOccurrences;
-    private final Map<String, Integer> wordsOccurrencesWithoutRepeating; // How many reviews contain this word
-    private Set<String> stopwords;
-    private final Writer reviewsOut;
+public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer, Closeable {
+    // The counts are changed only by the committed reviews, under the lock of the analyzer. The readers use
+    // the last published snapshot without locks, and every committed batch publishes a new snapshot
+    private ReviewCounter counter;
+    private volatile WordStatistics snapshot;
+    private WordSet stopwords;
+    private final ReviewAppendLog appendLog;
 
-    private static final String DELIMITER_REGEX = "[^\\w']+";
+    // The tokenizers reuse their buffers, so the scoring does not create a string for every word
+    private final ThreadLocal<Tokenizer> tokenizers = ThreadLocal.withInitial(Tokenizer::new);
 
     public MovieReviewSentimentAnalyzer(Reader stopwordsIn, Reader reviewsIn, Writer reviewsOut) {
+        this(stopwordsIn, reviewsIn, reviewsOut, 1);
+    }
+
+    // The reviews are trained on the given number of threads, producing the same scores as the sequential training
+    public MovieReviewSentimentAnalyzer(Reader stopwordsIn, Reader reviewsIn, Writer reviewsOut,
+                                        int trainingThreads) {
+        this(stopwordsIn, reviewsIn, reviewsOut, trainingThreads, GroupCommitPolicy.IMMEDIATE);
+    }
+
+    // The appended reviews are written in batches by the given policy
+    public MovieReviewSentimentAnalyzer(Reader stopwordsIn, Reader reviewsIn, Writer reviewsOut,
+                                        int trainingThreads, GroupCommitPolicy commitPolicy) {
+        this(stopwordsIn, reviewsIn, reviewsOut, AnalyzerOptions.builder()
+                .setTrainingThreads(trainingThreads)
+                .setCommitPolicy(commitPolicy)
+                .build());
+    }
+
+    public MovieReviewSentimentAnalyzer(Reader stopwordsIn, Reader reviewsIn, Writer reviewsOut,
+                                        AnalyzerOptions options) {
         validateNullObject(stopwordsIn);
         validateNullObject(reviewsIn);
         validateNullObject(reviewsOut);
-
-        this.reviewsOut = reviewsOut;
-        this.wordsScore = new HashMap<>();
-        this.wordsOccurrences = new HashMap<>();
-        this.wordsOccurrencesWithoutRepeating = new HashMap<>();
+        validateNullObject(options);
 
         readStopwords(stopwordsIn);
-        readReviews(reviewsIn);
+        readReviews(reviewsIn, options);
+
+        this.snapshot = counter.snapshot();
+        this.appendLog = new ReviewAppendLog(reviewsOut, options.getCommitPolicy(), this::addCommittedReviews);
+    }
+
+    public MovieReviewSentimentAnalyzer(Path stopwordsPath, Path reviewsPath, Writer reviewsOut) {
+        this(stopwordsPath, reviewsPath, reviewsOut, AnalyzerOptions.DEFAULT);
+    }
+
+    // The files are memory-mapped and their bytes are tokenized directly, without decoding every line into a string
+    public MovieReviewSentimentAnalyzer(Path stopwordsPath, Path reviewsPath, Writer reviewsOut,
+                                        AnalyzerOptions options) {
+        validateNullObject(stopwordsPath);
+        validateNullObject(reviewsPath);
+        validateNullObject(reviewsOut);
+        validateNullObject(options);
+
+        try {
+            stopwords = new WordSet(MappedCorpus.readLowerCaseLines(stopwordsPath));
+            readReviews(reviewsPath, options);
+        } catch (IOException e) {
+            throw new IllegalStateException("A problem occurred while reading from the file", e);
+        }
+
+        this.snapshot = counter.snapshot();
+        this.appendLog = new ReviewAppendLog(reviewsOut, options.getCommitPolicy(), this::addCommittedReviews);
+    }
+
+    private MovieReviewSentimentAnalyzer(SentimentModel model, Writer reviewsOut, GroupCommitPolicy commitPolicy) {
+        this.counter = model.dictionary();
+        this.stopwords = model.stopwords();
+        this.snapshot = counter.snapshot();
+        this.appendLog = new ReviewAppendLog(reviewsOut, commitPolicy, this::addCommittedReviews);
+    }
+
+    public static MovieReviewSentimentAnalyzer open(Path stopwordsPath, Path reviewsPath, Path modelPath,
+                                                    Writer reviewsOut) {
+        return open(stopwordsPath, reviewsPath, modelPath, reviewsOut, AnalyzerOptions.DEFAULT);
+    }
+
+    // Loads the saved model when it is newer than the stopwords and the reviews and has the same bigram buckets.
+    // Otherwise, or when the model file is invalid, the reviews are trained again and the model file is replaced.
+    // The approximate counts are always trained, because they are not saved
+    public static MovieReviewSentimentAnalyzer open(Path stopwordsPath, Path reviewsPath, Path modelPath,
+                                                    Writer reviewsOut, AnalyzerOptions options) {
+        if (stopwordsPath == null || reviewsPath == null || modelPath == null || reviewsOut == null ||
+            options == null) {
+            throw new IllegalArgumentException("The paths, the writer and the options cannot be null");
+        }
+
+        try {
+            if (!options.isApproximate() && isNewer(modelPath, stopwordsPath) && isNewer(modelPath, reviewsPath)) {
+                try {
+                    SentimentModel model = ModelFile.load(modelPath);
+                    if (model.dictionary().getBigramBuckets() == options.getBigramBuckets()) {
+                        return new MovieReviewSentimentAnalyzer(model, reviewsOut, options.getCommitPolicy());
+                    }
+                } catch (IOException e) {
+                    // The invalid model is replaced below
+                }
+            }
+
+            MovieReviewSentimentAnalyzer analyzer =
+                    new MovieReviewSentimentAnalyzer(stopwordsPath, reviewsPath, reviewsOut, options);
+            if (!options.isApproximate()) {
+                analyzer.saveModel(modelPath);
+            }
+
+            return analyzer;
+        } catch (IOException e) {
+            throw new IllegalStateException("A problem occurred while reading from the file", e);
+        }
+    }
+
+    public synchronized void saveModel(Path modelPath) throws IOException {
+        if (!(counter instanceof SentimentDictionary dictionary)) {
+            throw new IllegalStateException("Only the exact counts can be saved");
+        }
+
+        ModelFile.save(modelPath, new SentimentModel(dictionary, stopwords));
     }
 
     @Override
     public double getReviewSentiment(String review) {
-        final double invalidReturnValue = -1.0;
         validateString(review);
 
-        int wordsCount = 0;
-        double sum = 0.0;
+        Tokenizer tokenizer = tokenizers.get();
+        tokenizer.reset(review);
 
-        List<String> words = extractWordsFromReview(review);
-        for (String word : words) {
-            if (!wordsScore.containsKey(word)) {
-                continue;
-            }
+        return snapshot.scoreReview(tokenizer, stopwords);
+    }
 
-            ++wordsCount;
-            sum += wordsScore.get(word);
-        }
+    // The whole batch is scored against one snapshot with one tokenizer
+    @Override
+    public double[] getReviewSentiments(List<String> reviews) {
+        validateNullObject(reviews);
+        reviews.forEach(this::validateString);
 
-        if (wordsCount == 0) {
-            return invalidReturnValue;
+        WordStatistics dictionary = snapshot;
+        Tokenizer tokenizer = tokenizers.get();
+
+        double[] sentiments = new double[reviews.size()];
+        for (int i = 0; i < sentiments.length; i++) {
+            tokenizer.reset(reviews.get(i));
+            sentiments[i] = dictionary.scoreReview(tokenizer, stopwords);
         }
 
-        return sum / wordsCount;
+        return sentiments;
     }
 
     @Override
     public String getReviewSentimentAsName(String review) {
         validateString(review);
-        final String invalidReturnValue = "unknown";
 
-        double sentiment = getReviewSentiment(review);
+        return getSentimentName(getReviewSentiment(review));
+    }
+
+    @Override
+    public void scoreReviews(Reader reviewsIn, Writer scoresOut) {
+        validateNullObject(reviewsIn);
+        validateNullObject(scoresOut);
+
+        try (var reader = new BufferedReader(reviewsIn)) {
+            scoreReviews(reader.lines(), scoresOut);
+        } catch (IOException e) {
+            throw new IllegalStateException("A problem occurred while reading from the file", e);
+        }
+    }
+
+    @Override
+    public void scoreReviews(Path reviewsPath, Writer scoresOut) {
+        validateNullObject(reviewsPath);
 
         try {
-            return SentimentType.getSentimentTypeByRating((int) Math.round(sentiment)).name;
-        } catch (SentimentTypeNotFoundException e) {
-            return invalidReturnValue;
+            scoreReviews(Files.newBufferedReader(reviewsPath), scoresOut);
+        } catch (IOException e) {
+            throw new IllegalStateException("A problem occurred while reading from the file", e);
+        }
+    }
+
+    @Override
+    public void scoreReviews(Stream<String> reviews, Writer scoresOut) {
+        validateNullObject(reviews);
+        validateNullObject(scoresOut);
+
+        BatchScorer scorer = new BatchScorer(this::getScoreLine, Runtime.getRuntime().availableProcessors());
+        try {
+            scorer.score(reviews.iterator(), scoresOut);
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("A problem occurred while scoring the reviews", e);
         }
     }
 
@@ -84,18 +226,18 @@ public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
         validateString(word);
         final double invalidReturnValue = -1.0;
 
-        if (!wordsScore.containsKey(word.toLowerCase())) {
+        WordStatistics dictionary = snapshot;
+        if (!dictionary.contains(word.toLowerCase())) {
             return invalidReturnValue;
         }
-        return wordsScore.get(word.toLowerCase());
+        return dictionary.getScore(word.toLowerCase());
     }
 
     @Override
     public int getWordFrequency(String word) {
         validateString(word);
 
-        Integer frequency = wordsOccurrences.get(word.toLowerCase());
-        return (frequency != null ? frequency : 0);
+        return snapshot.getOccurrences(word.toLowerCase());
     }
 
     @Override
@@ -104,12 +246,7 @@ public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
             throw new IllegalArgumentException("The number of most frequent words cannot be negative");
         }
 
-        return wordsOccurrences.entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-                .limit(n)
-                .map(Map.Entry::getKey)
-                .toList();
+        return snapshot.getMostFrequentWords(n);
     }
 
     @Override
@@ -118,12 +255,7 @@ public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
             throw new IllegalArgumentException("The number of most positive words cannot be negative");
         }
 
-        return wordsScore.entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-                .limit(n)
-                .map(Map.Entry::getKey)
-                .toList();
+        return snapshot.getMostPositiveWords(n);
     }
 
     @Override
@@ -132,12 +264,7 @@ public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
             throw new IllegalArgumentException("The number of most negative words cannot be negative");
         }
 
-        return wordsScore.entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByValue())
-                .limit(n)
-                .map(Map.Entry::getKey)
-                .toList();
+        return snapshot.getMostNegativeWords(n);
     }
 
     @Override
@@ -150,25 +277,18 @@ public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
             throw new IllegalArgumentException("Sentiment must be in the [0.0, 4.0] range");
         }
 
-        try (var writer = new BufferedWriter(reviewsOut)) {
-            writer.append(String.valueOf(sentiment))
-                  .append(" ")
-                  .append(review)
-                  .append(System.lineSeparator())
-                  .flush();
-        } catch (IOException e) {
-            return false;
-        }
-
-        // Update the current information
-        updateInfo(new Review(sentiment, extractWordsFromReview(review)));
+        // The dictionary is updated by the log after the review is flushed
+        return appendLog.append(new AppendedReview(sentiment, review));
+    }
 
-        return true;
+    @Override
+    public void close() throws IOException {
+        appendLog.close();
     }
 
     @Override
     public int getSentimentDictionarySize() {
-        return wordsScore.size();
+        return snapshot.size();
     }
 
     @Override
@@ -179,71 +299,82 @@ public class MovieReviewSentimentAnalyzer implements SentimentAnalyzer {
 
     private void readStopwords(Reader stopwordsIn) {
         try (var reader = new BufferedReader(stopwordsIn)) {
-            stopwords = reader.lines().map(String::toLowerCase).collect(Collectors.toSet());
+            stopwords = new WordSet(reader.lines().map(String::toLowerCase).collect(Collectors.toSet()));
         } catch (IOException e) {
             throw new IllegalStateException("A problem occurred while reading from the file", e);
         }
     }
 
-    private void readReviews(Reader reviewsIn) {
-        final List<Review> reviews;
+    private void readReviews(Reader reviewsIn, AnalyzerOptions options) {
         try (var reader = new BufferedReader(reviewsIn)) {
-            reviews = reader.lines()
-                    .map(String::toLowerCase)
-                    .map(review -> Review.of(review, this.stopwords))
-                    .toList();
+            if (options.isApproximate() || options.getTrainingThreads() == 1) {
+                counter = options.isApproximate()
+                        ? new CountMinDictionary(options.getApproximation())
+                        : new SentimentDictionary(options.getBigramBuckets());
+                Tokenizer tokenizer = tokenizers.get();
+
+                String review;
+                while ((review = reader.readLine()) != null) {
+                    tokenizer.reset(review);
+                    counter.addReview(tokenizer.nextInt(), tokenizer, stopwords);
+                }
+            } else {
+                counter = new ParallelTrainer(stopwords, options.getTrainingThreads(), options.getBigramBuckets())
+                        .train(reader);
+            }
         } catch (IOException e) {
             throw new IllegalStateException("A problem occurred while reading from the file", e);
         }
-
-        calculateWordsScore(reviews);
     }
 
-    private void calculateWordsScore(List<Review> reviews) {
-        for (Review review : reviews) {
-            updateInfo(review);
-        }
-    }
+    private void readReviews(Path reviewsPath, AnalyzerOptions options) throws IOException {
+        if (options.isApproximate()) {
+            counter = new CountMinDictionary(options.getApproximation());
 
-    private void updateInfo(Review review) {
-        review.words().forEach(this::updateFrequency);
-        review.words().stream().distinct().forEach(word -> updateScore(word, review.sentiment()));
+            for (ByteBuffer segment : MappedCorpus.map(reviewsPath, 1)) {
+                MappedCorpus.addReviews(segment, counter, tokenizers.get(), stopwords);
+            }
+        } else {
+            counter = new ParallelTrainer(stopwords, options.getTrainingThreads(), options.getBigramBuckets())
+                    .train(reviewsPath);
+        }
     }
 
-    private void updateFrequency(String word) {
-        Integer currentFrequency = wordsOccurrences.get(word);
+    private synchronized void addCommittedReviews(List<AppendedReview> reviews) {
+        Tokenizer tokenizer = tokenizers.get();
 
-        if (currentFrequency == null) {
-            currentFrequency = 0;
+        for (AppendedReview review : reviews) {
+            tokenizer.reset(review.text());
+            counter.addReview(review.sentiment(), tokenizer, stopwords);
         }
-        wordsOccurrences.put(word, currentFrequency + 1);
+
+        snapshot = counter.snapshot();
     }
 
-    private void updateScore(String word, int sentiment) {
-        Integer reviewsContainingThisWordCount = wordsOccurrencesWithoutRepeating.get(word);
-        if (reviewsContainingThisWordCount == null) {
-            reviewsContainingThisWordCount = 0;
+    private String getScoreLine(String review) {
+        final String unknownLine = "-1.0\tunknown";
+        if (review.isBlank()) {
+            return unknownLine;
         }
 
-        wordsOccurrencesWithoutRepeating.put(word, reviewsContainingThisWordCount + 1);
-
-        Double currentScore = wordsScore.get(word);
-        if (currentScore == null) {
-            currentScore = 0.0;
-        }
+        double sentiment = getReviewSentiment(review);
+        return sentiment + "\t" + getSentimentName(sentiment);
+    }
 
-        double newScore = (currentScore * reviewsContainingThisWordCount + sentiment) /
-                       (reviewsContainingThisWordCount + 1);
+    // The name of the rounded score, or "unknown" when the score is not a rating, like the score of an unknown review
+    public static String getSentimentName(double sentiment) {
+        final String invalidReturnValue = "unknown";
 
-        wordsScore.put(word, newScore);
+        try {
+            return SentimentType.getSentimentTypeByRating((int) Math.round(sentiment)).name;
+        } catch (SentimentTypeNotFoundException e) {
+            return invalidReturnValue;
+        }
     }
 
-    private List<String> extractWordsFromReview(String review) {
-        return Arrays.stream(review.split(DELIMITER_REGEX))
-                .filter(str -> str.length() >= 2)
-                .map(String::toLowerCase)
-                .filter(Predicate.not(this::isStopWord))
-                .toList();
+    private static boolean isNewer(Path file, Path than) throws IOException {
+        return Files.exists(file) &&
+               Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(than)) > 0;
     }
 
     private void validateNullObject(Object obj) {
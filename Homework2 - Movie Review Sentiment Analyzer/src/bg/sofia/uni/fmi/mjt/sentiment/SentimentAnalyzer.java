@@ -1,6 +1,10 @@
 package bg.sofia.uni.fmi.mjt.sentiment;
 
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SentimentAnalyzer {
 
@@ -20,6 +24,36 @@ public interface SentimentAnalyzer {
      */
     String getReviewSentimentAsName(String review);
 
+    /**
+     * Scores the reviews in the same way as {@link #getReviewSentiment(String)}, all of them against the same
+     * state of the data set.
+     *
+     * @return the review sentiments, in the order of the reviews
+     * @throws {@link IllegalArgumentException}, if the list is null or any of the reviews is null, empty or blank
+     */
+    double[] getReviewSentiments(List<String> reviews);
+
+    /**
+     * Scores every line of the reader as a review and writes one line for each of them, in the same order.
+     * The line contains the review sentiment and its name, separated by a tab, e.g. "2.5\tsomewhat positive".
+     * Empty and blank reviews are scored as unknown. The reviews are scored in parallel and are not loaded
+     * in memory at once.
+     *
+     * @throws {@link IllegalArgumentException}, if the reader or the writer is null
+     * @throws {@link IllegalStateException}, if a problem occurs while reading or writing
+     */
+    void scoreReviews(Reader reviewsIn, Writer scoresOut);
+
+    /**
+     * Scores every line of the file as a review, in the same way as {@link #scoreReviews(Reader, Writer)}.
+     */
+    void scoreReviews(Path reviewsPath, Writer scoresOut);
+
+    /**
+     * Scores every element of the stream as a review, in the same way as {@link #scoreReviews(Reader, Writer)}.
+     */
+    void scoreReviews(Stream<String> reviews, Writer scoresOut);
+
     /**
      * @param word
      * @return the review sentiment of the word as a floating-point number in the
@@ -0,0 +1,91 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+/**
+ * Sentiment counts of word bigrams, kept with the hashing trick in a table of a fixed number of buckets.
+ * The bigrams are never stored, so the memory depends only on the number of buckets, and the rare
+ * collisions of two bigrams in one bucket are accepted.
+ */
+public final class BigramTable {
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final int shift;
+    private final int[] reviews;
+    private final long[] sentimentSums;
+    private final int[] lastReview;
+
+    public BigramTable(int buckets) {
+        if (buckets < 2 || Integer.bitCount(buckets) != 1) {
+            throw new IllegalArgumentException("The number of bigram buckets must be a power of two");
+        }
+
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(buckets);
+        this.reviews = new int[buckets];
+        this.sentimentSums = new long[buckets];
+        this.lastReview = new int[buckets];
+    }
+
+    private BigramTable(BigramTable other) {
+        this.shift = other.shift;
+        this.reviews = other.reviews.clone();
+        this.sentimentSums = other.sentimentSums.clone();
+        this.lastReview = other.lastReview.clone();
+    }
+
+    public int buckets() {
+        return reviews.length;
+    }
+
+    // The bucket of the bigram of two words with the given String.hashCode() values
+    int bucket(int firstHash, int secondHash) {
+        long key = ((long) firstHash << Integer.SIZE) | (secondHash & 0xFFFFFFFFL);
+        return (int) ((key * HASH_MULTIPLIER) >>> shift);
+    }
+
+    // Returns whether the review was counted, as it is counted once per bucket
+    boolean add(int bucket, int sentiment, int reviewId) {
+        if (lastReview[bucket] == reviewId) {
+            return false;
+        }
+
+        lastReview[bucket] = reviewId;
+        ++reviews[bucket];
+        sentimentSums[bucket] += sentiment;
+        return true;
+    }
+
+    boolean isKnown(int bucket) {
+        return reviews[bucket] > 0;
+    }
+
+    double score(int bucket) {
+        return (double) sentimentSums[bucket] / reviews[bucket];
+    }
+
+    int reviews(int bucket) {
+        return reviews[bucket];
+    }
+
+    long sentimentSum(int bucket) {
+        return sentimentSums[bucket];
+    }
+
+    void restore(int bucket, int bucketReviews, long sentimentSum) {
+        reviews[bucket] = bucketReviews;
+        sentimentSums[bucket] = sentimentSum;
+    }
+
+    void merge(BigramTable other) {
+        if (other.buckets() != buckets()) {
+            throw new IllegalArgumentException("Only bigram tables with the same number of buckets can be merged");
+        }
+
+        for (int bucket = 0; bucket < reviews.length; bucket++) {
+            reviews[bucket] += other.reviews[bucket];
+            sentimentSums[bucket] += other.sentimentSums[bucket];
+        }
+    }
+
+    BigramTable copy() {
+        return new BigramTable(this);
+    }
+}
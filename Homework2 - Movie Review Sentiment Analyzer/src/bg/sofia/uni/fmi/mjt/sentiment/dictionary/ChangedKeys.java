@@ -0,0 +1,46 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The distinct non-negative keys, like word ids or counter cells, changed since the last full copy of the counts.
+ * Every key is recorded once, in the order of its first change.
+ */
+public final class ChangedKeys {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final BitSet isChanged;
+    private int[] keys;
+    private int size;
+
+    public ChangedKeys() {
+        this.isChanged = new BitSet();
+        this.keys = new int[INITIAL_CAPACITY];
+    }
+
+    public void add(int key) {
+        if (isChanged.get(key)) {
+            return;
+        }
+
+        isChanged.set(key);
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size++] = key;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    public void clear() {
+        isChanged.clear();
+        size = 0;
+    }
+}
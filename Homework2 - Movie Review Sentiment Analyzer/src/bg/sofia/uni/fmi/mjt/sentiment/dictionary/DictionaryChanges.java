@@ -0,0 +1,165 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * The words and the bigram buckets changed after the base copy of a dictionary snapshot, with their current counts.
+ * The words added after the base copy have the ids after the base words, and they are found by their own table.
+ */
+final class DictionaryChanges {
+    private static final int EMPTY = 0;
+
+    private final int[] ids;
+    private final String[] words;
+    private final int[] occurrences;
+    private final double[] scores;
+    private final IntIndex byId;
+
+    private final int[] addedTable; // The position of the added word plus one, or EMPTY
+    private final int addedMask;
+    private final int[] hashes;
+    private final int addedCount;
+
+    private final IntIndex byBucket;
+    private final double[] bucketScores;
+
+    // The positions in the orders of the top-n queries, sorted by the first query which needs them
+    private volatile int[] byFrequency;
+    private volatile int[] byScore;
+
+    DictionaryChanges(int baseSize, int[] ids, String[] words, int[] hashes, int[] occurrences, double[] scores,
+                      int[] buckets, double[] bucketScores) {
+        this.ids = ids;
+        this.words = words;
+        this.hashes = hashes;
+        this.occurrences = occurrences;
+        this.scores = scores;
+        this.byId = new IntIndex(ids);
+        this.byBucket = new IntIndex(buckets);
+        this.bucketScores = bucketScores;
+
+        int added = 0;
+        for (int id : ids) {
+            if (id >= baseSize) {
+                ++added;
+            }
+        }
+        this.addedCount = added;
+
+        int capacity = Integer.highestOneBit(Math.max(2, added * 2) - 1) << 1;
+        this.addedTable = new int[capacity];
+        this.addedMask = capacity - 1;
+
+        for (int position = 0; position < ids.length; position++) {
+            if (ids[position] >= baseSize) {
+                int slot = WordSet.slot(hashes[position], addedMask);
+                while (addedTable[slot] != EMPTY) {
+                    slot = (slot + 1) & addedMask;
+                }
+
+                addedTable[slot] = position + 1;
+            }
+        }
+    }
+
+    static DictionaryChanges none() {
+        return new DictionaryChanges(0, new int[0], new String[0], new int[0], new int[0], new double[0],
+                new int[0], new double[0]);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int addedCount() {
+        return addedCount;
+    }
+
+    // Returns the position of the changed word with the given id, or -1 when the word did not change
+    int positionOf(int id) {
+        return byId.positionOf(id);
+    }
+
+    String word(int position) {
+        return words[position];
+    }
+
+    int occurrences(int position) {
+        return occurrences[position];
+    }
+
+    double score(int position) {
+        return scores[position];
+    }
+
+    // Returns the id of the added word, or -1 when the word was not added after the base copy
+    int addedIdOf(String word, int hash) {
+        if (addedCount == 0) {
+            return -1;
+        }
+
+        for (int slot = WordSet.slot(hash, addedMask); addedTable[slot] != EMPTY; slot = (slot + 1) & addedMask) {
+            int position = addedTable[slot] - 1;
+            if (hashes[position] == hash && words[position].equals(word)) {
+                return ids[position];
+            }
+        }
+
+        return -1;
+    }
+
+    int addedIdOf(char[] chars, int length, int hash) {
+        if (addedCount == 0) {
+            return -1;
+        }
+
+        for (int slot = WordSet.slot(hash, addedMask); addedTable[slot] != EMPTY; slot = (slot + 1) & addedMask) {
+            int position = addedTable[slot] - 1;
+            if (hashes[position] == hash && WordSet.matches(words[position], chars, length)) {
+                return ids[position];
+            }
+        }
+
+        return -1;
+    }
+
+    // Returns the position of the changed bigram bucket, or -1 when the bucket did not change
+    int bucketPositionOf(int bucket) {
+        return byBucket.positionOf(bucket);
+    }
+
+    double bucketScore(int position) {
+        return bucketScores[position];
+    }
+
+    int[] byFrequency() {
+        int[] order = byFrequency;
+        if (order == null) {
+            order = sort(Comparator.comparingInt((Integer position) -> occurrences[position]).reversed()
+                    .thenComparing(position -> words[position]));
+            byFrequency = order;
+        }
+
+        return order;
+    }
+
+    int[] byScore() {
+        int[] order = byScore;
+        if (order == null) {
+            order = sort(Comparator.comparingDouble((Integer position) -> scores[position])
+                    .thenComparing(position -> words[position]));
+            byScore = order;
+        }
+
+        return order;
+    }
+
+    private int[] sort(Comparator<Integer> comparator) {
+        return IntStream.range(0, ids.length)
+                .boxed()
+                .sorted(comparator)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
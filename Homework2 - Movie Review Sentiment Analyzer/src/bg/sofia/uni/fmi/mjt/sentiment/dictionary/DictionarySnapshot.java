@@ -0,0 +1,224 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * An immutable copy of a sentiment dictionary. The scores are calculated once and the words are kept in the order
+ * of the top-n queries, so any number of threads can read the snapshot without locks.
+ * The arrays of a full copy are shared by the later snapshots, which add only the words and the bigram buckets
+ * changed after it. The changed words replace their old counts, and the top-n queries merge them into the orders.
+ */
+public final class DictionarySnapshot implements WordStatistics {
+    private static final int EMPTY = 0;
+
+    private final int[] table; // The id of the word plus one, or EMPTY
+    private final int mask;
+
+    private final String[] words;
+    private final int[] hashes;
+    private final int[] occurrences;
+    private final double[] scores;
+
+    private final int[] byFrequency;
+    private final int[] byScore;
+
+    private final BigramTable bigrams; // null when the bigrams are not counted
+
+    private final DictionaryChanges changes;
+
+    DictionarySnapshot(int[] table, String[] words, int[] hashes, int[] occurrences, double[] scores,
+                       int[] byFrequency, int[] byScore, BigramTable bigrams) {
+        this(table, words, hashes, occurrences, scores, byFrequency, byScore, bigrams, DictionaryChanges.none());
+    }
+
+    private DictionarySnapshot(int[] table, String[] words, int[] hashes, int[] occurrences, double[] scores,
+                               int[] byFrequency, int[] byScore, BigramTable bigrams, DictionaryChanges changes) {
+        this.table = table;
+        this.mask = table.length - 1;
+        this.words = words;
+        this.hashes = hashes;
+        this.occurrences = occurrences;
+        this.scores = scores;
+        this.byFrequency = byFrequency;
+        this.byScore = byScore;
+        this.bigrams = bigrams;
+        this.changes = changes;
+    }
+
+    // A snapshot with the same base copy and the given changes instead of the current ones
+    DictionarySnapshot withChanges(DictionaryChanges newChanges) {
+        return new DictionarySnapshot(table, words, hashes, occurrences, scores, byFrequency, byScore, bigrams,
+                newChanges);
+    }
+
+    // The number of words in the shared base copy
+    int baseSize() {
+        return words.length;
+    }
+
+    @Override
+    public int size() {
+        return words.length + changes.addedCount();
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return idOf(word) >= 0;
+    }
+
+    @Override
+    public double getScore(String word) {
+        int id = idOf(word);
+        return id >= 0 ? getScore(id) : 0.0;
+    }
+
+    public double getScore(int id) {
+        int position = changes.positionOf(id);
+        return position >= 0 ? changes.score(position) : scores[id];
+    }
+
+    // The known bigrams are averaged together with the known words
+    @Override
+    public double scoreReview(Tokenizer tokenizer, WordSet stopwords) {
+        final double unknownScore = -1.0;
+
+        int count = 0;
+        double sum = 0.0;
+
+        int previousHash = 0;
+        boolean hasPrevious = false;
+
+        while (tokenizer.next()) {
+            // The stopwords are never added to the dictionary, so they are skipped only for the bigrams
+            if (bigrams != null && stopwords.contains(tokenizer.token(), tokenizer.length(), tokenizer.hash())) {
+                continue;
+            }
+
+            int id = idOf(tokenizer.token(), tokenizer.length(), tokenizer.hash());
+            if (id >= 0) {
+                ++count;
+                sum += getScore(id);
+            }
+
+            if (bigrams != null) {
+                int hash = tokenizer.hash();
+                if (hasPrevious) {
+                    int bucket = bigrams.bucket(previousHash, hash);
+                    int position = changes.bucketPositionOf(bucket);
+                    if (position >= 0) {
+                        ++count;
+                        sum += changes.bucketScore(position);
+                    } else if (bigrams.isKnown(bucket)) {
+                        ++count;
+                        sum += bigrams.score(bucket);
+                    }
+                }
+
+                previousHash = hash;
+                hasPrevious = true;
+            }
+        }
+
+        return count == 0 ? unknownScore : sum / count;
+    }
+
+    @Override
+    public int getOccurrences(String word) {
+        int id = idOf(word);
+        if (id < 0) {
+            return 0;
+        }
+
+        int position = changes.positionOf(id);
+        return position >= 0 ? changes.occurrences(position) : occurrences[id];
+    }
+
+    // Returns the id of the word in the first length chars of the buffer, or -1 when the word is missing
+    public int idOf(char[] chars, int length) {
+        return idOf(chars, length, WordSet.hash(chars, length));
+    }
+
+    public int idOf(char[] chars, int length, int hash) {
+        for (int slot = WordSet.slot(hash, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && WordSet.matches(words[id], chars, length)) {
+                return id;
+            }
+        }
+
+        return changes.addedIdOf(chars, length, hash);
+    }
+
+    @Override
+    public List<String> getMostFrequentWords(int n) {
+        return getFirstWords(n, byFrequency, changes.byFrequency(), false, (id, position) -> {
+            int result = Integer.compare(changes.occurrences(position), occurrences[id]);
+            return result != 0 ? result : words[id].compareTo(changes.word(position));
+        });
+    }
+
+    @Override
+    public List<String> getMostPositiveWords(int n) {
+        return getFirstWords(n, byScore, changes.byScore(), true, this::compareScores);
+    }
+
+    @Override
+    public List<String> getMostNegativeWords(int n) {
+        return getFirstWords(n, byScore, changes.byScore(), false, this::compareScores);
+    }
+
+    private int compareScores(int id, int position) {
+        int result = Double.compare(scores[id], changes.score(position));
+        return result != 0 ? result : words[id].compareTo(changes.word(position));
+    }
+
+    // Merges the base order without the changed words with the order of the changed words. The comparison of
+    // a base id and a changed position is negative when the base word comes first in the ascending order
+    private List<String> getFirstWords(int n, int[] baseOrder, int[] changedOrder, boolean isReversed,
+                                       IntBinaryOperator comparison) {
+        List<String> result = new ArrayList<>(Math.min(n, size()));
+
+        int step = isReversed ? -1 : 1;
+        int base = isReversed ? baseOrder.length - 1 : 0;
+        int changed = isReversed ? changedOrder.length - 1 : 0;
+
+        while (result.size() < n) {
+            while (base >= 0 && base < baseOrder.length && changes.positionOf(baseOrder[base]) >= 0) {
+                base += step;
+            }
+
+            boolean hasBase = base >= 0 && base < baseOrder.length;
+            boolean hasChanged = changed >= 0 && changed < changedOrder.length;
+            if (!hasBase && !hasChanged) {
+                break;
+            }
+
+            if (hasChanged && (!hasBase || comparison.applyAsInt(baseOrder[base], changedOrder[changed]) * step > 0)) {
+                result.add(changes.word(changedOrder[changed]));
+                changed += step;
+            } else {
+                result.add(words[baseOrder[base]]);
+                base += step;
+            }
+        }
+
+        return result;
+    }
+
+    private int idOf(String word) {
+        int hash = word.hashCode();
+
+        for (int slot = WordSet.slot(hash, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && words[id].equals(word)) {
+                return id;
+            }
+        }
+
+        return changes.addedIdOf(word, hash);
+    }
+}
@@ -0,0 +1,51 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+/**
+ * An immutable open-addressing index of distinct int keys, which finds the position of a key in the array
+ * it was built from. The snapshots use it to find the few counters changed after their shared base copy.
+ */
+public final class IntIndex {
+    private static final int EMPTY = 0;
+
+    private final int[] keys;
+    private final int[] table; // The position of the key plus one, or EMPTY
+    private final int mask;
+
+    public IntIndex(int[] keys) {
+        this.keys = keys;
+
+        // The table is kept at most half full, so the probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(2, keys.length * 2) - 1) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int position = 0; position < keys.length; position++) {
+            int slot = WordSet.slot(keys[position], mask);
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = position + 1;
+        }
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    // Returns the position of the key, or -1 when the key is missing
+    public int positionOf(int key) {
+        if (keys.length == 0) {
+            return -1;
+        }
+
+        for (int slot = WordSet.slot(key, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if (keys[position] == key) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,158 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A binary file with a trained sentiment model. The header holds the magic number, the format version,
+ * the payload length and the CRC32 of the payload. The payload holds the number of reviews, the stopwords,
+ * the counts of every word and the bigram table, so the scores are restored exactly.
+ */
+public final class ModelFile {
+    private static final int MAGIC = 0x534D444C; // "SMDL"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2;
+
+    private ModelFile() {
+    }
+
+    // The model is written to a temporary file which replaces the old one, so a crash never leaves a partial model
+    public static void save(Path path, SentimentModel model) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            channel.position(HEADER_SIZE);
+
+            CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked));
+            writePayload(out, model);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putLong(out.size())
+                  .putLong(checked.getChecksum().getValue())
+                  .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Throws IOException when the file is not a valid model of this version
+    public static SentimentModel load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("The model file has invalid size " + fileSize);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("The file is not a sentiment model");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported model version " + version);
+            }
+            long payloadSize = buffer.getLong();
+            long checksum = buffer.getLong();
+            if (payloadSize != fileSize - HEADER_SIZE) {
+                throw new IOException("The model file is truncated");
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            if (crc.getValue() != checksum) {
+                throw new IOException("The model file is corrupted");
+            }
+
+            return readPayload(buffer);
+        }
+    }
+
+    private static void writePayload(DataOutputStream out, SentimentModel model) throws IOException {
+        SentimentDictionary dictionary = model.dictionary();
+        List<String> stopwords = model.stopwords().toList();
+
+        out.writeInt(dictionary.getReviewsCount());
+        out.writeInt(dictionary.getBigramBuckets());
+
+        out.writeInt(stopwords.size());
+        for (String stopword : stopwords) {
+            writeString(out, stopword);
+        }
+
+        out.writeInt(dictionary.size());
+        for (int id = 0; id < dictionary.size(); id++) {
+            writeString(out, dictionary.word(id));
+            out.writeInt(dictionary.occurrences(id));
+            out.writeInt(dictionary.reviews(id));
+            out.writeLong(dictionary.sentimentSum(id));
+        }
+
+        BigramTable bigrams = dictionary.bigrams();
+        for (int bucket = 0; bucket < dictionary.getBigramBuckets(); bucket++) {
+            out.writeInt(bigrams.reviews(bucket));
+            out.writeLong(bigrams.sentimentSum(bucket));
+        }
+    }
+
+    private static SentimentModel readPayload(ByteBuffer buffer) throws IOException {
+        try {
+            int reviewsCount = buffer.getInt();
+            SentimentDictionary dictionary = new SentimentDictionary(buffer.getInt());
+            dictionary.restoreReviewsCount(reviewsCount);
+
+            String[] stopwords = new String[buffer.getInt()];
+            for (int i = 0; i < stopwords.length; i++) {
+                stopwords[i] = readString(buffer);
+            }
+
+            int size = buffer.getInt();
+            for (int i = 0; i < size; i++) {
+                dictionary.restore(readString(buffer), buffer.getInt(), buffer.getInt(), buffer.getLong());
+            }
+
+            BigramTable bigrams = dictionary.bigrams();
+            for (int bucket = 0; bucket < dictionary.getBigramBuckets(); bucket++) {
+                bigrams.restore(bucket, buffer.getInt(), buffer.getLong());
+            }
+
+            return new SentimentModel(dictionary, new WordSet(List.of(stopwords)));
+        } catch (RuntimeException e) {
+            throw new IOException("The model file is malformed", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
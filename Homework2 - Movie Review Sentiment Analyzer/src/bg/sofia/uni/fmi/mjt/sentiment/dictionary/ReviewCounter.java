@@ -0,0 +1,15 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+/**
+ * Counts the words of the reviews. The counter is changed by a single thread at a time,
+ * and its snapshots are read by any number of threads.
+ */
+public interface ReviewCounter {
+    // Adds the remaining words of the tokenizer as one review with the given sentiment
+    void addReview(int sentiment, Tokenizer tokenizer, WordSet stopwords);
+
+    // A copy of the current counts, which is not changed by the later reviews
+    WordStatistics snapshot();
+}
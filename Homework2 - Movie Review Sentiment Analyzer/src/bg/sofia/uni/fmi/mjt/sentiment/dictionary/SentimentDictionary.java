@@ -0,0 +1,434 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import bg.sofia.uni.fmi.mjt.sentiment.review.Review;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * An open-addressing dictionary which maps every word to a dense id. The counts of the words are kept in
+ * primitive arrays indexed by the id, so the updates neither box nor hash the word more than once.
+ */
+public class SentimentDictionary implements ReviewCounter {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int EMPTY = 0;
+    private static final int MIN_CHANGES = 256;
+    private static final int CHANGES_PER_SQUARE_ROOT = 4;
+
+    private int[] table; // The id of the word plus one, or EMPTY
+    private int mask;
+
+    private String[] words;
+    private int[] hashes;
+    private int[] occurrences;
+    private int[] reviews; // How many reviews contain the word
+    private long[] sentimentSums;
+    private int[] lastReview; // The last review which contained the word, so every review is counted once per word
+
+    private int size;
+    private int reviewsCount;
+
+    // The ids ordered by the top-n queries. They are built by the first query and then kept up to date,
+    // so the training does not pay for them and the later queries read only the first n ids
+    private NavigableSet<Integer> byFrequency;
+    private NavigableSet<Integer> byScore;
+
+    private final BigramTable bigrams; // null when the bigrams are not counted
+
+    // The last full snapshot and the words and the bigram buckets changed since it. The next snapshots share
+    // its arrays and copy only the changed counts, so a commit of a few reviews does not copy the whole dictionary
+    private DictionarySnapshot base;
+    private final ChangedKeys changedWords = new ChangedKeys();
+    private final ChangedKeys changedBuckets = new ChangedKeys();
+
+    public SentimentDictionary() {
+        this(0);
+    }
+
+    // The bigrams of the consecutive words are counted in the given number of buckets, unless it is zero
+    public SentimentDictionary(int bigramBuckets) {
+        if (bigramBuckets < 0) {
+            throw new IllegalArgumentException("The number of bigram buckets cannot be negative");
+        }
+
+        this.bigrams = bigramBuckets == 0 ? null : new BigramTable(bigramBuckets);
+
+        this.table = new int[INITIAL_CAPACITY * 2];
+        this.mask = table.length - 1;
+
+        this.words = new String[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.occurrences = new int[INITIAL_CAPACITY];
+        this.reviews = new int[INITIAL_CAPACITY];
+        this.sentimentSums = new long[INITIAL_CAPACITY];
+        this.lastReview = new int[INITIAL_CAPACITY];
+    }
+
+    public void addReview(Review review) {
+        int reviewId = ++reviewsCount;
+
+        int previous = -1;
+        for (String word : review.words()) {
+            int id = getOrAdd(word);
+            count(id, review.sentiment(), reviewId);
+            countBigram(previous, id, review.sentiment(), reviewId);
+            previous = id;
+        }
+    }
+
+    // Creates strings only for the new words
+    @Override
+    public void addReview(int sentiment, Tokenizer tokenizer, WordSet stopwords) {
+        int reviewId = ++reviewsCount;
+
+        int previous = -1;
+        while (tokenizer.next()) {
+            if (!stopwords.contains(tokenizer.token(), tokenizer.length(), tokenizer.hash())) {
+                int id = getOrAdd(tokenizer);
+                count(id, sentiment, reviewId);
+                countBigram(previous, id, sentiment, reviewId);
+                previous = id;
+            }
+        }
+    }
+
+    // The sums are integers, so the merged counts do not depend on the order of the reviews
+    public void merge(SentimentDictionary other) {
+        discardSnapshots();
+        byFrequency = null;
+        byScore = null;
+        reviewsCount += other.reviewsCount;
+
+        if (bigrams != null) {
+            bigrams.merge(other.bigrams);
+        }
+
+        for (int otherId = 0; otherId < other.size; otherId++) {
+            int id = getOrAdd(other.words[otherId]);
+
+            occurrences[id] += other.occurrences[otherId];
+            reviews[id] += other.reviews[otherId];
+            sentimentSums[id] += other.sentimentSums[otherId];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String word) {
+        return idOf(word) >= 0;
+    }
+
+    public double getScore(String word) {
+        int id = idOf(word);
+        return id >= 0 ? score(id) : 0.0;
+    }
+
+    // Returns the id of the word in the first length chars of the buffer, or -1 when the word is missing
+    public int idOf(char[] chars, int length) {
+        return idOf(chars, length, WordSet.hash(chars, length));
+    }
+
+    public int idOf(char[] chars, int length, int hash) {
+        for (int slot = WordSet.slot(hash, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && WordSet.matches(words[id], chars, length)) {
+                return id;
+            }
+        }
+
+        return -1;
+    }
+
+    public double getScore(int id) {
+        return score(id);
+    }
+
+    public int getBigramBuckets() {
+        return bigrams == null ? 0 : bigrams.buckets();
+    }
+
+    public int getReviewsCount() {
+        return reviewsCount;
+    }
+
+    public int getOccurrences(String word) {
+        int id = idOf(word);
+        return id >= 0 ? occurrences[id] : 0;
+    }
+
+    public int getReviews(String word) {
+        int id = idOf(word);
+        return id >= 0 ? reviews[id] : 0;
+    }
+
+    public List<String> getMostFrequentWords(int n) {
+        buildIndexes();
+        return getFirstWords(n, byFrequency.iterator());
+    }
+
+    // The most positive words are the most negative ones in reverse order, including the ties
+    public List<String> getMostPositiveWords(int n) {
+        buildIndexes();
+        return getFirstWords(n, byScore.descendingIterator());
+    }
+
+    public List<String> getMostNegativeWords(int n) {
+        buildIndexes();
+        return getFirstWords(n, byScore.iterator());
+    }
+
+    // Copies the counts changed since the last full snapshot. When they become more than a few times the square
+    // root of the words or the buckets, the snapshot copies all counts and the orders of the words instead,
+    // so the copied changes and the full copies cost about the same per committed word
+    @Override
+    public DictionarySnapshot snapshot() {
+        if (base == null || changedWords.size() > maxChanges(size) ||
+            changedBuckets.size() > maxChanges(getBigramBuckets())) {
+            base = fullSnapshot();
+            changedWords.clear();
+            changedBuckets.clear();
+
+            return base;
+        }
+
+        int[] ids = changedWords.toArray();
+        String[] changedWordNames = new String[ids.length];
+        int[] changedHashes = new int[ids.length];
+        int[] changedOccurrences = new int[ids.length];
+        double[] changedScores = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            changedWordNames[i] = words[ids[i]];
+            changedHashes[i] = hashes[ids[i]];
+            changedOccurrences[i] = occurrences[ids[i]];
+            changedScores[i] = score(ids[i]);
+        }
+
+        int[] buckets = changedBuckets.toArray();
+        double[] bucketScores = new double[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            bucketScores[i] = bigrams.score(buckets[i]);
+        }
+
+        return base.withChanges(new DictionaryChanges(base.baseSize(), ids, changedWordNames, changedHashes,
+                changedOccurrences, changedScores, buckets, bucketScores));
+    }
+
+    private static int maxChanges(int counters) {
+        return Math.max(MIN_CHANGES, (int) Math.sqrt(counters) * CHANGES_PER_SQUARE_ROOT);
+    }
+
+    // Copies the counts and the orders of the words
+    private DictionarySnapshot fullSnapshot() {
+        buildIndexes();
+
+        double[] scores = new double[size];
+        for (int id = 0; id < size; id++) {
+            scores[id] = score(id);
+        }
+
+        return new DictionarySnapshot(table.clone(), Arrays.copyOf(words, size), Arrays.copyOf(hashes, size),
+                Arrays.copyOf(occurrences, size), scores, toArray(byFrequency), toArray(byScore),
+                bigrams == null ? null : bigrams.copy());
+    }
+
+    private static int[] toArray(NavigableSet<Integer> ids) {
+        int[] result = new int[ids.size()];
+
+        int i = 0;
+        for (int id : ids) {
+            result[i++] = id;
+        }
+
+        return result;
+    }
+
+    private List<String> getFirstWords(int n, Iterator<Integer> ids) {
+        List<String> result = new ArrayList<>(Math.min(n, size));
+        while (result.size() < n && ids.hasNext()) {
+            result.add(words[ids.next()]);
+        }
+
+        return result;
+    }
+
+    private void buildIndexes() {
+        if (byFrequency != null) {
+            return;
+        }
+
+        byFrequency = new TreeSet<>(Comparator.comparingInt((Integer id) -> occurrences[id]).reversed()
+                .thenComparing(id -> words[id]));
+        byScore = new TreeSet<>(Comparator.comparingDouble((Integer id) -> score(id))
+                .thenComparing(id -> words[id]));
+
+        for (int id = 0; id < size; id++) {
+            byFrequency.add(id);
+            byScore.add(id);
+        }
+    }
+
+    // The raw counts of the word with the given id, used by the model file
+    String word(int id) {
+        return words[id];
+    }
+
+    int occurrences(int id) {
+        return occurrences[id];
+    }
+
+    int reviews(int id) {
+        return reviews[id];
+    }
+
+    long sentimentSum(int id) {
+        return sentimentSums[id];
+    }
+
+    void restore(String word, int wordOccurrences, int wordReviews, long sentimentSum) {
+        discardSnapshots();
+        int id = getOrAdd(word);
+
+        occurrences[id] = wordOccurrences;
+        reviews[id] = wordReviews;
+        sentimentSums[id] = sentimentSum;
+    }
+
+    BigramTable bigrams() {
+        return bigrams;
+    }
+
+    void restoreReviewsCount(int count) {
+        reviewsCount = count;
+    }
+
+    // The counts changed without being recorded, so the next snapshot is a full copy
+    private void discardSnapshots() {
+        base = null;
+        changedWords.clear();
+        changedBuckets.clear();
+    }
+
+    private double score(int id) {
+        return (double) sentimentSums[id] / reviews[id];
+    }
+
+    private void countBigram(int previous, int id, int sentiment, int reviewId) {
+        if (bigrams != null && previous >= 0) {
+            int bucket = bigrams.bucket(hashes[previous], hashes[id]);
+            if (bigrams.add(bucket, sentiment, reviewId) && base != null) {
+                changedBuckets.add(bucket);
+            }
+        }
+    }
+
+    // The id is removed from the indexes before its counts change and added back after that,
+    // because the tree sets find it by the counts
+    private void count(int id, int sentiment, int reviewId) {
+        boolean isIndexed = byFrequency != null && occurrences[id] > 0;
+        boolean isNewReview = lastReview[id] != reviewId;
+
+        if (isIndexed) {
+            byFrequency.remove(id);
+            if (isNewReview) {
+                byScore.remove(id);
+            }
+        }
+
+        ++occurrences[id];
+        if (base != null) {
+            changedWords.add(id);
+        }
+        if (isNewReview) {
+            lastReview[id] = reviewId;
+            ++reviews[id];
+            sentimentSums[id] += sentiment;
+        }
+
+        if (byFrequency != null) {
+            byFrequency.add(id);
+            if (isNewReview) {
+                byScore.add(id);
+            }
+        }
+    }
+
+    private int idOf(String word) {
+        return find(word, word.hashCode());
+    }
+
+    private int find(String word, int hash) {
+        for (int slot = WordSet.slot(hash, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && words[id].equals(word)) {
+                return id;
+            }
+        }
+
+        return -1;
+    }
+
+    private int getOrAdd(String word) {
+        int hash = word.hashCode();
+
+        int id = find(word, hash);
+        if (id >= 0) {
+            return id;
+        }
+
+        return add(word, hash);
+    }
+
+    private int getOrAdd(Tokenizer tokenizer) {
+        int id = idOf(tokenizer.token(), tokenizer.length(), tokenizer.hash());
+        return id >= 0 ? id : add(tokenizer.tokenAsString(), tokenizer.hash());
+    }
+
+    private int add(String word, int hash) {
+        if (size == words.length) {
+            grow();
+        }
+
+        int id = size++;
+        words[id] = word;
+        hashes[id] = hash;
+        insert(id);
+
+        return id;
+    }
+
+    private void insert(int id) {
+        int slot = WordSet.slot(hashes[id], mask);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = id + 1;
+    }
+
+    // The table is kept at most half full, so the probe sequences stay short
+    private void grow() {
+        int capacity = words.length * 2;
+
+        words = Arrays.copyOf(words, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        occurrences = Arrays.copyOf(occurrences, capacity);
+        reviews = Arrays.copyOf(reviews, capacity);
+        sentimentSums = Arrays.copyOf(sentimentSums, capacity);
+        lastReview = Arrays.copyOf(lastReview, capacity);
+
+        table = new int[capacity * 2];
+        mask = table.length - 1;
+
+        for (int id = 0; id < size; id++) {
+            insert(id);
+        }
+    }
+}
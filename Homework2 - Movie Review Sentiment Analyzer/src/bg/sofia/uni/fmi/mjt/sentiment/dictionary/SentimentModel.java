@@ -0,0 +1,4 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+public record SentimentModel(SentimentDictionary dictionary, WordSet stopwords) {
+}
@@ -0,0 +1,245 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable set of words, compiled into a minimal perfect hash, which can be probed directly with a slice
+ * of a char buffer. The words are split into buckets by their hash, and every bucket has a seed which places
+ * its words into distinct slots of a table with exactly one slot per word. A lookup hashes the slice once
+ * and compares it with the single word in its slot, without probing or creating a string.
+ */
+public class WordSet {
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    private static final int SEED_MULTIPLIER = 0x85EBCA6B;
+    private static final int MAX_SEED = 1 << 16;
+    private static final int MAX_SALTS = 16;
+    private static final int WORDS_PER_BUCKET = 4;
+
+    private final String[] words; // Exactly one word per slot
+    private final int[] hashes; // The hash of the word in every slot, so most other words are rejected by it
+    private final int[] seeds; // A negative seed is the slot of the only word in the bucket, as -slot - 1
+    private final int bucketShift;
+    private final int salt;
+
+    // The distinct words with the same hash as a word in the table cannot get their own slots, so they are
+    // compared only after a slice matches the hash of their slot. Such words are very rare
+    private final String[] sameHashWords;
+
+    public WordSet(Collection<String> words) {
+        Map<Integer, String> byHash = new HashMap<>();
+        List<String> sameHash = new ArrayList<>();
+        for (String word : words.stream().distinct().toList()) {
+            if (byHash.putIfAbsent(word.hashCode(), word) != null) {
+                sameHash.add(word);
+            }
+        }
+
+        String[] distinct = byHash.values().toArray(String[]::new);
+        int buckets = Integer.highestOneBit(Math.max(2, distinct.length / WORDS_PER_BUCKET) * 2 - 1);
+
+        this.words = new String[distinct.length];
+        this.hashes = new int[distinct.length];
+        this.seeds = new int[buckets];
+        this.bucketShift = Integer.SIZE - Integer.numberOfTrailingZeros(buckets);
+        this.sameHashWords = sameHash.toArray(String[]::new);
+
+        // The hashes are distinct, so another salt eventually separates the words which no seed can place
+        int currentSalt = 0;
+        int attempt = 0;
+        while (!place(distinct, currentSalt)) {
+            if (++attempt == MAX_SALTS) {
+                throw new IllegalArgumentException("The words cannot be placed in a perfect hash");
+            }
+            currentSalt = (currentSalt + attempt) * SEED_MULTIPLIER;
+        }
+        this.salt = currentSalt;
+    }
+
+    public int size() {
+        return words.length + sameHashWords.length;
+    }
+
+    public List<String> toList() {
+        List<String> result = new ArrayList<>(size());
+        result.addAll(Arrays.asList(words));
+        result.addAll(Arrays.asList(sameHashWords));
+
+        return result;
+    }
+
+    public boolean contains(String word) {
+        return contains(word, word.hashCode());
+    }
+
+    public boolean contains(char[] chars, int length) {
+        return contains(chars, length, hash(chars, length));
+    }
+
+    // The hash must be the one of hash(chars, length), for example from the tokenizer
+    public boolean contains(char[] chars, int length, int hash) {
+        if (words.length == 0) {
+            return false;
+        }
+
+        int slot = slotOf(hash);
+        if (hashes[slot] != hash) {
+            return false;
+        }
+        if (matches(words[slot], chars, length)) {
+            return true;
+        }
+
+        for (String word : sameHashWords) {
+            if (matches(word, chars, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // The same hash as String.hashCode(), so the slices are found without creating strings
+    public static int hash(char[] chars, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        return hash;
+    }
+
+    static boolean matches(String word, char[] chars, int length) {
+        if (word.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Fibonacci hashing spreads the similar hash codes of the short words over the whole table
+    static int slot(int hash, int mask) {
+        return (hash * HASH_MULTIPLIER) >>> Integer.numberOfLeadingZeros(mask);
+    }
+
+    private boolean contains(String word, int hash) {
+        if (words.length == 0) {
+            return false;
+        }
+
+        int slot = slotOf(hash);
+        return hashes[slot] == hash && (words[slot].equals(word) || Arrays.asList(sameHashWords).contains(word));
+    }
+
+    private int slotOf(int hash) {
+        int mixed = (hash ^ salt) * HASH_MULTIPLIER;
+
+        int seed = seeds[mixed >>> bucketShift];
+        return seed < 0 ? -seed - 1 : reduce(mixed, seed, words.length);
+    }
+
+    // The larger buckets are placed first, while most of the slots are free, and the buckets with a single word
+    // take the remaining slots directly. Returns false when a bucket cannot be placed with any seed
+    private boolean place(String[] distinct, int currentSalt) {
+        Arrays.fill(words, null);
+        Arrays.fill(seeds, 0);
+
+        int[] mixed = new int[distinct.length];
+        int[][] buckets = new int[seeds.length][];
+        int[] bucketSizes = new int[seeds.length];
+        for (int i = 0; i < distinct.length; i++) {
+            mixed[i] = (distinct[i].hashCode() ^ currentSalt) * HASH_MULTIPLIER;
+
+            int bucket = mixed[i] >>> bucketShift;
+            if (buckets[bucket] == null) {
+                buckets[bucket] = new int[WORDS_PER_BUCKET];
+            } else if (bucketSizes[bucket] == buckets[bucket].length) {
+                buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+            }
+            buckets[bucket][bucketSizes[bucket]++] = i;
+        }
+
+        int[] order = IntStream.range(0, seeds.length)
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer bucket) -> bucketSizes[bucket]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int nextFree = 0;
+        int[] slots = new int[0];
+        for (int bucket : order) {
+            int size = bucketSizes[bucket];
+            if (size == 0) {
+                break;
+            }
+
+            if (size == 1) {
+                while (words[nextFree] != null) {
+                    ++nextFree;
+                }
+                put(nextFree, distinct[buckets[bucket][0]]);
+                seeds[bucket] = -nextFree - 1;
+                continue;
+            }
+
+            if (slots.length < size) {
+                slots = new int[size];
+            }
+            int seed = findSeed(buckets[bucket], size, mixed, slots);
+            if (seed < 0) {
+                return false;
+            }
+
+            seeds[bucket] = seed;
+            for (int i = 0; i < size; i++) {
+                put(slots[i], distinct[buckets[bucket][i]]);
+            }
+        }
+
+        return true;
+    }
+
+    // Returns the first seed which places all words of the bucket in distinct free slots, or -1
+    private int findSeed(int[] bucket, int size, int[] mixed, int[] slots) {
+        for (int seed = 0; seed < MAX_SEED; seed++) {
+            boolean isPlaced = true;
+
+            for (int i = 0; i < size && isPlaced; i++) {
+                slots[i] = reduce(mixed[bucket[i]], seed, words.length);
+                isPlaced = words[slots[i]] == null;
+                for (int j = 0; j < i && isPlaced; j++) {
+                    isPlaced = slots[j] != slots[i];
+                }
+            }
+
+            if (isPlaced) {
+                return seed;
+            }
+        }
+
+        return -1;
+    }
+
+    private void put(int slot, String word) {
+        words[slot] = word;
+        hashes[slot] = word.hashCode();
+    }
+
+    // Rehashes with the seed and maps the result to [0, size) with a multiplication instead of a division
+    private static int reduce(int mixed, int seed, int size) {
+        int rehashed = (mixed ^ (seed * SEED_MULTIPLIER)) * HASH_MULTIPLIER;
+        return (int) (((rehashed & 0xFFFFFFFFL) * size) >>> Integer.SIZE);
+    }
+}
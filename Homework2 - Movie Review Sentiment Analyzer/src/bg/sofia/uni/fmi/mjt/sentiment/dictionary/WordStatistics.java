@@ -0,0 +1,28 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.util.List;
+
+/**
+ * A read-only view of the word counts, which can be shared by many threads.
+ */
+public interface WordStatistics {
+    int size();
+
+    boolean contains(String word);
+
+    double getScore(String word);
+
+    int getOccurrences(String word);
+
+    // Averages the scores of the known words among the remaining words of the tokenizer,
+    // returns -1.0 when none of them is known
+    double scoreReview(Tokenizer tokenizer, WordSet stopwords);
+
+    List<String> getMostFrequentWords(int n);
+
+    List<String> getMostPositiveWords(int n);
+
+    List<String> getMostNegativeWords(int n);
+}
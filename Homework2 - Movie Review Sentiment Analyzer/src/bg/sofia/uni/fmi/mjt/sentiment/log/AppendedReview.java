@@ -0,0 +1,4 @@
+package bg.sofia.uni.fmi.mjt.sentiment.log;
+
+public record AppendedReview(int sentiment, String text) {
+}
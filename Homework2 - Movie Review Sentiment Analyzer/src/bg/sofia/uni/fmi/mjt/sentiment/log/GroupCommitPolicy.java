@@ -0,0 +1,20 @@
+package bg.sofia.uni.fmi.mjt.sentiment.log;
+
+import java.time.Duration;
+
+/**
+ * When the appended reviews are flushed: as soon as maxBatchSize reviews are waiting, or maxDelay after the
+ * first waiting review. A zero delay commits immediately all reviews appended while the previous batch was flushed.
+ */
+public record GroupCommitPolicy(int maxBatchSize, Duration maxDelay) {
+    public static final GroupCommitPolicy IMMEDIATE = new GroupCommitPolicy(256, Duration.ZERO);
+
+    public GroupCommitPolicy {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("The delay cannot be null or negative");
+        }
+    }
+}
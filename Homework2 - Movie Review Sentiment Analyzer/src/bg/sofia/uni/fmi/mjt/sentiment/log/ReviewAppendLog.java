@@ -0,0 +1,220 @@
+package bg.sofia.uni.fmi.mjt.sentiment.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Appends reviews to a writer which stays open. The concurrent appends are collected by a single committer
+ * thread into batches, which are written and flushed together. The committed batch is passed to the listener
+ * before the waiting appends return, so the model never contains a review which is not flushed.
+ * A batch which cannot be written, or which the listener rejects after it is flushed, stops the log: the waiting
+ * and the later appends fail, and nothing else is written, so the failed reviews are never flushed by a later batch
+ * and the model lacks only the reviews of the last flushed batch until the log is trained again.
+ * The committer thread is started by the first append, so a log which is never appended to has no thread.
+ */
+public class ReviewAppendLog implements Closeable {
+    private static final Pending CLOSE = new Pending(null);
+
+    private final Writer writer;
+    private final GroupCommitPolicy policy;
+    private final Consumer<List<AppendedReview>> onCommit;
+
+    private final BlockingQueue<Pending> pending;
+    private final Object lock = new Object();
+    private Thread committer; // null until the first append
+    private boolean isClosed; // Also set when a failed batch stops the log
+
+    private long commits;
+    private long committedReviews;
+
+    public ReviewAppendLog(Writer out, GroupCommitPolicy policy, Consumer<List<AppendedReview>> onCommit) {
+        if (out == null || policy == null || onCommit == null) {
+            throw new IllegalArgumentException("The writer, the policy and the listener cannot be null");
+        }
+
+        this.writer = out;
+        this.policy = policy;
+        this.onCommit = onCommit;
+        this.pending = new LinkedBlockingQueue<>();
+    }
+
+    // Blocks until the batch of the review is flushed, returns false if the review could not be written
+    // or the log is closed
+    public boolean append(AppendedReview review) {
+        Pending append = new Pending(review);
+
+        synchronized (lock) {
+            if (isClosed) {
+                return false;
+            }
+            if (committer == null) {
+                committer = new Thread(this::commitLoop, "review-append-log");
+                committer.setDaemon(true);
+                committer.start();
+            }
+            pending.add(append);
+        }
+
+        try {
+            return append.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A problem occurred while committing the review", e.getCause());
+        }
+    }
+
+    public synchronized long getCommits() {
+        return commits;
+    }
+
+    public synchronized long getCommittedReviews() {
+        return committedReviews;
+    }
+
+    // The waiting reviews are committed before the log is closed. The writer stays open, it belongs to the caller
+    @Override
+    public void close() throws IOException {
+        Thread started;
+        synchronized (lock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            started = committer;
+            pending.add(CLOSE);
+        }
+
+        if (started == null) {
+            return;
+        }
+
+        try {
+            started.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(policy.maxBatchSize());
+
+        try {
+            boolean isLast = false;
+            while (!isLast) {
+                Pending first = pending.take();
+                if (first != CLOSE) {
+                    batch.add(first);
+                    isLast = collect(batch);
+                } else {
+                    isLast = true;
+                }
+
+                if (!batch.isEmpty()) {
+                    isLast |= !commit(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Returns true when the log is closed after this batch
+    private boolean collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + policy.maxDelay().toNanos();
+
+        while (batch.size() < policy.maxBatchSize()) {
+            Pending next = pending.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || (next = pending.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                    return false;
+                }
+            }
+
+            if (next == CLOSE) {
+                return true;
+            }
+            batch.add(next);
+        }
+
+        return false;
+    }
+
+    // Returns false when the batch failed and the log is stopped
+    private boolean commit(List<Pending> batch) {
+        List<AppendedReview> reviews = new ArrayList<>(batch.size());
+
+        // The batch is written with a single call, so a failed write leaves none of its reviews in a buffer of the log
+        StringBuilder lines = new StringBuilder();
+        for (Pending append : batch) {
+            lines.append(append.review.sentiment())
+                 .append(" ")
+                 .append(append.review.text())
+                 .append(System.lineSeparator());
+            reviews.add(append.review);
+        }
+
+        try {
+            writer.write(lines.toString());
+            writer.flush();
+        } catch (IOException e) {
+            batch.forEach(append -> append.result.complete(false));
+            stop();
+            return false;
+        }
+
+        try {
+            onCommit.accept(reviews);
+        } catch (RuntimeException e) {
+            batch.forEach(append -> append.result.completeExceptionally(e));
+            stop();
+            return false;
+        }
+
+        synchronized (this) {
+            ++commits;
+            committedReviews += batch.size();
+        }
+
+        batch.forEach(append -> append.result.complete(true));
+        return true;
+    }
+
+    // No review is added after the log is closed, so the waiting ones are drained once
+    private void stop() {
+        synchronized (lock) {
+            isClosed = true;
+        }
+
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            if (next != CLOSE) {
+                next.result.complete(false);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final AppendedReview review;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private Pending(AppendedReview review) {
+            this.review = review;
+        }
+    }
+}
@@ -1,24 +1,25 @@
 package bg.sofia.uni.fmi.mjt.sentiment.review;
 
-import java.util.Arrays;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.function.Predicate;
 
 public record Review(int sentiment, List<String> words) {
-    private static final String DELIMITER_REGEX = "[^\\w']+";
+    public static Review of(String review, WordSet stopwords) {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(review);
 
-    public static Review of(String review, Set<String> stopwords) {
-        final String[] tokens = review.split(DELIMITER_REGEX);
-        int sentiment = Integer.parseInt(tokens[0]);
+        int sentiment = tokenizer.nextInt(); // The first token is the sentiment
 
-        List<String> words = Arrays.stream(tokens)
-                .skip(1) // The first token is the sentiment
-                .filter(str -> str.length() >= 2)
-                .map(String::toLowerCase)
-                .filter(Predicate.not(stopwords::contains))
-                .toList();
+        List<String> words = new ArrayList<>();
+        while (tokenizer.next()) {
+            // The stopwords are probed from the token buffer, so only the kept words become strings
+            if (!stopwords.contains(tokenizer.token(), tokenizer.length(), tokenizer.hash())) {
+                words.add(tokenizer.tokenAsString());
+            }
+        }
 
-        return new Review(sentiment, words);
+        return new Review(sentiment, List.copyOf(words));
     }
 }
@@ -0,0 +1,179 @@
+package bg.sofia.uni.fmi.mjt.sentiment.review;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Splits a review into words in the same way as the {@code [^\w']+} delimiter, without regular expressions
+ * and without creating strings. The current word is lowercased into a buffer which is reused for all words.
+ * The review is either a string or a range of UTF-8 bytes, for example of a memory-mapped file.
+ */
+public class Tokenizer {
+    public static final int MIN_WORD_LENGTH = 2;
+    private static final int INITIAL_BUFFER_SIZE = 64;
+    private static final int RADIX = 10;
+
+    private CharSequence text;
+    private ByteBuffer bytes;
+    private int position;
+    private int end;
+
+    private char[] token;
+    private int length;
+    private int hash;
+
+    public Tokenizer() {
+        this.token = new char[INITIAL_BUFFER_SIZE];
+    }
+
+    public void reset(CharSequence text) {
+        this.text = text;
+        this.bytes = null;
+        this.position = 0;
+        this.end = text.length();
+        this.length = 0;
+    }
+
+    // The bytes are read as ASCII without decoding. Every byte of a multi-byte UTF-8 character is above 0x7F,
+    // so it separates the words in the same way as the non-ASCII character does in a string
+    public void reset(ByteBuffer bytes, int from, int to) {
+        this.text = null;
+        this.bytes = bytes;
+        this.position = from;
+        this.end = to;
+        this.length = 0;
+    }
+
+    // Moves to the next word of at least MIN_WORD_LENGTH characters
+    public boolean next() {
+        if (bytes != null) {
+            return nextInBytes();
+        }
+
+        while (position < end) {
+            while (position < end && !isWordCharacter(text.charAt(position))) {
+                ++position;
+            }
+
+            length = 0;
+            hash = 0;
+            while (position < end) {
+                char current = text.charAt(position);
+                if (!isWordCharacter(current)) {
+                    break;
+                }
+
+                append(toLowerCase(current));
+                ++position;
+            }
+
+            if (length >= MIN_WORD_LENGTH) {
+                return true;
+            }
+        }
+
+        length = 0;
+        return false;
+    }
+
+    // Parses the word at the current position as a number, like the first token of a review line
+    public int nextInt() {
+        if (bytes != null) {
+            return nextIntInBytes();
+        }
+
+        int start = position;
+        while (position < end && isWordCharacter(text.charAt(position))) {
+            ++position;
+        }
+
+        return Integer.parseInt(text, start, position, RADIX);
+    }
+
+    public char[] token() {
+        return token;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    // The same hash as String.hashCode() of the word, computed while the word is read, so the lookups
+    // of the word do not hash it again
+    public int hash() {
+        return hash;
+    }
+
+    public String tokenAsString() {
+        return new String(token, 0, length);
+    }
+
+    private boolean nextInBytes() {
+        while (position < end) {
+            while (position < end && !isWordCharacter((char) (bytes.get(position) & 0xFF))) {
+                ++position;
+            }
+
+            length = 0;
+            hash = 0;
+            while (position < end) {
+                char current = (char) (bytes.get(position) & 0xFF);
+                if (!isWordCharacter(current)) {
+                    break;
+                }
+
+                append(toLowerCase(current));
+                ++position;
+            }
+
+            if (length >= MIN_WORD_LENGTH) {
+                return true;
+            }
+        }
+
+        length = 0;
+        return false;
+    }
+
+    private int nextIntInBytes() {
+        int start = position;
+        long value = 0;
+
+        while (position < end) {
+            char current = (char) (bytes.get(position) & 0xFF);
+            if (!isWordCharacter(current)) {
+                break;
+            }
+            if (current < '0' || current > '9' || (value = value * RADIX + current - '0') > Integer.MAX_VALUE) {
+                throw new NumberFormatException("The review does not start with a sentiment");
+            }
+
+            ++position;
+        }
+
+        if (position == start) {
+            throw new NumberFormatException("The review does not start with a sentiment");
+        }
+
+        return (int) value;
+    }
+
+    private void append(char character) {
+        if (length == token.length) {
+            token = Arrays.copyOf(token, token.length * 2);
+        }
+
+        token[length++] = character;
+        hash = 31 * hash + character;
+    }
+
+    // The \w class matches only ASCII letters, digits and underscore
+    private static boolean isWordCharacter(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') ||
+               (character >= '0' && character <= '9') || character == '_' || character == '\'';
+    }
+
+    private static char toLowerCase(char character) {
+        return character >= 'A' && character <= 'Z' ? (char) (character + ('a' - 'A')) : character;
+    }
+}
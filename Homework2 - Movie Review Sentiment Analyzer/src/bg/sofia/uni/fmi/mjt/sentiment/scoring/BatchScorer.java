@@ -0,0 +1,88 @@
+package bg.sofia.uni.fmi.mjt.sentiment.scoring;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Scores a stream of reviews on several threads. The reviews are read in chunks of lines, and at most
+ * a few chunks per thread are in flight, so the memory does not depend on the number of reviews.
+ * The scored chunks are written in the order they were read.
+ */
+public class BatchScorer {
+    private static final int CHUNK_LINES = 1024;
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 2;
+
+    private final Function<String, String> scoreLine;
+    private final int threads;
+
+    public BatchScorer(Function<String, String> scoreLine, int threads) {
+        if (scoreLine == null) {
+            throw new IllegalArgumentException("The scoring function cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+
+        this.scoreLine = scoreLine;
+        this.threads = threads;
+    }
+
+    public void score(Iterator<String> reviews, Writer out) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Queue<Future<String>> inFlight = new ArrayDeque<>();
+
+        try {
+            while (reviews.hasNext()) {
+                List<String> chunk = new ArrayList<>(CHUNK_LINES);
+                while (chunk.size() < CHUNK_LINES && reviews.hasNext()) {
+                    chunk.add(reviews.next());
+                }
+
+                if (inFlight.size() == threads * CHUNKS_IN_FLIGHT_PER_THREAD) {
+                    out.write(await(inFlight.remove()));
+                }
+                inFlight.add(executor.submit(() -> scoreChunk(chunk)));
+            }
+
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.remove()));
+            }
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String scoreChunk(List<String> chunk) {
+        StringBuilder result = new StringBuilder();
+        for (String review : chunk) {
+            result.append(scoreLine.apply(review)).append(System.lineSeparator());
+        }
+
+        return result.toString();
+    }
+
+    private static String await(Future<String> chunk) {
+        try {
+            return chunk.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A problem occurred while scoring the reviews", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The scoring of the reviews was interrupted", e);
+        }
+    }
+}
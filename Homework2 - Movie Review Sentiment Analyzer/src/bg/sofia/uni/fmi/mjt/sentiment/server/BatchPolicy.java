@@ -0,0 +1,20 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import java.time.Duration;
+
+/**
+ * When the waiting score requests are dispatched: as soon as maxBatchSize requests are waiting, or maxDelay after
+ * the first waiting request. A zero delay dispatches all requests which arrived while the previous batch was taken.
+ */
+public record BatchPolicy(int maxBatchSize, Duration maxDelay) {
+    public static final BatchPolicy DEFAULT = new BatchPolicy(64, Duration.ofMillis(1));
+
+    public BatchPolicy {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("The delay cannot be null or negative");
+        }
+    }
+}
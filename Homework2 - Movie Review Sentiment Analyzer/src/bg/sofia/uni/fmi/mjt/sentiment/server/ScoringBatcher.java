@@ -0,0 +1,197 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces the concurrent score requests into micro-batches. A single dispatcher thread collects the requests
+ * by the batch policy, and every batch is scored on a worker of a fixed pool, so the number of scoring threads
+ * does not grow with the number of connections. At most two batches per worker are dispatched at a time, and
+ * the requests which arrive meanwhile are collected into larger batches. The scorer gets the reviews of a whole
+ * batch at once and returns their scores in the same order.
+ */
+public class ScoringBatcher implements Closeable {
+    private static final Pending CLOSE = new Pending(null);
+    private static final int BATCHES_PER_WORKER = 2;
+    private static final long TERMINATION_TIMEOUT_SECONDS = 10;
+
+    private final Function<List<String>, double[]> scorer;
+    private final BatchPolicy policy;
+    private final ExecutorService workers;
+    private final Semaphore dispatchedBatches;
+    private final ScoringMetrics metrics;
+
+    private final BlockingQueue<Pending> pending;
+    private final Thread dispatcher;
+    private final Object lock = new Object();
+    private boolean isClosed;
+
+    public ScoringBatcher(Function<List<String>, double[]> scorer, BatchPolicy policy, int workers) {
+        if (scorer == null || policy == null) {
+            throw new IllegalArgumentException("The scorer and the policy cannot be null");
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of workers must be positive");
+        }
+
+        this.scorer = scorer;
+        this.policy = policy;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.dispatchedBatches = new Semaphore(workers * BATCHES_PER_WORKER);
+        this.metrics = new ScoringMetrics();
+        this.pending = new LinkedBlockingQueue<>();
+
+        this.dispatcher = new Thread(this::dispatchLoop, "scoring-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // The future fails with the exception of the scorer, or with IllegalStateException when the batcher is closed
+    public CompletableFuture<Double> submit(String review) {
+        if (review == null) {
+            throw new IllegalArgumentException("The review cannot be null");
+        }
+
+        Pending request = new Pending(review);
+
+        synchronized (lock) {
+            if (isClosed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("The batcher is closed"));
+            }
+            pending.add(request);
+        }
+
+        return request.result;
+    }
+
+    public ScoringMetrics getMetrics() {
+        return metrics;
+    }
+
+    // The waiting requests are scored before the batcher is closed
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            pending.add(CLOSE);
+        }
+
+        try {
+            dispatcher.join();
+
+            workers.shutdown();
+            workers.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatchLoop() {
+        try {
+            boolean isLast = false;
+            while (!isLast) {
+                List<Pending> batch = new ArrayList<>();
+
+                Pending first = pending.take();
+                if (first != CLOSE) {
+                    batch.add(first);
+                    isLast = collect(batch);
+                } else {
+                    isLast = true;
+                }
+
+                if (!batch.isEmpty()) {
+                    dispatch(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Returns true when the batcher is closed after this batch
+    private boolean collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + policy.maxDelay().toNanos();
+
+        while (batch.size() < policy.maxBatchSize()) {
+            Pending next = pending.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || (next = pending.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                    return false;
+                }
+            }
+
+            if (next == CLOSE) {
+                return true;
+            }
+            batch.add(next);
+        }
+
+        return false;
+    }
+
+    private void dispatch(List<Pending> batch) throws InterruptedException {
+        dispatchedBatches.acquire();
+
+        workers.execute(() -> {
+            try {
+                score(batch);
+            } finally {
+                dispatchedBatches.release();
+            }
+        });
+    }
+
+    private void score(List<Pending> batch) {
+        metrics.recordBatch(batch.size());
+
+        double[] scores = null;
+        try {
+            scores = scorer.apply(batch.stream().map(request -> request.review).toList());
+        } catch (RuntimeException e) {
+            // The failed batch is scored again one request at a time, so only the invalid requests fail
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Pending request = batch.get(i);
+            if (scores != null) {
+                request.result.complete(scores[i]);
+            } else {
+                scoreAlone(request);
+            }
+
+            metrics.recordLatency(System.nanoTime() - request.arrivalNanos);
+        }
+    }
+
+    private void scoreAlone(Pending request) {
+        try {
+            request.result.complete(scorer.apply(List.of(request.review))[0]);
+        } catch (RuntimeException e) {
+            request.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class Pending {
+        private final String review;
+        private final long arrivalNanos = System.nanoTime();
+        private final CompletableFuture<Double> result = new CompletableFuture<>();
+
+        private Pending(String review) {
+            this.review = review;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import java.util.Arrays;
+
+/**
+ * The sizes of the scored batches and the latencies of the score requests. The percentiles are computed over
+ * the last LATENCY_WINDOW requests, so the memory does not grow with the number of requests.
+ */
+public class ScoringMetrics {
+    private static final int LATENCY_WINDOW = 8192;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long requests;
+    private long batches;
+    private int maxBatchSize;
+
+    public record Snapshot(long requests, long batches, double averageBatchSize, int maxBatchSize,
+                           double p50Millis, double p99Millis) {
+    }
+
+    public synchronized void recordBatch(int size) {
+        ++batches;
+        maxBatchSize = Math.max(maxBatchSize, size);
+    }
+
+    public synchronized void recordLatency(long nanos) {
+        latencies[(int) (requests++ % LATENCY_WINDOW)] = nanos;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] window = Arrays.copyOf(latencies, (int) Math.min(requests, LATENCY_WINDOW));
+        Arrays.sort(window);
+
+        double averageBatchSize = batches == 0 ? 0.0 : (double) requests / batches;
+        return new Snapshot(requests, batches, averageBatchSize, maxBatchSize,
+                percentile(window, MEDIAN), percentile(window, P99));
+    }
+
+    // The nearest-rank percentile of the sorted latencies, in milliseconds
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / NANOS_PER_MILLI;
+    }
+}
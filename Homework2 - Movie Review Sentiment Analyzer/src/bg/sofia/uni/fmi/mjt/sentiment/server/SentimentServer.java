@@ -0,0 +1,262 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import bg.sofia.uni.fmi.mjt.sentiment.MovieReviewSentimentAnalyzer;
+import bg.sofia.uni.fmi.mjt.sentiment.SentimentAnalyzer;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Serves one trained analyzer over HTTP, so the services share a single model instead of loading one each.
+ * The review scores are coalesced into micro-batches by a {@link ScoringBatcher}, and the word queries are
+ * answered directly from the lock-free snapshot of the analyzer.
+ * <ul>
+ *     <li>POST /reviews/sentiment with the review as the body</li>
+ *     <li>GET /words/sentiment?word=...</li>
+ *     <li>GET /words/frequent?n=..., /words/positive?n=..., /words/negative?n=...</li>
+ *     <li>GET /metrics with the batch sizes and the latencies of the review scores</li>
+ * </ul>
+ */
+public class SentimentServer {
+    private static final String HOST = "localhost";
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final int port;
+    private final SentimentAnalyzer analyzer;
+    private final BatchPolicy policy;
+    private final int workers;
+
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+    private ScoringBatcher batcher;
+
+    public SentimentServer(int port, SentimentAnalyzer analyzer, BatchPolicy policy, int workers) {
+        if (analyzer == null || policy == null) {
+            throw new IllegalArgumentException("The analyzer and the policy cannot be null");
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of workers must be positive");
+        }
+
+        this.port = port;
+        this.analyzer = analyzer;
+        this.policy = policy;
+        this.workers = workers;
+    }
+
+    public void startServer() throws IOException {
+        batcher = new ScoringBatcher(analyzer::getReviewSentiments, policy, workers);
+
+        server = HttpServer.create(new InetSocketAddress(HOST, port), 0);
+        server.createContext("/", this::handle);
+
+        // The connections wait for their batches on the pooled threads, while the scoring runs on the workers
+        requestExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(requestExecutor);
+        server.start();
+    }
+
+    public void stopServer() {
+        server.stop(STOP_DELAY_SECONDS);
+        batcher.close();
+        requestExecutor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ScoringMetrics.Snapshot getMetrics() {
+        return batcher.getMetrics().snapshot();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                sendJson(exchange, PAYLOAD_TOO_LARGE, error("The request body is too large."));
+                return;
+            }
+
+            String route = exchange.getRequestMethod().toUpperCase(Locale.ROOT) + " " +
+                           exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI());
+
+            String response;
+            try {
+                response = switch (route) {
+                    case "POST /reviews/sentiment" -> scoreReview(body);
+                    case "GET /words/sentiment" -> scoreWord(query.get("word"));
+                    case "GET /words/frequent" -> listWords(query.get("n"), analyzer::getMostFrequentWords);
+                    case "GET /words/positive" -> listWords(query.get("n"), analyzer::getMostPositiveWords);
+                    case "GET /words/negative" -> listWords(query.get("n"), analyzer::getMostNegativeWords);
+                    case "GET /metrics" -> formatMetrics(getMetrics());
+                    default -> null;
+                };
+            } catch (IllegalArgumentException e) {
+                sendJson(exchange, BAD_REQUEST, error(e.getMessage()));
+                return;
+            } catch (RuntimeException e) {
+                // Without a response the client would only see the connection closed
+                System.out.println("The request " + route + " failed: " + e);
+                sendJson(exchange, INTERNAL_SERVER_ERROR, error("The request could not be processed."));
+                return;
+            }
+
+            if (response == null) {
+                sendJson(exchange, NOT_FOUND, error("Unknown route."));
+                return;
+            }
+
+            sendJson(exchange, OK, response);
+        }
+    }
+
+    private String scoreReview(String review) {
+        if (review.isBlank()) {
+            throw new IllegalArgumentException("The review cannot be blank.");
+        }
+
+        double score;
+        try {
+            score = batcher.submit(review).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The scoring of the review was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A problem occurred while scoring the review", e.getCause());
+        }
+
+        return "{\"score\":" + score + ",\"sentiment\":" +
+               quote(MovieReviewSentimentAnalyzer.getSentimentName(score)) + "}";
+    }
+
+    private String scoreWord(String word) {
+        if (word == null) {
+            throw new IllegalArgumentException("The word parameter is required.");
+        }
+
+        return "{\"word\":" + quote(word) + ",\"score\":" + analyzer.getWordSentiment(word) + "}";
+    }
+
+    private String listWords(String n, IntFunction<List<String>> query) {
+        if (n == null) {
+            throw new IllegalArgumentException("The n parameter is required.");
+        }
+
+        List<String> words = query.apply(Integer.parseInt(n));
+
+        StringBuilder result = new StringBuilder("[");
+        for (String word : words) {
+            if (result.length() > 1) {
+                result.append(',');
+            }
+            result.append(quote(word));
+        }
+
+        return result.append(']').toString();
+    }
+
+    private static String formatMetrics(ScoringMetrics.Snapshot metrics) {
+        return "{\"requests\":" + metrics.requests() +
+               ",\"batches\":" + metrics.batches() +
+               ",\"averageBatchSize\":" + metrics.averageBatchSize() +
+               ",\"maxBatchSize\":" + metrics.maxBatchSize() +
+               ",\"p50Millis\":" + metrics.p50Millis() +
+               ",\"p99Millis\":" + metrics.p99Millis() + "}";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String text) {
+        StringBuilder result = new StringBuilder("\"");
+
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+            switch (current) {
+                case '"' -> result.append("\\\"");
+                case '\\' -> result.append("\\\\");
+                case '\n' -> result.append("\\n");
+                case '\r' -> result.append("\\r");
+                case '\t' -> result.append("\\t");
+                default -> {
+                    if (current < ' ') {
+                        result.append(String.format("\\u%04x", (int) current));
+                    } else {
+                        result.append(current);
+                    }
+                }
+            }
+        }
+
+        return result.append('"').toString();
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return parameters;
+        }
+
+        for (String parameter : uri.getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair.length == 2) {
+                parameters.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+            }
+        }
+
+        return parameters;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    // Returns null when the body is too large; the whole body is read, so the connection can be kept alive
+    private static String readBody(InputStream input) throws IOException {
+        byte[] body = input.readNBytes(MAX_BODY_SIZE + 1);
+        if (body.length > MAX_BODY_SIZE) {
+            input.transferTo(OutputStream.nullOutputStream());
+            return null;
+        }
+
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import bg.sofia.uni.fmi.mjt.sentiment.MovieReviewSentimentAnalyzer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Scanner;
+
+// Usage: SentimentServerManager <stopwords> <reviews> <model> [port]
+public class SentimentServerManager {
+    private static final int DEFAULT_PORT = 8090;
+    private static final int REQUIRED_ARGUMENTS = 3;
+    private static final int PORT_ARGUMENT = 3;
+
+    private static final String STOP_COMMAND = "stop";
+    private static final String STATUS_COMMAND = "status";
+
+    public static void main(String... args) {
+        if (args.length < REQUIRED_ARGUMENTS) {
+            System.out.println("Usage: SentimentServerManager <stopwords> <reviews> <model> [port]");
+            return;
+        }
+
+        Path reviewsPath = Path.of(args[1]);
+        int port = args.length > PORT_ARGUMENT ? Integer.parseInt(args[PORT_ARGUMENT]) : DEFAULT_PORT;
+
+        try (Writer reviewsOut = Files.newBufferedWriter(reviewsPath, StandardOpenOption.APPEND);
+             MovieReviewSentimentAnalyzer analyzer = MovieReviewSentimentAnalyzer.open(Path.of(args[0]),
+                     reviewsPath, Path.of(args[2]), reviewsOut)) {
+
+            SentimentServer server = new SentimentServer(port, analyzer, BatchPolicy.DEFAULT,
+                    Runtime.getRuntime().availableProcessors());
+            server.startServer();
+
+            Scanner sc = new Scanner(System.in);
+            while (true) {
+                String input = sc.nextLine();
+
+                if (input.equals(STATUS_COMMAND)) {
+                    System.out.println("Scoring: " + server.getMetrics());
+                } else if (input.equals(STOP_COMMAND)) {
+                    server.stopServer();
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("A problem occurred while reading and writing to file", e);
+        }
+    }
+}
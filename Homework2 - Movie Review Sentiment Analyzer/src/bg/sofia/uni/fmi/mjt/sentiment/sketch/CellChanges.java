@@ -0,0 +1,38 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.IntIndex;
+
+/**
+ * The counters of the cells changed after the full copy of the count-min tables, which the snapshots share.
+ * A snapshot looks up a cell here first, and reads the shared copy only when the cell did not change.
+ */
+final class CellChanges {
+    private final IntIndex byCell;
+    private final int[] occurrences;
+    private final int[] reviews;
+    private final long[] sentimentSums;
+
+    CellChanges(int[] cells, int[] occurrences, int[] reviews, long[] sentimentSums) {
+        this.byCell = new IntIndex(cells);
+        this.occurrences = occurrences;
+        this.reviews = reviews;
+        this.sentimentSums = sentimentSums;
+    }
+
+    // Returns the position of the changed cell, or -1 when the cell did not change
+    int positionOf(int cell) {
+        return byCell.positionOf(cell);
+    }
+
+    int occurrences(int position) {
+        return occurrences[position];
+    }
+
+    int reviews(int position) {
+        return reviews[position];
+    }
+
+    long sentimentSum(int position) {
+        return sentimentSums[position];
+    }
+}
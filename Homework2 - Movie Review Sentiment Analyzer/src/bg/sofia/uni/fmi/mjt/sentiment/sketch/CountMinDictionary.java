@@ -0,0 +1,73 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.ReviewCounter;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Counts the words in count-min sketches of a fixed size, so the memory does not grow with the reviews.
+ * Every word is counted in one cell of every row, and the estimates are taken from the row with the fewest
+ * collisions, so they are never lower than the real counts. The most frequent words are tracked by name
+ * in a bounded set of heavy hitters.
+ */
+public class CountMinDictionary implements ReviewCounter {
+    private static final int INITIAL_REVIEW_WORDS = 64;
+
+    private final SketchConfig config;
+    private final CountMinTables tables;
+    private final HeavyHitters heavyHitters;
+
+    private int[] reviewHashes; // The hashes of the words of the current review, so every review is counted once
+
+    public CountMinDictionary(SketchConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("The sketch configuration cannot be null");
+        }
+
+        this.config = config;
+        this.tables = new CountMinTables(config.depth(), config.width());
+        this.heavyHitters = new HeavyHitters(config.heavyHitters());
+        this.reviewHashes = new int[INITIAL_REVIEW_WORDS];
+    }
+
+    @Override
+    public void addReview(int sentiment, Tokenizer tokenizer, WordSet stopwords) {
+        int words = 0;
+
+        while (tokenizer.next()) {
+            int hash = tokenizer.hash();
+            if (stopwords.contains(tokenizer.token(), tokenizer.length(), hash)) {
+                continue;
+            }
+
+            int estimate = tables.addOccurrence(hash);
+            if (heavyHitters.accepts(estimate)) {
+                heavyHitters.offer(tokenizer.tokenAsString(), estimate);
+            }
+
+            if (words == reviewHashes.length) {
+                reviewHashes = Arrays.copyOf(reviewHashes, words * 2);
+            }
+            reviewHashes[words++] = hash;
+        }
+
+        Arrays.sort(reviewHashes, 0, words);
+        for (int i = 0; i < words; i++) {
+            if (i == 0 || reviewHashes[i] != reviewHashes[i - 1]) {
+                tables.addReview(reviewHashes[i], sentiment);
+            }
+        }
+    }
+
+    // The snapshots share the counters which did not change since the last full copy of the tables
+    @Override
+    public SketchSnapshot snapshot() {
+        return new SketchSnapshot(tables.snapshot(), heavyHitters.toList());
+    }
+
+    public SketchConfig getConfig() {
+        return config;
+    }
+}
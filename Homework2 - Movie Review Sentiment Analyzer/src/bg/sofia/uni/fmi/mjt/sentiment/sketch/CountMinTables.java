@@ -0,0 +1,181 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.ChangedKeys;
+
+/**
+ * The count-min counters of the occurrences, the reviews and the sentiment sums. The rows are kept in flat
+ * arrays, and the cell of a word in every row is chosen by a different mix of its hash code.
+ */
+final class CountMinTables {
+    private static final long ROW_SEED = 0x9E3779B97F4A7C15L;
+    private static final long MIX_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    private static final int MIX_SHIFT = 31;
+    private static final int MIN_CHANGES = 256;
+    private static final int CHANGES_PER_SQUARE_ROOT = 4;
+
+    private final int depth;
+    private final int width;
+    private final int shift;
+
+    private final int[] occurrences;
+    private final int[] reviews;
+    private final long[] sentimentSums;
+    private int emptyCells; // The cells of the first row without occurrences
+
+    // The counted tables keep their last full copy and the cells changed since it. The snapshot tables share
+    // the arrays of the full copy, and the changes replace the counters of the cells changed after it
+    private CountMinTables base;
+    private ChangedKeys changedCells;
+    private final CellChanges changes;
+
+    CountMinTables(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(width);
+
+        this.occurrences = new int[depth * width];
+        this.reviews = new int[depth * width];
+        this.sentimentSums = new long[depth * width];
+        this.emptyCells = width;
+        this.changes = null;
+    }
+
+    private CountMinTables(CountMinTables other) {
+        this.depth = other.depth;
+        this.width = other.width;
+        this.shift = other.shift;
+
+        this.occurrences = other.occurrences.clone();
+        this.reviews = other.reviews.clone();
+        this.sentimentSums = other.sentimentSums.clone();
+        this.emptyCells = other.emptyCells;
+        this.changes = null;
+    }
+
+    private CountMinTables(CountMinTables base, CellChanges changes, int emptyCells) {
+        this.depth = base.depth;
+        this.width = base.width;
+        this.shift = base.shift;
+
+        this.occurrences = base.occurrences;
+        this.reviews = base.reviews;
+        this.sentimentSums = base.sentimentSums;
+        this.emptyCells = emptyCells;
+        this.changes = changes;
+    }
+
+    // Returns the estimated occurrences of the word after this one
+    int addOccurrence(int hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, hash);
+            if (++occurrences[cell] == 1 && row == 0) {
+                --emptyCells;
+            }
+            if (changedCells != null) {
+                changedCells.add(cell);
+            }
+
+            estimate = Math.min(estimate, occurrences[cell]);
+        }
+
+        return estimate;
+    }
+
+    void addReview(int hash, int sentiment) {
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, hash);
+            ++reviews[cell];
+            sentimentSums[cell] += sentiment;
+            if (changedCells != null) {
+                changedCells.add(cell);
+            }
+        }
+    }
+
+    int estimateOccurrences(int hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, occurrences(cell(row, hash)));
+        }
+
+        return estimate;
+    }
+
+    // The score is taken from the cell with the fewest reviews, because its sum has the fewest collisions.
+    // Returns NaN when the word was not seen in any review
+    double estimateScore(int hash) {
+        int best = cell(0, hash);
+        int bestReviews = reviews(best);
+        for (int row = 1; row < depth && bestReviews > 0; row++) {
+            int cell = cell(row, hash);
+            int cellReviews = reviews(cell);
+            if (cellReviews < bestReviews) {
+                best = cell;
+                bestReviews = cellReviews;
+            }
+        }
+
+        return bestReviews == 0 ? Double.NaN : (double) sentimentSum(best) / bestReviews;
+    }
+
+    // Linear counting: the share of the empty cells of the first row estimates the number of distinct words
+    int estimateDistinct() {
+        if (emptyCells == 0) {
+            return (int) Math.min(Integer.MAX_VALUE, Math.round(width * Math.log(width)));
+        }
+        return (int) Math.round(-width * Math.log((double) emptyCells / width));
+    }
+
+    // Copies the cells changed since the last full copy, and shares the rest with it. When the changed cells
+    // become more than a few times the square root of all cells, the tables are copied whole instead,
+    // so the copied changes and the full copies cost about the same per committed word
+    CountMinTables snapshot() {
+        if (base == null || changedCells.size() > maxChanges(occurrences.length)) {
+            base = new CountMinTables(this);
+            changedCells = new ChangedKeys();
+
+            return base;
+        }
+
+        int[] cells = changedCells.toArray();
+        int[] changedOccurrences = new int[cells.length];
+        int[] changedReviews = new int[cells.length];
+        long[] changedSums = new long[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            changedOccurrences[i] = occurrences[cells[i]];
+            changedReviews[i] = reviews[cells[i]];
+            changedSums[i] = sentimentSums[cells[i]];
+        }
+
+        return new CountMinTables(base, new CellChanges(cells, changedOccurrences, changedReviews, changedSums),
+                emptyCells);
+    }
+
+    private static int maxChanges(int cells) {
+        return Math.max(MIN_CHANGES, (int) Math.sqrt(cells) * CHANGES_PER_SQUARE_ROOT);
+    }
+
+    private int occurrences(int cell) {
+        int position = changes == null ? -1 : changes.positionOf(cell);
+        return position < 0 ? occurrences[cell] : changes.occurrences(position);
+    }
+
+    private int reviews(int cell) {
+        int position = changes == null ? -1 : changes.positionOf(cell);
+        return position < 0 ? reviews[cell] : changes.reviews(position);
+    }
+
+    private long sentimentSum(int cell) {
+        int position = changes == null ? -1 : changes.positionOf(cell);
+        return position < 0 ? sentimentSums[cell] : changes.sentimentSum(position);
+    }
+
+    private int cell(int row, int hash) {
+        long mixed = (hash + (row + 1) * ROW_SEED) * MIX_MULTIPLIER;
+        mixed ^= mixed >>> MIX_SHIFT;
+        mixed *= ROW_SEED;
+
+        return row * width + (int) (mixed >>> shift);
+    }
+}
@@ -0,0 +1,50 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The words with the highest estimated occurrences, at most a fixed number of them. A word which is not tracked
+ * replaces the least frequent tracked word when its estimate becomes higher.
+ */
+class HeavyHitters {
+    private final int capacity;
+    private final Map<String, Integer> counts;
+    private final NavigableSet<String> byCount;
+
+    HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.counts = new HashMap<>();
+        this.byCount = new TreeSet<>(Comparator.comparingInt((String word) -> counts.get(word)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+    }
+
+    // Whether a word with this estimate would be tracked, checked before the word is created as a string
+    boolean accepts(int estimate) {
+        return counts.size() < capacity || estimate > counts.get(byCount.last());
+    }
+
+    void offer(String word, int estimate) {
+        if (counts.containsKey(word)) {
+            byCount.remove(word);
+        } else if (counts.size() == capacity) {
+            if (estimate <= counts.get(byCount.last())) {
+                return;
+            }
+            counts.remove(byCount.pollLast());
+        }
+
+        counts.put(word, estimate);
+        byCount.add(word);
+    }
+
+    // The tracked words from the most to the least frequent
+    List<String> toList() {
+        return new ArrayList<>(byCount);
+    }
+}
@@ -0,0 +1,34 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+/**
+ * The error bounds of the approximate counts. With probability at least 1 - delta, the estimated occurrences
+ * of a word exceed the real ones by at most epsilon times the number of all counted words. The heavyHitters
+ * most frequent words are tracked by name for the top-n queries.
+ */
+public record SketchConfig(double epsilon, double delta, int heavyHitters) {
+    public static final SketchConfig DEFAULT = new SketchConfig(0.0001, 0.01, 1000);
+
+    private static final int MAX_WIDTH = 1 << 26;
+
+    public SketchConfig {
+        if (!(epsilon > 0.0 && epsilon < 1.0) || !(delta > 0.0 && delta < 1.0)) {
+            throw new IllegalArgumentException("The error bounds must be in the (0.0, 1.0) range");
+        }
+        if (Math.E / epsilon > MAX_WIDTH) {
+            throw new IllegalArgumentException("The epsilon is too small");
+        }
+        if (heavyHitters < 1) {
+            throw new IllegalArgumentException("The number of heavy hitters must be positive");
+        }
+    }
+
+    // The number of counters in a row, rounded up to a power of two, so the bound only gets tighter
+    public int width() {
+        int width = (int) Math.ceil(Math.E / epsilon);
+        return width <= 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+    }
+
+    public int depth() {
+        return (int) Math.ceil(Math.log(1.0 / delta));
+    }
+}
@@ -0,0 +1,112 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordStatistics;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the approximate counts. The occurrences and the scores are estimates, an unknown word may
+ * be reported as known when it collides with known words, and the top-n queries consider only the heavy hitters.
+ */
+public final class SketchSnapshot implements WordStatistics {
+    private final CountMinTables tables;
+    private final List<String> byFrequency;
+    private final int size;
+
+    // Sorted by the first query which needs it, so a commit does not score the heavy hitters
+    private volatile List<String> byScore;
+
+    SketchSnapshot(CountMinTables tables, List<String> byFrequency) {
+        this.tables = tables;
+        this.byFrequency = List.copyOf(byFrequency);
+        this.size = tables.estimateDistinct();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return !Double.isNaN(tables.estimateScore(word.hashCode()));
+    }
+
+    @Override
+    public double getScore(String word) {
+        double score = tables.estimateScore(word.hashCode());
+        return Double.isNaN(score) ? 0.0 : score;
+    }
+
+    @Override
+    public int getOccurrences(String word) {
+        return tables.estimateOccurrences(word.hashCode());
+    }
+
+    // The stopwords are skipped, because they may collide with the counted words
+    @Override
+    public double scoreReview(Tokenizer tokenizer, WordSet stopwords) {
+        final double unknownScore = -1.0;
+
+        int count = 0;
+        double sum = 0.0;
+
+        while (tokenizer.next()) {
+            if (stopwords.contains(tokenizer.token(), tokenizer.length(), tokenizer.hash())) {
+                continue;
+            }
+
+            double score = tables.estimateScore(tokenizer.hash());
+            if (!Double.isNaN(score)) {
+                ++count;
+                sum += score;
+            }
+        }
+
+        return count == 0 ? unknownScore : sum / count;
+    }
+
+    @Override
+    public List<String> getMostFrequentWords(int n) {
+        return byFrequency.subList(0, Math.min(n, byFrequency.size()));
+    }
+
+    @Override
+    public List<String> getMostPositiveWords(int n) {
+        List<String> byScore = byScore();
+        List<String> result = new ArrayList<>(Math.min(n, byScore.size()));
+        for (int i = byScore.size() - 1; i >= 0 && result.size() < n; i--) {
+            result.add(byScore.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<String> getMostNegativeWords(int n) {
+        List<String> byScore = byScore();
+        return byScore.subList(0, Math.min(n, byScore.size()));
+    }
+
+    private List<String> byScore() {
+        List<String> order = byScore;
+        if (order == null) {
+            Map<String, Double> scores = new HashMap<>();
+            byFrequency.forEach(word -> scores.put(word, tables.estimateScore(word.hashCode())));
+
+            order = byFrequency.stream()
+                    .sorted(Comparator.comparingDouble((String word) -> scores.get(word))
+                            .thenComparing(Comparator.naturalOrder()))
+                    .toList();
+            byScore = order;
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,146 @@
+package bg.sofia.uni.fmi.mjt.sentiment.training;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.ReviewCounter;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the reviews and the stopwords from memory-mapped files. A file is mapped in segments which end
+ * at line boundaries, so every segment can be scanned on its own thread. The bytes are scanned directly,
+ * without decoding the lines into strings.
+ */
+public final class MappedCorpus {
+    // A single mapping cannot exceed 2 GB, so the larger files are mapped in several segments
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+    private static final int SEARCH_BUFFER_SIZE = 4096;
+    private static final int INITIAL_LINE_SIZE = 64;
+
+    private MappedCorpus() {
+    }
+
+    // Splits the file into at least the given number of segments, if it has enough lines
+    public static List<ByteBuffer> map(Path path, int segments) throws IOException {
+        if (segments < 1) {
+            throw new IllegalArgumentException("The number of segments must be positive");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long count = Math.max(segments, (size + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE);
+
+            List<ByteBuffer> mapped = new ArrayList<>();
+            long start = 0;
+            for (long i = 1; i <= count && start < size; i++) {
+                long end = i == count ? size : findLineEnd(channel, Math.max(start, size / count * i), size);
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IOException("The line at byte " + start + " is too long to be mapped");
+                }
+
+                if (end > start) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    mapped.add(buffer);
+                }
+                start = end;
+            }
+
+            return mapped;
+        }
+    }
+
+    // Every line of the segment is a review, starting with its sentiment
+    public static void addReviews(ByteBuffer segment, ReviewCounter counter, Tokenizer tokenizer, WordSet stopwords) {
+        int limit = segment.limit();
+
+        int start = 0;
+        while (start < limit) {
+            int end = findLineEnd(segment, start);
+
+            tokenizer.reset(segment, start, end);
+            counter.addReview(tokenizer.nextInt(), tokenizer, stopwords);
+
+            start = end + 1;
+        }
+    }
+
+    // The ASCII lines are lowercased while they are copied, and only the other lines are decoded as UTF-8
+    public static Set<String> readLowerCaseLines(Path path) throws IOException {
+        Set<String> lines = new HashSet<>();
+        byte[] line = new byte[INITIAL_LINE_SIZE];
+
+        for (ByteBuffer segment : map(path, 1)) {
+            int limit = segment.limit();
+
+            int start = 0;
+            while (start < limit) {
+                int end = findLineEnd(segment, start);
+                int length = end > start && segment.get(end - 1) == '\r' ? end - start - 1 : end - start;
+                if (length > line.length) {
+                    line = Arrays.copyOf(line, Math.max(length, line.length * 2));
+                }
+
+                boolean isAscii = true;
+                for (int i = 0; i < length; i++) {
+                    byte current = segment.get(start + i);
+                    isAscii &= current >= 0;
+                    line[i] = current >= 'A' && current <= 'Z' ? (byte) (current + ('a' - 'A')) : current;
+                }
+
+                lines.add(isAscii
+                        ? new String(line, 0, length, StandardCharsets.US_ASCII)
+                        : new String(line, 0, length, StandardCharsets.UTF_8).toLowerCase());
+
+                start = end + 1;
+            }
+        }
+
+        return lines;
+    }
+
+    // Returns the index of the line feed ending the line, or the limit of the segment
+    private static int findLineEnd(ByteBuffer segment, int from) {
+        int limit = segment.limit();
+
+        int position = from;
+        while (position < limit && segment.get(position) != '\n') {
+            ++position;
+        }
+
+        return position;
+    }
+
+    // Returns the position after the first line feed at or after the given position, or the size of the file
+    private static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BUFFER_SIZE);
+
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,225 @@
+package bg.sofia.uni.fmi.mjt.sentiment.training;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.SentimentDictionary;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trains a sentiment dictionary on several threads. The reviews are read in chunks of whole lines,
+ * each thread counts its chunks in its own partial dictionary, and the partial dictionaries are merged
+ * with a fork-join reduction. The counts are integers, so the result is the same as the sequential training.
+ * A file of reviews is memory-mapped instead, and every thread counts the lines of its own segment of the file.
+ */
+public class ParallelTrainer {
+    private static final int CHUNK_LINES = 4096;
+    private static final int QUEUED_CHUNKS_PER_THREAD = 2;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final List<String> END_OF_INPUT = List.of();
+
+    private final WordSet stopwords;
+    private final int threads;
+    private final int bigramBuckets;
+
+    public ParallelTrainer(WordSet stopwords, int threads) {
+        this(stopwords, threads, 0);
+    }
+
+    public ParallelTrainer(WordSet stopwords, int threads, int bigramBuckets) {
+        if (stopwords == null) {
+            throw new IllegalArgumentException("The stopwords cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        if (bigramBuckets < 0) {
+            throw new IllegalArgumentException("The number of bigram buckets cannot be negative");
+        }
+
+        this.stopwords = stopwords;
+        this.threads = threads;
+        this.bigramBuckets = bigramBuckets;
+    }
+
+    public SentimentDictionary train(BufferedReader reader) throws IOException {
+        BlockingQueue<List<String>> chunks = new ArrayBlockingQueue<>(threads * QUEUED_CHUNKS_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<SentimentDictionary>> partials = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                partials.add(executor.submit(() -> countChunks(chunks)));
+            }
+
+            if (!readChunks(reader, chunks, partials)) {
+                for (Future<SentimentDictionary> partial : partials) {
+                    if (partial.isDone()) {
+                        partial.get(); // Throws the failure of the counting thread
+                    }
+                }
+            }
+
+            List<SentimentDictionary> dictionaries = new ArrayList<>();
+            for (Future<SentimentDictionary> partial : partials) {
+                dictionaries.add(partial.get());
+            }
+
+            return ForkJoinPool.commonPool().invoke(new MergeTask(dictionaries, 0, dictionaries.size()));
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A problem occurred while training on the reviews", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The training on the reviews was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public SentimentDictionary train(Path reviewsPath) throws IOException {
+        List<ByteBuffer> segments = MappedCorpus.map(reviewsPath, threads);
+        if (segments.isEmpty()) {
+            return new SentimentDictionary(bigramBuckets);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, segments.size()));
+
+        try {
+            List<Future<SentimentDictionary>> partials = new ArrayList<>();
+            for (ByteBuffer segment : segments) {
+                partials.add(executor.submit(() -> countSegment(segment)));
+            }
+
+            List<SentimentDictionary> dictionaries = new ArrayList<>();
+            for (Future<SentimentDictionary> partial : partials) {
+                dictionaries.add(partial.get());
+            }
+
+            return ForkJoinPool.commonPool().invoke(new MergeTask(dictionaries, 0, dictionaries.size()));
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A problem occurred while training on the reviews", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The training on the reviews was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Returns false when a counting thread has failed before all chunks are queued
+    private boolean readChunks(BufferedReader reader, BlockingQueue<List<String>> chunks,
+                            List<Future<SentimentDictionary>> partials) throws IOException, InterruptedException {
+
+        List<String> chunk = new ArrayList<>(CHUNK_LINES);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            chunk.add(line);
+
+            if (chunk.size() == CHUNK_LINES) {
+                if (!offer(chunks, chunk, partials)) {
+                    return false;
+                }
+                chunk = new ArrayList<>(CHUNK_LINES);
+            }
+        }
+
+        if (!chunk.isEmpty() && !offer(chunks, chunk, partials)) {
+            return false;
+        }
+
+        for (int i = 0; i < threads; i++) {
+            if (!offer(chunks, END_OF_INPUT, partials)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Gives up when a counting thread has failed, so the reading does not wait for it forever
+    private boolean offer(BlockingQueue<List<String>> chunks, List<String> chunk,
+                          List<Future<SentimentDictionary>> partials) throws InterruptedException {
+
+        while (!chunks.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (partials.stream().anyMatch(Future::isDone)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private SentimentDictionary countChunks(BlockingQueue<List<String>> chunks) throws InterruptedException {
+        SentimentDictionary dictionary = new SentimentDictionary(bigramBuckets);
+        Tokenizer tokenizer = new Tokenizer();
+
+        List<String> chunk;
+        while ((chunk = chunks.take()) != END_OF_INPUT) {
+            for (String line : chunk) {
+                tokenizer.reset(line);
+                dictionary.addReview(tokenizer.nextInt(), tokenizer, stopwords);
+            }
+        }
+
+        return dictionary;
+    }
+
+    private SentimentDictionary countSegment(ByteBuffer segment) {
+        SentimentDictionary dictionary = new SentimentDictionary(bigramBuckets);
+        MappedCorpus.addReviews(segment, dictionary, new Tokenizer(), stopwords);
+
+        return dictionary;
+    }
+
+    private static class MergeTask extends RecursiveTask<SentimentDictionary> {
+        private final List<SentimentDictionary> dictionaries;
+        private final int from;
+        private final int to;
+
+        private MergeTask(List<SentimentDictionary> dictionaries, int from, int to) {
+            this.dictionaries = dictionaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SentimentDictionary compute() {
+            if (to - from == 1) {
+                return dictionaries.get(from);
+            }
+
+            int middle = (from + to) / 2;
+            MergeTask left = new MergeTask(dictionaries, from, middle);
+            left.fork();
+
+            SentimentDictionary right = new MergeTask(dictionaries, middle, to).compute();
+            SentimentDictionary merged = left.join();
+            merged.merge(right);
+
+            return merged;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package bg.sofia.uni.fmi.mjt.sentiment;
 
+import bg.sofia.uni.fmi.mjt.sentiment.sketch.SketchConfig;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -9,8 +11,16 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +61,11 @@ public class MovieReviewSentimenAnalyzerTest {
         analyzer = new MovieReviewSentimentAnalyzer(stopwordsIn, reviewsIn, reviewsOut);
     }
 
+    @AfterEach
+    void close() throws IOException {
+        analyzer.close();
+    }
+
     @Test
     void testCreateSentimentAnalyzerNullArguments() {
         assertThrows(IllegalArgumentException.class,
@@ -87,6 +102,17 @@ public class MovieReviewSentimenAnalyzerTest {
                 "calculated, expected 3.166, but returned " + result);
     }
 
+    @Test
+    void testGetReviewSentimentsMatchSingleScores() {
+        List<String> reviews = List.of("This is an excellent movie, it is very good - strongly recommend",
+                "Some unknown words and stopwords");
+
+        assertArrayEquals(new double[] {analyzer.getReviewSentiment(reviews.get(0)), -1.0},
+                analyzer.getReviewSentiments(reviews), DELTA, "Every review of the batch must get its own score");
+        assertThrows(IllegalArgumentException.class, () -> analyzer.getReviewSentiments(List.of("good", " ")),
+                "The reviews cannot be blank - expected IllegalArgumentException");
+    }
+
     @Test
     void testGetReviewSentimentAsNameInvlaidString() {
         assertThrows(IllegalArgumentException.class, () -> analyzer.getReviewSentimentAsName(null),
@@ -236,6 +262,16 @@ public class MovieReviewSentimenAnalyzerTest {
         assertEquals(expected, reviewsOut.toString(), "The new review not properly appended");
     }
 
+    @Test
+    void testAppendReviewSeveralReviews() {
+        assertTrue(analyzer.appendReview("Awesome movie", 4), "The first review must be appended");
+        assertTrue(analyzer.appendReview("Boring movie", 0), "The writer must stay open after the first review");
+
+        String expected = "4 Awesome movie" + System.lineSeparator() + "0 Boring movie" + System.lineSeparator();
+        assertEquals(expected, reviewsOut.toString(), "Both reviews must be appended");
+        assertEquals(0.0, analyzer.getWordSentiment("boring"), "The second review must update the information");
+    }
+
     @Test
     void testAppendReviewUpdatedInformation() {
         analyzer.appendReview("Awesome movie - strongly recommend", 4);
@@ -252,4 +288,160 @@ public class MovieReviewSentimenAnalyzerTest {
         assertEquals(3.0, analyzer.getWordSentiment("recommend"), "The word sentiment not updated");
         assertEquals(3, analyzer.getWordFrequency("recommend"), "The word frequency not updated");
     }
+
+    @Test
+    void testOpenUsesSavedModelUntilReviewsChange() throws IOException {
+        Path directory = Files.createTempDirectory("sentiment");
+        Path stopwordsPath = Files.writeString(directory.resolve("stopwords.txt"), STOPWORDS);
+        Path reviewsPath = Files.writeString(directory.resolve("reviews.txt"), REVIEWS);
+        Path modelPath = directory.resolve("model.bin");
+        Files.setLastModifiedTime(stopwordsPath, FileTime.fromMillis(0));
+
+        MovieReviewSentimentAnalyzer trained = MovieReviewSentimentAnalyzer.open(stopwordsPath, reviewsPath,
+                modelPath, new StringWriter());
+        assertTrue(Files.exists(modelPath), "The trained model must be saved");
+
+        Files.writeString(reviewsPath, "0 Awful movie");
+        Files.setLastModifiedTime(reviewsPath, FileTime.fromMillis(0));
+
+        MovieReviewSentimentAnalyzer loaded = MovieReviewSentimentAnalyzer.open(stopwordsPath, reviewsPath,
+                modelPath, new StringWriter());
+        assertEquals(trained.getWordSentiment("movie"), loaded.getWordSentiment("movie"), DELTA,
+                "The saved model must be loaded while it is newer than the reviews");
+        assertEquals(trained.getSentimentDictionarySize(), loaded.getSentimentDictionarySize(),
+                "The saved model must contain all words");
+
+        Files.setLastModifiedTime(reviewsPath, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        MovieReviewSentimentAnalyzer retrained = MovieReviewSentimentAnalyzer.open(stopwordsPath, reviewsPath,
+                modelPath, new StringWriter());
+        assertEquals(0.0, retrained.getWordSentiment("movie"), DELTA,
+                "The reviews must be trained again when they are newer than the model");
+    }
+
+    @Test
+    void testConcurrentScoringWhileAppending() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                readers.add(executor.submit(() -> {
+                    for (int j = 0; j < 2_000; j++) {
+                        double score = analyzer.getReviewSentiment("A good movie, recommend");
+                        assertTrue(score >= 0.0 && score <= 4.0, "The score must be in the sentiment range");
+                        analyzer.getMostFrequentWords(3);
+                    }
+                }));
+            }
+
+            List<Future<Boolean>> appends = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                appends.add(executor.submit(() -> {
+                    boolean isAppended = true;
+                    for (int j = 0; j < 50; j++) {
+                        isAppended &= analyzer.appendReview("Great movie", 4);
+                    }
+                    return isAppended;
+                }));
+            }
+
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+            for (Future<Boolean> append : appends) {
+                assertTrue(append.get(), "Every review must be appended");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100, analyzer.getWordFrequency("great"), "Every appended review must be counted");
+        assertEquals(103, analyzer.getWordFrequency("movie"), "Every appended review must be counted");
+    }
+
+    @Test
+    void testScoreReviews() {
+        String reviews = String.join(System.lineSeparator(), "Good movie", "Some unknown words", " ", "Excellent");
+        StringWriter scoresOut = new StringWriter();
+
+        analyzer.scoreReviews(new StringReader(reviews), scoresOut);
+
+        List<String> expected = List.of(
+                analyzer.getReviewSentiment("Good movie") + "\t" + analyzer.getReviewSentimentAsName("Good movie"),
+                "-1.0\tunknown",
+                "-1.0\tunknown",
+                "4.0\tpositive");
+        assertEquals(expected, scoresOut.toString().lines().toList(), "Every review must be scored in order");
+    }
+
+    @Test
+    void testScoreReviewsFromStreamMatchesSingleScoring() {
+        List<String> reviews = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            reviews.add(i % 2 == 0 ? "Good movie number " + i : "Worst film, I don't recommend " + i);
+        }
+        StringWriter scoresOut = new StringWriter();
+
+        analyzer.scoreReviews(reviews.stream(), scoresOut);
+
+        List<String> scores = scoresOut.toString().lines().toList();
+        assertEquals(reviews.size(), scores.size(), "Every review must be scored");
+        for (int i = 0; i < reviews.size(); i++) {
+            assertEquals(analyzer.getReviewSentiment(reviews.get(i)), Double.parseDouble(scores.get(i).split("\t")[0]),
+                    "The batch score must be the same as the single review score");
+        }
+    }
+
+    @Test
+    void testScoreReviewsNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> analyzer.scoreReviews((Reader) null, new StringWriter()),
+                "The reviews reader cannot be null - expected IllegalArgumentException");
+        assertThrows(IllegalArgumentException.class, () -> analyzer.scoreReviews(Stream.of("review"), null),
+                "The scores writer cannot be null - expected IllegalArgumentException");
+    }
+
+    @Test
+    void testBigramsChangeThePhraseScore() {
+        String reviews = String.join(System.lineSeparator(),
+                "4 Good movie", "4 Good acting", "4 Good story", "0 Not good", "0 Not funny");
+
+        MovieReviewSentimentAnalyzer unigrams = new MovieReviewSentimentAnalyzer(new StringReader(STOPWORDS),
+                new StringReader(reviews), new StringWriter());
+        MovieReviewSentimentAnalyzer bigrams = new MovieReviewSentimentAnalyzer(new StringReader(STOPWORDS),
+                new StringReader(reviews), new StringWriter(),
+                AnalyzerOptions.builder().setBigramBuckets(1 << 16).build());
+
+        assertEquals(1.5, unigrams.getReviewSentiment("Not good"), DELTA,
+                "Only the words must be scored without bigrams");
+        assertEquals(1.0, bigrams.getReviewSentiment("Not good"), DELTA,
+                "The known bigram must be added to the scores of the words");
+        assertEquals(unigrams.getReviewSentiment("Good, funny"), bigrams.getReviewSentiment("Good, funny"), DELTA,
+                "The unknown bigrams must not change the score");
+    }
+
+    @Test
+    void testBigramBucketsMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> AnalyzerOptions.builder().setBigramBuckets(1000),
+                "The number of bigram buckets must be a power of two - expected IllegalArgumentException");
+    }
+
+    @Test
+    void testApproximateModeMatchesSmallCorpus() {
+        MovieReviewSentimentAnalyzer approximate = new MovieReviewSentimentAnalyzer(new StringReader(STOPWORDS),
+                new StringReader(REVIEWS), new StringWriter(),
+                AnalyzerOptions.builder().setApproximation(SketchConfig.DEFAULT).build());
+
+        assertEquals(analyzer.getWordSentiment("movie"), approximate.getWordSentiment("movie"), DELTA,
+                "The word sentiment without collisions must be exact");
+        assertEquals(analyzer.getReviewSentiment("Good movie"), approximate.getReviewSentiment("Good movie"), DELTA,
+                "The review sentiment without collisions must be exact");
+
+        analyzer.appendReview("Awesome movie", 4);
+        approximate.appendReview("Awesome movie", 4);
+        assertEquals(analyzer.getWordFrequency("movie"), approximate.getWordFrequency("movie"),
+                "The appended review must be counted");
+        assertEquals(analyzer.getMostFrequentWords(3), approximate.getMostFrequentWords(3),
+                "The heavy hitters must be updated");
+    }
 }
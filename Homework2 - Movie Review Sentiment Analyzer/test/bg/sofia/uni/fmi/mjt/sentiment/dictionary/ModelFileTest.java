@@ -0,0 +1,107 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import bg.sofia.uni.fmi.mjt.sentiment.review.Review;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelFileTest {
+    private static final double DELTA = 0.001;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good", "good", "movie", "\u0444\u0438\u043b\u043c")));
+        dictionary.addReview(new Review(1, List.of("bad", "movie")));
+
+        Path path = directory.resolve("model.bin");
+        ModelFile.save(path, new SentimentModel(dictionary, new WordSet(Set.of("the", "and"))));
+
+        SentimentModel loaded = ModelFile.load(path);
+
+        assertEquals(dictionary.size(), loaded.dictionary().size(), "All words must be loaded");
+        assertEquals(2, loaded.dictionary().getReviewsCount(), "The number of reviews must be loaded");
+        assertEquals(2, loaded.dictionary().getOccurrences("good"), "The occurrences must be loaded");
+        assertEquals(2.5, loaded.dictionary().getScore("movie"), DELTA, "The scores must be loaded");
+        assertTrue(loaded.dictionary().contains("\u0444\u0438\u043b\u043c"), "The non-ASCII words must be loaded");
+        assertEquals(List.of("good", "movie"), loaded.dictionary().getMostFrequentWords(2),
+                "The loaded words must be ordered as the saved ones");
+        assertTrue(loaded.stopwords().contains("the"), "The stopwords must be loaded");
+        assertFalse(loaded.stopwords().contains("movie"), "Only the stopwords must be loaded");
+    }
+
+    @Test
+    void testLoadedDictionaryCountsNewReviews() throws IOException {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good")));
+
+        Path path = directory.resolve("model.bin");
+        ModelFile.save(path, new SentimentModel(dictionary, new WordSet(Set.of())));
+
+        SentimentDictionary loaded = ModelFile.load(path).dictionary();
+        loaded.addReview(new Review(0, List.of("good", "good")));
+
+        assertEquals(3, loaded.getOccurrences("good"), "The new occurrences must be added to the loaded ones");
+        assertEquals(2.0, loaded.getScore("good"), DELTA, "The new review must be added to the loaded score");
+    }
+
+    @Test
+    void testSaveAndLoadBigrams() throws IOException {
+        SentimentDictionary dictionary = new SentimentDictionary(1 << 10);
+        dictionary.addReview(new Review(0, List.of("not", "good")));
+        dictionary.addReview(new Review(4, List.of("good", "movie")));
+
+        Path path = directory.resolve("model.bin");
+        ModelFile.save(path, new SentimentModel(dictionary, new WordSet(Set.of())));
+
+        SentimentDictionary loaded = ModelFile.load(path).dictionary();
+        assertEquals(1 << 10, loaded.getBigramBuckets(), "The bigram table size must be loaded");
+        assertEquals(score(dictionary, "not good"), score(loaded, "not good"), DELTA,
+                "The bigram counts must be loaded");
+    }
+
+    @Test
+    void testLoadCorruptedModel() throws IOException {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good", "movie")));
+
+        Path path = directory.resolve("model.bin");
+        ModelFile.save(path, new SentimentModel(dictionary, new WordSet(Set.of("the"))));
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> ModelFile.load(path),
+                "Expected IOException when the checksum does not match");
+    }
+
+    @Test
+    void testLoadNotModelFile() throws IOException {
+        Path path = directory.resolve("reviews.txt");
+        Files.writeString(path, "4 This is not a binary model, but a plain text review");
+
+        assertThrows(IOException.class, () -> ModelFile.load(path),
+                "Expected IOException when the file is not a model");
+    }
+
+    private static double score(SentimentDictionary dictionary, String review) {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(review);
+        return dictionary.snapshot().scoreReview(tokenizer, new WordSet(Set.of()));
+    }
+}
@@ -0,0 +1,209 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import bg.sofia.uni.fmi.mjt.sentiment.review.Review;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SentimentDictionaryTest {
+    private static final double DELTA = 0.001;
+
+    @Test
+    void testAddReviewCountsRepeatedWordOncePerReview() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good", "good", "movie")));
+        dictionary.addReview(new Review(1, List.of("good")));
+
+        assertEquals(3, dictionary.getOccurrences("good"), "Every occurrence of the word must be counted");
+        assertEquals(2, dictionary.getReviews("good"), "Every review must be counted once per word");
+        assertEquals(2.5, dictionary.getScore("good"), DELTA, "The score must be averaged over the reviews");
+    }
+
+    @Test
+    void testUnknownWord() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good")));
+
+        assertFalse(dictionary.contains("bad"), "The unknown word must not be contained");
+        assertEquals(0, dictionary.getOccurrences("bad"), "The unknown word must have no occurrences");
+    }
+
+    @Test
+    void testDictionaryGrows() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            words.add("word" + i);
+        }
+        dictionary.addReview(new Review(3, words));
+
+        assertEquals(10_000, dictionary.size(), "All words must be added");
+        for (String word : words) {
+            assertTrue(dictionary.contains(word), "The word \"" + word + "\" must be found after growing");
+        }
+    }
+
+    @Test
+    void testMerge() {
+        SentimentDictionary first = new SentimentDictionary();
+        first.addReview(new Review(4, List.of("good", "movie")));
+
+        SentimentDictionary second = new SentimentDictionary();
+        second.addReview(new Review(0, List.of("bad", "movie")));
+
+        first.merge(second);
+
+        assertEquals(3, first.size(), "The words of both dictionaries must be merged");
+        assertEquals(2, first.getReviews("movie"), "The counts of the common words must be summed");
+        assertEquals(2.0, first.getScore("movie"), DELTA, "The score must be calculated on the merged counts");
+    }
+
+    @Test
+    void testMostPositiveWordsAreReversedNegativeOrder() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("excellent", "very")));
+        dictionary.addReview(new Review(0, List.of("bad")));
+
+        assertEquals(List.of("very", "excellent", "bad"), dictionary.getMostPositiveWords(3),
+                "The ties must be ordered in reverse of the most negative words");
+        assertEquals(List.of("bad", "excellent", "very"), dictionary.getMostNegativeWords(3),
+                "The ties must be ordered by word");
+    }
+
+    @Test
+    void testTopWordsAreUpdatedAfterQuery() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good", "movie")));
+        dictionary.addReview(new Review(0, List.of("bad", "movie", "movie")));
+
+        assertEquals(List.of("movie", "bad", "good"), dictionary.getMostFrequentWords(3),
+                "The most frequent words must be ordered by occurrences and then by word");
+
+        dictionary.addReview(new Review(0, List.of("good", "good", "good", "awful")));
+
+        assertEquals(List.of("good", "movie"), dictionary.getMostFrequentWords(2),
+                "The most frequent words must be updated by the later reviews");
+        assertEquals(List.of("awful", "bad", "good"), dictionary.getMostNegativeWords(3),
+                "The most negative words must be updated by the later reviews");
+        assertEquals(List.of("movie", "good"), dictionary.getMostPositiveWords(2),
+                "The most positive words must be updated by the later reviews");
+    }
+
+    @Test
+    void testTopWordsMatchFullSortAfterManyUpdates() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        Random random = new Random(0);
+
+        for (int i = 0; i < 2_000; i++) {
+            List<String> words = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                words.add("word" + random.nextInt(300));
+            }
+            dictionary.addReview(new Review(random.nextInt(5), words));
+
+            if (i % 100 == 0) {
+                dictionary.getMostFrequentWords(1); // The indexes are built and then updated by the next reviews
+            }
+        }
+
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            if (dictionary.contains("word" + i)) {
+                all.add("word" + i);
+            }
+        }
+
+        List<String> byFrequency = all.stream()
+                .sorted(Comparator.comparingInt(dictionary::getOccurrences).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+        List<String> byScore = all.stream()
+                .sorted(Comparator.comparingDouble((String word) -> dictionary.getScore(word))
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+        List<String> byScoreReversed = new ArrayList<>(byScore);
+        Collections.reverse(byScoreReversed);
+
+        assertEquals(byFrequency.subList(0, 20), dictionary.getMostFrequentWords(20),
+                "The maintained frequency order must match the full sort");
+        assertEquals(byScore.subList(0, 20), dictionary.getMostNegativeWords(20),
+                "The maintained score order must match the full sort");
+        assertEquals(byScoreReversed.subList(0, 20), dictionary.getMostPositiveWords(20),
+                "The maintained score order must match the reversed full sort");
+    }
+
+    @Test
+    void testSnapshotIsNotChangedByLaterReviews() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        dictionary.addReview(new Review(4, List.of("good", "movie")));
+
+        DictionarySnapshot snapshot = dictionary.snapshot();
+        dictionary.addReview(new Review(0, List.of("bad", "movie", "movie")));
+
+        assertEquals(2, snapshot.size(), "The snapshot must not contain the later words");
+        assertEquals(4.0, snapshot.getScore("movie"), DELTA, "The snapshot must keep the old score");
+        assertEquals(List.of("good", "movie"), snapshot.getMostFrequentWords(5),
+                "The snapshot must keep the old order");
+
+        DictionarySnapshot next = dictionary.snapshot();
+        assertEquals(List.of("movie", "bad", "good"), next.getMostFrequentWords(5),
+                "The new snapshot must contain the later reviews");
+        assertEquals(List.of("good", "movie", "bad"), next.getMostPositiveWords(5),
+                "The new snapshot must order the words by score");
+        assertEquals(2.0, next.getScore("movie"), DELTA, "The new snapshot must contain the new score");
+    }
+
+    @Test
+    void testSnapshotsWithChangesMatchFullCopy() {
+        SentimentDictionary dictionary = new SentimentDictionary();
+        SentimentDictionary reference = new SentimentDictionary();
+        Random random = new Random(0);
+
+        DictionarySnapshot first = null;
+        List<String> firstWords = null;
+        for (int i = 0; i < 2_000; i++) {
+            List<String> words = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                words.add("word" + random.nextInt(i / 2 + 10));
+            }
+            Review review = new Review(random.nextInt(5), words);
+            dictionary.addReview(review);
+            reference.addReview(review);
+
+            DictionarySnapshot snapshot = dictionary.snapshot(); // Published per review, like the immediate commits
+            if (first == null) {
+                first = snapshot;
+                firstWords = snapshot.getMostFrequentWords(10);
+            }
+        }
+
+        DictionarySnapshot snapshot = dictionary.snapshot();
+        DictionarySnapshot expected = reference.snapshot();
+
+        assertEquals(expected.size(), snapshot.size(), "The snapshot must contain the added words");
+        assertEquals(expected.getMostFrequentWords(50), snapshot.getMostFrequentWords(50),
+                "The changed words must be merged into the frequency order");
+        assertEquals(expected.getMostNegativeWords(50), snapshot.getMostNegativeWords(50),
+                "The changed words must be merged into the score order");
+        assertEquals(expected.getMostPositiveWords(50), snapshot.getMostPositiveWords(50),
+                "The changed words must be merged into the reversed score order");
+        for (int i = 0; i < 1_010; i++) {
+            assertEquals(expected.getOccurrences("word" + i), snapshot.getOccurrences("word" + i),
+                    "The snapshot must contain the changed occurrences");
+            assertEquals(expected.getScore("word" + i), snapshot.getScore("word" + i), DELTA,
+                    "The snapshot must contain the changed scores");
+        }
+
+        assertEquals(firstWords, first.getMostFrequentWords(10),
+                "The first snapshot must not be changed by the later ones");
+    }
+}
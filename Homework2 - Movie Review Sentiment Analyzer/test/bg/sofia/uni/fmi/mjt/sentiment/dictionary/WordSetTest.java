@@ -0,0 +1,55 @@
+package bg.sofia.uni.fmi.mjt.sentiment.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WordSetTest {
+    @Test
+    void testContainsEveryWordOfEverySize() {
+        for (int size : new int[] {0, 1, 2, 3, 7, 100, 1_000, 50_000}) {
+            List<String> words = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                words.add("word" + i);
+            }
+
+            WordSet set = new WordSet(words);
+
+            assertEquals(size, set.size(), "The set must contain every word once");
+            for (String word : words) {
+                assertTrue(set.contains(word), "The set of " + size + " words must contain \"" + word + "\"");
+                assertTrue(set.contains(word.toCharArray(), word.length()),
+                        "The set of " + size + " words must contain the slice of \"" + word + "\"");
+            }
+            assertFalse(set.contains("word" + size), "The set of " + size + " words must not contain other words");
+            assertFalse(set.contains("other".toCharArray(), 5), "The set must not contain the other slices");
+        }
+    }
+
+    @Test
+    void testContainsSliceOfLongerBuffer() {
+        WordSet set = new WordSet(Set.of("the", "and"));
+        char[] buffer = "andromeda".toCharArray();
+
+        assertTrue(set.contains(buffer, 3), "Only the given length of the buffer must be compared");
+        assertFalse(set.contains(buffer, 4), "The longer slice must not match the shorter word");
+    }
+
+    @Test
+    void testDuplicatesAndEqualStringHashes() {
+        // "Aa" and "BB" have the same String.hashCode()
+        WordSet set = new WordSet(List.of("Aa", "BB", "Aa", "C#"));
+
+        assertEquals(3, set.size(), "The duplicated words must be stored once");
+        assertEquals(Set.of("Aa", "BB", "C#"), new HashSet<>(set.toList()), "All distinct words must be listed");
+        assertTrue(set.contains("BB"), "The words with equal String hashes must be told apart");
+        assertFalse(set.contains("Ab"), "The missing word must not be found");
+    }
+}
@@ -0,0 +1,175 @@
+package bg.sofia.uni.fmi.mjt.sentiment.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReviewAppendLogTest {
+    @Test
+    void testAppendsKeepTheWriterOpen() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (ReviewAppendLog log = new ReviewAppendLog(out, GroupCommitPolicy.IMMEDIATE, reviews -> { })) {
+            assertTrue(log.append(new AppendedReview(4, "first")), "The first review must be appended");
+            assertTrue(log.append(new AppendedReview(0, "second")), "The second review must be appended");
+        }
+
+        String expected = "4 first" + System.lineSeparator() + "0 second" + System.lineSeparator();
+        assertEquals(expected, out.toString(), "Both reviews must be written");
+    }
+
+    @Test
+    void testConcurrentAppendsAreGroupCommitted() throws Exception {
+        StringWriter out = new StringWriter();
+        List<AppendedReview> committed = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitPolicy policy = new GroupCommitPolicy(16, Duration.ofMillis(50));
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try (ReviewAppendLog log = new ReviewAppendLog(out, policy, committed::addAll)) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                AppendedReview review = new AppendedReview(i % 5, "review " + i);
+                results.add(executor.submit(() -> log.append(review)));
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "Every review must be appended");
+            }
+
+            assertEquals(64, log.getCommittedReviews(), "Every review must be committed");
+            assertTrue(log.getCommits() < 64, "The concurrent reviews must be committed in batches");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(64, committed.size(), "Every committed review must be passed to the listener");
+        assertEquals(64, out.toString().lines().count(), "Every review must be written");
+    }
+
+    @Test
+    void testFailedWriteIsNotCommitted() throws IOException {
+        List<AppendedReview> committed = new ArrayList<>();
+
+        try (ReviewAppendLog log = new ReviewAppendLog(new FailingWriter(), GroupCommitPolicy.IMMEDIATE,
+                committed::addAll)) {
+            assertFalse(log.append(new AppendedReview(3, "review")), "The failed review must not be appended");
+        } catch (IOException e) {
+            // The buffered review cannot be flushed on close either
+        }
+
+        assertTrue(committed.isEmpty(), "The review which is not flushed must not be passed to the listener");
+    }
+
+    @Test
+    void testFailedWriteStopsTheLog() throws IOException {
+        FailingOnceWriter out = new FailingOnceWriter();
+        List<AppendedReview> committed = new ArrayList<>();
+
+        try (ReviewAppendLog log = new ReviewAppendLog(out, GroupCommitPolicy.IMMEDIATE, committed::addAll)) {
+            assertFalse(log.append(new AppendedReview(3, "failed")), "The failed review must not be appended");
+            assertFalse(log.append(new AppendedReview(4, "later")), "The stopped log must not append reviews");
+        }
+
+        assertEquals("", out.toString(), "The failed review must not be flushed by a later batch");
+        assertTrue(committed.isEmpty(), "No review must be passed to the listener after the failure");
+    }
+
+    @Test
+    void testFailedListenerStopsTheLog() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (ReviewAppendLog log = new ReviewAppendLog(out, GroupCommitPolicy.IMMEDIATE, reviews -> {
+            throw new IllegalStateException("The model cannot be updated");
+        })) {
+            assertThrows(IllegalStateException.class, () -> log.append(new AppendedReview(3, "flushed")),
+                    "The failure of the listener must be reported to the waiting append");
+            assertFalse(log.append(new AppendedReview(4, "later")), "The stopped log must not append reviews");
+        }
+
+        assertEquals("3 flushed" + System.lineSeparator(), out.toString(),
+                "Only the batch rejected by the listener must be written");
+    }
+
+    @Test
+    void testCommitterIsStartedByFirstAppend() throws IOException {
+        long threadsBefore = countCommitterThreads();
+
+        try (ReviewAppendLog log = new ReviewAppendLog(new StringWriter(), GroupCommitPolicy.IMMEDIATE,
+                reviews -> { })) {
+            assertEquals(threadsBefore, countCommitterThreads(), "The log without appends must not start a thread");
+
+            assertTrue(log.append(new AppendedReview(3, "review")), "The first review must be appended");
+        }
+    }
+
+    @Test
+    void testAppendAfterClose() throws IOException {
+        ReviewAppendLog log = new ReviewAppendLog(new StringWriter(), GroupCommitPolicy.IMMEDIATE, reviews -> { });
+        log.close();
+
+        assertFalse(log.append(new AppendedReview(3, "review")), "The closed log must not append reviews");
+    }
+
+    private static long countCommitterThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("review-append-log"))
+                .count();
+    }
+
+    private static class FailingOnceWriter extends Writer {
+        private final StringBuilder written = new StringBuilder();
+        private boolean hasFailed;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            if (!hasFailed) {
+                hasFailed = true;
+                throw new IOException("The disk is full");
+            }
+            written.append(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return written.toString();
+        }
+    }
+
+    private static class FailingWriter extends Writer {
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            throw new IOException("The disk is full");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            throw new IOException("The disk is full");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
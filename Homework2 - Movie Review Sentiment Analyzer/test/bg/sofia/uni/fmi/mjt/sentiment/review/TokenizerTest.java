@@ -0,0 +1,110 @@
+package bg.sofia.uni.fmi.mjt.sentiment.review;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TokenizerTest {
+    @Test
+    void testTokensMatchTheDelimiterRegex() {
+        String review = "It's a GREAT movie, isn't it?! 10/10 -- the_best... \u00dcn\u00efcode ok";
+
+        List<String> expected = Arrays.stream(review.split("[^\\w']+"))
+                .filter(str -> str.length() >= 2)
+                .map(String::toLowerCase)
+                .toList();
+
+        assertEquals(expected, tokenize(review), "The words must be the same as the ones split by the regex");
+    }
+
+    @Test
+    void testBytesMatchTheString() {
+        String review = "2 It's a GREAT movie, isn't it?! \u00dcn\u00efcode \u4e16\u754c ok";
+        byte[] bytes = ("ignored\n" + review + "\nignored").getBytes(StandardCharsets.UTF_8);
+        int from = "ignored\n".length();
+        int to = from + review.getBytes(StandardCharsets.UTF_8).length;
+
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(ByteBuffer.wrap(bytes), from, to);
+
+        assertEquals(2, tokenizer.nextInt(), "The sentiment must be parsed from the bytes");
+        assertEquals(tokenize(review.substring(1)), remaining(tokenizer),
+                "The words of the UTF-8 bytes must be the same as the words of the string");
+    }
+
+    @Test
+    void testNextIntInBytesNotANumber() {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(ByteBuffer.wrap("x good".getBytes(StandardCharsets.US_ASCII)), 0, 6);
+
+        assertThrows(NumberFormatException.class, tokenizer::nextInt,
+                "Expected NumberFormatException when the review does not start with a number");
+    }
+
+    @Test
+    void testHashIsTheStringHashOfTheToken() {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset("The GREAT movie, isn't it");
+
+        while (tokenizer.next()) {
+            assertEquals(tokenizer.tokenAsString().hashCode(), tokenizer.hash(),
+                    "The hash must be the same as the hash of the token string");
+        }
+    }
+
+    @Test
+    void testLongWordGrowsTheBuffer() {
+        String word = "a".repeat(1000);
+
+        assertEquals(List.of(word), tokenize(word.toUpperCase()), "The long word must be returned whole");
+    }
+
+    @Test
+    void testNextIntParsesTheSentiment() {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset("3 Good movie");
+
+        assertEquals(3, tokenizer.nextInt(), "The first token must be parsed as the sentiment");
+        assertEquals(List.of("good", "movie"), remaining(tokenizer), "The words after the sentiment must follow");
+    }
+
+    @Test
+    void testNextIntWithoutNumber() {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(" 3 good");
+
+        assertThrows(NumberFormatException.class, tokenizer::nextInt,
+                "Expected NumberFormatException when the review does not start with the sentiment");
+    }
+
+    @Test
+    void testReviewOf() {
+        Review review = Review.of("4 The BEST movie", new WordSet(Set.of("the")));
+
+        assertEquals(new Review(4, List.of("best", "movie")), review, "The stopwords must be skipped");
+    }
+
+    private static List<String> tokenize(String text) {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(text);
+        return remaining(tokenizer);
+    }
+
+    private static List<String> remaining(Tokenizer tokenizer) {
+        List<String> words = new ArrayList<>();
+        while (tokenizer.next()) {
+            words.add(tokenizer.tokenAsString());
+        }
+
+        return words;
+    }
+}
@@ -0,0 +1,54 @@
+package bg.sofia.uni.fmi.mjt.sentiment.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchScorerTest {
+    @Test
+    void testScoredLinesKeepTheOrder() throws IOException {
+        List<String> reviews = IntStream.range(0, 50_000).mapToObj(String::valueOf).toList();
+        StringWriter out = new StringWriter();
+
+        new BatchScorer(review -> "scored " + review, 4).score(reviews.iterator(), out);
+
+        List<String> expected = reviews.stream().map(review -> "scored " + review).toList();
+        assertEquals(expected, out.toString().lines().toList(), "The scored lines must be in the order of the reviews");
+    }
+
+    @Test
+    void testNoReviews() throws IOException {
+        StringWriter out = new StringWriter();
+
+        new BatchScorer(review -> review, 2).score(List.<String>of().iterator(), out);
+
+        assertEquals("", out.toString(), "Nothing must be written when there are no reviews");
+    }
+
+    @Test
+    void testScoringFailureIsThrown() {
+        List<String> reviews = IntStream.range(0, 5_000).mapToObj(String::valueOf).toList();
+
+        BatchScorer scorer = new BatchScorer(review -> {
+            if (review.equals("4321")) {
+                throw new IllegalArgumentException("Invalid review");
+            }
+            return review;
+        }, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(reviews.iterator(), new StringWriter()),
+                "Expected the failure of the scoring thread to be thrown");
+    }
+
+    @Test
+    void testCreateScorerInvalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchScorer(review -> review, 0),
+                "The number of threads must be positive - expected IllegalArgumentException");
+    }
+}
@@ -0,0 +1,87 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoringBatcherTest {
+    @Test
+    void testConcurrentRequestsAreBatched() throws Exception {
+        List<Integer> scoredBatches = new CopyOnWriteArrayList<>();
+        ScoringBatcher batcher = new ScoringBatcher(reviews -> {
+            scoredBatches.add(reviews.size());
+            return lengths(reviews);
+        }, new BatchPolicy(50, Duration.ofMillis(200)), 2);
+
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(batcher.submit("x".repeat(i)));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, results.get(i).get().doubleValue(), "Every request must get its own score");
+        }
+        batcher.close();
+
+        ScoringMetrics.Snapshot metrics = batcher.getMetrics().snapshot();
+        assertEquals(100, metrics.requests(), "All requests must be measured");
+        assertEquals(2, metrics.batches(), "The waiting requests must be coalesced into full batches");
+        assertEquals(50, metrics.maxBatchSize(), "The batches cannot exceed the maximum size");
+        assertEquals(List.of(50, 50), scoredBatches, "Every batch must be passed to the scorer at once");
+        assertTrue(metrics.p99Millis() >= metrics.p50Millis(), "The p99 latency cannot be below the median");
+    }
+
+    @Test
+    void testScorerFailureFailsOnlyItsRequest() throws Exception {
+        ScoringBatcher batcher = new ScoringBatcher(reviews -> {
+            if (reviews.stream().anyMatch(String::isBlank)) {
+                throw new IllegalArgumentException("blank");
+            }
+            return reviews.stream().mapToDouble(review -> 1.0).toArray();
+        }, new BatchPolicy(10, Duration.ofMillis(50)), 1);
+
+        CompletableFuture<Double> failed = batcher.submit(" ");
+        CompletableFuture<Double> scored = batcher.submit("good");
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, failed::get,
+                "The failure of the scorer must fail the request");
+        assertTrue(thrown.getCause() instanceof IllegalArgumentException, "The failure of the scorer is expected");
+        assertEquals(1.0, scored.get().doubleValue(), "The other requests of the batch must be scored");
+
+        batcher.close();
+    }
+
+    @Test
+    void testCloseScoresWaitingRequests() throws Exception {
+        ScoringBatcher batcher = new ScoringBatcher(ScoringBatcherTest::lengths,
+                new BatchPolicy(1000, Duration.ofSeconds(10)), 1);
+
+        CompletableFuture<Double> waiting = batcher.submit("abc");
+        batcher.close();
+
+        assertEquals(3.0, waiting.get().doubleValue(), "The waiting request must be scored before closing");
+        assertThrows(ExecutionException.class, () -> batcher.submit("abc").get(),
+                "The requests after closing must fail");
+    }
+
+    @Test
+    void testInvalidPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchPolicy(0, Duration.ZERO),
+                "The batch size must be positive - expected IllegalArgumentException");
+        assertThrows(IllegalArgumentException.class, () -> new BatchPolicy(1, Duration.ofMillis(-1)),
+                "The delay cannot be negative - expected IllegalArgumentException");
+    }
+
+    private static double[] lengths(List<String> reviews) {
+        return reviews.stream().mapToDouble(String::length).toArray();
+    }
+}
@@ -0,0 +1,131 @@
+package bg.sofia.uni.fmi.mjt.sentiment.server;
+
+import bg.sofia.uni.fmi.mjt.sentiment.MovieReviewSentimentAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SentimentServerTest {
+    private static final String STOPWORDS = "the\nis\n";
+    private static final String REVIEWS = """
+            4 The movie is great
+            0 The movie is awful
+            4 Great acting
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private SentimentServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MovieReviewSentimentAnalyzer analyzer = new MovieReviewSentimentAnalyzer(new StringReader(STOPWORDS),
+                new StringReader(REVIEWS), new StringWriter());
+
+        server = new SentimentServer(0, analyzer, new BatchPolicy(16, Duration.ofMillis(5)), 2);
+        server.startServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stopServer();
+    }
+
+    @Test
+    void testScoreReview() throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "/reviews/sentiment", "Great movie");
+
+        assertEquals(200, response.statusCode(), "The review must be scored");
+        assertEquals("{\"score\":3.0,\"sentiment\":\"somewhat positive\"}", response.body(),
+                "Unexpected review score: " + response.body());
+    }
+
+    @Test
+    void testConcurrentReviewsAreBatched() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            responses.add(client.sendAsync(request("POST", "/reviews/sentiment", "great acting"),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode(), "Every concurrent review must be scored");
+        }
+
+        ScoringMetrics.Snapshot metrics = server.getMetrics();
+        assertEquals(20, metrics.requests(), "All review scores must be measured");
+        assertTrue(metrics.batches() <= 20, "The reviews cannot be scored in more batches than requests");
+
+        HttpResponse<String> reported = send("GET", "/metrics", null);
+        assertTrue(reported.body().contains("\"requests\":20") && reported.body().contains("\"p99Millis\":"),
+                "Unexpected metrics: " + reported.body());
+    }
+
+    @Test
+    void testWordQueries() throws IOException, InterruptedException {
+        assertEquals("{\"word\":\"awful\",\"score\":0.0}", send("GET", "/words/sentiment?word=awful", null).body(),
+                "The word sentiment must be returned");
+        assertEquals("[\"great\",\"movie\"]", send("GET", "/words/frequent?n=2", null).body(),
+                "The most frequent words must be returned");
+        assertEquals("[\"awful\"]", send("GET", "/words/negative?n=1", null).body(),
+                "The most negative words must be returned");
+    }
+
+    @Test
+    void testInvalidRequests() throws IOException, InterruptedException {
+        assertEquals(400, send("POST", "/reviews/sentiment", " ").statusCode(),
+                "The blank review must be rejected");
+        assertEquals(400, send("GET", "/words/frequent?n=many", null).statusCode(),
+                "The invalid number of words must be rejected");
+        assertEquals(404, send("GET", "/unknown", null).statusCode(), "The unknown route must not be found");
+    }
+
+    @Test
+    void testUnexpectedFailureReturnsServerError() throws IOException, InterruptedException {
+        server.stopServer();
+
+        MovieReviewSentimentAnalyzer failing = new MovieReviewSentimentAnalyzer(new StringReader(STOPWORDS),
+                new StringReader(REVIEWS), new StringWriter()) {
+            @Override
+            public double[] getReviewSentiments(List<String> reviews) {
+                throw new IllegalStateException("The model is broken");
+            }
+        };
+        server = new SentimentServer(0, failing, new BatchPolicy(16, Duration.ofMillis(5)), 1);
+        server.startServer();
+
+        HttpResponse<String> response = send("POST", "/reviews/sentiment", "Great movie");
+
+        assertEquals(500, response.statusCode(), "An unexpected failure must be reported as a server error");
+        assertEquals("{\"error\":\"The request could not be processed.\"}", response.body(),
+                "Unexpected error response: " + response.body());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        return client.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
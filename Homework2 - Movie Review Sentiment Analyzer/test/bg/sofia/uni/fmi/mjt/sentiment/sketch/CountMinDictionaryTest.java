@@ -0,0 +1,150 @@
+package bg.sofia.uni.fmi.mjt.sentiment.sketch;
+
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.SentimentDictionary;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordStatistics;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountMinDictionaryTest {
+    private static final double DELTA = 0.001;
+    private static final WordSet STOPWORDS = new WordSet(Set.of("the", "and"));
+
+    @Test
+    void testSmallVocabularyIsCountedExactly() {
+        CountMinDictionary sketch = new CountMinDictionary(SketchConfig.DEFAULT);
+        add(sketch, 4, "The good, good movie");
+        add(sketch, 0, "The bad movie");
+
+        WordStatistics statistics = sketch.snapshot();
+
+        assertEquals(2, statistics.getOccurrences("good"), "The occurrences without collisions must be exact");
+        assertEquals(2.0, statistics.getScore("movie"), DELTA, "The score without collisions must be exact");
+        assertFalse(statistics.contains("the"), "The stopwords must not be counted");
+        assertFalse(statistics.contains("unknown"), "The unknown word must not be contained");
+        assertEquals(List.of("good", "movie", "bad"), statistics.getMostFrequentWords(3),
+                "The heavy hitters must be ordered by occurrences and then by word");
+        assertEquals(List.of("good"), statistics.getMostPositiveWords(1), "The most positive word must be found");
+        assertEquals(List.of("bad"), statistics.getMostNegativeWords(1), "The most negative word must be found");
+    }
+
+    @Test
+    void testEstimatesAreWithinTheErrorBound() {
+        SketchConfig config = new SketchConfig(0.01, 0.01, 20);
+        CountMinDictionary sketch = new CountMinDictionary(config);
+        SentimentDictionary exact = new SentimentDictionary();
+
+        // A skewed distribution, where the first words are much more frequent than the rest
+        Random random = new Random(0);
+        long total = 0;
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder review = new StringBuilder();
+            for (int j = 0; j < 10; j++) {
+                review.append(" word").append((int) Math.pow(random.nextDouble(), 4) * 2_000);
+            }
+
+            int sentiment = random.nextInt(5);
+            add(sketch, sentiment, review.toString());
+            add(exact, sentiment, review.toString());
+            total += 10;
+        }
+
+        WordStatistics statistics = sketch.snapshot();
+        for (int i = 0; i < 2_000; i++) {
+            String word = "word" + i;
+            int estimate = statistics.getOccurrences(word);
+            int real = exact.getOccurrences(word);
+
+            assertTrue(estimate >= real, "The estimate of \"" + word + "\" must not be lower than the real count");
+            assertTrue(estimate - real <= config.epsilon() * total,
+                    "The estimate of \"" + word + "\" must be within the error bound");
+        }
+
+        assertEquals(exact.getMostFrequentWords(5), statistics.getMostFrequentWords(5),
+                "The most frequent words must be tracked by the heavy hitters");
+    }
+
+    @Test
+    void testDistinctWordsEstimate() {
+        CountMinDictionary sketch = new CountMinDictionary(SketchConfig.DEFAULT);
+
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            words.add("word" + i);
+        }
+        add(sketch, 2, String.join(" ", words));
+
+        int size = sketch.snapshot().size();
+        assertTrue(Math.abs(size - 1_000) < 50, "The number of distinct words must be estimated, but was " + size);
+    }
+
+    @Test
+    void testSnapshotsWithChangesMatchFullCopy() {
+        SketchConfig config = new SketchConfig(0.01, 0.01, 20);
+        CountMinDictionary sketch = new CountMinDictionary(config);
+        CountMinDictionary reference = new CountMinDictionary(config);
+
+        add(sketch, 4, "good movie");
+        WordStatistics first = sketch.snapshot();
+
+        // Every commit of a few reviews publishes a snapshot which copies only the changed cells
+        Random random = new Random(0);
+        WordStatistics last = first;
+        for (int i = 0; i < 300; i++) {
+            String review = "word" + random.nextInt(500) + " word" + random.nextInt(500) + " good";
+            int sentiment = random.nextInt(5);
+
+            add(sketch, sentiment, review);
+            add(reference, sentiment, review);
+            last = sketch.snapshot();
+        }
+        add(reference, 4, "good movie");
+        WordStatistics expected = reference.snapshot();
+
+        for (int i = 0; i < 500; i++) {
+            String word = "word" + i;
+            assertEquals(expected.getOccurrences(word), last.getOccurrences(word),
+                    "The occurrences of \"" + word + "\" must match the full copy");
+            assertEquals(expected.getScore(word), last.getScore(word), DELTA,
+                    "The score of \"" + word + "\" must match the full copy");
+        }
+        assertEquals(expected.size(), last.size(), "The distinct words must match the full copy");
+        assertEquals(expected.getMostPositiveWords(5), last.getMostPositiveWords(5),
+                "The most positive words must match the full copy");
+
+        assertEquals(1, first.getOccurrences("good"), "The earlier snapshot must not see the later reviews");
+        assertFalse(first.contains("word0"), "The earlier snapshot must not see the later words");
+    }
+
+    @Test
+    void testInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new SketchConfig(0.0, 0.01, 10),
+                "The epsilon must be positive - expected IllegalArgumentException");
+        assertThrows(IllegalArgumentException.class, () -> new SketchConfig(0.01, 1.0, 10),
+                "The delta must be less than one - expected IllegalArgumentException");
+        assertThrows(IllegalArgumentException.class, () -> new SketchConfig(0.01, 0.01, 0),
+                "The heavy hitters must be positive - expected IllegalArgumentException");
+    }
+
+    private static void add(CountMinDictionary sketch, int sentiment, String review) {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(review);
+        sketch.addReview(sentiment, tokenizer, STOPWORDS);
+    }
+
+    private static void add(SentimentDictionary dictionary, int sentiment, String review) {
+        Tokenizer tokenizer = new Tokenizer();
+        tokenizer.reset(review);
+        dictionary.addReview(sentiment, tokenizer, STOPWORDS);
+    }
+}
@@ -0,0 +1,63 @@
+package bg.sofia.uni.fmi.mjt.sentiment.training;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedCorpusTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testSegmentsEndAtLineBoundaries() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            content.append(i % 5).append(" review number ").append(i).append('\n');
+        }
+        content.append("4 last review without line feed");
+
+        Path file = Files.writeString(directory.resolve("reviews.txt"), content);
+        List<ByteBuffer> segments = MappedCorpus.map(file, 7);
+
+        assertEquals(7, segments.size(), "The file must be split into the given number of segments");
+
+        StringBuilder joined = new StringBuilder();
+        for (ByteBuffer segment : segments) {
+            byte[] bytes = new byte[segment.limit()];
+            segment.get(0, bytes);
+            String text = new String(bytes, StandardCharsets.US_ASCII);
+
+            assertTrue(joined.isEmpty() || joined.charAt(joined.length() - 1) == '\n',
+                    "Every segment must start at the beginning of a line");
+            joined.append(text);
+        }
+
+        assertEquals(content.toString(), joined.toString(), "The segments must cover the whole file in order");
+    }
+
+    @Test
+    void testEmptyFileHasNoSegments() throws IOException {
+        Path file = Files.createFile(directory.resolve("empty.txt"));
+
+        assertTrue(MappedCorpus.map(file, 4).isEmpty(), "The empty file must not be mapped");
+    }
+
+    @Test
+    void testReadLowerCaseLines() throws IOException {
+        Path file = directory.resolve("stopwords.txt");
+        Files.writeString(file, "The\r\nAND\n\u00c9T\u00c9\nis\n", StandardCharsets.UTF_8);
+
+        assertEquals(Set.of("the", "and", "\u00e9t\u00e9", "is"), MappedCorpus.readLowerCaseLines(file),
+                "The ASCII and the UTF-8 lines must be lowercased without the line terminators");
+    }
+}
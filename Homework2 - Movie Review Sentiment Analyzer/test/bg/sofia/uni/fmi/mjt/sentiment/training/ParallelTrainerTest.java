@@ -0,0 +1,165 @@
+package bg.sofia.uni.fmi.mjt.sentiment.training;
+
+import bg.sofia.uni.fmi.mjt.sentiment.MovieReviewSentimentAnalyzer;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.SentimentDictionary;
+import bg.sofia.uni.fmi.mjt.sentiment.dictionary.WordSet;
+import bg.sofia.uni.fmi.mjt.sentiment.review.Tokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelTrainerTest {
+    private static final Set<String> STOPWORDS = Set.of("the", "and", "is");
+    private static final String[] WORDS = {"the", "movie", "film", "good", "bad", "boring", "great", "and", "is",
+        "plot", "actors", "music", "awful", "excellent", "story"};
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testParallelTrainingProducesSameScores() throws IOException {
+        String reviews = generateReviews(20_000);
+
+        SentimentDictionary sequential = new ParallelTrainer(new WordSet(STOPWORDS), 1)
+                .train(new BufferedReader(new StringReader(reviews)));
+        SentimentDictionary parallel = new ParallelTrainer(new WordSet(STOPWORDS), 4)
+                .train(new BufferedReader(new StringReader(reviews)));
+
+        assertEquals(sequential.size(), parallel.size(), "The dictionaries must contain the same words");
+        for (String word : WORDS) {
+            assertEquals(sequential.getScore(word), parallel.getScore(word),
+                    "The score of \"" + word + "\" must be identical to the sequential training");
+            assertEquals(sequential.getOccurrences(word), parallel.getOccurrences(word),
+                    "The occurrences of \"" + word + "\" must be identical to the sequential training");
+            assertEquals(sequential.getReviews(word), parallel.getReviews(word),
+                    "The reviews containing \"" + word + "\" must be identical to the sequential training");
+        }
+    }
+
+    @Test
+    void testParallelAnalyzerProducesSameResults() {
+        String reviews = generateReviews(10_000);
+        String stopwords = String.join(System.lineSeparator(), STOPWORDS);
+
+        MovieReviewSentimentAnalyzer sequential = new MovieReviewSentimentAnalyzer(new StringReader(stopwords),
+                new StringReader(reviews), new StringWriter());
+        MovieReviewSentimentAnalyzer parallel = new MovieReviewSentimentAnalyzer(new StringReader(stopwords),
+                new StringReader(reviews), new StringWriter(), 3);
+
+        assertEquals(sequential.getReviewSentiment("great movie with awful music"),
+                parallel.getReviewSentiment("great movie with awful music"),
+                "The review sentiment must be identical to the sequential training");
+        assertEquals(sequential.getMostPositiveWords(5), parallel.getMostPositiveWords(5),
+                "The most positive words must be identical to the sequential training");
+        assertEquals(sequential.getMostFrequentWords(5), parallel.getMostFrequentWords(5),
+                "The most frequent words must be identical to the sequential training");
+    }
+
+    @Test
+    void testParallelTrainingWithBigramsProducesSameScores() throws IOException {
+        String reviews = generateReviews(20_000);
+        WordSet stopwords = new WordSet(STOPWORDS);
+
+        SentimentDictionary sequential = new ParallelTrainer(stopwords, 1, 1 << 12)
+                .train(new BufferedReader(new StringReader(reviews)));
+        SentimentDictionary parallel = new ParallelTrainer(stopwords, 4, 1 << 12)
+                .train(new BufferedReader(new StringReader(reviews)));
+
+        assertEquals(sequential.getReviewsCount(), parallel.getReviewsCount(), "All reviews must be counted");
+
+        Tokenizer tokenizer = new Tokenizer();
+        for (int i = 1; i < WORDS.length; i++) {
+            String phrase = WORDS[i - 1] + " " + WORDS[i];
+
+            tokenizer.reset(phrase);
+            double expected = sequential.snapshot().scoreReview(tokenizer, stopwords);
+            tokenizer.reset(phrase);
+
+            assertEquals(expected, parallel.snapshot().scoreReview(tokenizer, stopwords),
+                    "The score of \"" + phrase + "\" must be identical to the sequential training");
+        }
+    }
+
+    @Test
+    void testMappedTrainingProducesSameScores() throws IOException {
+        String reviews = generateReviews(20_000);
+        Path reviewsPath = Files.writeString(directory.resolve("reviews.txt"), reviews);
+
+        SentimentDictionary sequential = new ParallelTrainer(new WordSet(STOPWORDS), 1)
+                .train(new BufferedReader(new StringReader(reviews)));
+        SentimentDictionary mapped = new ParallelTrainer(new WordSet(STOPWORDS), 4).train(reviewsPath);
+
+        assertEquals(sequential.getReviewsCount(), mapped.getReviewsCount(), "All reviews must be counted");
+        assertEquals(sequential.size(), mapped.size(), "The dictionaries must contain the same words");
+        for (String word : WORDS) {
+            assertEquals(sequential.getScore(word), mapped.getScore(word),
+                    "The score of \"" + word + "\" must be identical to the sequential training");
+            assertEquals(sequential.getOccurrences(word), mapped.getOccurrences(word),
+                    "The occurrences of \"" + word + "\" must be identical to the sequential training");
+        }
+    }
+
+    @Test
+    void testMappedAnalyzerProducesSameResults() throws IOException {
+        String reviews = generateReviews(10_000);
+        String stopwords = String.join(System.lineSeparator(), STOPWORDS);
+        Path reviewsPath = Files.writeString(directory.resolve("reviews.txt"), reviews);
+        Path stopwordsPath = Files.writeString(directory.resolve("stopwords.txt"), stopwords);
+
+        MovieReviewSentimentAnalyzer sequential = new MovieReviewSentimentAnalyzer(new StringReader(stopwords),
+                new StringReader(reviews), new StringWriter());
+        MovieReviewSentimentAnalyzer mapped = new MovieReviewSentimentAnalyzer(stopwordsPath, reviewsPath,
+                new StringWriter());
+
+        assertEquals(sequential.getReviewSentiment("great movie with awful music"),
+                mapped.getReviewSentiment("great movie with awful music"),
+                "The review sentiment must be identical to the training from the reader");
+        assertEquals(sequential.getMostFrequentWords(5), mapped.getMostFrequentWords(5),
+                "The most frequent words must be identical to the training from the reader");
+        assertEquals(sequential.isStopWord("the"), mapped.isStopWord("the"),
+                "The stopwords must be identical to the ones read from the reader");
+    }
+
+    @Test
+    void testParallelTrainingInvalidReview() {
+        String reviews = generateReviews(10_000) + "not a review" + System.lineSeparator();
+
+        ParallelTrainer trainer = new ParallelTrainer(new WordSet(STOPWORDS), 4);
+
+        assertThrows(NumberFormatException.class,
+                () -> trainer.train(new BufferedReader(new StringReader(reviews))),
+                "Expected the failure of the counting thread to be thrown");
+    }
+
+    @Test
+    void testCreateTrainerInvalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTrainer(new WordSet(STOPWORDS), 0),
+                "The number of threads must be positive - expected IllegalArgumentException");
+    }
+
+    private String generateReviews(int count) {
+        Random random = new Random(42);
+        StringBuilder reviews = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            reviews.append(random.nextInt(5));
+            for (int j = random.nextInt(12); j >= 0; j--) {
+                reviews.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            reviews.append(" .").append(System.lineSeparator());
+        }
+
+        return reviews.toString();
+    }
+}
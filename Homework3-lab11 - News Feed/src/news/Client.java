@@ -17,4 +17,15 @@ public interface Client {
      * @return List of all news found
      */
     List<News> get(RequestUriCreator.RequestUriBuilder uriBuilder, int maxPagesCount);
+
+    /**
+     * Same as {@link #get(RequestUriCreator.RequestUriBuilder, int)}, but after the first page, which gives the
+     * total number of results, the remaining pages are requested concurrently. The news are in page order.
+     *
+     * @param uriBuilder Builder to create the required URI, set as for the method above
+     * @param maxPagesCount The maximum number of pages wanted
+     * @param maxConcurrentRequests The maximum number of page requests waiting for a response at the same time
+     * @return List of all news found, in page order
+     */
+    List<News> get(RequestUriCreator.RequestUriBuilder uriBuilder, int maxPagesCount, int maxConcurrentRequests);
 }
@@ -19,12 +19,17 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class NewsFeedClient implements Client {
 
     private static final String OK_STATUS = "ok";
     private static final String ERROR_STATUS = "error";
     private static final int TOO_MANY_REQUESTS_CODE = 429;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
 
     private static final Gson GSON = new Gson();
 
@@ -38,14 +43,25 @@ public class NewsFeedClient implements Client {
         HttpResponse<String> response;
 
         try {
-            HttpRequest request = HttpRequest.newBuilder()
+            response = client.send(createRequest(uriBuilder, pageNumber), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException | InterruptedException e) {
+            throw new NewsFeedClientException("Could not receive news", e);
+        }
+
+        return parseResponse(response);
+    }
+
+    private HttpRequest createRequest(RequestUriCreator.RequestUriBuilder uriBuilder, int pageNumber) {
+        try {
+            return HttpRequest.newBuilder()
                     .uri(uriBuilder.pageNumber(pageNumber).build().toURI())
                     .build();
-            response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (URISyntaxException | IOException | InterruptedException e) {
+        } catch (URISyntaxException e) {
             throw new NewsFeedClientException("Could not receive news", e);
         }
+    }
 
+    private ResponseBody parseResponse(HttpResponse<String> response) {
         switch (response.statusCode()) {
             case HttpURLConnection.HTTP_OK:
                 return GSON.fromJson(response.body(), ResponseBody.class);
@@ -61,32 +77,83 @@ public class NewsFeedClient implements Client {
         throw new UnknownServerErrorException("Unexpected response code from news feed service");
     }
 
+    private List<News> getNews(ResponseBody response) {
+        if (response.status().equalsIgnoreCase(ERROR_STATUS)) {
+            throw new ErrorStatusException("Error: " + response.errorCode() + " - " + response.errorMessage());
+        }
+
+        return response.status().equalsIgnoreCase(OK_STATUS) && response.news() != null ? response.news() : List.of();
+    }
+
     @Override
     public List<News> get(RequestUriCreator.RequestUriBuilder uriBuilder, int maxPagesCount) {
+        return get(uriBuilder, maxPagesCount, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    // The first page gives the total number of results, and the remaining pages are requested concurrently
+    @Override
+    public List<News> get(RequestUriCreator.RequestUriBuilder uriBuilder, int maxPagesCount,
+                          int maxConcurrentRequests) {
         if (uriBuilder == null) {
             throw new IllegalArgumentException("The builder given cannot be null");
         }
         if (maxPagesCount <= 0) {
             throw new IllegalArgumentException("The pages count must be positive integer");
         }
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("The concurrent requests count must be positive integer");
+        }
+
+        ResponseBody firstPage = getResponse(uriBuilder, 1);
+        List<News> news = new ArrayList<>(getNews(firstPage));
 
-        List<News> news = new ArrayList<>();
+        int pageSize = uriBuilder.getPageSize();
+        int pagesCount = (int) Math.min(maxPagesCount, ((long) firstPage.totalResults() + pageSize - 1) / pageSize);
+
+        for (ResponseBody page : getPages(uriBuilder, pagesCount, maxConcurrentRequests)) {
+            news.addAll(getNews(page));
+        }
+
+        return news;
+    }
 
-        int pageNumber = 1;
-        int resultsCount = 0;
-        do {
-            ResponseBody response = getResponse(uriBuilder, pageNumber);
+    // Requests pages 2 to pagesCount with at most maxConcurrentRequests in flight, and returns them in page order.
+    // No more pages are requested after a failed one
+    private List<ResponseBody> getPages(RequestUriCreator.RequestUriBuilder uriBuilder, int pagesCount,
+                                        int maxConcurrentRequests) {
+        Semaphore inFlight = new Semaphore(maxConcurrentRequests);
+        AtomicBoolean isFailed = new AtomicBoolean();
 
-            if (response.status().equalsIgnoreCase(OK_STATUS)) {
-                resultsCount = response.totalResults();
-                news.addAll(response.news());
-            } else if (response.status().equalsIgnoreCase(ERROR_STATUS)) {
-                throw new ErrorStatusException("Error: " + response.errorCode() + " - " + response.errorMessage());
+        List<CompletableFuture<ResponseBody>> pages = new ArrayList<>();
+        try {
+            for (int pageNumber = 2; pageNumber <= pagesCount && !isFailed.get(); pageNumber++) {
+                HttpRequest request = createRequest(uriBuilder, pageNumber);
+
+                inFlight.acquire();
+                pages.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                        .thenApply(this::parseResponse)
+                        .whenComplete((page, e) -> {
+                            isFailed.compareAndSet(false, e != null);
+                            inFlight.release();
+                        }));
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NewsFeedClientException("Could not receive news", e);
+        }
 
-            ++pageNumber;
-        } while (pageNumber * uriBuilder.getPageSize() < resultsCount && pageNumber <= maxPagesCount);
+        List<ResponseBody> responses = new ArrayList<>(pages.size());
+        for (CompletableFuture<ResponseBody> page : pages) {
+            try {
+                responses.add(page.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new NewsFeedClientException("Could not receive news", e.getCause());
+            }
+        }
 
-        return news;
+        return responses;
     }
 }
@@ -25,6 +25,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -129,6 +130,29 @@ public class NewsFeedClientTest {
         assertEquals(expected, results, "The response json not converted properly into object");
     }
 
+    @Test
+    void testGetNewsNonPositiveConcurrentRequests() {
+        var builder = RequestUriCreator.builder("keyword");
+
+        assertThrows(IllegalArgumentException.class, () -> client.get(builder, 2, 0),
+                "Expected IllegalArgumentException to be thrown when maxConcurrentRequests is not positive");
+    }
+
+    @Test
+    void testGetNewsRemainingPagesRequestedAsynchronously() {
+        var builder = RequestUriCreator.builder("keyword").pageSize(1);
+
+        when(httpResponseMock.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseMock.body()).thenReturn(VALID_JSON_RESPONSE);
+        when(newsFeedClientMock.sendAsync(Mockito.any(HttpRequest.class), ArgumentMatchers.<BodyHandler<String>>any()))
+                .thenReturn(CompletableFuture.completedFuture(httpResponseMock));
+
+        assertEquals(4, client.get(builder, 5, 1).size(),
+                "Expected the news from both pages, the second one requested asynchronously");
+        assertEquals(2, client.get(builder, 1, 1).size(),
+                "Expected only the news from the first page when maxPagesCount is 1");
+    }
+
     @Test
     void testGetNewsApiKeyIsMissingResponseCode() {
         var builder = RequestUriCreator.builder("keyword");